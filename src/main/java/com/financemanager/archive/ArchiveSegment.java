@@ -0,0 +1,514 @@
+package com.financemanager.archive;
+
+import com.financemanager.entity.Category;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * One user's transactions for one year, stored column by column in a compressed, immutable file.
+ *
+ * <p>Rows are sorted by date and ID. Each column is written in turn: IDs and dates as deltas,
+ * amounts as scale and unscaled value, category IDs, descriptions and client IDs as length-prefixed
+ * UTF-8, and timestamps as microsecond deltas. Variable-length integers keep small deltas to a byte
+ * or two, and the whole body is deflated, which the repetitive columns compress well under.</p>
+ *
+ * <p>The header carries the lowest and highest ID and, uncompressed, every ID in ascending order
+ * with its row, so {@link #holdsId} answers from the header alone and {@link #rowOf} is a binary
+ * search.</p>
+ *
+ * <p>A segment is never modified: archiving more rows into a year writes a replacement file and
+ * moves it over the old one.</p>
+ */
+public final class ArchiveSegment {
+
+    private static final int MAGIC = 0x464D5441; // "FMTA"
+    private static final int VERSION = 2;
+    // Segments written before the ID index; their index is rebuilt when they are read
+    private static final int VERSION_WITHOUT_ID_INDEX = 1;
+
+    private final long userId;
+    private final int year;
+    private final long[] ids;
+    private final int[] dayOfYear;
+    private final BigDecimal[] amounts;
+    private final long[] categoryIds;
+    private final String[] descriptions;
+    private final String[] clientIds;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    // IDs ascending, and the row holding each
+    private final long[] sortedIds;
+    private final int[] sortedRows;
+
+    private ArchiveSegment(long userId, int year, int size) {
+        this.userId = userId;
+        this.year = year;
+        this.ids = new long[size];
+        this.dayOfYear = new int[size];
+        this.amounts = new BigDecimal[size];
+        this.categoryIds = new long[size];
+        this.descriptions = new String[size];
+        this.clientIds = new String[size];
+        this.createdAt = new long[size];
+        this.updatedAt = new long[size];
+        this.sortedIds = new long[size];
+        this.sortedRows = new int[size];
+    }
+
+    /**
+     * Build a segment from transactions of a single user and year.
+     *
+     * @param userId Owner
+     * @param year Year every transaction falls in
+     * @param transactions Transactions, in any order
+     * @return New segment
+     * @throws IllegalArgumentException if a transaction belongs to another user or year
+     */
+    public static ArchiveSegment of(long userId, int year, List<Transaction> transactions) {
+        Transaction[] rows = transactions.toArray(new Transaction[0]);
+        Arrays.sort(rows, Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId));
+        ArchiveSegment segment = new ArchiveSegment(userId, year, rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            Transaction row = rows[i];
+            if (row.getUser().getId() != userId || row.getDate().getYear() != year) {
+                throw new IllegalArgumentException("Transaction " + row.getId() + " is not in " + userId + "/" + year);
+            }
+            segment.ids[i] = row.getId();
+            segment.dayOfYear[i] = row.getDate().getDayOfYear();
+            segment.amounts[i] = row.getAmount();
+            segment.categoryIds[i] = row.getCategory().getId();
+            segment.descriptions[i] = row.getDescription();
+            segment.clientIds[i] = row.getClientId();
+            segment.createdAt[i] = micros(row.getCreatedAt());
+            segment.updatedAt[i] = micros(row.getUpdatedAt());
+        }
+        segment.indexIds();
+        return segment;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public LocalDate date(int row) {
+        return LocalDate.ofYearDay(year, dayOfYear[row]);
+    }
+
+    public BigDecimal amount(int row) {
+        return amounts[row];
+    }
+
+    public long categoryId(int row) {
+        return categoryIds[row];
+    }
+
+    public String description(int row) {
+        return descriptions[row];
+    }
+
+    public String clientId(int row) {
+        return clientIds[row];
+    }
+
+    public LocalDateTime createdAt(int row) {
+        return dateTime(createdAt[row]);
+    }
+
+    public LocalDateTime updatedAt(int row) {
+        return dateTime(updatedAt[row]);
+    }
+
+    /**
+     * A new segment with {@code transactions} added; they replace rows with the same ID.
+     *
+     * @param transactions Transactions of this segment's user and year
+     * @return New segment
+     */
+    public ArchiveSegment with(List<Transaction> transactions) {
+        ArchiveSegment added = of(userId, year, transactions);
+        Set<Long> replaced = new HashSet<>();
+        for (long id : added.ids) {
+            replaced.add(id);
+        }
+        int kept = 0;
+        for (long id : ids) {
+            kept += replaced.contains(id) ? 0 : 1;
+        }
+
+        ArchiveSegment merged = new ArchiveSegment(userId, year, kept + added.size());
+        int mine = 0;
+        int theirs = 0;
+        for (int row = 0; row < merged.size(); row++) {
+            while (mine < size() && replaced.contains(ids[mine])) {
+                mine++;
+            }
+            boolean takeMine = theirs == added.size()
+                    || mine < size() && (dayOfYear[mine] < added.dayOfYear[theirs]
+                    || dayOfYear[mine] == added.dayOfYear[theirs] && ids[mine] < added.ids[theirs]);
+            if (takeMine) {
+                copy(this, mine++, merged, row);
+            } else {
+                copy(added, theirs++, merged, row);
+            }
+        }
+        merged.indexIds();
+        return merged;
+    }
+
+    /**
+     * Row holding a transaction.
+     *
+     * @param id Transaction ID
+     * @return Row index, or -1 if the segment has no row with the ID
+     */
+    public int rowOf(long id) {
+        int found = Arrays.binarySearch(sortedIds, id);
+        return found >= 0 ? sortedRows[found] : -1;
+    }
+
+    /**
+     * First row dated on or after {@code date}; rows are sorted by date.
+     */
+    public int firstOnOrAfter(LocalDate date) {
+        if (date.getYear() < year) {
+            return 0;
+        }
+        if (date.getYear() > year) {
+            return size();
+        }
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dayOfYear[mid] < date.getDayOfYear()) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Materialize a row as a detached transaction.
+     *
+     * @param row Row index
+     * @param user Owner, who must be this segment's user
+     * @param category Category with ID {@link #categoryId(int)}
+     * @return Transaction equal to the one that was archived
+     */
+    public Transaction toTransaction(int row, User user, Category category) {
+        return Transaction.builder()
+                .id(ids[row])
+                .amount(amounts[row])
+                .date(date(row))
+                .description(descriptions[row])
+                .clientId(clientIds[row])
+                .category(category)
+                .user(user)
+                .createdAt(dateTime(createdAt[row]))
+                .updatedAt(dateTime(updatedAt[row]))
+                .build();
+    }
+
+    /**
+     * Write the segment to {@code file}, replacing any previous segment atomically.
+     *
+     * @param file Target file
+     * @throws IOException if writing fails; the previous file, if any, is left in place
+     */
+    public void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                DataOutputStream header = new DataOutputStream(stream);
+                header.writeInt(MAGIC);
+                header.writeByte(VERSION);
+                header.writeLong(userId);
+                header.writeInt(year);
+                header.writeInt(size());
+                header.writeLong(size() > 0 ? sortedIds[0] : 0);
+                header.writeLong(size() > 0 ? sortedIds[size() - 1] : 0);
+                long previous = size() > 0 ? sortedIds[0] : 0;
+                for (int i = 0; i < size(); i++) {
+                    writeVarLong(header, sortedIds[i] - previous);
+                    writeVarLong(header, sortedRows[i]);
+                    previous = sortedIds[i];
+                }
+                header.flush();
+
+                Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+                try (DataOutputStream body = new DataOutputStream(new DeflaterOutputStream(stream, deflater, 8192))) {
+                    writeColumns(body);
+                } finally {
+                    deflater.end();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Read a segment written by {@link #writeTo}.
+     *
+     * @param file Segment file
+     * @return Decoded segment
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    public static ArchiveSegment read(Path file) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+            DataInputStream header = new DataInputStream(stream);
+            int version = readVersion(header, file);
+            ArchiveSegment segment = new ArchiveSegment(header.readLong(), header.readInt(), header.readInt());
+            if (version == VERSION) {
+                long min = header.readLong();
+                header.readLong();
+                segment.readIdIndex(header, min);
+            }
+            try (DataInputStream body = new DataInputStream(new InflaterInputStream(stream))) {
+                segment.readColumns(body);
+            }
+            if (version == VERSION_WITHOUT_ID_INDEX) {
+                segment.indexIds();
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Whether a segment file has a row with an ID, read from its header without inflating the body.
+     *
+     * @param file Segment file
+     * @param id Transaction ID
+     * @return True if the segment holds the ID
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    public static boolean holdsId(Path file, long id) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+            DataInputStream header = new DataInputStream(stream);
+            if (readVersion(header, file) == VERSION_WITHOUT_ID_INDEX) {
+                return read(file).rowOf(id) >= 0;
+            }
+            ArchiveSegment segment = new ArchiveSegment(header.readLong(), header.readInt(), header.readInt());
+            long min = header.readLong();
+            long max = header.readLong();
+            if (id < min || id > max) {
+                return false;
+            }
+            segment.readIdIndex(header, min);
+            return segment.rowOf(id) >= 0;
+        }
+    }
+
+    private static int readVersion(DataInputStream header, Path file) throws IOException {
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not a transaction archive segment: " + file);
+        }
+        int version = header.readUnsignedByte();
+        if (version != VERSION && version != VERSION_WITHOUT_ID_INDEX) {
+            throw new IOException("Unsupported archive segment version " + version + ": " + file);
+        }
+        return version;
+    }
+
+    private void indexIds() {
+        Integer[] rows = new Integer[size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        Arrays.sort(rows, Comparator.comparingLong(row -> ids[row]));
+        for (int i = 0; i < rows.length; i++) {
+            sortedIds[i] = ids[rows[i]];
+            sortedRows[i] = rows[i];
+        }
+    }
+
+    private void readIdIndex(DataInputStream in, long min) throws IOException {
+        long previous = min;
+        for (int i = 0; i < size(); i++) {
+            sortedIds[i] = previous += readVarLong(in);
+            sortedRows[i] = (int) readVarLong(in);
+        }
+    }
+
+    private static void copy(ArchiveSegment from, int fromRow, ArchiveSegment to, int toRow) {
+        to.ids[toRow] = from.ids[fromRow];
+        to.dayOfYear[toRow] = from.dayOfYear[fromRow];
+        to.amounts[toRow] = from.amounts[fromRow];
+        to.categoryIds[toRow] = from.categoryIds[fromRow];
+        to.descriptions[toRow] = from.descriptions[fromRow];
+        to.clientIds[toRow] = from.clientIds[fromRow];
+        to.createdAt[toRow] = from.createdAt[fromRow];
+        to.updatedAt[toRow] = from.updatedAt[fromRow];
+    }
+
+    private void writeColumns(DataOutputStream out) throws IOException {
+        long previous = 0;
+        for (long id : ids) {
+            writeVarLong(out, zigZag(id - previous));
+            previous = id;
+        }
+        previous = 0;
+        for (int day : dayOfYear) {
+            writeVarLong(out, day - previous);
+            previous = day;
+        }
+        for (BigDecimal amount : amounts) {
+            out.writeByte(amount.scale());
+        }
+        for (BigDecimal amount : amounts) {
+            writeVarLong(out, zigZag(amount.unscaledValue().longValueExact()));
+        }
+        previous = 0;
+        for (long categoryId : categoryIds) {
+            writeVarLong(out, zigZag(categoryId - previous));
+            previous = categoryId;
+        }
+        writeStrings(out, descriptions);
+        writeStrings(out, clientIds);
+        previous = 0;
+        for (long micros : createdAt) {
+            writeVarLong(out, zigZag(micros - previous));
+            previous = micros;
+        }
+        for (int i = 0; i < size(); i++) {
+            writeVarLong(out, zigZag(updatedAt[i] - createdAt[i]));
+        }
+    }
+
+    private void readColumns(DataInputStream in) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < size(); i++) {
+            ids[i] = previous += unZigZag(readVarLong(in));
+        }
+        previous = 0;
+        for (int i = 0; i < size(); i++) {
+            dayOfYear[i] = (int) (previous += readVarLong(in));
+        }
+        int[] scales = new int[size()];
+        for (int i = 0; i < size(); i++) {
+            scales[i] = in.readByte();
+        }
+        for (int i = 0; i < size(); i++) {
+            amounts[i] = new BigDecimal(BigInteger.valueOf(unZigZag(readVarLong(in))), scales[i]);
+        }
+        previous = 0;
+        for (int i = 0; i < size(); i++) {
+            categoryIds[i] = previous += unZigZag(readVarLong(in));
+        }
+        readStrings(in, descriptions);
+        readStrings(in, clientIds);
+        previous = 0;
+        for (int i = 0; i < size(); i++) {
+            createdAt[i] = previous += unZigZag(readVarLong(in));
+        }
+        for (int i = 0; i < size(); i++) {
+            updatedAt[i] = createdAt[i] + unZigZag(readVarLong(in));
+        }
+    }
+
+    // Length + 1, so that 0 can stand for null
+    private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+        for (String value : values) {
+            if (value == null) {
+                writeVarLong(out, 0);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(out, bytes.length + 1L);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static void readStrings(DataInputStream in, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            int length = (int) readVarLong(in);
+            if (length > 0) {
+                byte[] bytes = new byte[length - 1];
+                in.readFully(bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated archive segment");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long micros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time);
+    }
+
+    private static LocalDateTime dateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1000,
+                ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,336 @@
+package com.financemanager.archive;
+
+import com.financemanager.entity.Category;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Cold tier for transactions: one {@link ArchiveSegment} file per user and year, under
+ * {@code finance.archive.directory}/{@code <userId>}/{@code <year>.seg}.
+ *
+ * <p>Readers pass their hot rows through {@link #merge}, which adds archived rows from the years the
+ * query covers. A user's archived years are listed once and then kept in memory, so users and
+ * ranges with nothing archived never touch the disk. While rows are being moved between tiers they
+ * can briefly exist in both; the hot copy wins.</p>
+ */
+@Component
+public class TransactionArchive {
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final CategoryRepository categoryRepository;
+    private final Map<Long, NavigableSet<Integer>> years = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[64];
+
+    public TransactionArchive(@Value("${finance.archive.directory:archive}") String directory,
+                              CategoryRepository categoryRepository) {
+        this.directory = Path.of(directory);
+        this.categoryRepository = categoryRepository;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Years archived for a user.
+     *
+     * @param userId User ID
+     * @return Archived years, ascending
+     */
+    public NavigableSet<Integer> years(long userId) {
+        return Collections.unmodifiableNavigableSet(years.computeIfAbsent(userId, this::listYears));
+    }
+
+    /**
+     * Add a user's archived transactions to rows read from the database.
+     *
+     * @param hot Rows from the database, newest first
+     * @param user Owner
+     * @param start First date to include, or null for no lower bound
+     * @param end Last date to include, or null for no upper bound
+     * @param filter Further condition archived rows must meet, matching the database query
+     * @return {@code hot} itself if nothing is archived in the range, else a new list, newest first
+     */
+    public List<Transaction> merge(List<Transaction> hot, User user, LocalDate start, LocalDate end,
+                                   Predicate<Transaction> filter) {
+        NavigableSet<Integer> archived = years(user.getId());
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        NavigableSet<Integer> covered = archived.subSet(start != null ? start.getYear() : Integer.MIN_VALUE, true,
+                end != null ? end.getYear() : Integer.MAX_VALUE, true);
+        if (covered.isEmpty()) {
+            return hot;
+        }
+
+        Set<Long> hotIds = hot.stream().map(Transaction::getId).collect(Collectors.toCollection(HashSet::new));
+        Map<Long, Category> categories = categoriesOf(user);
+        List<Transaction> merged = new ArrayList<>(hot);
+        for (int year : covered) {
+            ArchiveSegment segment = read(user.getId(), year);
+            int from = start != null ? segment.firstOnOrAfter(start) : 0;
+            int to = end != null ? segment.firstOnOrAfter(end.plusDays(1)) : segment.size();
+            for (int row = from; row < to; row++) {
+                if (hotIds.contains(segment.id(row))) {
+                    continue;
+                }
+                Transaction transaction = segment.toTransaction(row, user, category(categories, segment.categoryId(row)));
+                if (filter.test(transaction)) {
+                    merged.add(transaction);
+                }
+            }
+        }
+        // Stable, so rows of the same day keep the database's order ahead of archived ones
+        merged.sort(Comparator.comparing(Transaction::getDate).reversed());
+        return merged;
+    }
+
+    /**
+     * A user's archived transactions in a date range, for readers that aggregate the database
+     * side themselves.
+     *
+     * <p>Rows that are also still in the database are left out, as in {@link #merge}. Only the
+     * database rows dated within the archived years of the range can be such rows, so only their
+     * IDs are read, and only when something in the range is archived.</p>
+     *
+     * @param user Owner
+     * @param start First date to include
+     * @param end Last date to include
+     * @param hotIds Reads the IDs of the user's database rows between two dates, inclusive
+     * @return Archived transactions only in the archive, in no particular order
+     */
+    public List<Transaction> archivedOnly(User user, LocalDate start, LocalDate end,
+                                          BiFunction<LocalDate, LocalDate, Collection<Long>> hotIds) {
+        if (start.isAfter(end)) {
+            return List.of();
+        }
+        NavigableSet<Integer> covered = years(user.getId()).subSet(start.getYear(), true, end.getYear(), true);
+        if (covered.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate firstArchived = LocalDate.of(covered.first(), 1, 1);
+        LocalDate lastArchived = LocalDate.of(covered.last(), 12, 31);
+        Set<Long> hot = new HashSet<>(hotIds.apply(start.isAfter(firstArchived) ? start : firstArchived,
+                end.isBefore(lastArchived) ? end : lastArchived));
+        Map<Long, Category> categories = categoriesOf(user);
+        List<Transaction> archived = new ArrayList<>();
+        for (int year : covered) {
+            ArchiveSegment segment = read(user.getId(), year);
+            int to = segment.firstOnOrAfter(end.plusDays(1));
+            for (int row = segment.firstOnOrAfter(start); row < to; row++) {
+                if (!hot.contains(segment.id(row))) {
+                    archived.add(segment.toTransaction(row, user, category(categories, segment.categoryId(row))));
+                }
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Number of archived transactions of a user in a category.
+     *
+     * @param userId User ID
+     * @param categoryId Category ID
+     * @return Archived transaction count
+     */
+    public long countByCategory(long userId, long categoryId) {
+        long count = 0;
+        for (int year : years(userId)) {
+            ArchiveSegment segment = read(userId, year);
+            for (int row = 0; row < segment.size(); row++) {
+                if (segment.categoryId(row) == categoryId) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * An archived transaction of a user.
+     *
+     * @param user Owner
+     * @param transactionId Transaction ID
+     * @return Detached transaction, or null if the user has no such archived transaction
+     */
+    public Transaction find(User user, long transactionId) {
+        Integer year = yearOf(user.getId(), transactionId);
+        if (year == null) {
+            return null;
+        }
+        ArchiveSegment segment = read(user.getId(), year);
+        int row = segment.rowOf(transactionId);
+        return row >= 0 ? segment.toTransaction(row, user, category(categoriesOf(user), segment.categoryId(row))) : null;
+    }
+
+    /**
+     * Year of the segment holding an archived transaction. Only segment headers are read: a year
+     * whose ID range misses the ID is skipped, the others are a binary search of the ID index.
+     *
+     * @param userId Owner
+     * @param transactionId Transaction ID
+     * @return Year, or null if the user has no such archived transaction
+     */
+    public Integer yearOf(long userId, long transactionId) {
+        for (int year : years(userId).descendingSet()) {
+            try {
+                if (ArchiveSegment.holdsId(file(userId, year), transactionId)) {
+                    return year;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archive segment " + userId + "/" + year, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read a user's segment for a year.
+     *
+     * @param userId User ID
+     * @param year Year
+     * @return Segment, or null if the year is not archived
+     */
+    public ArchiveSegment segment(long userId, int year) {
+        return years(userId).contains(year) ? read(userId, year) : null;
+    }
+
+    /**
+     * Write (or replace) a segment.
+     *
+     * @param segment Segment to store
+     */
+    public void write(ArchiveSegment segment) {
+        try {
+            segment.writeTo(file(segment.userId(), segment.year()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment " + segment.userId() + "/" + segment.year(), e);
+        }
+        years.computeIfAbsent(segment.userId(), this::listYears).add(segment.year());
+    }
+
+    /**
+     * Delete a segment once the current transaction commits, or now if there is none.
+     *
+     * @param userId User ID
+     * @param year Year
+     */
+    public void deleteAfterCommit(long userId, int year) {
+        Runnable delete = () -> {
+            years.computeIfAbsent(userId, this::listYears).remove(year);
+            try {
+                Files.deleteIfExists(file(userId, year));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete archive segment " + userId + "/" + year, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete.run();
+                }
+            });
+        } else {
+            delete.run();
+        }
+    }
+
+    /**
+     * Serialize moves of a user's rows between tiers until the current transaction completes, or
+     * until {@code work} returns if there is none.
+     *
+     * @param userId User ID
+     * @param work Work to run while holding the user
+     * @return Result of {@code work}
+     */
+    public <T> T locked(long userId, Function<Long, T> work) {
+        ReentrantLock lock = locks[(int) Math.floorMod(userId, (long) locks.length)];
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                return work.apply(userId);
+            } finally {
+                lock.unlock();
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return work.apply(userId);
+    }
+
+    private ArchiveSegment read(long userId, int year) {
+        try {
+            return ArchiveSegment.read(file(userId, year));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive segment " + userId + "/" + year, e);
+        }
+    }
+
+    private Map<Long, Category> categoriesOf(User user) {
+        return categoryRepository.findByUserOrUserIsNull(user).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private static Category category(Map<Long, Category> categories, long categoryId) {
+        Category category = categories.get(categoryId);
+        if (category == null) {
+            throw new IllegalStateException("Archived transaction refers to missing category " + categoryId);
+        }
+        return category;
+    }
+
+    private Path file(long userId, int year) {
+        return directory.resolve(Long.toString(userId)).resolve(year + SUFFIX);
+    }
+
+    private NavigableSet<Integer> listYears(long userId) {
+        NavigableSet<Integer> found = new ConcurrentSkipListSet<>();
+        Path userDirectory = directory.resolve(Long.toString(userId));
+        if (!Files.isDirectory(userDirectory)) {
+            return found;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(userDirectory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                found.add(Integer.parseInt(name.substring(0, name.length() - SUFFIX.length())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archive of user " + userId, e);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,87 @@
+package com.financemanager.config;
+
+import com.financemanager.jfr.JdbcStatementEvent;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Wraps the application {@link DataSource} in a datasource-proxy that counts statements per thread
+ * and logs slow statements with their bound parameters.
+ *
+ * <p>Per-request counts are read by {@link com.financemanager.filter.StatementCountFilter}.
+ * Statements that take at least {@code finance.jdbc.slow-query-threshold} are logged at WARN on
+ * the {@code com.financemanager.jdbc.SlowQuery} logger. Each execution is also recorded as a
+ * {@link JdbcStatementEvent} when Flight Recorder is running.</p>
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    public static final String DATA_SOURCE_NAME = "finance";
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("com.financemanager.jdbc.SlowQuery");
+
+    // The proxy calls the before and after listeners on the executing thread
+    private static final ThreadLocal<JdbcStatementEvent> CURRENT_EVENT = new ThreadLocal<>();
+
+    // Static so the post-processor is registered before the DataSource it wraps is created
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment) {
+        long thresholdMillis = environment.getProperty("finance.jdbc.slow-query-threshold",
+                Duration.class, Duration.ofMillis(500)).toMillis();
+        DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(DATA_SOURCE_NAME)
+                        .countQuery()
+                        .beforeQuery((execution, queries) -> beginEvent())
+                        .afterQuery((execution, queries) -> {
+                            commitEvent(execution, queries);
+                            logIfSlow(execution, queries, thresholdMillis, logEntryCreator);
+                        })
+                        .build();
+            }
+        };
+    }
+
+    private static void beginEvent() {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            CURRENT_EVENT.set(event);
+        }
+    }
+
+    private static void commitEvent(ExecutionInfo execution, List<QueryInfo> queries) {
+        JdbcStatementEvent event = CURRENT_EVENT.get();
+        if (event != null) {
+            CURRENT_EVENT.remove();
+            String sql = queries.isEmpty() ? "" : queries.get(0).getQuery();
+            event.finish(sql, Math.max(1, execution.getBatchSize()), execution.isSuccess());
+        }
+    }
+
+    private static void logIfSlow(ExecutionInfo execution, List<QueryInfo> queries, long thresholdMillis,
+                                  DefaultQueryLogEntryCreator logEntryCreator) {
+        if (execution.getElapsedTime() >= thresholdMillis && SLOW_QUERY_LOG.isWarnEnabled()) {
+            SLOW_QUERY_LOG.warn("Slow statement: {}", logEntryCreator.getLogEntry(execution, queries, false, true, false));
+        }
+    }
+}
@@ -6,7 +6,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Initializes default categories at application startup.
+ * Initializes default categories at application startup. Failures abort startup rather than
+ * leaving the application running without its default categories.
  */
 @Configuration
 public class DefaultDataInitializer {
@@ -0,0 +1,39 @@
+package com.financemanager.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import javax.cache.CacheManager;
+import java.io.IOException;
+
+/**
+ * Gives each application context its own JCache {@link CacheManager} for the Hibernate
+ * second-level cache, configured from {@code hibernate.javax.cache.uri} (ehcache.xml, a
+ * class path resource).
+ *
+ * <p>JCache providers hand out one manager per configuration URI and class loader, so without
+ * this two contexts in one JVM, such as test contexts on different databases, would share cached
+ * entities. Hibernate closes the manager when the session factory closes.</p>
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(
+            @Value("${spring.jpa.properties.hibernate.javax.cache.uri:ehcache.xml}") String location) {
+        return properties -> {
+            ClassPathResource config = new ClassPathResource(location);
+            try {
+                CacheManager cacheManager = new EhcacheCachingProvider()
+                        .getCacheManager(config.getURI(), getClass().getClassLoader());
+                properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read second-level cache configuration " + config, e);
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.financemanager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the sequences behind sequence-keyed tables past the IDs already in those tables at startup.
+ *
+ * <p>{@code transactions} used to take IDENTITY IDs. On a database kept from then, such as the
+ * persistent profile's, {@code ddl-auto: update} creates {@code transactions_seq} starting at 1 and
+ * the first insert would reuse an existing ID. Runs once the schema exists and before anything
+ * inserts; a sequence already past its table is left alone.</p>
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer implements InitializingBean {
+
+    /**
+     * Sequence-keyed tables and their sequences.
+     */
+    public static final Map<String, String> SEQUENCES = Map.of("transactions", "TRANSACTIONS_SEQ",
+            "recurring_rules", "RECURRING_RULES_SEQ");
+
+    private final DataSource dataSource;
+
+    public IdSequenceInitializer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (Map.Entry<String, String> table : SEQUENCES.entrySet()) {
+            advancePastMaxId(jdbc, table.getKey(), table.getValue());
+        }
+    }
+
+    /**
+     * Restart a sequence so that no ID it hands out is already in its table.
+     *
+     * @param jdbc Database to adjust
+     * @param table Table keyed by the sequence
+     * @param sequence Sequence name
+     * @return Whether the sequence had to move
+     */
+    public static boolean advancePastMaxId(JdbcTemplate jdbc, String table, String sequence) {
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        List<Map<String, Object>> found = jdbc.queryForList("SELECT BASE_VALUE, INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_SCHEMA = 'PUBLIC' AND SEQUENCE_NAME = ?", sequence);
+        if (max == null || found.isEmpty()) {
+            return false;
+        }
+        // Hibernate's pooled optimizer treats the next sequence value as the top of a block of
+        // INCREMENT IDs, so the sequence has to clear the existing IDs by a whole block
+        long next = ((Number) found.get(0).get("BASE_VALUE")).longValue();
+        long increment = ((Number) found.get(0).get("INCREMENT")).longValue();
+        if (next - increment >= max) {
+            return false;
+        }
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (max + increment + 1));
+        log.info("Moved {} past the highest {} ID, {}", sequence, table, max);
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.financemanager.config;
+
+import com.financemanager.service.BudgetService;
+import com.financemanager.service.RecurringRuleScheduler;
+import com.financemanager.service.ReportJobDispatcher;
+import com.financemanager.service.TransactionIngestionService;
+import com.financemanager.store.AnomalyDetector;
+import com.financemanager.store.TimeSeriesStore;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager when {@code spring.main.lazy-initialization} is on.
+ *
+ * <p>These run {@code @Scheduled} tasks, start background workers, restore snapshots or fix up ID
+ * sequences at startup. A lazy {@code @Scheduled} bean is never scheduled if no request happens to
+ * need it, a lazy snapshot restore would move disk I/O onto the first request, and a lazy sequence
+ * fix-up would never run at all.</p>
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                BudgetService.class,
+                RecurringRuleScheduler.class,
+                ReportJobDispatcher.class,
+                TransactionIngestionService.class,
+                IdSequenceInitializer.class,
+                AnomalyDetector.class,
+                TimeSeriesStore.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.financemanager.config;
+
+import com.financemanager.filter.IdempotencyFilter;
+import com.financemanager.service.TransactionIngestionService;
+import com.financemanager.store.AnomalyDetector;
+import com.financemanager.store.BudgetCounters;
+import com.financemanager.store.TimeSeriesStore;
+import com.financemanager.store.TransactionColumnStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges for the application's in-memory stores.
+ *
+ * <p>HTTP request, repository method and connection pool meters come from Spring Boot's actuator
+ * auto-configuration; see the {@code management} section of application.yml.</p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder storeMetrics(BudgetCounters budgetCounters,
+                                    TimeSeriesStore timeSeriesStore,
+                                    TransactionColumnStore transactionColumnStore,
+                                    AnomalyDetector anomalyDetector,
+                                    IdempotencyFilter idempotencyFilter,
+                                    TransactionIngestionService ingestionService) {
+        return registry -> {
+            Gauge.builder("finance.cache.size", budgetCounters, BudgetCounters::residentMonths)
+                    .tag("cache", "budget-counters")
+                    .description("Resident (user, month) budget counters")
+                    .register(registry);
+            Gauge.builder("finance.cache.size", timeSeriesStore, TimeSeriesStore::residentUsers)
+                    .tag("cache", "time-series")
+                    .description("Users with resident trend series")
+                    .register(registry);
+            Gauge.builder("finance.cache.bytes", timeSeriesStore, TimeSeriesStore::residentBytes)
+                    .tag("cache", "time-series")
+                    .description("Estimated size of resident trend series")
+                    .register(registry);
+            Gauge.builder("finance.cache.size", transactionColumnStore, TransactionColumnStore::residentUsers)
+                    .tag("cache", "report-columns")
+                    .description("Users with resident report columns")
+                    .register(registry);
+            Gauge.builder("finance.cache.bytes", transactionColumnStore, TransactionColumnStore::residentBytes)
+                    .tag("cache", "report-columns")
+                    .description("Estimated size of resident report columns")
+                    .register(registry);
+            Gauge.builder("finance.cache.reserved.bytes", transactionColumnStore, TransactionColumnStore::offHeapReservedBytes)
+                    .tag("cache", "report-columns")
+                    .description("Direct memory reserved for report columns")
+                    .register(registry);
+            Gauge.builder("finance.cache.size", anomalyDetector, AnomalyDetector::residentUsers)
+                    .tag("cache", "anomaly-stats")
+                    .description("Users with resident anomaly statistics")
+                    .register(registry);
+            Gauge.builder("finance.cache.bytes", anomalyDetector, AnomalyDetector::residentBytes)
+                    .tag("cache", "anomaly-stats")
+                    .description("Estimated size of resident anomaly statistics")
+                    .register(registry);
+            Gauge.builder("finance.cache.size", idempotencyFilter, filter -> filter.getStore().size())
+                    .tag("cache", "idempotency-keys")
+                    .description("Live idempotency keys")
+                    .register(registry);
+            Gauge.builder("finance.ingestion.queued", ingestionService, TransactionIngestionService::queuedCount)
+                    .description("Transactions waiting in the write-behind queue")
+                    .register(registry);
+            FunctionCounter.builder("finance.ingestion.failed", ingestionService, TransactionIngestionService::failedCount)
+                    .description("Queued transactions that could not be written")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.financemanager.config;
+
+import com.financemanager.exception.ErrorResponse;
+import com.financemanager.logging.SampledDebugTurboFilter;
+import com.financemanager.snapshot.CategoryRow;
+import com.financemanager.snapshot.GoalRow;
+import com.financemanager.snapshot.TransactionRow;
+import com.financemanager.snapshot.UserRow;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Reflection, proxy and resource hints for the GraalVM native image ({@code -Pnative}).
+ *
+ * <p>Spring AOT already covers beans, request and response bodies and JPA managed types; this adds
+ * what it cannot see:</p>
+ * <ul>
+ *   <li>Entities, DTOs and their Lombok builders, which springdoc and Jackson introspect beyond
+ *       what the controller signatures reach.</li>
+ *   <li>Classes that logback-spring.xml instantiates by name.</li>
+ *   <li>Snapshot rows, which Hibernate builds from JPQL constructor expressions.</li>
+ *   <li>The JDK proxies datasource-proxy creates around connections and statements.</li>
+ *   <li>The bundled Flight Recorder settings and second-level cache configuration.</li>
+ * </ul>
+ */
+@Configuration
+@ImportRuntimeHints(NativeConfig.FinanceRuntimeHints.class)
+public class NativeConfig {
+
+    static class FinanceRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String[] MODEL_PACKAGES = {"com.financemanager.entity", "com.financemanager.dto"};
+
+        private static final MemberCategory[] MODEL_MEMBERS = {
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Includes the static nested *Builder classes Lombok generates
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((reader, factory) -> true);
+            if (classLoader != null) {
+                scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+            }
+            for (String modelPackage : MODEL_PACKAGES) {
+                for (BeanDefinition candidate : scanner.findCandidateComponents(modelPackage)) {
+                    Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+                    hints.reflection().registerType(type, MODEL_MEMBERS);
+                }
+            }
+            hints.reflection().registerType(ErrorResponse.class, MODEL_MEMBERS);
+            hints.reflection().registerType(ErrorResponse.ErrorResponseBuilder.class, MODEL_MEMBERS);
+
+            for (Class<?> type : new Class<?>[] {UserRow.class, CategoryRow.class, GoalRow.class, TransactionRow.class}) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            // Instantiated and configured by Joran from logback-spring.xml
+            for (Class<?> type : new Class<?>[] {SampledDebugTurboFilter.class, LogstashEncoder.class,
+                    ShortenedThrowableConverter.class}) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            for (Class<?> jdbcType : new Class<?>[] {DataSource.class, Connection.class, Statement.class,
+                    PreparedStatement.class, CallableStatement.class, ResultSet.class}) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+            }
+
+            hints.resources().registerPattern("jfr/finance.jfc");
+            hints.resources().registerPattern("logback-spring.xml");
+            hints.resources().registerPattern("ehcache.xml");
+        }
+    }
+}
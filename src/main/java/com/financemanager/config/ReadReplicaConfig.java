@@ -0,0 +1,67 @@
+package com.financemanager.config;
+
+import com.financemanager.datasource.H2SnapshotReplicator;
+import com.financemanager.datasource.ReadWriteRoutingDataSource;
+import com.financemanager.datasource.ReadYourWritesWindow;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Read replica routing, enabled by {@code finance.datasource.replica.enabled=true}.
+ *
+ * <p>The primary pool is built from {@code spring.datasource.*}, the replica pool from
+ * {@code finance.datasource.replica.url}, {@code username} and {@code password}. Read-only
+ * transactions go to the replica, except for users within {@code read-your-writes} (default 5s,
+ * 0 to disable) of their last write. With two local H2 databases, setting
+ * {@code local-replication-interval} copies the primary onto the replica on that delay.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "finance.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final int MAX_TRACKED_WRITERS = 100_000;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${finance.datasource.replica.url}") String replicaUrl,
+                                 @Value("${finance.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                 @Value("${finance.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+                                 @Value("${finance.datasource.replica.read-your-writes:5s}") Duration readYourWrites) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return new ReadWriteRoutingDataSource(primary, replica,
+                new ReadYourWritesWindow(readYourWrites, MAX_TRACKED_WRITERS, System::currentTimeMillis));
+    }
+
+    // Hibernate otherwise holds a connection for the whole session, which with open-in-view is the
+    // whole request, so a later read-only transaction would reuse the first transaction's target
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "finance.datasource.replica", name = "local-replication-interval")
+    public H2SnapshotReplicator h2SnapshotReplicator(DataSource dataSource) throws SQLException {
+        ReadWriteRoutingDataSource routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        return new H2SnapshotReplicator(routing.getPrimary(), routing.getReplica());
+    }
+}
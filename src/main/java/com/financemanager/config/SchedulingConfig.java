@@ -0,0 +1,14 @@
+package com.financemanager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background tasks unless {@code finance.scheduling.enabled=false}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "finance.scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,5 +1,7 @@
 package com.financemanager.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,11 +12,21 @@ import org.springframework.security.web.SecurityFilterChain;
 
 /**
  * Security configuration for the application.
+ *
+ * <p>Health is public. The Prometheus scrape endpoint is only open on {@code management.server.port},
+ * which should not be reachable from outside; on any other port it needs an authenticated user
+ * like the rest of the actuator.</p>
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private final int managementPort;
+
+    public SecurityConfig(@Value("${management.server.port:-1}") int managementPort) {
+        this.managementPort = managementPort;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -34,6 +46,8 @@ public class SecurityConfig {
                                 "/v3/api-docs.yaml"
                         ).permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers(this::isPrometheusScrape).permitAll()
                         .anyRequest().authenticated())
                 .formLogin(form -> form.disable())
                 .httpBasic(basic -> basic.disable())
@@ -41,4 +55,10 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    private boolean isPrometheusScrape(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort
+                && HttpMethod.GET.matches(request.getMethod())
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
 }
@@ -0,0 +1,111 @@
+package com.financemanager.config;
+
+import com.financemanager.service.CategoryService;
+import com.financemanager.sharding.ShardContext;
+import com.financemanager.sharding.ShardDirectory;
+import com.financemanager.sharding.ShardMap;
+import com.financemanager.sharding.ShardProvisioner;
+import com.financemanager.sharding.ShardRoutingAspect;
+import com.financemanager.sharding.ShardRoutingDataSource;
+import com.financemanager.sharding.ShardSplitter;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User sharding, enabled by {@code finance.sharding.enabled=true}.
+ *
+ * <p>{@code spring.datasource.*} becomes the directory, which holds users and report jobs.
+ * {@code finance.sharding.shards} lists one JDBC URL per shard, named {@code shard1},
+ * {@code shard2} and so on in that order; they share the directory's credentials. Every shard is
+ * provisioned with the full schema at startup. Cannot be combined with
+ * {@code finance.datasource.replica.enabled}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "finance.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardDirectory shardDirectory(@Value("${finance.sharding.shards}") List<String> urls,
+                                         @Value("${finance.sharding.virtual-nodes:128}") int virtualNodes) {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= urls.size(); i++) {
+            names.add("shard" + i);
+        }
+        return new ShardDirectory(new ShardMap(names, virtualNodes));
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${finance.sharding.shards}") List<String> urls) {
+        HikariDataSource directory = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        directory.setPoolName(ShardContext.DIRECTORY);
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(directory);
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            shard.setPoolName("shard" + (i + 1));
+            routing.addShard("shard" + (i + 1), shard);
+        }
+        return routing;
+    }
+
+    // See ReadReplicaConfig: each transaction must pick its own connection
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerShardTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardDirectory shardDirectory, ObjectProvider<DataSource> dataSource,
+                                                 ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return new ShardRoutingAspect(shardDirectory, () -> routing(dataSource.getObject()), transactionManager::getObject);
+    }
+
+    @Bean
+    public ShardProvisioner shardProvisioner(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                                             CategoryService categoryService) {
+        return new ShardProvisioner(routing(dataSource), entityManagerFactory, categoryService);
+    }
+
+    @Bean
+    public ShardSplitter shardSplitter(ShardDirectory shardDirectory, DataSource dataSource,
+                                       ShardProvisioner shardProvisioner) {
+        return new ShardSplitter(shardDirectory, routing(dataSource), shardProvisioner);
+    }
+
+    // After all singletons, so before the runners that seed the directory and serve traffic
+    @Bean
+    public SmartInitializingSingleton provisionShards(ShardDirectory shardDirectory, ShardProvisioner shardProvisioner) {
+        return () -> {
+            ShardMap map = shardDirectory.map();
+            map.shards().forEach(shard -> shardProvisioner.provision(shard, map.ordinal(shard)));
+        };
+    }
+
+    private static ShardRoutingDataSource routing(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(ShardRoutingDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Sharding needs the routing data source", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.financemanager.config;
+
+import com.financemanager.service.SnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.nio.file.Path;
+
+/**
+ * Restores {@code finance.snapshot.restore-from} into the empty database at startup.
+ *
+ * <p>Runs in the earliest lifecycle phase, before the web server starts listening and before
+ * scheduled tasks are registered, so nothing reads or writes the database until the restore is
+ * complete. A failed restore deletes what it inserted and aborts startup.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "finance.snapshot", name = "restore-from")
+public class SnapshotRestoreInitializer implements SmartLifecycle {
+
+    private final SnapshotService snapshotService;
+    private final Path file;
+    private volatile boolean running;
+
+    public SnapshotRestoreInitializer(SnapshotService snapshotService,
+                                      @Value("${finance.snapshot.restore-from}") Path file) {
+        this.snapshotService = snapshotService;
+        this.file = file;
+    }
+
+    @Override
+    public void start() {
+        snapshotService.restore(file);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,85 @@
+package com.financemanager.controller;
+
+import com.financemanager.dto.BudgetResponse;
+import com.financemanager.dto.BudgetStatusesResponse;
+import com.financemanager.dto.BudgetsResponse;
+import com.financemanager.dto.CreateBudgetRequest;
+import com.financemanager.dto.MessageResponse;
+import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Controller for monthly category budget endpoints.
+ */
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+    private final AuthenticationService authenticationService;
+
+    /**
+     * Create or replace the budget for a category.
+     *
+     * @param request Create budget request
+     * @return BudgetResponse with saved budget
+     */
+    @PostMapping
+    public ResponseEntity<BudgetResponse> saveBudget(@Valid @RequestBody CreateBudgetRequest request) {
+        var user = authenticationService.getCurrentUser();
+        return ResponseEntity.ok(budgetService.saveBudget(request, user));
+    }
+
+    /**
+     * Get all budgets for the user.
+     *
+     * @return BudgetsResponse with all budgets
+     */
+    @GetMapping
+    public ResponseEntity<BudgetsResponse> getBudgets() {
+        var user = authenticationService.getCurrentUser();
+        return ResponseEntity.ok(budgetService.getBudgets(user));
+    }
+
+    /**
+     * Get spending against each budget for a month.
+     *
+     * @param month Optional month (YYYY-MM), defaults to the current month
+     * @return BudgetStatusesResponse with one status per budget
+     */
+    @GetMapping("/status")
+    public ResponseEntity<BudgetStatusesResponse> getStatuses(@RequestParam(required = false) String month) {
+        var user = authenticationService.getCurrentUser();
+        YearMonth yearMonth;
+        try {
+            yearMonth = month == null || month.isBlank() ? YearMonth.now() : YearMonth.parse(month);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid month: " + month + " (expected YYYY-MM)");
+        }
+        return ResponseEntity.ok(budgetService.getStatuses(user, yearMonth));
+    }
+
+    /**
+     * Delete a budget.
+     *
+     * @param id Budget ID
+     * @return MessageResponse with success message
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<MessageResponse> deleteBudget(@PathVariable Long id) {
+        var user = authenticationService.getCurrentUser();
+        budgetService.deleteBudget(id, user);
+        return ResponseEntity.ok(MessageResponse.builder()
+                .message("Budget deleted successfully")
+                .build());
+    }
+}
@@ -1,7 +1,10 @@
 package com.financemanager.controller;
 
 import com.financemanager.dto.CategoriesResponse;
+import com.financemanager.dto.CategorizationRuleResponse;
+import com.financemanager.dto.CategorizationRulesResponse;
 import com.financemanager.dto.CategoryResponse;
+import com.financemanager.dto.CreateCategorizationRuleRequest;
 import com.financemanager.dto.CreateCategoryRequest;
 import com.financemanager.dto.MessageResponse;
 import com.financemanager.service.AuthenticationService;
@@ -64,4 +67,43 @@ public class CategoryController {
                 .message("Category deleted successfully")
                 .build());
     }
+
+    /**
+     * Get all categorization rules for the user.
+     *
+     * @return CategorizationRulesResponse with all rules
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<CategorizationRulesResponse> getRules() {
+        var user = authenticationService.getCurrentUser();
+        return ResponseEntity.ok(categoryService.getRules(user));
+    }
+
+    /**
+     * Create a categorization rule.
+     *
+     * @param request Create categorization rule request
+     * @return CategorizationRuleResponse with created rule
+     */
+    @PostMapping("/rules")
+    public ResponseEntity<CategorizationRuleResponse> createRule(@Valid @RequestBody CreateCategorizationRuleRequest request) {
+        var user = authenticationService.getCurrentUser();
+        CategorizationRuleResponse response = categoryService.createRule(request, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Delete a categorization rule.
+     *
+     * @param id Rule ID
+     * @return MessageResponse with success message
+     */
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<MessageResponse> deleteRule(@PathVariable Long id) {
+        var user = authenticationService.getCurrentUser();
+        categoryService.deleteRule(id, user);
+        return ResponseEntity.ok(MessageResponse.builder()
+                .message("Categorization rule deleted successfully")
+                .build());
+    }
 }
@@ -0,0 +1,78 @@
+package com.financemanager.controller;
+
+import com.financemanager.dto.CreateRecurringRuleRequest;
+import com.financemanager.dto.MessageResponse;
+import com.financemanager.dto.RecurringRuleResponse;
+import com.financemanager.dto.RecurringRulesResponse;
+import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.RecurringRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for recurring transaction rule endpoints.
+ */
+@RestController
+@RequestMapping("/api/recurring-rules")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class RecurringRuleController {
+
+    private final RecurringRuleService recurringRuleService;
+    private final AuthenticationService authenticationService;
+
+    /**
+     * Create a new recurring rule.
+     *
+     * @param request Create recurring rule request
+     * @return RecurringRuleResponse with created rule
+     */
+    @PostMapping
+    public ResponseEntity<RecurringRuleResponse> createRule(@Valid @RequestBody CreateRecurringRuleRequest request) {
+        var user = authenticationService.getCurrentUser();
+        RecurringRuleResponse response = recurringRuleService.createRule(request, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Get all recurring rules for the user.
+     *
+     * @return RecurringRulesResponse with all rules
+     */
+    @GetMapping
+    public ResponseEntity<RecurringRulesResponse> getRules() {
+        var user = authenticationService.getCurrentUser();
+        return ResponseEntity.ok(recurringRuleService.getRules(user));
+    }
+
+    /**
+     * Get a specific recurring rule.
+     *
+     * @param id Rule ID
+     * @return RecurringRuleResponse with rule details
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringRuleResponse> getRule(@PathVariable Long id) {
+        var user = authenticationService.getCurrentUser();
+        return ResponseEntity.ok(recurringRuleService.getRule(id, user));
+    }
+
+    /**
+     * Delete a recurring rule.
+     *
+     * @param id Rule ID
+     * @return MessageResponse with success message
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<MessageResponse> deleteRule(@PathVariable Long id) {
+        var user = authenticationService.getCurrentUser();
+        recurringRuleService.deleteRule(id, user);
+        return ResponseEntity.ok(MessageResponse.builder()
+                .message("Recurring rule deleted successfully")
+                .build());
+    }
+}
@@ -1,13 +1,22 @@
 package com.financemanager.controller;
 
+import com.financemanager.dto.ForecastResponse;
 import com.financemanager.dto.MonthlyReportResponse;
+import com.financemanager.dto.RangeReportResponse;
+import com.financemanager.dto.TimeSeriesResponse;
 import com.financemanager.dto.YearlyReportResponse;
+import com.financemanager.entity.CategoryType;
 import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.ForecastService;
 import com.financemanager.service.ReportService;
+import com.financemanager.service.TrendService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 
 /**
  * Controller for financial reports endpoints.
@@ -20,6 +29,8 @@ public class ReportController {
 
     private final ReportService reportService;
     private final AuthenticationService authenticationService;
+    private final TrendService trendService;
+    private final ForecastService forecastService;
 
     /**
      * Get monthly report.
@@ -58,4 +69,92 @@ public class ReportController {
         YearlyReportResponse response = reportService.getYearlyReport(year, user);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get monthly reports for an inclusive range of months.
+     *
+     * @param from First month (YYYY-MM)
+     * @param to Last month (YYYY-MM)
+     * @return RangeReportResponse with one report per month plus totals
+     */
+    @GetMapping("/range")
+    public ResponseEntity<RangeReportResponse> getRangeReport(
+            @RequestParam String from,
+            @RequestParam String to) {
+        YearMonth fromMonth = parseYearMonth("from", from);
+        YearMonth toMonth = parseYearMonth("to", to);
+        var user = authenticationService.getCurrentUser();
+        RangeReportResponse response = reportService.getRangeReport(fromMonth, toMonth, user);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get per-category trend series.
+     *
+     * @param granularity DAILY, WEEKLY or MONTHLY
+     * @param from First day (YYYY-MM-DD)
+     * @param to Last day (YYYY-MM-DD)
+     * @param category Optional category name filter
+     * @param type Optional type filter (INCOME or EXPENSE)
+     * @return TimeSeriesResponse with bucketed values per category
+     */
+    @GetMapping("/series")
+    public ResponseEntity<TimeSeriesResponse> getSeries(
+            @RequestParam(defaultValue = "DAILY") String granularity,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String type) {
+        TrendService.Granularity bucket = parseEnum(TrendService.Granularity.class, "granularity", granularity);
+        CategoryType typeFilter = type == null || type.isBlank() ? null : parseEnum(CategoryType.class, "type", type);
+        LocalDate fromDate = parseDate("from", from);
+        LocalDate toDate = parseDate("to", to);
+        var user = authenticationService.getCurrentUser();
+        TimeSeriesResponse response = trendService.getSeries(user, bucket, fromDate, toDate, category, typeFilter);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get a cash-flow forecast for the coming months.
+     *
+     * @param months Number of months to project (1-24)
+     * @return ForecastResponse with projected income, expenses, savings and goal outlooks
+     */
+    @GetMapping("/forecast")
+    public ResponseEntity<ForecastResponse> getForecast(@RequestParam(defaultValue = "6") int months) {
+        if (months < 1 || months > ForecastService.MAX_FORECAST_MONTHS) {
+            throw new IllegalArgumentException("Months must be between 1 and " + ForecastService.MAX_FORECAST_MONTHS);
+        }
+        var user = authenticationService.getCurrentUser();
+        ForecastResponse response = forecastService.getForecast(months, user);
+        return ResponseEntity.ok(response);
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("'" + name + "' must be in YYYY-MM-DD format");
+        }
+    }
+
+    private YearMonth parseYearMonth(String name, String value) {
+        try {
+            YearMonth yearMonth = YearMonth.parse(value);
+            if (yearMonth.getYear() <= 0) {
+                throw new IllegalArgumentException("Year must be a positive integer");
+            }
+            return yearMonth;
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("'" + name + "' must be in YYYY-MM format");
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.financemanager.controller;
+
+import com.financemanager.dto.CreateReportJobRequest;
+import com.financemanager.dto.ReportJobResponse;
+import com.financemanager.entity.ReportJobResult;
+import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.ReportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for asynchronous report job endpoints.
+ */
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+    private final AuthenticationService authenticationService;
+
+    /**
+     * Queue a report job.
+     *
+     * @param request Create report job request
+     * @return ReportJobResponse with the queued job
+     */
+    @PostMapping
+    public ResponseEntity<ReportJobResponse> createJob(@Valid @RequestBody CreateReportJobRequest request) {
+        var user = authenticationService.getCurrentUser();
+        ReportJobResponse response = reportJobService.createJob(request, user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/reports/jobs/" + response.getId())
+                .body(response);
+    }
+
+    /**
+     * Get report job status and progress.
+     *
+     * @param id Job ID
+     * @return ReportJobResponse with job status
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobResponse> getJob(@PathVariable Long id) {
+        var user = authenticationService.getCurrentUser();
+        return ResponseEntity.ok(reportJobService.getJob(id, user));
+    }
+
+    /**
+     * Download the result of a completed report job.
+     *
+     * @param id Job ID
+     * @return Report content
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<byte[]> getResult(@PathVariable Long id) {
+        var user = authenticationService.getCurrentUser();
+        ReportJobResult result = reportJobService.getResult(id, user);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(result.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(result.getFileName()).build().toString())
+                .body(result.getContent());
+    }
+}
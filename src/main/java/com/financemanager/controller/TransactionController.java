@@ -1,11 +1,16 @@
 package com.financemanager.controller;
 
+import com.financemanager.dto.AnomaliesResponse;
 import com.financemanager.dto.CreateTransactionRequest;
 import com.financemanager.dto.MessageResponse;
+import com.financemanager.dto.QueuedTransactionResponse;
 import com.financemanager.dto.TransactionResponse;
 import com.financemanager.dto.TransactionsResponse;
 import com.financemanager.dto.UpdateTransactionRequest;
+import com.financemanager.service.AnomalyService;
 import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.BudgetService;
+import com.financemanager.service.TransactionIngestionService;
 import com.financemanager.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,17 +30,35 @@ public class TransactionController {
 
     private final TransactionService transactionService;
     private final AuthenticationService authenticationService;
+    private final TransactionIngestionService ingestionService;
+    private final BudgetService budgetService;
+    private final AnomalyService anomalyService;
 
     /**
      * Create a new transaction.
      *
+     * <p>With {@code Prefer: respond-async} and write-behind ingestion enabled, the transaction is
+     * queued and 202 Accepted is returned with its client ID instead of the saved transaction.
+     * Otherwise the response includes the month's budget status when the category has a budget, and
+     * the anomaly details when the amount is unusual for the category.</p>
+     *
      * @param request Create transaction request
-     * @return TransactionResponse with created transaction
+     * @param prefer Optional Prefer header
+     * @return TransactionResponse with created transaction, or QueuedTransactionResponse when queued
      */
     @PostMapping
-    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody CreateTransactionRequest request) {
+    public ResponseEntity<?> createTransaction(@Valid @RequestBody CreateTransactionRequest request,
+                                               @RequestHeader(value = "Prefer", required = false) String prefer) {
         var user = authenticationService.getCurrentUser();
+        if (prefer != null && prefer.contains("respond-async") && ingestionService.isEnabled()) {
+            QueuedTransactionResponse queued = ingestionService.enqueue(request, user);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Preference-Applied", "respond-async")
+                    .body(queued);
+        }
         TransactionResponse response = transactionService.createTransaction(request, user);
+        response.setBudgetStatus(budgetService.getStatus(user, response.getCategory(), response.getDate()));
+        response.setAnomaly(anomalyService.getAnomaly(user, response.getId()));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -55,10 +78,37 @@ public class TransactionController {
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) String type) {
         var user = authenticationService.getCurrentUser();
+        ingestionService.awaitFlushed(user.getId());
         TransactionsResponse response = transactionService.getTransactions(user, startDate, endDate, category, categoryId, type);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get what happened to a transaction queued with {@code Prefer: respond-async}.
+     *
+     * @param clientId Client ID returned when the transaction was queued
+     * @return QueuedTransactionResponse with status QUEUED, WRITTEN or FAILED
+     */
+    @GetMapping("/queued/{clientId}")
+    public ResponseEntity<QueuedTransactionResponse> getQueuedTransaction(@PathVariable String clientId) {
+        var user = authenticationService.getCurrentUser();
+        QueuedTransactionResponse response = ingestionService.status(user, clientId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get recently flagged transactions whose amounts were unusual for their category.
+     *
+     * @return AnomaliesResponse with anomalies, newest first
+     */
+    @GetMapping("/anomalies")
+    public ResponseEntity<AnomaliesResponse> getAnomalies() {
+        var user = authenticationService.getCurrentUser();
+        ingestionService.awaitFlushed(user.getId());
+        AnomaliesResponse response = anomalyService.getAnomalies(user);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update a transaction.
      *
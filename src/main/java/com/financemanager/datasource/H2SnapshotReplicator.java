@@ -0,0 +1,57 @@
+package com.financemanager.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Local stand-in for replication between two H2 databases: copies the whole primary onto the
+ * replica with {@code SCRIPT} every {@code finance.datasource.replica.local-replication-interval}.
+ * The gap between runs plays the part of replica lag.
+ *
+ * <p>Only for development and tests. Each run rebuilds the replica's schema, so readers can briefly
+ * see missing tables while it runs.</p>
+ */
+public class H2SnapshotReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(H2SnapshotReplicator.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public H2SnapshotReplicator(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    /**
+     * Copy the primary's current schema and data to the replica.
+     */
+    @Scheduled(fixedDelayString = "${finance.datasource.replica.local-replication-interval}")
+    public void replicate() {
+        try (Connection source = primary.getConnection();
+             Connection target = replica.getConnection();
+             Statement read = source.createStatement();
+             Statement write = target.createStatement()) {
+            write.execute("DROP ALL OBJECTS");
+            int statements = 0;
+            try (ResultSet script = read.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+                while (script.next()) {
+                    String sql = script.getString(1);
+                    if (!sql.startsWith("CREATE USER")) {
+                        write.execute(sql);
+                        statements++;
+                    }
+                }
+            }
+            log.debug("Replicated {} statements to the replica", statements);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Replica refresh failed", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.financemanager.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * <p>The routing decision needs the transaction's read-only flag, which Spring sets only after the
+ * transaction manager has asked for a connection. This is therefore a
+ * {@link LazyConnectionDataSourceProxy}: the physical connection, and with it the target, is picked
+ * at the first statement.</p>
+ *
+ * <p>A user whose write committed within the {@link ReadYourWritesWindow} keeps reading from the
+ * primary, so they see their own change even if the replica lags. Work outside a transaction, such
+ * as schema creation, goes to the primary.</p>
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesWindow window) {
+        this.primary = primary;
+        this.replica = replica;
+        Router router = new Router(window);
+        router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Target for a connection opened now on the current thread.
+     *
+     * @param window Read-your-writes window
+     * @return REPLICA for a read-only transaction of a user outside their window, PRIMARY otherwise
+     */
+    static Route currentRoute(ReadYourWritesWindow window) {
+        String user = currentUser();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return window.isOpen(user) ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    window.recordWrite(user);
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource target : new DataSource[] {replica, primary}) {
+            if (target instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static class Router extends AbstractRoutingDataSource {
+
+        private final ReadYourWritesWindow window;
+
+        Router(ReadYourWritesWindow window) {
+            this.window = window;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return currentRoute(window);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.financemanager.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers, per user, when their last write committed, so that their reads can stay on the primary
+ * until the replica has had time to catch up.
+ *
+ * <p>Entries are dropped when they are found expired, and swept once the map grows past
+ * {@code maxUsers}, so it only ever holds users who wrote within roughly one window.</p>
+ */
+public class ReadYourWritesWindow {
+
+    private final long windowMillis;
+    private final int maxUsers;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesWindow(Duration window, int maxUsers, LongSupplier clock) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Read-your-writes window must not be negative");
+        }
+        this.windowMillis = window.toMillis();
+        this.maxUsers = maxUsers;
+        this.clock = clock;
+    }
+
+    /**
+     * Record a committed write by a user. Does nothing when the window is zero.
+     *
+     * @param user Username
+     */
+    public void recordWrite(String user) {
+        if (windowMillis == 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        lastWrites.put(user, now);
+        if (lastWrites.size() > maxUsers) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowMillis);
+        }
+    }
+
+    /**
+     * Whether the user wrote recently enough that their reads must go to the primary.
+     *
+     * @param user Username, or null outside an authenticated request
+     * @return true if the user's last write is within the window
+     */
+    public boolean isOpen(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.getAsLong() - writtenAt < windowMillis) {
+            return true;
+        }
+        lastWrites.remove(user, writtenAt);
+        return false;
+    }
+
+    int size() {
+        return lastWrites.size();
+    }
+}
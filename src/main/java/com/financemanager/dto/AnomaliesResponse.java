@@ -0,0 +1,18 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO for anomalies list response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnomaliesResponse {
+    private List<AnomalyResponse> anomalies;
+}
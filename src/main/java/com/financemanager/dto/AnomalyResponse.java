@@ -0,0 +1,27 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * DTO for a transaction whose amount was unusual for its category.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnomalyResponse {
+    private Long transactionId;
+    private String category;
+    private LocalDate date;
+    private BigDecimal amount;
+    private BigDecimal typicalAmount;
+    private BigDecimal standardDeviation;
+    private Double score;
+    private Instant detectedAt;
+}
@@ -0,0 +1,20 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * DTO for budget response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetResponse {
+    private Long id;
+    private String category;
+    private BigDecimal amount;
+}
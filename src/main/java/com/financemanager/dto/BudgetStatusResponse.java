@@ -0,0 +1,24 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * DTO for one category's spending against its budget in a month.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetStatusResponse {
+    private String category;
+    private String month;
+    private BigDecimal limit;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private Double percentUsed;
+    private Boolean overBudget;
+}
@@ -0,0 +1,19 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO for budget status list response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetStatusesResponse {
+    private String month;
+    private List<BudgetStatusResponse> statuses;
+}
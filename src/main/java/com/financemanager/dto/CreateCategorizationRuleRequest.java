@@ -0,0 +1,24 @@
+package com.financemanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for creating a categorization rule request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateCategorizationRuleRequest {
+    @NotBlank(message = "Pattern is required")
+    @Size(max = 100, message = "Pattern must not exceed 100 characters")
+    private String pattern;
+
+    @NotBlank(message = "Category is required")
+    private String category;
+}
@@ -0,0 +1,39 @@
+package com.financemanager.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * DTO for creating a recurring transaction rule.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateRecurringRuleRequest {
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 15, fraction = 2, message = "Amount must have at most 15 integer digits and 2 decimal places")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+
+    @NotBlank(message = "Frequency is required")
+    @Pattern(regexp = "DAILY|WEEKLY|MONTHLY|YEARLY", message = "Frequency must be DAILY, WEEKLY, MONTHLY or YEARLY")
+    private String frequency;
+
+    @NotBlank(message = "Start date is required")
+    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "Start date must be in YYYY-MM-DD format")
+    private String startDate;
+
+    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "End date must be in YYYY-MM-DD format")
+    private String endDate;
+}
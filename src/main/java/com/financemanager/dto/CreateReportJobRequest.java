@@ -0,0 +1,31 @@
+package com.financemanager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for creating an asynchronous report job request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateReportJobRequest {
+    @NotBlank(message = "Report type is required")
+    @Pattern(regexp = "CATEGORY_BREAKDOWN|TRANSACTIONS_CSV", message = "Report type must be CATEGORY_BREAKDOWN or TRANSACTIONS_CSV")
+    private String type;
+
+    @Min(value = 1, message = "From year must be a positive integer")
+    @Max(value = 9999, message = "From year must not exceed 9999")
+    private Integer fromYear;
+
+    @Min(value = 1, message = "To year must be a positive integer")
+    @Max(value = 9999, message = "To year must not exceed 9999")
+    private Integer toYear;
+}
@@ -17,15 +17,21 @@ import java.math.BigDecimal;
 public class CreateTransactionRequest {
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 15, fraction = 2, message = "Amount must have at most 15 integer digits and 2 decimal places")
     private BigDecimal amount;
 
     @NotBlank(message = "Date is required")
     @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "Date must be in YYYY-MM-DD format")
     private String date;
 
-    @NotBlank(message = "Category is required")
+    // Optional when a categorization rule matches the description
     private String category;
 
     @Size(max = 500, message = "Description must not exceed 500 characters")
     private String description;
+
+    // Optional client-generated identifier, echoed back when the transaction is queued
+    @Size(max = 64, message = "Client ID must not exceed 64 characters")
+    @Pattern(regexp = "[A-Za-z0-9_-]*", message = "Client ID may only contain letters, digits, '-' and '_'")
+    private String clientId;
 }
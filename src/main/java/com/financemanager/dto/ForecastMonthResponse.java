@@ -0,0 +1,25 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO for one projected month in a forecast.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastMonthResponse {
+    private String month;
+    private Map<String, BigDecimal> income;
+    private Map<String, BigDecimal> expenses;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpenses;
+    private BigDecimal netSavings;
+    private BigDecimal cumulativeNetSavings;
+}
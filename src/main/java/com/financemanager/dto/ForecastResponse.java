@@ -0,0 +1,22 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO for cash-flow forecast response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastResponse {
+    private Integer months;
+    private String historyFrom;
+    private String historyTo;
+    private List<ForecastMonthResponse> projections;
+    private List<GoalForecastResponse> goals;
+}
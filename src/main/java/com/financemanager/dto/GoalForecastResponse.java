@@ -0,0 +1,26 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for a savings goal's projected progress at its target date.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GoalForecastResponse {
+    private Long id;
+    private String goalName;
+    private LocalDate targetDate;
+    private BigDecimal targetAmount;
+    private BigDecimal currentProgress;
+    private BigDecimal projectedProgress;
+    private BigDecimal requiredMonthlySavings;
+    private Boolean onTrack;
+}
@@ -0,0 +1,22 @@
+package com.financemanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a transaction accepted into the write-behind queue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueuedTransactionResponse {
+    private String clientId;
+    private String status;
+    // Why the transaction could not be written; only set when the status is FAILED
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for recurring rule response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringRuleResponse {
+    private Long id;
+    private BigDecimal amount;
+    private String category;
+    private String type;
+    private String description;
+    private String frequency;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextRunDate;
+    private Long occurrences;
+    private Boolean active;
+}
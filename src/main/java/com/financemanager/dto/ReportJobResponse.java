@@ -0,0 +1,28 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for report job status response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResponse {
+    private Long id;
+    private String type;
+    private String status;
+    private Integer progress;
+    private Integer fromYear;
+    private Integer toYear;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+    private String resultUrl;
+}
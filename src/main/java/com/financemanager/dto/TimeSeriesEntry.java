@@ -0,0 +1,21 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for one category's values in a time-series response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSeriesEntry {
+    private String category;
+    private String type;
+    private List<BigDecimal> values;
+}
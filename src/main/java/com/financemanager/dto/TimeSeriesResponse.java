@@ -0,0 +1,23 @@
+package com.financemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for time-series (trend) response. {@code periods[i]} is the first day of bucket {@code i}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSeriesResponse {
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private List<LocalDate> periods;
+    private List<TimeSeriesEntry> series;
+}
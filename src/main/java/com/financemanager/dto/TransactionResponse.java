@@ -1,5 +1,6 @@
 package com.financemanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,4 +22,12 @@ public class TransactionResponse {
     private String category;
     private String description;
     private String type;
+
+    // Only set on create, when the transaction's category has a budget
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BudgetStatusResponse budgetStatus;
+
+    // Only set on create, when the amount is unusual for the category
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AnomalyResponse anomaly;
 }
@@ -5,12 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 /**
- * Category entity for transaction categorization.
+ * Category entity for transaction categorization. Cached in the second-level cache: categories
+ * are read on every listing and transaction write but change rarely.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "categories", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "name"})
 })
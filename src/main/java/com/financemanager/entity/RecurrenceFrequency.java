@@ -0,0 +1,28 @@
+package com.financemanager.entity;
+
+import java.time.LocalDate;
+
+/**
+ * Enum for how often a recurring rule fires.
+ */
+public enum RecurrenceFrequency {
+    DAILY, WEEKLY, MONTHLY, YEARLY;
+
+    /**
+     * Date of the given occurrence counted from the start date. Monthly and yearly dates are
+     * computed from the start date each time, so a rule starting on the 31st fires on the last
+     * day of shorter months and returns to the 31st afterwards.
+     *
+     * @param start First occurrence
+     * @param index Zero-based occurrence number
+     * @return Occurrence date
+     */
+    public LocalDate occurrence(LocalDate start, long index) {
+        return switch (this) {
+            case DAILY -> start.plusDays(index);
+            case WEEKLY -> start.plusWeeks(index);
+            case MONTHLY -> start.plusMonths(index);
+            case YEARLY -> start.plusYears(index);
+        };
+    }
+}
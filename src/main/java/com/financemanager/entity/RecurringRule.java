@@ -0,0 +1,80 @@
+package com.financemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * RecurringRule entity describing a transaction that repeats on a fixed schedule.
+ *
+ * <p>{@code occurrences} and {@code nextRunDate} are the materializer's checkpoint: they are
+ * advanced in the same database transaction that inserts the generated transactions.</p>
+ */
+@Entity
+@Table(name = "recurring_rules", indexes = {
+    @Index(name = "idx_recurring_rules_due", columnList = "active, next_run_date, user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_rules_seq")
+    @SequenceGenerator(name = "recurring_rules_seq", sequenceName = "recurring_rules_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Column(name = "next_run_date")
+    private LocalDate nextRunDate;
+
+    @Column(nullable = false)
+    private Long occurrences;
+
+    @Column(nullable = false)
+    private Boolean active;
+
+    @ManyToOne
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
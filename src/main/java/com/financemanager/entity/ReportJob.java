@@ -0,0 +1,65 @@
+package com.financemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * ReportJob entity representing an asynchronously generated report.
+ */
+@Entity
+@Table(name = "report_jobs", indexes = {
+    @Index(name = "idx_report_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status;
+
+    @Column(nullable = false)
+    private Integer progress;
+
+    private Integer fromYear;
+
+    private Integer toYear;
+
+    @Column(length = 500)
+    private String error;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = ReportJobStatus.QUEUED;
+        }
+        if (progress == null) {
+            progress = 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.financemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Generated content of a completed report job, kept apart from the job row so status
+ * polling does not load it.
+ */
+@Entity
+@Table(name = "report_job_results")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResult {
+    @Id
+    private Long jobId;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] content;
+}
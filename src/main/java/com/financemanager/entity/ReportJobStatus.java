@@ -0,0 +1,11 @@
+package com.financemanager.entity;
+
+/**
+ * Enum representing the lifecycle state of a report job.
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
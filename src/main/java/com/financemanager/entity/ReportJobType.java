@@ -0,0 +1,11 @@
+package com.financemanager.entity;
+
+/**
+ * Enum representing the kind of report a job produces.
+ */
+public enum ReportJobType {
+    /** Yearly income and expense totals per category, as JSON. */
+    CATEGORY_BREAKDOWN,
+    /** Transaction history, as CSV. */
+    TRANSACTIONS_CSV
+}
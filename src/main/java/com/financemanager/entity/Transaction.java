@@ -13,14 +13,18 @@ import java.time.LocalDateTime;
  * Transaction entity representing a financial transaction.
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "client_id"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Transaction {
+    // Sequence ids (allocated in blocks) let Hibernate batch inserts; IDENTITY would force one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,6 +36,9 @@ public class Transaction {
     @Column(length = 500)
     private String description;
 
+    @Column(name = "client_id", length = 64)
+    private String clientId;
+
     @ManyToOne
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -0,0 +1,11 @@
+package com.financemanager.event;
+
+import lombok.Value;
+
+/**
+ * Published when a report job is queued so the dispatcher can pick it up after commit.
+ */
+@Value
+public class ReportJobQueuedEvent {
+    Long jobId;
+}
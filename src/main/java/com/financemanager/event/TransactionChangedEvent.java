@@ -0,0 +1,29 @@
+package com.financemanager.event;
+
+import lombok.Value;
+
+/**
+ * Published by TransactionService whenever a transaction is created, updated or deleted.
+ *
+ * <p>{@code before} is null for creates and {@code after} is null for deletes. Listeners that
+ * maintain derived state should use {@code @TransactionalEventListener} so they only see
+ * committed changes.</p>
+ */
+@Value
+public class TransactionChangedEvent {
+    Long userId;
+    TransactionSnapshot before;
+    TransactionSnapshot after;
+
+    public static TransactionChangedEvent created(Long userId, TransactionSnapshot after) {
+        return new TransactionChangedEvent(userId, null, after);
+    }
+
+    public static TransactionChangedEvent updated(Long userId, TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChangedEvent(userId, before, after);
+    }
+
+    public static TransactionChangedEvent deleted(Long userId, TransactionSnapshot before) {
+        return new TransactionChangedEvent(userId, before, null);
+    }
+}
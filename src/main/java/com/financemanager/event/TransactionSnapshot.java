@@ -0,0 +1,32 @@
+package com.financemanager.event;
+
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import lombok.Value;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of the fields of a transaction that derived stores care about.
+ */
+@Value
+public class TransactionSnapshot {
+    Long id;
+    Long categoryId;
+    String categoryName;
+    CategoryType type;
+    LocalDate date;
+    BigDecimal amount;
+    String description;
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                transaction.getCategory().getId(),
+                transaction.getCategory().getName(),
+                transaction.getCategory().getType(),
+                transaction.getDate(),
+                transaction.getAmount(),
+                transaction.getDescription());
+    }
+}
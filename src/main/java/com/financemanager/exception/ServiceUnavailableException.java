@@ -0,0 +1,14 @@
+package com.financemanager.exception;
+
+/**
+ * Custom exception for temporarily overloaded scenarios.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,50 @@
+package com.financemanager.filter;
+
+import com.financemanager.logging.SampledDebugTurboFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks a fraction of requests, {@code finance.logging.debug-sample-rate}, whose DEBUG logs are
+ * written in full, including the security and web framework loggers.
+ *
+ * <p>Runs ahead of the security filter chain so a sampled request's authentication steps are
+ * logged too. A rate of 0 disables sampling.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class DebugLogSamplingFilter extends OncePerRequestFilter {
+
+    private final double sampleRate;
+
+    public DebugLogSamplingFilter(@Value("${finance.logging.debug-sample-rate:0}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("finance.logging.debug-sample-rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (sampleRate == 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+        SampledDebugTurboFilter.setSampled(true);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SampledDebugTurboFilter.setSampled(false);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.financemanager.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financemanager.exception.ErrorResponse;
+import com.financemanager.store.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Replays the stored response for repeated {@code POST /api/transactions} and {@code POST /api/goals}
+ * requests that carry the same {@code Idempotency-Key} header.
+ *
+ * <p>Keys are scoped to the authenticated user and endpoint. A repeat with a different body is
+ * rejected with 422, and a repeat that arrives while the original is still running gets 409.
+ * Responses with a 5xx status are not stored so the client can retry. The body is buffered to
+ * fingerprint it, so bodies over {@code finance.idempotency.max-body-bytes} are rejected with 413.</p>
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> PATHS = Set.of("/api/transactions", "/api/goals");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(ObjectMapper objectMapper,
+                             @Value("${finance.idempotency.ttl:PT24H}") Duration ttl,
+                             @Value("${finance.idempotency.buckets:24}") int buckets,
+                             @Value("${finance.idempotency.max-entries:100000}") int maxEntries,
+                             @Value("${finance.idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = maxBodyBytes;
+        this.store = new IdempotencyStore(ttl, buckets, maxEntries, System::currentTimeMillis);
+    }
+
+    public IdempotencyStore getStore() {
+        return store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !PATHS.contains(request.getRequestURI())
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        if (principal == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // Checked before and after reading, since the declared length may be missing or wrong
+        byte[] requestBody = request.getContentLengthLong() > maxBodyBytes
+                ? null : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (requestBody == null || requestBody.length > maxBodyBytes) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body must not exceed " + maxBodyBytes + " bytes");
+            return;
+        }
+        String scopedKey = principal.getName() + ' ' + request.getRequestURI() + ' ' + key;
+        IdempotencyStore.Entry reserved = new IdempotencyStore.Entry(fingerprint(requestBody));
+        IdempotencyStore.Entry existing = store.putIfAbsent(scopedKey, reserved);
+
+        if (existing == reserved) {
+            log.warn("Idempotency store is full, processing request without deduplication");
+            chain.doFilter(new CachedBodyRequest(request, requestBody), response);
+            return;
+        }
+        if (existing != null) {
+            replay(request, response, reserved, existing);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, requestBody), wrapper);
+            if (wrapper.getStatus() < 500) {
+                reserved.complete(wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.remove(scopedKey, reserved);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response,
+                        IdempotencyStore.Entry attempt, IdempotencyStore.Entry existing) throws IOException {
+        if (!existing.getFingerprint().equals(attempt.getFingerprint())) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request body");
+            return;
+        }
+        if (!existing.isComplete()) {
+            writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+        response.setStatus(existing.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (existing.getContentType() != null) {
+            response.setContentType(existing.getContentType());
+        }
+        if (existing.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, existing.getLocation());
+        }
+        response.setContentLength(existing.getBody().length);
+        response.getOutputStream().write(existing.getBody());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Request wrapper that serves a body that was already read.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is all available at once
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
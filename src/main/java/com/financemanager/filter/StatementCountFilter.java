@@ -0,0 +1,70 @@
+package com.financemanager.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each HTTP request issues.
+ *
+ * <p>The count is recorded in the {@code finance.http.sql.statements} distribution summary, tagged
+ * with the method and matched URI pattern, and left on the request as {@link #COUNT_ATTRIBUTE} so
+ * tests can assert statement budgets. Requests that issue more than
+ * {@code finance.jdbc.statement-warn-threshold} statements are logged, which surfaces N+1 patterns.</p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_ATTRIBUTE = StatementCountFilter.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+    private final long warnThreshold;
+
+    public StatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${finance.jdbc.statement-warn-threshold:30}") long warnThreshold) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountHolder.clear();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long statements = QueryCountHolder.getGrandTotal().getTotal();
+            QueryCountHolder.clear();
+            request.setAttribute(COUNT_ATTRIBUTE, statements);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            if (meterRegistry != null) {
+                DistributionSummary.builder("finance.http.sql.statements")
+                        .description("SQL statements issued per HTTP request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+            if (statements > warnThreshold) {
+                log.warn("{} {} issued {} SQL statements", request.getMethod(), uri, statements);
+            }
+        }
+    }
+}
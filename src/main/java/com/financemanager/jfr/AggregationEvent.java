@@ -0,0 +1,53 @@
+package com.financemanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One in-memory aggregation pass over transactions already read from the database.
+ *
+ * <pre>{@code
+ * AggregationEvent event = AggregationEvent.start("monthly", transactions.size());
+ * ...
+ * event.finish(1);
+ * }</pre>
+ */
+@Name(AggregationEvent.NAME)
+@Label("Aggregation")
+@Category({"Finance Manager", "Service"})
+@Description("An in-memory aggregation loop in a report")
+@StackTrace(false)
+public class AggregationEvent extends Event {
+
+    public static final String NAME = "com.financemanager.Aggregation";
+
+    @Label("Report")
+    String report;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Buckets")
+    @Description("Number of periods the rows were aggregated into")
+    int buckets;
+
+    public static AggregationEvent start(String report, int rows) {
+        AggregationEvent event = new AggregationEvent();
+        event.report = report;
+        event.rows = rows;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int buckets) {
+        end();
+        if (shouldCommit()) {
+            this.buckets = buckets;
+            commit();
+        }
+    }
+}
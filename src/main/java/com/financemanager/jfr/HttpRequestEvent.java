@@ -0,0 +1,35 @@
+package com.financemanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP request, from the outermost filter to the committed response.
+ */
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category({"Finance Manager", "Web"})
+@Description("An HTTP request handled by the application")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    public static final String NAME = "com.financemanager.HttpRequest";
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Matched URI pattern, or UNKNOWN when no handler matched")
+    String endpoint;
+
+    @Label("User Hash")
+    @Description("Truncated SHA-256 of the username, empty for anonymous requests")
+    String userHash;
+
+    @Label("Status")
+    int status;
+}
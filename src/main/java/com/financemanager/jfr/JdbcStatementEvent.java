@@ -0,0 +1,43 @@
+package com.financemanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One JDBC execution through the proxied {@link javax.sql.DataSource}. Batches are a single event.
+ */
+@Name(JdbcStatementEvent.NAME)
+@Label("JDBC Statement")
+@Category({"Finance Manager", "Persistence"})
+@Description("A statement or batch executed through the application DataSource")
+@StackTrace(false)
+public class JdbcStatementEvent extends Event {
+
+    public static final String NAME = "com.financemanager.JdbcStatement";
+
+    private static final int MAX_SQL_LENGTH = 512;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Statements")
+    @Description("Number of statements in the execution; greater than one for batches")
+    int statements;
+
+    @Label("Success")
+    boolean success;
+
+    public void finish(String sql, int statements, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.sql = sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql;
+            this.statements = statements;
+            this.success = success;
+            commit();
+        }
+    }
+}
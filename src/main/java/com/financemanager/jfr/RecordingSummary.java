@@ -0,0 +1,219 @@
+package com.financemanager.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes a Flight Recorder recording into per-endpoint latency breakdowns.
+ *
+ * <p>For each endpoint it prints the request count, p50/p95/max latency, and the mean time per
+ * request spent in service methods, report aggregation and JDBC, plus the mean statement count.
+ * Phases are attributed to a request when they ran on the request's thread inside its time window,
+ * so work handed to other threads is not counted. Service time counts only the outermost service
+ * call when service methods call each other.</p>
+ *
+ * <p>Only needs the JDK: {@code java -cp target/classes com.financemanager.jfr.RecordingSummary finance.jfr}.</p>
+ */
+public final class RecordingSummary {
+
+    private RecordingSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: RecordingSummary <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(format(summarize(Path.of(args[0]))));
+    }
+
+    /**
+     * Latency breakdown for one endpoint. Phase figures are means per request, in milliseconds.
+     */
+    public record EndpointSummary(String endpoint, int count, double p50Millis, double p95Millis, double maxMillis,
+                                  double serviceMillis, double aggregationMillis, double sqlMillis,
+                                  double statements) {
+    }
+
+    private record Span(long start, long end, int weight) {
+        long duration() {
+            return end - start;
+        }
+    }
+
+    private record Request(String endpoint, Span span) {
+    }
+
+    private static final class ThreadPhases {
+        private final List<Request> requests = new ArrayList<>();
+        private final List<Span> service = new ArrayList<>();
+        private final List<Span> aggregation = new ArrayList<>();
+        private final List<Span> jdbc = new ArrayList<>();
+
+        void sort() {
+            Comparator<Span> byStart = Comparator.comparingLong(Span::start);
+            service.sort(byStart);
+            aggregation.sort(byStart);
+            jdbc.sort(byStart);
+        }
+    }
+
+    private static final class Accumulator {
+        private long[] durations = new long[16];
+        private int count;
+        private long service;
+        private long aggregation;
+        private long sql;
+        private long statements;
+
+        void add(long duration) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = duration;
+        }
+
+        EndpointSummary toSummary(String endpoint) {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            return new EndpointSummary(endpoint, count,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)), millis(sorted[count - 1]),
+                    millis(service) / count, millis(aggregation) / count, millis(sql) / count,
+                    (double) statements / count);
+        }
+    }
+
+    /**
+     * Reads a recording and returns one summary per endpoint, busiest first.
+     */
+    public static List<EndpointSummary> summarize(Path recording) throws IOException {
+        Map<Long, ThreadPhases> threads = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String name = event.getEventType().getName();
+            RecordedThread thread = event.getThread();
+            if (thread == null) {
+                continue;
+            }
+            switch (name) {
+                case HttpRequestEvent.NAME -> phases(threads, thread).requests.add(new Request(
+                        event.getString("method") + " " + event.getString("endpoint"), span(event, 1)));
+                case ServiceMethodEvent.NAME -> phases(threads, thread).service.add(span(event, 1));
+                case AggregationEvent.NAME -> phases(threads, thread).aggregation.add(span(event, 1));
+                case JdbcStatementEvent.NAME -> phases(threads, thread).jdbc.add(span(event, event.getInt("statements")));
+                default -> {
+                }
+            }
+        }
+
+        Map<String, Accumulator> endpoints = new HashMap<>();
+        for (ThreadPhases phases : threads.values()) {
+            phases.sort();
+            for (Request request : phases.requests) {
+                Accumulator accumulator = endpoints.computeIfAbsent(request.endpoint(), e -> new Accumulator());
+                accumulator.add(request.span().duration());
+                accumulator.service += outermostTime(phases.service, request.span());
+                accumulator.aggregation += outermostTime(phases.aggregation, request.span());
+                for (Span statement : within(phases.jdbc, request.span())) {
+                    accumulator.sql += statement.duration();
+                    accumulator.statements += statement.weight();
+                }
+            }
+        }
+
+        List<EndpointSummary> summaries = new ArrayList<>(endpoints.size());
+        endpoints.forEach((endpoint, accumulator) -> summaries.add(accumulator.toSummary(endpoint)));
+        summaries.sort(Comparator.comparingInt(EndpointSummary::count).reversed()
+                .thenComparing(EndpointSummary::endpoint));
+        return summaries;
+    }
+
+    /**
+     * Renders summaries as a fixed-width table.
+     */
+    public static String format(List<EndpointSummary> summaries) {
+        StringBuilder out = new StringBuilder();
+        int width = summaries.stream().mapToInt(s -> s.endpoint().length()).max().orElse(0);
+        width = Math.max(width, "endpoint".length());
+        String header = "%-" + width + "s %7s %9s %9s %9s %11s %11s %9s %7s%n";
+        String row = "%-" + width + "s %7d %9.2f %9.2f %9.2f %11.2f %11.2f %9.2f %7.1f%n";
+        out.append(String.format(header, "endpoint", "count", "p50 ms", "p95 ms", "max ms",
+                "service ms", "aggreg. ms", "sql ms", "stmts"));
+        for (EndpointSummary s : summaries) {
+            out.append(String.format(row, s.endpoint(), s.count(), s.p50Millis(), s.p95Millis(), s.maxMillis(),
+                    s.serviceMillis(), s.aggregationMillis(), s.sqlMillis(), s.statements()));
+        }
+        return out.toString();
+    }
+
+    private static ThreadPhases phases(Map<Long, ThreadPhases> threads, RecordedThread thread) {
+        return threads.computeIfAbsent(thread.getId(), id -> new ThreadPhases());
+    }
+
+    private static Span span(RecordedEvent event, int weight) {
+        return new Span(nanos(event.getStartTime()), nanos(event.getEndTime()), weight);
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * Spans sorted by start that lie entirely inside the window.
+     */
+    private static List<Span> within(List<Span> sorted, Span window) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid).start() < window.start()) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Span> result = new ArrayList<>();
+        for (int i = low; i < sorted.size() && sorted.get(i).start() <= window.end(); i++) {
+            if (sorted.get(i).end() <= window.end()) {
+                result.add(sorted.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Time covered by the spans inside the window, counting nested spans once.
+     */
+    private static long outermostTime(List<Span> sorted, Span window) {
+        long total = 0;
+        long coveredUntil = Long.MIN_VALUE;
+        for (Span span : within(sorted, window)) {
+            if (span.start() >= coveredUntil) {
+                total += span.duration();
+                coveredUntil = span.end();
+            } else if (span.end() > coveredUntil) {
+                total += span.end() - coveredUntil;
+                coveredUntil = span.end();
+            }
+        }
+        return total;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.financemanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to a transactional service method, including the transaction it runs in.
+ */
+@Name(ServiceMethodEvent.NAME)
+@Label("Service Method")
+@Category({"Finance Manager", "Service"})
+@Description("A call to a @Transactional method in com.financemanager.service")
+@StackTrace(false)
+public class ServiceMethodEvent extends Event {
+
+    public static final String NAME = "com.financemanager.ServiceMethod";
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    @Description("Size of the returned collection, or -1 when the method does not return one")
+    int rows;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,49 @@
+package com.financemanager.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+
+/**
+ * Emits a {@link ServiceMethodEvent} around every {@code @Transactional} method in
+ * {@code com.financemanager.service}.
+ *
+ * <p>Ordered ahead of the transaction interceptor so the event covers commit as well as the method
+ * body.</p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMethodEventAspect {
+
+    @Around("within(com.financemanager.service..*) && ("
+            + "@within(org.springframework.transaction.annotation.Transactional) || "
+            + "@annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceMethodEvent event = new ServiceMethodEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean failed = true;
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.rows = result instanceof Collection<?> collection ? collection.size() : -1;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.financemanager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lets DEBUG events through for the configured logger prefixes while the current thread is
+ * handling a sampled request, whatever the logger's level.
+ *
+ * <p>Configured in logback-spring.xml. Requests are picked by
+ * {@link com.financemanager.filter.DebugLogSamplingFilter}. Every other call returns
+ * {@link FilterReply#NEUTRAL} after a level comparison and a thread-local read, so unsampled
+ * requests pay nothing beyond the normal level check.</p>
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+
+    /**
+     * Marks the current thread's request as sampled, or clears the mark.
+     */
+    public static void setSampled(boolean sampled) {
+        if (sampled) {
+            SAMPLED.set(Boolean.TRUE);
+        } else {
+            SAMPLED.remove();
+        }
+    }
+
+    public static boolean isSampled() {
+        return SAMPLED.get() != null;
+    }
+
+    /**
+     * Called by Joran once per {@code <loggerPrefix>} element.
+     */
+    public void addLoggerPrefix(String prefix) {
+        loggerPrefixes.add(prefix);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.levelInt != Level.DEBUG_INT || SAMPLED.get() == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (int i = 0; i < loggerPrefixes.size(); i++) {
+            if (name.startsWith(loggerPrefixes.get(i))) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,37 @@
+package com.financemanager.repository;
+
+import com.financemanager.entity.Budget;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.User;
+import com.financemanager.snapshot.BudgetRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository for Budget entity.
+ */
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    List<Budget> findByUserOrderByIdAsc(User user);
+
+    Optional<Budget> findByUserAndCategory(User user, Category category);
+
+    Optional<Budget> findByUserAndCategoryName(User user, String categoryName);
+
+    void deleteByCategory(Category category);
+
+    /**
+     * Every budget's columns for a snapshot; close the stream.
+     */
+    @Query("SELECT new com.financemanager.snapshot.BudgetRow(b.id, b.amount, b.category.id, b.user.id, " +
+           "b.createdAt, b.updatedAt) FROM Budget b ORDER BY b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BudgetRow> streamSnapshotRows();
+}
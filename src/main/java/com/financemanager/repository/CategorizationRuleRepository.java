@@ -0,0 +1,38 @@
+package com.financemanager.repository;
+
+import com.financemanager.entity.CategorizationRule;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.User;
+import com.financemanager.snapshot.CategorizationRuleRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository for CategorizationRule entity.
+ */
+@Repository
+public interface CategorizationRuleRepository extends JpaRepository<CategorizationRule, Long> {
+    List<CategorizationRule> findByUserOrderByIdAsc(User user);
+
+    boolean existsByUserAndPatternIgnoreCase(User user, String pattern);
+
+    @Modifying
+    @Query("DELETE FROM CategorizationRule r WHERE r.category = :category")
+    int deleteByCategory(@Param("category") Category category);
+
+    /**
+     * Every rule's columns for a snapshot; close the stream.
+     */
+    @Query("SELECT new com.financemanager.snapshot.CategorizationRuleRow(r.id, r.pattern, r.category.id, r.user.id, " +
+           "r.createdAt) FROM CategorizationRule r ORDER BY r.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CategorizationRuleRow> streamSnapshotRows();
+}
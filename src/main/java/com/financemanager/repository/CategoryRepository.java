@@ -3,12 +3,17 @@ package com.financemanager.repository;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.User;
+import com.financemanager.snapshot.CategoryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Category entity.
@@ -17,11 +22,22 @@ import java.util.Optional;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameAndUser(String name, User user);
     
+    // Query cache: the result is dropped whenever the categories table changes
     @Query("SELECT c FROM Category c WHERE c.user = :user OR c.user IS NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByUserOrUserIsNull(@Param("user") User user);
     
     List<Category> findByUser(User user);
     Optional<Category> findByNameIgnoreCaseAndUserIsNull(String name);
+    List<Category> findByUserIsNull();
     boolean existsByNameAndUser(String name, User user);
     long countByUserAndId(User user, Long categoryId);
+
+    /**
+     * Every category's columns, default ones included, for a snapshot; close the stream.
+     */
+    @Query("SELECT new com.financemanager.snapshot.CategoryRow(c.id, c.name, c.type, c.isCustom, u.id, c.createdAt) " +
+           "FROM Category c LEFT JOIN c.user u ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CategoryRow> streamSnapshotRows();
 }
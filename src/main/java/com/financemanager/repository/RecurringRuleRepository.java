@@ -0,0 +1,43 @@
+package com.financemanager.repository;
+
+import com.financemanager.entity.RecurringRule;
+import com.financemanager.entity.User;
+import com.financemanager.sharding.AllShards;
+import com.financemanager.snapshot.RecurringRuleRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository for RecurringRule entity.
+ */
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+    List<RecurringRule> findByUserOrderByIdAsc(User user);
+
+    @AllShards
+    @Query("SELECT DISTINCT r.user.id FROM RecurringRule r WHERE r.active = true AND r.nextRunDate <= :date " +
+           "AND r.user.id > :afterUserId ORDER BY r.user.id")
+    List<Long> findDueUserIds(@Param("date") LocalDate date, @Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    @Query("SELECT r FROM RecurringRule r JOIN FETCH r.category JOIN FETCH r.user WHERE r.user.id = :userId " +
+           "AND r.active = true AND r.nextRunDate <= :date ORDER BY r.id")
+    List<RecurringRule> findDueByUserId(@Param("userId") Long userId, @Param("date") LocalDate date, Pageable pageable);
+
+    /**
+     * Every rule's columns for a snapshot; close the stream.
+     */
+    @Query("SELECT new com.financemanager.snapshot.RecurringRuleRow(r.id, r.amount, r.description, r.frequency, " +
+           "r.startDate, r.endDate, r.nextRunDate, r.occurrences, r.active, r.category.id, r.user.id, " +
+           "r.createdAt, r.updatedAt) FROM RecurringRule r ORDER BY r.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<RecurringRuleRow> streamSnapshotRows();
+}
@@ -0,0 +1,34 @@
+package com.financemanager.repository;
+
+import com.financemanager.entity.ReportJob;
+import com.financemanager.entity.ReportJobStatus;
+import com.financemanager.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for ReportJob entity.
+ */
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+    List<ReportJob> findTop100ByStatusOrderByIdAsc(ReportJobStatus status);
+
+    @Modifying
+    @Query("DELETE FROM ReportJob j WHERE j.expiresAt < :time")
+    int deleteByExpiresAtBefore(@Param("time") LocalDateTime time);
+
+    long countByUserAndStatusIn(User user, List<ReportJobStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :to WHERE j.status = :from")
+    int updateStatus(@Param("from") ReportJobStatus from, @Param("to") ReportJobStatus to);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.financemanager.entity.ReportJobStatus.RUNNING WHERE j.id = :id AND j.status = com.financemanager.entity.ReportJobStatus.QUEUED")
+    int claim(@Param("id") Long id);
+}
@@ -0,0 +1,21 @@
+package com.financemanager.repository;
+
+import com.financemanager.entity.ReportJobResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+/**
+ * Repository for ReportJobResult entity.
+ */
+@Repository
+public interface ReportJobResultRepository extends JpaRepository<ReportJobResult, Long> {
+
+    @Modifying
+    @Query("DELETE FROM ReportJobResult r WHERE r.jobId IN " +
+           "(SELECT j.id FROM ReportJob j WHERE j.expiresAt < :time)")
+    int deleteForJobsExpiredBefore(@Param("time") LocalDateTime time);
+}
@@ -2,9 +2,17 @@ package com.financemanager.repository;
 
 import com.financemanager.entity.SavingsGoal;
 import com.financemanager.entity.User;
+import com.financemanager.snapshot.GoalRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for SavingsGoal entity.
@@ -12,4 +20,23 @@ import java.util.List;
 @Repository
 public interface SavingsGoalRepository extends JpaRepository<SavingsGoal, Long> {
     List<SavingsGoal> findByUserOrderByTargetDateAsc(User user);
+
+    /**
+     * A user's goals with their progress (income minus expenses from the goal's start date to
+     * {@code today}), computed in the same statement.
+     * Each row is {@code [goal, progress]}; progress is null when there are no transactions.
+     */
+    @Query("SELECT g, (SELECT SUM(CASE WHEN t.category.type = com.financemanager.entity.CategoryType.INCOME " +
+           "THEN t.amount ELSE -t.amount END) FROM Transaction t " +
+           "WHERE t.user = g.user AND t.date BETWEEN g.startDate AND :today) " +
+           "FROM SavingsGoal g WHERE g.user = :user ORDER BY g.targetDate ASC")
+    List<Object[]> findWithProgressByUser(@Param("user") User user, @Param("today") LocalDate today);
+
+    /**
+     * Every goal's columns for a snapshot; close the stream.
+     */
+    @Query("SELECT new com.financemanager.snapshot.GoalRow(g.id, g.goalName, g.targetAmount, g.targetDate, " +
+           "g.startDate, g.user.id, g.createdAt, g.updatedAt) FROM SavingsGoal g ORDER BY g.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<GoalRow> streamSnapshotRows();
 }
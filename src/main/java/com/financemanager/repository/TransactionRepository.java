@@ -3,43 +3,149 @@ package com.financemanager.repository;
 import com.financemanager.entity.Transaction;
 import com.financemanager.entity.User;
 import com.financemanager.entity.CategoryType;
+import com.financemanager.sharding.AllShards;
+import com.financemanager.snapshot.TransactionRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository for Transaction entity.
  */
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUserOrderByDateDesc(User user);
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user ORDER BY t.date DESC")
+    List<Transaction> findByUserOrderByDateDesc(@Param("user") User user);
     
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC")
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC")
     List<Transaction> findByUserAndDateRange(@Param("user") User user, 
                                              @Param("startDate") LocalDate startDate, 
                                              @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.category.id = :categoryId ORDER BY t.date DESC")
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user AND t.category.id = :categoryId ORDER BY t.date DESC")
     List<Transaction> findByUserAndCategory(@Param("user") User user, @Param("categoryId") Long categoryId);
     
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate AND t.category.id = :categoryId ORDER BY t.date DESC")
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate AND t.category.id = :categoryId ORDER BY t.date DESC")
     List<Transaction> findByUserDateRangeAndCategory(@Param("user") User user, 
                                                      @Param("startDate") LocalDate startDate, 
                                                      @Param("endDate") LocalDate endDate, 
                                                      @Param("categoryId") Long categoryId);
 
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.category.type = :type ORDER BY t.date DESC")
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user AND t.category.type = :type ORDER BY t.date DESC")
     List<Transaction> findByUserAndTypeOrderByDateDesc(@Param("user") User user,
                                                        @Param("type") CategoryType type);
 
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate AND t.category.type = :type ORDER BY t.date DESC")
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate AND t.category.type = :type ORDER BY t.date DESC")
     List<Transaction> findByUserAndDateRangeAndType(@Param("user") User user,
                                                     @Param("startDate") LocalDate startDate,
                                                     @Param("endDate") LocalDate endDate,
                                                     @Param("type") CategoryType type);
     
     long countByUserAndCategoryId(User user, Long categoryId);
+
+    boolean existsByUserAndClientId(User user, String clientId);
+
+    /**
+     * Which of the given client IDs a user's transactions already carry.
+     */
+    @Query("SELECT t.clientId FROM Transaction t WHERE t.user.id = :userId AND t.clientId IN :clientIds")
+    Set<String> findExistingClientIds(@Param("userId") Long userId,
+                                      @Param("clientIds") Collection<String> clientIds);
+
+    /**
+     * ID, category and amount of each of a user's transactions in a date range.
+     * Each row is {@code [id, categoryId, amount]}.
+     */
+    @Query("SELECT t.id, t.category.id, t.amount FROM Transaction t WHERE t.user.id = :userId " +
+           "AND t.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findAmountRows(@Param("userId") Long userId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Per-category monthly sums for a user's transactions in a date range.
+     * Each row is {@code [categoryId, categoryName, categoryType, year, month, sum(amount)]}.
+     */
+    @Query("SELECT t.category.id, t.category.name, t.category.type, YEAR(t.date), MONTH(t.date), SUM(t.amount) " +
+           "FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.category.id, t.category.name, t.category.type, YEAR(t.date), MONTH(t.date)")
+    List<Object[]> sumByCategoryAndMonth(@Param("user") User user,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * ID, category, date, amount and creation time of each of a user's transactions.
+     * Each row is {@code [id, categoryId, categoryName, date, amount, createdAt]}.
+     */
+    @Query("SELECT t.id, t.category.id, t.category.name, t.date, t.amount, t.createdAt FROM Transaction t " +
+           "WHERE t.user.id = :userId")
+    List<Object[]> findAmountDetailRows(@Param("userId") Long userId);
+
+    /**
+     * Income minus expenses for a user's transactions in a date range, or null if there are none.
+     */
+    @Query("SELECT SUM(CASE WHEN t.category.type = com.financemanager.entity.CategoryType.INCOME THEN t.amount ELSE -t.amount END) " +
+           "FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate")
+    BigDecimal sumNetAmount(@Param("user") User user,
+                            @Param("startDate") LocalDate startDate,
+                            @Param("endDate") LocalDate endDate);
+
+    /**
+     * IDs of a user's transactions in a date range.
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate")
+    List<Long> findIdsByUserAndDateRange(@Param("user") User user,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Users with transactions dated before a given day, for archiving; paged by user ID.
+     */
+    @AllShards
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE t.date < :before " +
+           "AND t.user.id > :afterUserId ORDER BY t.user.id")
+    List<Long> findUserIdsWithTransactionsBefore(@Param("before") LocalDate before,
+                                                 @Param("afterUserId") Long afterUserId,
+                                                 Pageable pageable);
+
+    @Query("SELECT DISTINCT YEAR(t.date) FROM Transaction t WHERE t.user = :user AND t.date < :before")
+    List<Integer> findYearsBefore(@Param("user") User user, @Param("before") LocalDate before);
+
+    /**
+     * Re-insert an archived transaction under its original ID.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transactions (id, amount, date, description, client_id, category_id, user_id, created_at, updated_at) " +
+                   "VALUES (:id, :amount, :date, :description, :clientId, :categoryId, :userId, :createdAt, :updatedAt)",
+           nativeQuery = true)
+    void insertArchived(@Param("id") Long id,
+                        @Param("amount") BigDecimal amount,
+                        @Param("date") LocalDate date,
+                        @Param("description") String description,
+                        @Param("clientId") String clientId,
+                        @Param("categoryId") Long categoryId,
+                        @Param("userId") Long userId,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Every transaction's columns for a snapshot; close the stream.
+     */
+    @Query("SELECT new com.financemanager.snapshot.TransactionRow(t.id, t.amount, t.date, t.description, t.clientId, " +
+           "t.category.id, t.user.id, t.createdAt, t.updatedAt) FROM Transaction t ORDER BY t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<TransactionRow> streamSnapshotRows();
 }
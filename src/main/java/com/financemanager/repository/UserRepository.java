@@ -1,15 +1,31 @@
 package com.financemanager.repository;
 
 import com.financemanager.entity.User;
+import com.financemanager.snapshot.UserRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for User entity.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Query cache: resolved on every authenticated request
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    /**
+     * Every user's columns for a snapshot; close the stream.
+     */
+    @Query("SELECT new com.financemanager.snapshot.UserRow(u.id, u.username, u.password, u.fullName, u.phoneNumber, " +
+           "u.createdAt) FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserRow> streamSnapshotRows();
 }
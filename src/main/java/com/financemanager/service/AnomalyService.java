@@ -0,0 +1,96 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.AnomaliesResponse;
+import com.financemanager.dto.AnomalyResponse;
+import com.financemanager.entity.User;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.store.AnomalyDetector;
+import com.financemanager.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service for flagging transactions with unusual amounts.
+ *
+ * <p>Every committed transaction change is fed to {@link AnomalyDetector}; new transactions are
+ * scored against their category's running statistics as they are written. A user whose statistics
+ * are not resident is loaded on one of the detector's own threads, so the write that triggers the
+ * load does not wait for it.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class AnomalyService {
+
+    private final AnomalyDetector anomalyDetector;
+    private final TransactionRepository transactionRepository;
+    private final PrimaryReads primaryReads;
+
+    /**
+     * Apply a committed transaction change to the detector.
+     *
+     * @param event Transaction change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        anomalyDetector.apply(event, () -> primaryReads.load(() -> load(event.getUserId())));
+    }
+
+    /**
+     * Get a user's recently flagged transactions.
+     *
+     * @param user Current user
+     * @return AnomaliesResponse with anomalies, newest first
+     */
+    public AnomaliesResponse getAnomalies(User user) {
+        List<AnomalyResponse> anomalies = anomalyDetector.anomalies(user.getId()).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+
+        return AnomaliesResponse.builder()
+                .anomalies(anomalies)
+                .build();
+    }
+
+    /**
+     * Get the anomaly flagged for a transaction.
+     *
+     * @param user Current user
+     * @param transactionId Transaction ID
+     * @return AnomalyResponse, or null if the transaction was not flagged
+     */
+    public AnomalyResponse getAnomaly(User user, Long transactionId) {
+        AnomalyDetector.Anomaly anomaly = anomalyDetector.find(user.getId(), transactionId);
+        return anomaly == null ? null : toResponse(anomaly);
+    }
+
+    private List<AnomalyDetector.Row> load(Long userId) {
+        List<AnomalyDetector.Row> rows = new ArrayList<>();
+        for (Object[] row : transactionRepository.findAmountDetailRows(userId)) {
+            rows.add(new AnomalyDetector.Row((Long) row[0], (Long) row[1], (String) row[2], (LocalDate) row[3],
+                    Money.toMinorUnits((BigDecimal) row[4]), (LocalDateTime) row[5]));
+        }
+        return rows;
+    }
+
+    private AnomalyResponse toResponse(AnomalyDetector.Anomaly anomaly) {
+        return AnomalyResponse.builder()
+                .transactionId(anomaly.transactionId())
+                .category(anomaly.categoryName())
+                .date(anomaly.date())
+                .amount(Money.fromMinorUnits(anomaly.amount(), Money.MINOR_UNIT_SCALE))
+                .typicalAmount(Money.fromMinorUnits(anomaly.mean(), Money.MINOR_UNIT_SCALE))
+                .standardDeviation(Money.fromMinorUnits(anomaly.deviation(), Money.MINOR_UNIT_SCALE))
+                .score(Math.round(anomaly.score() * 100) / 100.0)
+                .detectedAt(Instant.ofEpochMilli(anomaly.detectedAt()))
+                .build();
+    }
+}
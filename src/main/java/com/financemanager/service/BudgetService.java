@@ -0,0 +1,210 @@
+package com.financemanager.service;
+
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.dto.BudgetResponse;
+import com.financemanager.dto.BudgetStatusResponse;
+import com.financemanager.dto.BudgetStatusesResponse;
+import com.financemanager.dto.BudgetsResponse;
+import com.financemanager.dto.CreateBudgetRequest;
+import com.financemanager.entity.Budget;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.exception.ForbiddenException;
+import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.BudgetRepository;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.repository.UserRepository;
+import com.financemanager.store.BudgetCounters;
+import com.financemanager.util.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service for monthly category budgets.
+ *
+ * <p>Spending is read from {@link BudgetCounters}, so a status check never re-sums the month's
+ * transactions. The counters are reconciled against the database nightly.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+    private final CategoryService categoryService;
+    private final BudgetCounters budgetCounters;
+    private final PrimaryReads primaryReads;
+    private final TransactionArchive transactionArchive;
+    private final UserRepository userRepository;
+
+    /**
+     * Create a budget for a category, or replace the amount of its existing budget.
+     *
+     * @param request Create budget request
+     * @param user Current user
+     * @return BudgetResponse with saved budget
+     * @throws IllegalArgumentException if the category is not an expense category
+     */
+    public BudgetResponse saveBudget(CreateBudgetRequest request, User user) {
+        Category category = categoryService.getCategoryByName(request.getCategory(), user);
+        if (category.getType() != CategoryType.EXPENSE) {
+            throw new IllegalArgumentException("Budgets can only be set for expense categories");
+        }
+
+        Budget budget = budgetRepository.findByUserAndCategory(user, category)
+                .orElseGet(() -> Budget.builder().category(category).user(user).build());
+        budget.setAmount(request.getAmount());
+
+        return toResponse(budgetRepository.save(budget));
+    }
+
+    /**
+     * Get all budgets for a user.
+     *
+     * @param user Current user
+     * @return BudgetsResponse with list of budgets
+     */
+    @Transactional(readOnly = true)
+    public BudgetsResponse getBudgets(User user) {
+        List<BudgetResponse> budgets = budgetRepository.findByUserOrderByIdAsc(user).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+
+        return BudgetsResponse.builder()
+                .budgets(budgets)
+                .build();
+    }
+
+    /**
+     * Delete a budget.
+     *
+     * @param id Budget ID
+     * @param user Current user
+     * @throws ResourceNotFoundException if budget not found
+     * @throws ForbiddenException if budget belongs to another user
+     */
+    public void deleteBudget(Long id, User user) {
+        Budget budget = budgetRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+
+        if (!budget.getUser().getId().equals(user.getId())) {
+            throw new ForbiddenException("You do not have permission to delete this budget");
+        }
+
+        budgetRepository.delete(budget);
+    }
+
+    /**
+     * Get spending against every budget for a month.
+     *
+     * @param user Current user
+     * @param month Month to report
+     * @return BudgetStatusesResponse with one status per budget
+     */
+    @Transactional(readOnly = true)
+    public BudgetStatusesResponse getStatuses(User user, YearMonth month) {
+        List<BudgetStatusResponse> statuses = budgetRepository.findByUserOrderByIdAsc(user).stream()
+                .map(budget -> toStatus(budget, user, month))
+                .collect(Collectors.toList());
+
+        return BudgetStatusesResponse.builder()
+                .month(month.toString())
+                .statuses(statuses)
+                .build();
+    }
+
+    /**
+     * Get spending against the budget of one category for the month containing a date.
+     *
+     * @param user Current user
+     * @param categoryName Category name
+     * @param date Any date in the month
+     * @return BudgetStatusResponse, or null if the category has no budget
+     */
+    @Transactional(readOnly = true)
+    public BudgetStatusResponse getStatus(User user, String categoryName, LocalDate date) {
+        return budgetRepository.findByUserAndCategoryName(user, categoryName)
+                .map(budget -> toStatus(budget, user, YearMonth.from(date)))
+                .orElse(null);
+    }
+
+    /**
+     * Recompute every loaded counter from the database and drop counters older than last month.
+     */
+    @Transactional(readOnly = true)
+    @Scheduled(cron = "${finance.budgets.reconcile-cron:0 30 3 * * *}")
+    public void reconcileCounters() {
+        int drifted = budgetCounters.reconcile(this::loadMonth, YearMonth.now().minusMonths(1));
+        if (drifted > 0) {
+            log.warn("Budget counters drifted for {} user-months and were corrected", drifted);
+        }
+    }
+
+    private BudgetStatusResponse toStatus(Budget budget, User user, YearMonth month) {
+        long spentMinor = budgetCounters.total(user.getId(), budget.getCategory().getId(), month,
+                () -> loadMonth(user.getId(), month));
+        BigDecimal spent = Money.fromMinorUnits(spentMinor, Money.MINOR_UNIT_SCALE);
+        BigDecimal limit = budget.getAmount();
+
+        double percentUsed = limit.compareTo(BigDecimal.ZERO) > 0
+                ? spent.divide(limit, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).doubleValue()
+                : 0.0;
+
+        return BudgetStatusResponse.builder()
+                .category(budget.getCategory().getName())
+                .month(month.toString())
+                .limit(limit)
+                .spent(spent)
+                .remaining(limit.subtract(spent))
+                .percentUsed(percentUsed)
+                .overBudget(spent.compareTo(limit) > 0)
+                .build();
+    }
+
+    // Read on the primary; see PrimaryReads. Months in archived years are added from the archive
+    private List<BudgetCounters.Row> loadMonth(Long userId, YearMonth month) {
+        return primaryReads.load(() -> {
+            LocalDate start = month.atDay(1);
+            LocalDate end = month.atEndOfMonth();
+            List<BudgetCounters.Row> rows = new ArrayList<>();
+            for (Object[] row : transactionRepository.findAmountRows(userId, start, end)) {
+                rows.add(new BudgetCounters.Row((Long) row[0], (Long) row[1], Money.toMinorUnits((BigDecimal) row[2])));
+            }
+            User user = userRepository.getReferenceById(userId);
+            for (Transaction archived : transactionArchive.archivedOnly(user, start, end,
+                    (from, to) -> transactionRepository.findIdsByUserAndDateRange(user, from, to))) {
+                rows.add(new BudgetCounters.Row(archived.getId(), archived.getCategory().getId(),
+                        Money.toMinorUnits(archived.getAmount())));
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * Convert Budget entity to BudgetResponse.
+     *
+     * @param budget Budget entity
+     * @return BudgetResponse
+     */
+    private BudgetResponse toResponse(Budget budget) {
+        return BudgetResponse.builder()
+                .id(budget.getId())
+                .category(budget.getCategory().getName())
+                .amount(budget.getAmount())
+                .build();
+    }
+}
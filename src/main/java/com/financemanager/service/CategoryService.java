@@ -1,25 +1,44 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.CategoriesResponse;
+import com.financemanager.dto.CategorizationRuleResponse;
+import com.financemanager.dto.CategorizationRulesResponse;
 import com.financemanager.dto.CategoryResponse;
+import com.financemanager.dto.CreateCategorizationRuleRequest;
 import com.financemanager.dto.CreateCategoryRequest;
+import com.financemanager.entity.CategorizationRule;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.User;
 import com.financemanager.exception.DuplicateResourceException;
 import com.financemanager.exception.ForbiddenException;
 import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.BudgetRepository;
+import com.financemanager.repository.CategorizationRuleRepository;
 import com.financemanager.repository.CategoryRepository;
 import com.financemanager.repository.TransactionRepository;
+import com.financemanager.util.KeywordMatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Service for category management.
+ *
+ * <p>Also owns the per-user categorization rules. Each user's rules are compiled into a
+ * {@link KeywordMatcher} on first use and kept in memory; rule changes are applied to the cached
+ * matcher once they commit.</p>
  */
 @Service
 @RequiredArgsConstructor
@@ -28,6 +47,13 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
+    private final CategorizationRuleRepository categorizationRuleRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionArchive transactionArchive;
+
+    // Keyword -> category ID, per user
+    private final ConcurrentHashMap<Long, KeywordMatcher<Long>> ruleMatchers = new ConcurrentHashMap<>();
+    private final AtomicLong ruleVersion = new AtomicLong();
 
     private static final List<String> DEFAULT_INCOME_CATEGORIES = Arrays.asList("Salary");
     private static final List<String> DEFAULT_EXPENSE_CATEGORIES = Arrays.asList(
@@ -35,35 +61,37 @@ public class CategoryService {
     );
 
     /**
-     * Initialize default categories for the system.
+     * Insert whichever default categories are missing.
+     *
+     * <p>Idempotent: reads the existing defaults with one query and saves only the missing ones,
+     * so a restart against a populated database issues a single statement.</p>
      */
     @Transactional
     public void initializeDefaultCategories() {
-        
-        DEFAULT_INCOME_CATEGORIES.forEach(name -> {
-            if (categoryRepository.findByNameIgnoreCaseAndUserIsNull(name).isEmpty()) {
-                Category category = Category.builder()
-                        .name(name)
-                        .type(CategoryType.INCOME)
-                        .isCustom(false)
-                        .user(null)
-                        .build();
-                categoryRepository.save(category);
-            }
-        });
-
-        
-        DEFAULT_EXPENSE_CATEGORIES.forEach(name -> {
-            if (categoryRepository.findByNameIgnoreCaseAndUserIsNull(name).isEmpty()) {
-                Category category = Category.builder()
-                        .name(name)
-                        .type(CategoryType.EXPENSE)
-                        .isCustom(false)
-                        .user(null)
-                        .build();
-                categoryRepository.save(category);
-            }
-        });
+        Set<String> existing = categoryRepository.findByUserIsNull().stream()
+                .map(category -> category.getName().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        List<Category> missing = new ArrayList<>();
+        DEFAULT_INCOME_CATEGORIES.stream()
+                .filter(name -> !existing.contains(name.toLowerCase(Locale.ROOT)))
+                .forEach(name -> missing.add(defaultCategory(name, CategoryType.INCOME)));
+        DEFAULT_EXPENSE_CATEGORIES.stream()
+                .filter(name -> !existing.contains(name.toLowerCase(Locale.ROOT)))
+                .forEach(name -> missing.add(defaultCategory(name, CategoryType.EXPENSE)));
+
+        if (!missing.isEmpty()) {
+            categoryRepository.saveAll(missing);
+        }
+    }
+
+    private static Category defaultCategory(String name, CategoryType type) {
+        return Category.builder()
+                .name(name)
+                .type(type)
+                .isCustom(false)
+                .user(null)
+                .build();
     }
 
     /**
@@ -124,11 +152,17 @@ public class CategoryService {
             throw new ForbiddenException("Cannot delete default category: " + name);
         }
 
-        long transactionCount = transactionRepository.countByUserAndCategoryId(user, category.getId());
+        long transactionCount = transactionRepository.countByUserAndCategoryId(user, category.getId())
+                + transactionArchive.countByCategory(user.getId(), category.getId());
         if (transactionCount > 0) {
             throw new IllegalArgumentException("Cannot delete category with associated transactions");
         }
 
+        if (categorizationRuleRepository.deleteByCategory(category) > 0) {
+            Long userId = user.getId();
+            afterCommit(() -> ruleMatchers.remove(userId));
+        }
+        budgetRepository.deleteByCategory(category);
         categoryRepository.delete(category);
     }
 
@@ -165,6 +199,139 @@ public class CategoryService {
         return category;
     }
 
+    /**
+     * Get all categorization rules for the user.
+     *
+     * @param user Current user
+     * @return CategorizationRulesResponse with all rules
+     */
+    @Transactional(readOnly = true)
+    public CategorizationRulesResponse getRules(User user) {
+        List<CategorizationRuleResponse> rules = categorizationRuleRepository.findByUserOrderByIdAsc(user).stream()
+                .map(this::toRuleResponse)
+                .collect(Collectors.toList());
+
+        return CategorizationRulesResponse.builder()
+                .rules(rules)
+                .build();
+    }
+
+    /**
+     * Create a categorization rule.
+     *
+     * @param request Create categorization rule request
+     * @param user Current user
+     * @return CategorizationRuleResponse with created rule
+     * @throws DuplicateResourceException if the user already has a rule with this pattern
+     * @throws ResourceNotFoundException if the category does not exist
+     */
+    public CategorizationRuleResponse createRule(CreateCategorizationRuleRequest request, User user) {
+        String pattern = request.getPattern().trim();
+        if (categorizationRuleRepository.existsByUserAndPatternIgnoreCase(user, pattern)) {
+            throw new DuplicateResourceException("Categorization rule already exists: " + pattern);
+        }
+
+        CategorizationRule rule = CategorizationRule.builder()
+                .pattern(pattern)
+                .category(getCategoryByName(request.getCategory(), user))
+                .user(user)
+                .build();
+
+        CategorizationRule savedRule = categorizationRuleRepository.save(rule);
+        Long userId = user.getId();
+        Long categoryId = savedRule.getCategory().getId();
+        afterCommit(() -> ruleMatchers.computeIfPresent(userId, (id, matcher) -> {
+            matcher.add(pattern, categoryId);
+            return matcher;
+        }));
+        return toRuleResponse(savedRule);
+    }
+
+    /**
+     * Delete a categorization rule.
+     *
+     * @param id Rule ID
+     * @param user Current user
+     * @throws ResourceNotFoundException if rule not found
+     * @throws ForbiddenException if rule belongs to another user
+     */
+    public void deleteRule(Long id, User user) {
+        CategorizationRule rule = categorizationRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Categorization rule not found with id: " + id));
+
+        if (!rule.getUser().getId().equals(user.getId())) {
+            throw new ForbiddenException("You do not have permission to delete this categorization rule");
+        }
+
+        categorizationRuleRepository.delete(rule);
+        Long userId = user.getId();
+        String pattern = rule.getPattern();
+        afterCommit(() -> ruleMatchers.computeIfPresent(userId, (uid, matcher) -> {
+            matcher.remove(pattern);
+            return matcher;
+        }));
+    }
+
+    /**
+     * Pick a category for a transaction description using the user's categorization rules.
+     * When several patterns match, the longest wins.
+     *
+     * @param description Transaction description
+     * @param user Current user
+     * @return Matching category, or null if no rule matches
+     */
+    @Transactional(readOnly = true)
+    public Category categorize(String description, User user) {
+        if (description == null || description.isBlank()) {
+            return null;
+        }
+        Long categoryId = matcherFor(user).match(description);
+        return categoryId == null ? null : categoryRepository.findById(categoryId).orElse(null);
+    }
+
+    private KeywordMatcher<Long> matcherFor(User user) {
+        KeywordMatcher<Long> matcher = ruleMatchers.get(user.getId());
+        if (matcher != null) {
+            return matcher;
+        }
+        long version = ruleVersion.get();
+        KeywordMatcher<Long> loaded = new KeywordMatcher<>();
+        for (CategorizationRule rule : categorizationRuleRepository.findByUserOrderByIdAsc(user)) {
+            loaded.add(rule.getPattern(), rule.getCategory().getId());
+        }
+        // Only cache if no rule change committed while loading, otherwise the matcher may be stale
+        if (ruleVersion.get() != version) {
+            return loaded;
+        }
+        KeywordMatcher<Long> existing = ruleMatchers.putIfAbsent(user.getId(), loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable versioned = () -> {
+            ruleVersion.incrementAndGet();
+            action.run();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versioned.run();
+                }
+            });
+        } else {
+            versioned.run();
+        }
+    }
+
+    private CategorizationRuleResponse toRuleResponse(CategorizationRule rule) {
+        return CategorizationRuleResponse.builder()
+                .id(rule.getId())
+                .pattern(rule.getPattern())
+                .category(rule.getCategory().getName())
+                .build();
+    }
+
     /**
      * Convert Category entity to CategoryResponse.
      *
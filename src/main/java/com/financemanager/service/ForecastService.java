@@ -0,0 +1,269 @@
+package com.financemanager.service;
+
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.dto.ForecastMonthResponse;
+import com.financemanager.dto.ForecastResponse;
+import com.financemanager.dto.GoalForecastResponse;
+import com.financemanager.dto.GoalResponse;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service for projecting future income, expenses and savings.
+ *
+ * <p>Works from per-category monthly sums of the last {@link #HISTORY_MONTHS} complete months
+ * (one grouped query), so the cost is O(categories x months) regardless of how many transactions
+ * the user has in the database. Months in archived years are added from the archive. Once a
+ * category has a year of history, each month is divided by its calendar month's seasonal factor;
+ * the category is projected as its trailing {@link #TRAILING_MONTHS}-month average of those
+ * values, scaled by the target month's factor.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ForecastService {
+
+    /**
+     * Maximum number of months that can be projected.
+     */
+    public static final int MAX_FORECAST_MONTHS = 24;
+
+    static final int HISTORY_MONTHS = 24;
+    static final int TRAILING_MONTHS = 3;
+    static final int SEASONAL_MIN_MONTHS = 12;
+
+    /**
+     * Category count above which categories are projected on the common fork-join pool.
+     */
+    static final int PARALLEL_THRESHOLD = 32;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final SavingsGoalService savingsGoalService;
+
+    /**
+     * Project the next {@code months} months, starting with the month after the current one.
+     *
+     * @param months Number of months to project (1 to {@link #MAX_FORECAST_MONTHS})
+     * @param user Current user
+     * @return ForecastResponse with monthly projections and goal outlooks
+     * @throws IllegalArgumentException if months is out of range
+     */
+    public ForecastResponse getForecast(int months, User user) {
+        if (months < 1 || months > MAX_FORECAST_MONTHS) {
+            throw new IllegalArgumentException("Months must be between 1 and " + MAX_FORECAST_MONTHS);
+        }
+        YearMonth current = YearMonth.now();
+        YearMonth historyFrom = current.minusMonths(HISTORY_MONTHS);
+        YearMonth historyTo = current.minusMonths(1);
+        YearMonth firstProjected = current.plusMonths(1);
+
+        Map<Long, CategoryHistory> histories = new LinkedHashMap<>();
+        for (Object[] row : transactionRepository.sumByCategoryAndMonth(user, historyFrom.atDay(1), historyTo.atEndOfMonth())) {
+            CategoryHistory history = histories.computeIfAbsent((Long) row[0],
+                    id -> new CategoryHistory((String) row[1], (CategoryType) row[2]));
+            YearMonth month = YearMonth.of(((Number) row[3]).intValue(), ((Number) row[4]).intValue());
+            history.monthly[(int) historyFrom.until(month, ChronoUnit.MONTHS)] += Money.toMinorUnits((BigDecimal) row[5]);
+        }
+        for (Transaction archived : transactionArchive.archivedOnly(user, historyFrom.atDay(1), historyTo.atEndOfMonth(),
+                (from, to) -> transactionRepository.findIdsByUserAndDateRange(user, from, to))) {
+            Category category = archived.getCategory();
+            CategoryHistory history = histories.computeIfAbsent(category.getId(),
+                    id -> new CategoryHistory(category.getName(), category.getType()));
+            YearMonth month = YearMonth.from(archived.getDate());
+            history.monthly[(int) historyFrom.until(month, ChronoUnit.MONTHS)] += Money.toMinorUnits(archived.getAmount());
+        }
+
+        List<CategoryHistory> categories = new ArrayList<>(histories.values());
+        categories.sort(Comparator.comparing((CategoryHistory h) -> h.name));
+        Stream<CategoryHistory> stream = categories.size() >= PARALLEL_THRESHOLD
+                ? categories.parallelStream()
+                : categories.stream();
+        stream.forEach(history -> history.project(historyFrom, firstProjected, months));
+
+        List<ForecastMonthResponse> projections = new ArrayList<>(months);
+        long[] monthlyNet = new long[months];
+        long cumulative = 0;
+        for (int m = 0; m < months; m++) {
+            Map<String, BigDecimal> income = new LinkedHashMap<>();
+            Map<String, BigDecimal> expenses = new LinkedHashMap<>();
+            long totalIncome = 0;
+            long totalExpenses = 0;
+            for (CategoryHistory history : categories) {
+                long value = history.projected[m];
+                if (value == 0) {
+                    continue;
+                }
+                if (history.type == CategoryType.INCOME) {
+                    income.merge(history.name, toMoney(value), BigDecimal::add);
+                    totalIncome += value;
+                } else {
+                    expenses.merge(history.name, toMoney(value), BigDecimal::add);
+                    totalExpenses += value;
+                }
+            }
+            monthlyNet[m] = totalIncome - totalExpenses;
+            cumulative += monthlyNet[m];
+            projections.add(ForecastMonthResponse.builder()
+                    .month(firstProjected.plusMonths(m).toString())
+                    .income(income)
+                    .expenses(expenses)
+                    .totalIncome(toMoney(totalIncome))
+                    .totalExpenses(toMoney(totalExpenses))
+                    .netSavings(toMoney(monthlyNet[m]))
+                    .cumulativeNetSavings(toMoney(cumulative))
+                    .build());
+        }
+
+        return ForecastResponse.builder()
+                .months(months)
+                .historyFrom(historyFrom.toString())
+                .historyTo(historyTo.toString())
+                .projections(projections)
+                .goals(forecastGoals(user, firstProjected, monthlyNet))
+                .build();
+    }
+
+    /**
+     * Project each open goal's progress at its target date. Months past the forecast horizon
+     * are assumed to save the horizon's average monthly net.
+     */
+    private List<GoalForecastResponse> forecastGoals(User user, YearMonth firstProjected, long[] monthlyNet) {
+        long horizonTotal = 0;
+        for (long net : monthlyNet) {
+            horizonTotal += net;
+        }
+        double averageNet = (double) horizonTotal / monthlyNet.length;
+        LocalDate today = LocalDate.now();
+
+        List<GoalForecastResponse> goals = new ArrayList<>();
+        for (GoalResponse goal : savingsGoalService.getAllGoals(user).getGoals()) {
+            if (goal.getTargetDate().isBefore(today)) {
+                continue;
+            }
+            long monthsToTarget = Math.max(0, firstProjected.until(YearMonth.from(goal.getTargetDate()), ChronoUnit.MONTHS) + 1);
+            long projectedSavings = 0;
+            for (int m = 0; m < Math.min(monthsToTarget, monthlyNet.length); m++) {
+                projectedSavings += monthlyNet[m];
+            }
+            if (monthsToTarget > monthlyNet.length) {
+                projectedSavings += Math.round(averageNet * (monthsToTarget - monthlyNet.length));
+            }
+
+            BigDecimal projectedProgress = goal.getCurrentProgress().add(toMoney(projectedSavings));
+            BigDecimal remaining = goal.getTargetAmount().subtract(goal.getCurrentProgress()).max(BigDecimal.ZERO);
+            BigDecimal requiredMonthly = monthsToTarget > 0
+                    ? remaining.divide(BigDecimal.valueOf(monthsToTarget), Money.MINOR_UNIT_SCALE, RoundingMode.UP)
+                    : remaining;
+
+            goals.add(GoalForecastResponse.builder()
+                    .id(goal.getId())
+                    .goalName(goal.getGoalName())
+                    .targetDate(goal.getTargetDate())
+                    .targetAmount(goal.getTargetAmount())
+                    .currentProgress(goal.getCurrentProgress())
+                    .projectedProgress(projectedProgress)
+                    .requiredMonthlySavings(requiredMonthly)
+                    .onTrack(projectedProgress.compareTo(goal.getTargetAmount()) >= 0)
+                    .build());
+        }
+        return goals;
+    }
+
+    private static BigDecimal toMoney(long minorUnits) {
+        return Money.fromMinorUnits(minorUnits, Money.MINOR_UNIT_SCALE);
+    }
+
+    /**
+     * Monthly history and projection for one category, in minor units.
+     */
+    private static final class CategoryHistory {
+        private final String name;
+        private final CategoryType type;
+        private final long[] monthly = new long[HISTORY_MONTHS];
+        private long[] projected;
+
+        private CategoryHistory(String name, CategoryType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        void project(YearMonth historyFrom, YearMonth firstProjected, int months) {
+            int firstActive = 0;
+            while (firstActive < HISTORY_MONTHS && monthly[firstActive] == 0) {
+                firstActive++;
+            }
+            double[] seasonal = seasonalFactors(historyFrom, firstActive);
+
+            // Deseasonalize before averaging so the target month's factor is only applied once;
+            // a month whose factor is 0 carries no information about the level and is skipped
+            double trailing = 0;
+            int counted = 0;
+            for (int i = HISTORY_MONTHS - TRAILING_MONTHS; i < HISTORY_MONTHS; i++) {
+                double factor = seasonal[historyFrom.plusMonths(i).getMonthValue() - 1];
+                if (factor != 0) {
+                    trailing += monthly[i] / factor;
+                    counted++;
+                }
+            }
+            trailing = counted == 0 ? 0 : trailing / counted;
+
+            projected = new long[months];
+            for (int m = 0; m < months; m++) {
+                int calendarMonth = firstProjected.plusMonths(m).getMonthValue() - 1;
+                projected[m] = Math.round(trailing * seasonal[calendarMonth]);
+            }
+        }
+
+        /**
+         * Ratio of each calendar month's average to the overall monthly average since the
+         * category's first active month; all 1.0 with less than a year of history.
+         */
+        private double[] seasonalFactors(YearMonth historyFrom, int firstActive) {
+            double[] factors = new double[12];
+            Arrays.fill(factors, 1.0);
+            int span = HISTORY_MONTHS - firstActive;
+            if (span < SEASONAL_MIN_MONTHS) {
+                return factors;
+            }
+            double[] sums = new double[12];
+            int[] counts = new int[12];
+            double total = 0;
+            for (int i = firstActive; i < HISTORY_MONTHS; i++) {
+                int calendarMonth = historyFrom.plusMonths(i).getMonthValue() - 1;
+                sums[calendarMonth] += monthly[i];
+                counts[calendarMonth]++;
+                total += monthly[i];
+            }
+            double overall = total / span;
+            if (overall == 0) {
+                return factors;
+            }
+            for (int c = 0; c < 12; c++) {
+                if (counts[c] > 0) {
+                    factors[c] = sums[c] / counts[c] / overall;
+                }
+            }
+            return factors;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.financemanager.service;
+
+import com.financemanager.datasource.ReadWriteRoutingDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.function.Supplier;
+
+/**
+ * Runs the initial loads of the in-memory stores against the primary database.
+ *
+ * <p>A store that is loaded once and then kept current from change events only ever learns about
+ * a change from its event or from its load. An event that fires before the store holds the user is
+ * dropped, so a load from a lagging replica would leave that change out for good. Each load
+ * therefore runs in its own read-write transaction, which {@link ReadWriteRoutingDataSource} always
+ * sends to the primary, whatever read-only or completing transaction the caller is in.</p>
+ */
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate primary;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager) {
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Run a store loader on the primary.
+     *
+     * @param loader Reads the rows to load
+     * @return What the loader returned
+     */
+    public <T> T load(Supplier<T> loader) {
+        return primary.execute(status -> loader.get());
+    }
+}
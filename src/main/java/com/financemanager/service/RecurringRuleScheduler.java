@@ -0,0 +1,132 @@
+package com.financemanager.service;
+
+import com.financemanager.repository.RecurringRuleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically materializes due recurring rules.
+ *
+ * <p>Users with due rules are paged by ID (keyset) and each user is handled by one task on a
+ * bounded worker pool, so a user's rules are never processed concurrently. A task commits one
+ * database transaction per {@code rules-per-transaction} rules. Progress is the rules' own
+ * checkpoints, so a run interrupted by a shutdown simply continues on the next run, and periods
+ * missed while the application was down are caught up.</p>
+ */
+@Slf4j
+@Component
+public class RecurringRuleScheduler {
+
+    private final RecurringRuleService recurringRuleService;
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final ThreadPoolExecutor executor;
+    private final int userPageSize;
+    private final int rulesPerTransaction;
+    private final int maxOccurrencesPerRule;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RecurringRuleScheduler(RecurringRuleService recurringRuleService,
+                                  RecurringRuleRepository recurringRuleRepository,
+                                  @Value("${finance.recurring.workers:4}") int workers,
+                                  @Value("${finance.recurring.user-page-size:1000}") int userPageSize,
+                                  @Value("${finance.recurring.rules-per-transaction:500}") int rulesPerTransaction,
+                                  @Value("${finance.recurring.max-occurrences-per-rule:1000}") int maxOccurrencesPerRule) {
+        this.recurringRuleService = recurringRuleService;
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.userPageSize = userPageSize;
+        this.rulesPerTransaction = rulesPerTransaction;
+        this.maxOccurrencesPerRule = maxOccurrencesPerRule;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Caller-runs keeps the scheduler thread from queueing more than a bounded amount of work
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(workers * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "recurring-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Scheduled(initialDelayString = "${finance.recurring.initial-delay:PT30S}",
+               fixedDelayString = "${finance.recurring.interval:PT1H}")
+    public void run() {
+        runDue(LocalDate.now());
+    }
+
+    /**
+     * Materialize every rule due on or before {@code today}.
+     *
+     * @param today Last date to materialize (inclusive)
+     * @return Number of users processed, or -1 if a run was already in progress
+     */
+    public int runDue(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            int users = 0;
+            long afterUserId = 0;
+            while (!executor.isShutdown()) {
+                List<Long> userIds = recurringRuleRepository.findDueUserIds(today, afterUserId, PageRequest.of(0, userPageSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                List<Future<?>> page = new ArrayList<>(userIds.size());
+                for (Long userId : userIds) {
+                    page.add(executor.submit(() -> materializeUser(userId, today)));
+                }
+                for (Future<?> future : page) {
+                    await(future);
+                }
+                users += userIds.size();
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+            if (users > 0) {
+                log.info("Materialized recurring rules for {} users up to {}", users, today);
+            }
+            return users;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void materializeUser(Long userId, LocalDate today) {
+        try {
+            int processed;
+            do {
+                processed = recurringRuleService.materializeDue(userId, today, rulesPerTransaction, maxOccurrencesPerRule);
+            } while (processed == rulesPerTransaction && !Thread.currentThread().isInterrupted());
+        } catch (Exception ex) {
+            log.warn("Failed to materialize recurring rules for user {}", userId, ex);
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        } catch (ExecutionException ex) {
+            log.warn("Recurring rule task failed", ex.getCause());
+        }
+    }
+}
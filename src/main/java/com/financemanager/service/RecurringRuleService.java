@@ -0,0 +1,210 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.CreateRecurringRuleRequest;
+import com.financemanager.dto.RecurringRuleResponse;
+import com.financemanager.dto.RecurringRulesResponse;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.RecurrenceFrequency;
+import com.financemanager.entity.RecurringRule;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.exception.ForbiddenException;
+import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.RecurringRuleRepository;
+import com.financemanager.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for recurring transaction rules and materializing their due occurrences.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RecurringRuleService {
+
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final CategoryService categoryService;
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE;
+
+    /**
+     * Create a new recurring rule. The first occurrence is the start date.
+     *
+     * @param request Create recurring rule request
+     * @param user Current user
+     * @return RecurringRuleResponse with created rule
+     * @throws IllegalArgumentException if the end date is before the start date
+     */
+    public RecurringRuleResponse createRule(CreateRecurringRuleRequest request, User user) {
+        LocalDate startDate = LocalDate.parse(request.getStartDate(), DATE_FORMATTER);
+        LocalDate endDate = request.getEndDate() != null
+                ? LocalDate.parse(request.getEndDate(), DATE_FORMATTER)
+                : null;
+
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        Category category = categoryService.getCategoryByName(request.getCategory(), user);
+
+        RecurringRule rule = RecurringRule.builder()
+                .amount(request.getAmount())
+                .description(request.getDescription())
+                .frequency(RecurrenceFrequency.valueOf(request.getFrequency()))
+                .startDate(startDate)
+                .endDate(endDate)
+                .nextRunDate(startDate)
+                .occurrences(0L)
+                .active(true)
+                .category(category)
+                .user(user)
+                .build();
+
+        return toResponse(recurringRuleRepository.save(rule));
+    }
+
+    /**
+     * Get all recurring rules for a user.
+     *
+     * @param user Current user
+     * @return RecurringRulesResponse with list of rules
+     */
+    @Transactional(readOnly = true)
+    public RecurringRulesResponse getRules(User user) {
+        List<RecurringRuleResponse> rules = recurringRuleRepository.findByUserOrderByIdAsc(user).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+
+        return RecurringRulesResponse.builder()
+                .rules(rules)
+                .build();
+    }
+
+    /**
+     * Get a specific recurring rule.
+     *
+     * @param id Rule ID
+     * @param user Current user
+     * @return RecurringRuleResponse with rule details
+     * @throws ResourceNotFoundException if rule not found
+     * @throws ForbiddenException if rule belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public RecurringRuleResponse getRule(Long id, User user) {
+        return toResponse(getOwnedRule(id, user));
+    }
+
+    /**
+     * Delete a recurring rule. Transactions it already created are kept.
+     *
+     * @param id Rule ID
+     * @param user Current user
+     * @throws ResourceNotFoundException if rule not found
+     * @throws ForbiddenException if rule belongs to another user
+     */
+    public void deleteRule(Long id, User user) {
+        recurringRuleRepository.delete(getOwnedRule(id, user));
+    }
+
+    /**
+     * Create the due transactions for up to {@code maxRules} of a user's rules and advance their
+     * checkpoints, all in one database transaction. Missed periods are caught up, at most
+     * {@code maxOccurrencesPerRule} per rule per call.
+     *
+     * <p>Generated transactions carry the client ID {@code recurring:<ruleId>:<date>}. An occurrence
+     * whose client ID is already taken, for example because a checkpoint was lost and the rule is
+     * catching up again, is skipped and its checkpoint still advances, so the batch is not stuck
+     * on the (user, client ID) unique constraint.</p>
+     *
+     * @param userId User whose rules to materialize
+     * @param today Last date to materialize (inclusive)
+     * @param maxRules Maximum number of rules to process
+     * @param maxOccurrencesPerRule Maximum occurrences to create per rule
+     * @return Number of rules processed; equal to {@code maxRules} if more may be due
+     */
+    public int materializeDue(Long userId, LocalDate today, int maxRules, int maxOccurrencesPerRule) {
+        List<RecurringRule> rules = recurringRuleRepository.findDueByUserId(userId, today, PageRequest.of(0, maxRules));
+        List<Transaction> transactions = new ArrayList<>();
+
+        for (RecurringRule rule : rules) {
+            int created = 0;
+            while (rule.getActive() && !rule.getNextRunDate().isAfter(today) && created < maxOccurrencesPerRule) {
+                LocalDate date = rule.getNextRunDate();
+                if (rule.getEndDate() != null && date.isAfter(rule.getEndDate())) {
+                    rule.setActive(false);
+                    break;
+                }
+                transactions.add(Transaction.builder()
+                        .amount(rule.getAmount())
+                        .date(date)
+                        .description(rule.getDescription())
+                        .clientId("recurring:" + rule.getId() + ":" + date)
+                        .category(rule.getCategory())
+                        .user(rule.getUser())
+                        .build());
+                created++;
+                rule.setOccurrences(rule.getOccurrences() + 1);
+                rule.setNextRunDate(rule.getFrequency().occurrence(rule.getStartDate(), rule.getOccurrences()));
+            }
+            if (rule.getEndDate() != null && rule.getNextRunDate().isAfter(rule.getEndDate())) {
+                rule.setActive(false);
+            }
+        }
+
+        if (!transactions.isEmpty()) {
+            Set<String> existing = transactionRepository.findExistingClientIds(userId,
+                    transactions.stream().map(Transaction::getClientId).toList());
+            if (!existing.isEmpty()) {
+                transactions.removeIf(transaction -> existing.contains(transaction.getClientId()));
+            }
+        }
+        if (!transactions.isEmpty()) {
+            transactionService.saveAll(transactions);
+        }
+        return rules.size();
+    }
+
+    private RecurringRule getOwnedRule(Long id, User user) {
+        RecurringRule rule = recurringRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring rule not found with id: " + id));
+
+        if (!rule.getUser().getId().equals(user.getId())) {
+            throw new ForbiddenException("You do not have permission to access this recurring rule");
+        }
+
+        return rule;
+    }
+
+    /**
+     * Convert RecurringRule entity to RecurringRuleResponse.
+     *
+     * @param rule RecurringRule entity
+     * @return RecurringRuleResponse
+     */
+    private RecurringRuleResponse toResponse(RecurringRule rule) {
+        return RecurringRuleResponse.builder()
+                .id(rule.getId())
+                .amount(rule.getAmount())
+                .category(rule.getCategory().getName())
+                .type(rule.getCategory().getType().toString())
+                .description(rule.getDescription())
+                .frequency(rule.getFrequency().toString())
+                .startDate(rule.getStartDate())
+                .endDate(rule.getEndDate())
+                .nextRunDate(rule.getNextRunDate())
+                .occurrences(rule.getOccurrences())
+                .active(rule.getActive())
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.financemanager.service;
+
+import com.financemanager.entity.ReportJob;
+import com.financemanager.entity.ReportJobResult;
+import com.financemanager.entity.ReportJobStatus;
+import com.financemanager.event.ReportJobQueuedEvent;
+import com.financemanager.repository.ReportJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs queued report jobs on a bounded worker pool.
+ *
+ * <p>The {@code report_jobs} table is the queue: a job is only handed to a worker once it has been
+ * claimed (QUEUED to RUNNING), at most {@code workers} jobs run at once and at most
+ * {@code per-user-limit} per user. Jobs that cannot start yet stay QUEUED and are picked up when a
+ * worker finishes or on the next poll. Jobs left RUNNING by a previous process are requeued at
+ * startup, so with a persistent database queued work survives a restart.</p>
+ */
+@Slf4j
+@Component
+public class ReportJobDispatcher {
+
+    private final ReportJobService reportJobService;
+    private final ReportJobRepository reportJobRepository;
+    private final ThreadPoolExecutor executor;
+    private final int workers;
+    private final int perUserLimit;
+
+    private final Map<Long, Integer> runningPerUser = new HashMap<>();
+    private int running;
+
+    public ReportJobDispatcher(ReportJobService reportJobService,
+                               ReportJobRepository reportJobRepository,
+                               @Value("${finance.reports.jobs.workers:2}") int workers,
+                               @Value("${finance.reports.jobs.per-user-limit:1}") int perUserLimit) {
+        this.reportJobService = reportJobService;
+        this.reportJobRepository = reportJobRepository;
+        this.workers = workers;
+        this.perUserLimit = perUserLimit;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(workers), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int requeued = reportJobService.requeueInterrupted();
+        if (requeued > 0) {
+            log.info("Requeued {} interrupted report jobs", requeued);
+        }
+        dispatch();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobQueued(ReportJobQueuedEvent event) {
+        dispatch();
+    }
+
+    @Scheduled(fixedDelayString = "${finance.reports.jobs.poll-interval:PT5S}")
+    public void poll() {
+        dispatch();
+    }
+
+    @Scheduled(fixedDelayString = "${finance.reports.jobs.cleanup-interval:PT10M}")
+    public void cleanup() {
+        int deleted = reportJobService.deleteExpired();
+        if (deleted > 0) {
+            log.info("Deleted {} expired report jobs", deleted);
+        }
+    }
+
+    /**
+     * Start as many queued jobs as the worker and per-user limits allow.
+     */
+    public synchronized void dispatch() {
+        if (running >= workers || executor.isShutdown()) {
+            return;
+        }
+        for (ReportJob job : reportJobRepository.findTop100ByStatusOrderByIdAsc(ReportJobStatus.QUEUED)) {
+            if (running >= workers) {
+                return;
+            }
+            Long userId = job.getUser().getId();
+            if (runningPerUser.getOrDefault(userId, 0) >= perUserLimit || !reportJobService.claim(job.getId())) {
+                continue;
+            }
+            running++;
+            runningPerUser.merge(userId, 1, Integer::sum);
+            executor.execute(() -> run(job.getId(), userId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Long jobId, Long userId) {
+        try {
+            ReportJobResult result = reportJobService.generate(jobId, progress -> reportJobService.updateProgress(jobId, progress));
+            reportJobService.complete(jobId, result);
+        } catch (Exception ex) {
+            log.warn("Report job {} failed", jobId, ex);
+            reportJobService.fail(jobId, ex.getMessage());
+        } finally {
+            synchronized (this) {
+                running--;
+                runningPerUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        dispatch();
+    }
+}
@@ -0,0 +1,328 @@
+package com.financemanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.dto.CreateReportJobRequest;
+import com.financemanager.dto.ReportJobResponse;
+import com.financemanager.dto.YearlyReportResponse;
+import com.financemanager.entity.*;
+import com.financemanager.event.ReportJobQueuedEvent;
+import com.financemanager.exception.ForbiddenException;
+import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.ReportJobRepository;
+import com.financemanager.repository.ReportJobResultRepository;
+import com.financemanager.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Service for asynchronous report jobs: creation, status, results and generation.
+ */
+@Service
+@Transactional
+public class ReportJobService {
+
+    /**
+     * Maximum number of years a single job may cover.
+     */
+    public static final int MAX_YEARS = 50;
+
+    private static final List<ReportJobStatus> PENDING = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJobResultRepository reportJobResultRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final ReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration resultTtl;
+    private final int maxPendingPerUser;
+
+    public ReportJobService(ReportJobRepository reportJobRepository,
+                            ReportJobResultRepository reportJobResultRepository,
+                            TransactionRepository transactionRepository,
+                            TransactionArchive transactionArchive,
+                            ReportService reportService,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${finance.reports.jobs.result-ttl:PT24H}") Duration resultTtl,
+                            @Value("${finance.reports.jobs.max-pending-per-user:10}") int maxPendingPerUser) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportJobResultRepository = reportJobResultRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionArchive = transactionArchive;
+        this.reportService = reportService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.resultTtl = resultTtl;
+        this.maxPendingPerUser = maxPendingPerUser;
+    }
+
+    /**
+     * Queue a new report job.
+     *
+     * @param request Create report job request
+     * @param user Current user
+     * @return ReportJobResponse with the queued job
+     * @throws IllegalArgumentException if the year range is invalid or the user has too many pending jobs
+     */
+    public ReportJobResponse createJob(CreateReportJobRequest request, User user) {
+        ReportJobType type = ReportJobType.valueOf(request.getType());
+        Integer fromYear = request.getFromYear();
+        Integer toYear = request.getToYear();
+
+        if (type == ReportJobType.CATEGORY_BREAKDOWN && (fromYear == null || toYear == null)) {
+            int currentYear = LocalDate.now().getYear();
+            toYear = toYear != null ? toYear : currentYear;
+            fromYear = fromYear != null ? fromYear : toYear - 9;
+        }
+        if ((fromYear == null) != (toYear == null)) {
+            throw new IllegalArgumentException("Both fromYear and toYear must be provided");
+        }
+        if (fromYear != null) {
+            if (toYear < fromYear) {
+                throw new IllegalArgumentException("fromYear must not be after toYear");
+            }
+            if (toYear - fromYear + 1 > MAX_YEARS) {
+                throw new IllegalArgumentException("Report jobs must not span more than " + MAX_YEARS + " years");
+            }
+        }
+        if (reportJobRepository.countByUserAndStatusIn(user, PENDING) >= maxPendingPerUser) {
+            throw new IllegalArgumentException("Too many pending report jobs; wait for existing jobs to finish");
+        }
+
+        ReportJob job = ReportJob.builder()
+                .type(type)
+                .status(ReportJobStatus.QUEUED)
+                .progress(0)
+                .fromYear(fromYear)
+                .toYear(toYear)
+                .user(user)
+                .build();
+
+        ReportJob savedJob = reportJobRepository.save(job);
+        eventPublisher.publishEvent(new ReportJobQueuedEvent(savedJob.getId()));
+        return toResponse(savedJob);
+    }
+
+    /**
+     * Get a report job.
+     *
+     * @param id Job ID
+     * @param user Current user
+     * @return ReportJobResponse with job status
+     * @throws ResourceNotFoundException if job not found
+     * @throws ForbiddenException if job belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public ReportJobResponse getJob(Long id, User user) {
+        return toResponse(getOwnedJob(id, user));
+    }
+
+    /**
+     * Get the generated content of a completed report job.
+     *
+     * @param id Job ID
+     * @param user Current user
+     * @return ReportJobResult with content
+     * @throws ResourceNotFoundException if job or result not found, or the result has expired
+     * @throws ForbiddenException if job belongs to another user
+     * @throws IllegalArgumentException if the job has not completed
+     */
+    @Transactional(readOnly = true)
+    public ReportJobResult getResult(Long id, User user) {
+        ReportJob job = getOwnedJob(id, user);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Report job is not completed: " + job.getStatus());
+        }
+        // The cleanup job only runs periodically; the TTL applies from the moment it passes
+        if (job.getExpiresAt() != null && !job.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Report result has expired for job: " + id);
+        }
+        return reportJobResultRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report result has expired for job: " + id));
+    }
+
+    /**
+     * Generate the report for a claimed job.
+     *
+     * @param id Job ID
+     * @param progress Receives progress percentages as the report is built
+     * @return Generated result (not yet saved)
+     */
+    @Transactional(readOnly = true)
+    public ReportJobResult generate(Long id, IntConsumer progress) {
+        ReportJob job = reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + id));
+        return switch (job.getType()) {
+            case CATEGORY_BREAKDOWN -> generateBreakdown(job, progress);
+            case TRANSACTIONS_CSV -> generateCsv(job, progress);
+        };
+    }
+
+    /**
+     * Atomically move a job from QUEUED to RUNNING.
+     *
+     * @param id Job ID
+     * @return true if this caller claimed the job
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean claim(Long id) {
+        return reportJobRepository.claim(id) == 1;
+    }
+
+    /**
+     * Return jobs left RUNNING by a previous process to the queue.
+     *
+     * @return Number of jobs requeued
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int requeueInterrupted() {
+        return reportJobRepository.updateStatus(ReportJobStatus.RUNNING, ReportJobStatus.QUEUED);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateProgress(Long id, int progress) {
+        reportJobRepository.findById(id).ifPresent(job -> job.setProgress(progress));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(Long id, ReportJobResult result) {
+        ReportJob job = reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + id));
+        reportJobResultRepository.save(result);
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(ReportJobStatus.COMPLETED);
+        job.setProgress(100);
+        job.setCompletedAt(now);
+        job.setExpiresAt(now.plus(resultTtl));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void fail(Long id, String error) {
+        reportJobRepository.findById(id).ifPresent(job -> {
+            LocalDateTime now = LocalDateTime.now();
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setError(error == null ? null : error.substring(0, Math.min(error.length(), 500)));
+            job.setCompletedAt(now);
+            job.setExpiresAt(now.plus(resultTtl));
+        });
+    }
+
+    /**
+     * Delete jobs and results whose TTL has passed.
+     *
+     * @return Number of jobs deleted
+     */
+    public int deleteExpired() {
+        // Two bulk statements, so the expired jobs are never loaded
+        LocalDateTime now = LocalDateTime.now();
+        reportJobResultRepository.deleteForJobsExpiredBefore(now);
+        return reportJobRepository.deleteByExpiresAtBefore(now);
+    }
+
+    private ReportJobResult generateBreakdown(ReportJob job, IntConsumer progress) {
+        int years = job.getToYear() - job.getFromYear() + 1;
+        List<YearlyReportResponse> reports = new ArrayList<>(years);
+        for (int i = 0; i < years; i++) {
+            reports.add(reportService.getYearlyReport(job.getFromYear() + i, job.getUser()));
+            progress.accept((i + 1) * 99 / years);
+        }
+        try {
+            return ReportJobResult.builder()
+                    .jobId(job.getId())
+                    .contentType("application/json")
+                    .fileName("category-breakdown-" + job.getFromYear() + "-" + job.getToYear() + ".json")
+                    .content(objectMapper.writeValueAsBytes(reports))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize category breakdown", ex);
+        }
+    }
+
+    private ReportJobResult generateCsv(ReportJob job, IntConsumer progress) {
+        StringBuilder csv = new StringBuilder("id,date,type,category,amount,description\n");
+        if (job.getFromYear() == null) {
+            appendCsv(csv, transactionArchive.merge(transactionRepository.findByUserOrderByDateDesc(job.getUser()),
+                    job.getUser(), null, null, transaction -> true));
+        } else {
+            int years = job.getToYear() - job.getFromYear() + 1;
+            for (int i = years - 1; i >= 0; i--) {
+                int year = job.getFromYear() + i;
+                LocalDate start = LocalDate.of(year, 1, 1);
+                LocalDate end = LocalDate.of(year, 12, 31);
+                appendCsv(csv, transactionArchive.merge(transactionRepository.findByUserAndDateRange(job.getUser(), start, end),
+                        job.getUser(), start, end, transaction -> true));
+                progress.accept((years - i) * 99 / years);
+            }
+        }
+        String fileName = job.getFromYear() == null
+                ? "transactions.csv"
+                : "transactions-" + job.getFromYear() + "-" + job.getToYear() + ".csv";
+        return ReportJobResult.builder()
+                .jobId(job.getId())
+                .contentType("text/csv")
+                .fileName(fileName)
+                .content(csv.toString().getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static void appendCsv(StringBuilder csv, List<Transaction> transactions) {
+        for (Transaction t : transactions) {
+            csv.append(t.getId()).append(',')
+                    .append(t.getDate()).append(',')
+                    .append(t.getCategory().getType()).append(',')
+                    .append(csvField(t.getCategory().getName())).append(',')
+                    .append(t.getAmount().toPlainString()).append(',')
+                    .append(csvField(t.getDescription())).append('\n');
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private ReportJob getOwnedJob(Long id, User user) {
+        ReportJob job = reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + id));
+
+        if (!job.getUser().getId().equals(user.getId())) {
+            throw new ForbiddenException("You do not have permission to access this report job");
+        }
+        return job;
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType().toString())
+                .status(job.getStatus().toString())
+                .progress(job.getProgress())
+                .fromYear(job.getFromYear())
+                .toYear(job.getToYear())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .resultUrl(job.getStatus() == ReportJobStatus.COMPLETED ? "/api/reports/jobs/" + job.getId() + "/result" : null)
+                .build();
+    }
+}
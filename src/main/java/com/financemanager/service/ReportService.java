@@ -1,20 +1,28 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.MonthlyReportResponse;
+import com.financemanager.dto.RangeReportResponse;
 import com.financemanager.dto.YearlyReportResponse;
 import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.Transaction;
 import com.financemanager.entity.User;
+import com.financemanager.jfr.AggregationEvent;
 import com.financemanager.repository.TransactionRepository;
+import com.financemanager.store.TransactionColumnStore;
+import com.financemanager.util.CategoryTotals;
+import com.financemanager.util.Money;
+import com.financemanager.util.MoneyTotal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.LinkedHashMap;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * Service for generating financial reports.
@@ -24,7 +32,20 @@ import java.util.Map;
 @Transactional(readOnly = true)
 public class ReportService {
 
+    /**
+     * Maximum number of months a range report may span (10 years).
+     */
+    public static final int MAX_RANGE_MONTHS = 120;
+
+    /**
+     * Row count above which per-month bucketing runs on the common fork-join pool.
+     */
+    static final int PARALLEL_THRESHOLD = 20_000;
+
     private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final TransactionColumnStore transactionColumnStore;
+    private final PrimaryReads primaryReads;
 
     /**
      * Generate a monthly report for a specific month and year.
@@ -36,35 +57,7 @@ public class ReportService {
      */
     public MonthlyReportResponse getMonthlyReport(int year, int month, User user) {
         YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-
-        List<Transaction> transactions = transactionRepository.findByUserAndDateRange(user, startDate, endDate);
-
-        Map<String, BigDecimal> totalIncome = new LinkedHashMap<>();
-        Map<String, BigDecimal> totalExpenses = new LinkedHashMap<>();
-        BigDecimal netSavings = BigDecimal.ZERO;
-
-        for (Transaction transaction : transactions) {
-            String categoryName = transaction.getCategory().getName();
-            BigDecimal amount = transaction.getAmount();
-
-            if (transaction.getCategory().getType() == CategoryType.INCOME) {
-                totalIncome.merge(categoryName, amount, BigDecimal::add);
-                netSavings = netSavings.add(amount);
-            } else {
-                totalExpenses.merge(categoryName, amount, BigDecimal::add);
-                netSavings = netSavings.subtract(amount);
-            }
-        }
-
-        return MonthlyReportResponse.builder()
-                .month(month)
-                .year(year)
-                .totalIncome(totalIncome)
-                .totalExpenses(totalExpenses)
-                .netSavings(netSavings)
-                .build();
+        return aggregate("monthly", user, yearMonth.atDay(1), yearMonth.atEndOfMonth()).toMonthlyResponse(yearMonth);
     }
 
     /**
@@ -75,33 +68,191 @@ public class ReportService {
      * @return YearlyReportResponse with income, expenses, and net savings for the entire year
      */
     public YearlyReportResponse getYearlyReport(int year, User user) {
-        LocalDate startDate = LocalDate.of(year, 1, 1);
-        LocalDate endDate = LocalDate.of(year, 12, 31);
+        Aggregate aggregate = aggregate("yearly", user, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+
+        return YearlyReportResponse.builder()
+                .year(year)
+                .totalIncome(aggregate.income.toMap())
+                .totalExpenses(aggregate.expenses.toMap())
+                .netSavings(aggregate.net.toBigDecimal())
+                .build();
+    }
+
+    /**
+     * Generate one monthly report per month in an inclusive range, plus range totals.
+     *
+     * <p>Reads the whole range with a single query and buckets rows by month in memory, or totals
+     * each month over the user's resident columns; each month's figures are identical to
+     * {@link #getMonthlyReport(int, int, User)}.</p>
+     *
+     * @param from First month of the range
+     * @param to Last month of the range
+     * @param user Current user
+     * @return RangeReportResponse with per-month reports and totals
+     * @throws IllegalArgumentException if the range is inverted or longer than {@link #MAX_RANGE_MONTHS}
+     */
+    public RangeReportResponse getRangeReport(YearMonth from, YearMonth to, User user) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        long span = from.until(to, ChronoUnit.MONTHS) + 1;
+        if (span > MAX_RANGE_MONTHS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_MONTHS + " months");
+        }
+        int monthCount = (int) span;
+
+        Aggregate[] perMonth;
+        AggregationEvent event;
+        try (TransactionColumnStore.UserColumns columns = residentColumns(user)) {
+            if (columns != null) {
+                event = AggregationEvent.start("range", columns.count(from.atDay(1), to.atEndOfMonth()));
+                perMonth = new Aggregate[monthCount];
+                for (int m = 0; m < monthCount; m++) {
+                    YearMonth month = from.plusMonths(m);
+                    perMonth[m] = Aggregate.of(columns.totals(month.atDay(1), month.atEndOfMonth()));
+                }
+            } else {
+                List<Transaction> transactions = findInRange(user, from.atDay(1), to.atEndOfMonth());
+                event = AggregationEvent.start("range", transactions.size());
+                perMonth = bucketByMonth(transactions, from, monthCount);
+            }
+        }
 
-        List<Transaction> transactions = transactionRepository.findByUserAndDateRange(user, startDate, endDate);
+        Aggregate total = new Aggregate();
+        List<MonthlyReportResponse> reports = new ArrayList<>(monthCount);
+        for (int m = 0; m < monthCount; m++) {
+            total.addAll(perMonth[m]);
+            reports.add(perMonth[m].toMonthlyResponse(from.plusMonths(m)));
+        }
+        event.finish(monthCount);
 
-        Map<String, BigDecimal> totalIncome = new LinkedHashMap<>();
-        Map<String, BigDecimal> totalExpenses = new LinkedHashMap<>();
-        BigDecimal netSavings = BigDecimal.ZERO;
+        return RangeReportResponse.builder()
+                .from(from.toString())
+                .to(to.toString())
+                .months(reports)
+                .totalIncome(total.income.toMap())
+                .totalExpenses(total.expenses.toMap())
+                .netSavings(total.net.toBigDecimal())
+                .build();
+    }
 
+    private Aggregate aggregate(String report, User user, LocalDate startDate, LocalDate endDate) {
+        try (TransactionColumnStore.UserColumns columns = residentColumns(user)) {
+            if (columns != null) {
+                AggregationEvent event = AggregationEvent.start(report, columns.count(startDate, endDate));
+                Aggregate aggregate = Aggregate.of(columns.totals(startDate, endDate));
+                event.finish(1);
+                return aggregate;
+            }
+        }
+
+        List<Transaction> transactions = findInRange(user, startDate, endDate);
+
+        AggregationEvent event = AggregationEvent.start(report, transactions.size());
+        Aggregate aggregate = new Aggregate();
         for (Transaction transaction : transactions) {
+            aggregate.add(transaction);
+        }
+        event.finish(1);
+        return aggregate;
+    }
+
+    private static Aggregate[] bucketByMonth(List<Transaction> transactions, YearMonth from, int monthCount) {
+        // Stable counting sort by month so each bucket keeps the repository's ordering
+        int[] monthIndex = new int[transactions.size()];
+        int[] bucketStart = new int[monthCount + 1];
+        for (int i = 0; i < monthIndex.length; i++) {
+            LocalDate date = transactions.get(i).getDate();
+            monthIndex[i] = (date.getYear() - from.getYear()) * 12 + date.getMonthValue() - from.getMonthValue();
+            bucketStart[monthIndex[i] + 1]++;
+    }
+    for (int m = 0; m < monthCount; m++) {
+        bucketStart[m + 1] += bucketStart[m];
+    }
+    Transaction[] bucketed = new Transaction[transactions.size()];
+    int[] cursor = bucketStart.clone();
+    for (int i = 0; i < monthIndex.length; i++) {
+        bucketed[cursor[monthIndex[i]]++] = transactions.get(i);
+    }
+
+    Aggregate[] perMonth = new Aggregate[monthCount];
+    IntStream months = IntStream.range(0, monthCount);
+    if (transactions.size() >= PARALLEL_THRESHOLD) {
+        months = months.parallel();
+    }
+    months.forEach(m -> {
+        Aggregate aggregate = new Aggregate();
+        for (int i = bucketStart[m]; i < bucketStart[m + 1]; i++) {
+            aggregate.add(bucketed[i]);
+        }
+        perMonth[m] = aggregate;
+    });
+    return perMonth;
+    }
+
+    // Loads all of the user's transactions into the column store on first use, from the primary; close the result
+    private TransactionColumnStore.UserColumns residentColumns(User user) {
+        return transactionColumnStore.ensureLoaded(user.getId(), () -> primaryReads.load(() -> transactionArchive.merge(
+                transactionRepository.findByUserOrderByDateDesc(user), user, null, null, transaction -> true)));
+    }
+
+    // Newest first, from the database and the archive
+    private List<Transaction> findInRange(User user, LocalDate startDate, LocalDate endDate) {
+        return transactionArchive.merge(transactionRepository.findByUserAndDateRange(user, startDate, endDate),
+                user, startDate, endDate, transaction -> true);
+    }
+
+    /**
+     * Running income, expense and net totals for a set of transactions.
+     */
+    private static final class Aggregate {
+        private final CategoryTotals income = new CategoryTotals();
+        private final CategoryTotals expenses = new CategoryTotals();
+        private final MoneyTotal net = new MoneyTotal();
+
+        void add(Transaction transaction) {
             String categoryName = transaction.getCategory().getName();
             BigDecimal amount = transaction.getAmount();
 
             if (transaction.getCategory().getType() == CategoryType.INCOME) {
-                totalIncome.merge(categoryName, amount, BigDecimal::add);
-                netSavings = netSavings.add(amount);
+                income.add(categoryName, amount);
+                net.add(amount);
             } else {
-                totalExpenses.merge(categoryName, amount, BigDecimal::add);
-                netSavings = netSavings.subtract(amount);
+                expenses.add(categoryName, amount);
+                net.subtract(amount);
             }
         }
 
-        return YearlyReportResponse.builder()
-                .year(year)
-                .totalIncome(totalIncome)
-                .totalExpenses(totalExpenses)
-                .netSavings(netSavings)
-                .build();
+        void addAll(Aggregate other) {
+            income.addAll(other.income);
+            expenses.addAll(other.expenses);
+            net.add(other.net);
+        }
+
+        static Aggregate of(TransactionColumnStore.Totals totals) {
+            Aggregate aggregate = new Aggregate();
+            for (int category : totals.order()) {
+                BigDecimal amount = Money.fromMinorUnits(totals.sums()[category], Money.MINOR_UNIT_SCALE);
+                if (totals.types()[category] == CategoryType.INCOME) {
+                    aggregate.income.add(totals.names()[category], amount);
+                } else {
+                    aggregate.expenses.add(totals.names()[category], amount);
+                }
+            }
+            if (totals.rows() > 0) {
+                aggregate.net.add(Money.fromMinorUnits(totals.net(), Money.MINOR_UNIT_SCALE));
+            }
+            return aggregate;
+        }
+
+        MonthlyReportResponse toMonthlyResponse(YearMonth yearMonth) {
+            return MonthlyReportResponse.builder()
+                    .month(yearMonth.getMonthValue())
+                    .year(yearMonth.getYear())
+                    .totalIncome(income.toMap())
+                    .totalExpenses(expenses.toMap())
+                    .netSavings(net.toBigDecimal())
+                    .build();
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.CreateGoalRequest;
 import com.financemanager.dto.GoalResponse;
 import com.financemanager.dto.GoalsResponse;
@@ -32,6 +33,7 @@ public class SavingsGoalService {
 
     private final SavingsGoalRepository savingsGoalRepository;
     private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE;
 
@@ -77,9 +79,14 @@ public class SavingsGoalService {
      * @return GoalsResponse with list of goals
      */
     public GoalsResponse getAllGoals(User user) {
-        List<SavingsGoal> goals = savingsGoalRepository.findByUserOrderByTargetDateAsc(user);
-        List<GoalResponse> responses = goals.stream()
-                .map(goal -> toResponse(goal, user))
+        // Database progress comes back with each goal, so the list costs one statement however many
+        // goals there are; archived years are added per goal
+        LocalDate today = LocalDate.now();
+        List<GoalResponse> responses = savingsGoalRepository.findWithProgressByUser(user, today).stream()
+                .map(row -> {
+                    SavingsGoal goal = (SavingsGoal) row[0];
+                    return toResponse(goal, withArchived(goal, user, today, (BigDecimal) row[1]));
+                })
                 .collect(Collectors.toList());
 
         return GoalsResponse.builder()
@@ -168,23 +175,33 @@ public class SavingsGoalService {
      *
      * @param goal SavingsGoal entity
      * @param user Current user
-     * @return Calculated progress (income - expenses since goal start date)
+     * @return Calculated progress (income - expenses since goal start date), or null if there are no transactions
      */
     private BigDecimal calculateProgress(SavingsGoal goal, User user) {
-        List<Transaction> transactions = transactionRepository
-                .findByUserAndDateRange(user, goal.getStartDate(), LocalDate.now());
-
-        BigDecimal income = transactions.stream()
-                .filter(t -> t.getCategory().getType() == CategoryType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal expenses = transactions.stream()
-                .filter(t -> t.getCategory().getType() == CategoryType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        LocalDate today = LocalDate.now();
+        return withArchived(goal, user, today, transactionRepository.sumNetAmount(user, goal.getStartDate(), today));
+    }
 
-        return income.subtract(expenses);
+    /**
+     * Add archived transactions to a goal's progress from the database.
+     *
+     * @param goal SavingsGoal entity
+     * @param user Current user
+     * @param today Last day counted
+     * @param hotProgress Income minus expenses in the database since the goal's start date, or null if none
+     * @return Progress over both tiers, counting a row that is briefly in both once, or null if
+     *         there are no transactions
+     */
+    private BigDecimal withArchived(SavingsGoal goal, User user, LocalDate today, BigDecimal hotProgress) {
+        BigDecimal progress = hotProgress;
+        for (Transaction archived : transactionArchive.archivedOnly(user, goal.getStartDate(), today,
+                (from, to) -> transactionRepository.findIdsByUserAndDateRange(user, from, to))) {
+            BigDecimal amount = archived.getCategory().getType() == CategoryType.INCOME
+                    ? archived.getAmount()
+                    : archived.getAmount().negate();
+            progress = progress == null ? amount : progress.add(amount);
+        }
+        return progress;
     }
 
     /**
@@ -195,7 +212,18 @@ public class SavingsGoalService {
      * @return GoalResponse
      */
     private GoalResponse toResponse(SavingsGoal goal, User user) {
-        BigDecimal currentProgress = calculateProgress(goal, user);
+        return toResponse(goal, calculateProgress(goal, user));
+    }
+
+    /**
+     * Convert SavingsGoal entity to GoalResponse with already computed progress.
+     *
+     * @param goal SavingsGoal entity
+     * @param progress Income minus expenses since the goal's start date, or null if none
+     * @return GoalResponse
+     */
+    private GoalResponse toResponse(SavingsGoal goal, BigDecimal progress) {
+        BigDecimal currentProgress = progress == null ? BigDecimal.ZERO : progress;
         BigDecimal remainingAmount = goal.getTargetAmount().subtract(currentProgress);
         
         double progressPercentage = goal.getTargetAmount().compareTo(BigDecimal.ZERO) > 0
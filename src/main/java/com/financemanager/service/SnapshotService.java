@@ -0,0 +1,424 @@
+package com.financemanager.service;
+
+import com.financemanager.config.IdSequenceInitializer;
+import com.financemanager.repository.BudgetRepository;
+import com.financemanager.repository.CategorizationRuleRepository;
+import com.financemanager.repository.CategoryRepository;
+import com.financemanager.repository.RecurringRuleRepository;
+import com.financemanager.repository.SavingsGoalRepository;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.repository.UserRepository;
+import com.financemanager.snapshot.BudgetRow;
+import com.financemanager.snapshot.CategorizationRuleRow;
+import com.financemanager.snapshot.CategoryRow;
+import com.financemanager.snapshot.GoalRow;
+import com.financemanager.snapshot.RecurringRuleRow;
+import com.financemanager.snapshot.SnapshotReader;
+import com.financemanager.snapshot.SnapshotSummary;
+import com.financemanager.snapshot.SnapshotWriter;
+import com.financemanager.snapshot.TransactionRow;
+import com.financemanager.snapshot.UserRow;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Online snapshots of every user-owned table, and restore from them.
+ *
+ * <p>A snapshot streams rows from the repositories inside one repeatable-read transaction, so it
+ * sees a single consistent state while traffic continues, and writes them with
+ * {@link SnapshotWriter}. Restore reads a snapshot back and inserts it in JDBC batches on a pool
+ * of threads, one section at a time so that parents are committed before their children.</p>
+ *
+ * <p>Restore is meant for a fresh instance, before it takes traffic: the database must have no
+ * users, and the ID generators are moved past the restored rows afterwards. A restore that fails
+ * part way deletes what it inserted, so it can be retried. Archived transactions
+ * live in {@code finance.archive.directory} and are backed up as files. With sharding enabled,
+ * each shard has to be snapshotted on its own, which this does not do.</p>
+ */
+@Slf4j
+@Service
+public class SnapshotService {
+
+    private static final String INSERT_USER = "INSERT INTO users (id, username, password, full_name, phone_number, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY = "INSERT INTO categories (id, name, type, is_custom, user_id, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_GOAL = "INSERT INTO savings_goals (id, goal_name, target_amount, target_date, "
+            + "start_date, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, amount, date, description, "
+            + "client_id, category_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BUDGET = "INSERT INTO budgets (id, amount, category_id, user_id, created_at, "
+            + "updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORIZATION_RULE = "INSERT INTO categorization_rules (id, pattern, "
+            + "category_id, user_id, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_RECURRING_RULE = "INSERT INTO recurring_rules (id, amount, description, "
+            + "frequency, start_date, end_date, next_run_date, occurrences, active, category_id, user_id, created_at, "
+            + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Identity-keyed tables whose counters must move past restored IDs
+    private static final List<String> IDENTITY_TABLES = List.of("users", "categories", "savings_goals", "budgets",
+            "categorization_rules");
+    // Restored tables, children first
+    private static final List<String> RESTORED_TABLES = List.of("recurring_rules", "categorization_rules", "budgets",
+            "transactions", "savings_goals", "categories", "users");
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final SavingsGoalRepository savingsGoalRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final CategorizationRuleRepository categorizationRuleRepository;
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int restoreThreads;
+    private final int batchSize;
+    private final boolean sharded;
+
+    public SnapshotService(UserRepository userRepository,
+                           CategoryRepository categoryRepository,
+                           SavingsGoalRepository savingsGoalRepository,
+                           TransactionRepository transactionRepository,
+                           BudgetRepository budgetRepository,
+                           CategorizationRuleRepository categorizationRuleRepository,
+                           RecurringRuleRepository recurringRuleRepository,
+                           DataSource dataSource,
+                           EntityManagerFactory entityManagerFactory,
+                           @Value("${finance.snapshot.restore-threads:0}") int restoreThreads,
+                           @Value("${finance.snapshot.batch-size:5000}") int batchSize,
+                           @Value("${finance.sharding.enabled:false}") boolean sharded) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.savingsGoalRepository = savingsGoalRepository;
+        this.transactionRepository = transactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.categorizationRuleRepository = categorizationRuleRepository;
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.restoreThreads = restoreThreads > 0 ? restoreThreads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.sharded = sharded;
+    }
+
+    /**
+     * Write a snapshot of all user data.
+     *
+     * @param file Snapshot file; replaced if it exists
+     * @return Rows written, file size and duration
+     */
+    // Not read-only: ReadWriteRoutingDataSource sends read-only transactions to the replica, whose
+    // lag would leave the latest writes out of the snapshot. The rows are read as projections, so
+    // the transaction has nothing to flush
+    @Transactional
+    public SnapshotSummary snapshot(Path file) {
+        requireSingleDatabase();
+        // Set on the connection rather than declared: with a replica, Hibernate releases connections
+        // after each transaction and the transaction manager refuses a declared isolation level.
+        // Every table is read from the same point in time
+        EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory).unwrap(Session.class)
+                .doWork(connection -> connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ));
+        long started = System.nanoTime();
+        try (SnapshotWriter writer = SnapshotWriter.create(file)) {
+            // Parents first, the order restore needs them in
+            writeAll(writer, userRepository.streamSnapshotRows());
+            writeAll(writer, categoryRepository.streamSnapshotRows());
+            writeAll(writer, savingsGoalRepository.streamSnapshotRows());
+            writeAll(writer, transactionRepository.streamSnapshotRows());
+            writeAll(writer, budgetRepository.streamSnapshotRows());
+            writeAll(writer, categorizationRuleRepository.streamSnapshotRows());
+            writeAll(writer, recurringRuleRepository.streamSnapshotRows());
+            long bytes = writer.finish();
+            SnapshotSummary summary = writer.summary(bytes, Duration.ofNanos(System.nanoTime() - started));
+            log.info("Wrote snapshot {}", summary);
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Load a snapshot into a database that has no users yet.
+     *
+     * @param file Snapshot file
+     * @return Rows restored, file size and duration
+     * @throws IllegalStateException if the database already has users
+     * @throws UncheckedIOException if the snapshot cannot be read
+     */
+    public SnapshotSummary restore(Path file) {
+        requireSingleDatabase();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long users = jdbc.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (users != null && users > 0) {
+            throw new IllegalStateException("Restore needs a database without users; this one has " + users);
+        }
+
+        long started = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(restoreThreads);
+        try (SnapshotReader reader = SnapshotReader.open(file)) {
+            // Only default categories can exist without users, and the snapshot carries those too
+            jdbc.update("DELETE FROM categories");
+
+            Restore restore = new Restore(workers);
+            for (Record row = reader.next(); row != null; row = reader.next()) {
+                restore.add(row);
+            }
+            restore.finish();
+            advanceIdGenerators(jdbc);
+            // The rows went in behind Hibernate's back, and the default categories were replaced
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+            SnapshotSummary summary = reader.summary(Files.size(file), Duration.ofNanos(System.nanoTime() - started));
+            log.info("Restored snapshot {}", summary);
+            return summary;
+        } catch (IOException e) {
+            discardRestored(workers, jdbc, e);
+            throw new UncheckedIOException("Failed to read snapshot " + file, e);
+        } catch (RuntimeException e) {
+            discardRestored(workers, jdbc, e);
+            throw e;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Batches that already committed would make a retry fail the empty-database check
+    private static void discardRestored(ExecutorService workers, JdbcTemplate jdbc, Exception cause) {
+        workers.shutdownNow();
+        try {
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Restore batches still running; restored rows were not deleted");
+            }
+            for (String table : RESTORED_TABLES) {
+                jdbc.update("DELETE FROM " + table);
+            }
+            log.warn("Restore failed; deleted the rows it had inserted");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cause.addSuppressed(e);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void writeAll(SnapshotWriter writer, Stream<? extends Record> rows) throws IOException {
+        try (rows) {
+            Iterator<? extends Record> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    private void requireSingleDatabase() {
+        if (sharded) {
+            throw new IllegalStateException("Snapshots cover a single database; take one per shard");
+        }
+    }
+
+    private void advanceIdGenerators(JdbcTemplate jdbc) {
+        for (String table : IDENTITY_TABLES) {
+            Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (max != null) {
+                jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (max + 1));
+            }
+        }
+        for (Map.Entry<String, String> table : IdSequenceInitializer.SEQUENCES.entrySet()) {
+            IdSequenceInitializer.advancePastMaxId(jdbc, table.getKey(), table.getValue());
+        }
+    }
+
+    private static String insertFor(Record row) {
+        if (row instanceof UserRow) {
+            return INSERT_USER;
+        }
+        if (row instanceof CategoryRow) {
+            return INSERT_CATEGORY;
+        }
+        if (row instanceof GoalRow) {
+            return INSERT_GOAL;
+        }
+        if (row instanceof BudgetRow) {
+            return INSERT_BUDGET;
+        }
+        if (row instanceof CategorizationRuleRow) {
+            return INSERT_CATEGORIZATION_RULE;
+        }
+        if (row instanceof RecurringRuleRow) {
+            return INSERT_RECURRING_RULE;
+        }
+        return INSERT_TRANSACTION;
+    }
+
+    private static void bind(PreparedStatement statement, Record row) throws SQLException {
+        if (row instanceof UserRow user) {
+            statement.setLong(1, user.id());
+            statement.setString(2, user.username());
+            statement.setString(3, user.password());
+            statement.setString(4, user.fullName());
+            statement.setString(5, user.phoneNumber());
+            statement.setTimestamp(6, Timestamp.valueOf(user.createdAt()));
+        } else if (row instanceof CategoryRow category) {
+            statement.setLong(1, category.id());
+            statement.setString(2, category.name());
+            statement.setString(3, category.type().name());
+            statement.setBoolean(4, Boolean.TRUE.equals(category.isCustom()));
+            if (category.userId() != null) {
+                statement.setLong(5, category.userId());
+            } else {
+                statement.setNull(5, Types.BIGINT);
+            }
+            statement.setTimestamp(6, Timestamp.valueOf(category.createdAt()));
+        } else if (row instanceof GoalRow goal) {
+            statement.setLong(1, goal.id());
+            statement.setString(2, goal.goalName());
+            statement.setBigDecimal(3, goal.targetAmount());
+            statement.setDate(4, Date.valueOf(goal.targetDate()));
+            statement.setDate(5, Date.valueOf(goal.startDate()));
+            statement.setLong(6, goal.userId());
+            statement.setTimestamp(7, Timestamp.valueOf(goal.createdAt()));
+            statement.setTimestamp(8, Timestamp.valueOf(goal.updatedAt()));
+        } else if (row instanceof TransactionRow transaction) {
+            statement.setLong(1, transaction.id());
+            statement.setBigDecimal(2, transaction.amount());
+            statement.setDate(3, Date.valueOf(transaction.date()));
+            statement.setString(4, transaction.description());
+            statement.setString(5, transaction.clientId());
+            statement.setLong(6, transaction.categoryId());
+            statement.setLong(7, transaction.userId());
+            statement.setTimestamp(8, Timestamp.valueOf(transaction.createdAt()));
+            statement.setTimestamp(9, Timestamp.valueOf(transaction.updatedAt()));
+        } else if (row instanceof BudgetRow budget) {
+            statement.setLong(1, budget.id());
+            statement.setBigDecimal(2, budget.amount());
+            statement.setLong(3, budget.categoryId());
+            statement.setLong(4, budget.userId());
+            statement.setTimestamp(5, Timestamp.valueOf(budget.createdAt()));
+            statement.setTimestamp(6, Timestamp.valueOf(budget.updatedAt()));
+        } else if (row instanceof CategorizationRuleRow rule) {
+            statement.setLong(1, rule.id());
+            statement.setString(2, rule.pattern());
+            statement.setLong(3, rule.categoryId());
+            statement.setLong(4, rule.userId());
+            statement.setTimestamp(5, Timestamp.valueOf(rule.createdAt()));
+        } else if (row instanceof RecurringRuleRow rule) {
+            statement.setLong(1, rule.id());
+            statement.setBigDecimal(2, rule.amount());
+            statement.setString(3, rule.description());
+            statement.setString(4, rule.frequency().name());
+            statement.setDate(5, Date.valueOf(rule.startDate()));
+            statement.setDate(6, rule.endDate() != null ? Date.valueOf(rule.endDate()) : null);
+            statement.setDate(7, rule.nextRunDate() != null ? Date.valueOf(rule.nextRunDate()) : null);
+            statement.setLong(8, rule.occurrences());
+            statement.setBoolean(9, Boolean.TRUE.equals(rule.active()));
+            statement.setLong(10, rule.categoryId());
+            statement.setLong(11, rule.userId());
+            statement.setTimestamp(12, Timestamp.valueOf(rule.createdAt()));
+            statement.setTimestamp(13, Timestamp.valueOf(rule.updatedAt()));
+        }
+    }
+
+    /**
+     * Batches rows by section and inserts the batches in parallel, each in its own transaction.
+     * A section starts only after the previous one has committed.
+     */
+    private final class Restore {
+        private final ExecutorService workers;
+        // Bounds the decoded rows held in memory
+        private final Semaphore inFlight = new Semaphore(restoreThreads * 2);
+        private final List<Future<?>> pending = new ArrayList<>();
+        private final TransactionTemplate batchTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        private List<Record> batch = new ArrayList<>();
+        private String sql;
+
+        Restore(ExecutorService workers) {
+            this.workers = workers;
+        }
+
+        void add(Record row) {
+            String rowSql = insertFor(row);
+            if (!rowSql.equals(sql)) {
+                submit();
+                awaitPending();
+                sql = rowSql;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                submit();
+            }
+        }
+
+        void finish() {
+            submit();
+            awaitPending();
+        }
+
+        private void submit() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Record> rows = batch;
+            String statement = sql;
+            batch = new ArrayList<>(batchSize);
+            inFlight.acquireUninterruptibly();
+            pending.add(workers.submit(() -> {
+                try {
+                    batchTransaction.executeWithoutResult(status ->
+                            jdbc.batchUpdate(statement, rows, rows.size(), SnapshotService::bind));
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        private void awaitPending() {
+            try {
+                for (Future<?> future : pending) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while restoring", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException runtime
+                        ? runtime
+                        : new IllegalStateException("Restore batch failed", e.getCause());
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.financemanager.service;
+
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Periodically archives whole years of transactions that have dropped out of the hot period.
+ *
+ * <p>A year is archived once its last day is more than {@code finance.archive.hot-period} ago, so
+ * with the default of 90 days last year stays in the database until the end of March. Users are
+ * paged by ID and archived one at a time, each in its own database transaction.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "finance.archive", name = "enabled", havingValue = "true")
+public class TransactionArchiveScheduler {
+
+    private final TransactionArchiveService transactionArchiveService;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final Period hotPeriod;
+    private final int userPageSize;
+
+    public TransactionArchiveScheduler(TransactionArchiveService transactionArchiveService,
+                                       TransactionRepository transactionRepository,
+                                       UserRepository userRepository,
+                                       @Value("${finance.archive.hot-period:P90D}") Period hotPeriod,
+                                       @Value("${finance.archive.user-page-size:1000}") int userPageSize) {
+        this.transactionArchiveService = transactionArchiveService;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.hotPeriod = hotPeriod;
+        this.userPageSize = userPageSize;
+    }
+
+    @Scheduled(initialDelayString = "${finance.archive.initial-delay:PT5M}",
+               fixedDelayString = "${finance.archive.interval:PT24H}")
+    public void run() {
+        archive(LocalDate.now());
+    }
+
+    /**
+     * Archive every year that has left the hot period by {@code today}.
+     *
+     * @param today Current date
+     * @return Number of transactions archived
+     */
+    public synchronized int archive(LocalDate today) {
+        int firstHotYear = today.minus(hotPeriod).getYear();
+        LocalDate before = LocalDate.of(firstHotYear, 1, 1);
+        int archived = 0;
+        long afterUserId = 0;
+        List<Long> userIds;
+        do {
+            userIds = transactionRepository.findUserIdsWithTransactionsBefore(before, afterUserId, PageRequest.of(0, userPageSize));
+            for (Long userId : userIds) {
+                try {
+                    archived += userRepository.findById(userId)
+                            .map(user -> transactionArchiveService.archiveBefore(user, firstHotYear))
+                            .orElse(0);
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to archive transactions of user {}", userId, ex);
+                }
+            }
+            afterUserId = userIds.isEmpty() ? afterUserId : userIds.get(userIds.size() - 1);
+        } while (userIds.size() == userPageSize);
+        if (archived > 0) {
+            log.info("Archived {} transactions dated before {}", archived, before);
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,99 @@
+package com.financemanager.service;
+
+import com.financemanager.archive.ArchiveSegment;
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves transactions between the database and the {@link TransactionArchive}.
+ *
+ * <p>Archiving a year writes its segment first and deletes the rows second, in the same database
+ * transaction; thawing re-inserts the rows and deletes the segment after commit. If either stops
+ * half-way, the rows exist in both tiers until the next run, and readers prefer the database copy.
+ * Archiving does not publish transaction events: the data itself does not change.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TransactionArchiveService {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+
+    /**
+     * Archive every year of a user's transactions before {@code firstHotYear}.
+     *
+     * @param user Owner
+     * @param firstHotYear First year to keep in the database
+     * @return Number of transactions archived
+     */
+    public int archiveBefore(User user, int firstHotYear) {
+        return transactionArchive.locked(user.getId(), userId -> {
+            int archived = 0;
+            for (Integer year : transactionRepository.findYearsBefore(user, LocalDate.of(firstHotYear, 1, 1))) {
+                archived += archiveYear(user, year);
+            }
+            return archived;
+        });
+    }
+
+    private int archiveYear(User user, int year) {
+        List<Transaction> rows = transactionRepository.findByUserAndDateRange(user,
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        ArchiveSegment existing = transactionArchive.segment(user.getId(), year);
+        transactionArchive.write(existing != null ? existing.with(rows) : ArchiveSegment.of(user.getId(), year, rows));
+
+        List<Long> ids = rows.stream().map(Transaction::getId).toList();
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+            transactionRepository.deleteAllByIdInBatch(ids.subList(from, Math.min(ids.size(), from + DELETE_BATCH_SIZE)));
+        }
+        return rows.size();
+    }
+
+    /**
+     * Move an archived year of a user's transactions back into the database, so they can be changed.
+     *
+     * @param user Owner
+     * @param year Archived year
+     * @return Number of transactions restored
+     */
+    public int thaw(User user, int year) {
+        return transactionArchive.locked(user.getId(), userId -> {
+            ArchiveSegment segment = transactionArchive.segment(userId, year);
+            if (segment == null) {
+                return 0;
+            }
+            Set<Long> hot = transactionRepository.findByUserAndDateRange(user,
+                            LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)).stream()
+                    .map(Transaction::getId)
+                    .collect(Collectors.toCollection(HashSet::new));
+            int restored = 0;
+            for (int row = 0; row < segment.size(); row++) {
+                if (hot.contains(segment.id(row))) {
+                    continue;
+                }
+                transactionRepository.insertArchived(segment.id(row), segment.amount(row), segment.date(row),
+                        segment.description(row), segment.clientId(row), segment.categoryId(row), userId,
+                        segment.createdAt(row), segment.updatedAt(row));
+                restored++;
+            }
+            transactionArchive.deleteAfterCommit(userId, year);
+            return restored;
+        });
+    }
+}
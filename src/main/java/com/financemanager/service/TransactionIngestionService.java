@@ -0,0 +1,314 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.dto.QueuedTransactionResponse;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.exception.ServiceUnavailableException;
+import com.financemanager.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional accept-and-queue path for high-rate transaction creation.
+ *
+ * <p>When {@code finance.ingestion.write-behind.enabled=true}, validated transactions are put on a
+ * bounded in-memory queue and a single writer thread saves them in batches, one database
+ * transaction per user in each batch. Each user has a fence so reads can wait until that user's queued writes
+ * are visible. Queued transactions that have not been written are lost if the process dies.</p>
+ *
+ * <p>A row that still fails when retried on its own, such as a duplicate client ID or a category
+ * deleted meanwhile, is recorded as failed for its user before the fence moves past it, so a client
+ * holding the 202's client ID can find out with {@link #status}.</p>
+ *
+ * <p>A fence is dropped once everything its user queued is written and nothing failed, so only
+ * users with writes in flight or failures to report hold one.</p>
+ */
+@Slf4j
+@Service
+public class TransactionIngestionService {
+
+    /**
+     * Failed client IDs remembered per user; older failures are forgotten first.
+     */
+    static final int MAX_FAILURES_PER_USER = 100;
+
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final boolean enabled;
+    private final ArrayBlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration fenceTimeout;
+    private final ConcurrentHashMap<Long, Fence> fences = new ConcurrentHashMap<>();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TransactionIngestionService(TransactionService transactionService,
+                                       TransactionRepository transactionRepository,
+                                       @Value("${finance.ingestion.write-behind.enabled:false}") boolean enabled,
+                                       @Value("${finance.ingestion.write-behind.capacity:10000}") int capacity,
+                                       @Value("${finance.ingestion.write-behind.batch-size:500}") int batchSize,
+                                       @Value("${finance.ingestion.write-behind.fence-timeout:PT5S}") Duration fenceTimeout) {
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(enabled ? capacity : 1);
+        this.batchSize = batchSize;
+        this.fenceTimeout = fenceTimeout;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "transaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(fenceTimeout.toMillis());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Validate a create request and queue it for the background writer.
+     *
+     * @param request Create transaction request
+     * @param user Current user
+     * @return QueuedTransactionResponse with the client ID the transaction will be stored under
+     * @throws ServiceUnavailableException if the queue is full
+     */
+    public QueuedTransactionResponse enqueue(CreateTransactionRequest request, User user) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind ingestion is disabled");
+        }
+        Transaction transaction = transactionService.prepareTransaction(request, user);
+        if (transaction.getClientId() == null || transaction.getClientId().isBlank()) {
+            transaction.setClientId(UUID.randomUUID().toString());
+        }
+
+        while (true) {
+            Fence fence = fences.computeIfAbsent(user.getId(), id -> new Fence());
+            synchronized (fence) {
+                if (fence.retired) {
+                    // The writer dropped this fence after we looked it up; take the new one
+                    continue;
+                }
+                // Sequence numbers are handed out under the fence lock so queue order matches per-user order
+                if (!queue.offer(new Pending(transaction, fence, fence.enqueued + 1))) {
+                    throw new ServiceUnavailableException("Transaction queue is full, retry later");
+                }
+                fence.enqueued++;
+                fence.queued.merge(transaction.getClientId(), 1, Integer::sum);
+                // Resubmitting a failed client ID starts over
+                fence.failures.remove(transaction.getClientId());
+            }
+            break;
+        }
+
+        return QueuedTransactionResponse.builder()
+                .clientId(transaction.getClientId())
+                .status("QUEUED")
+                .build();
+    }
+
+    /**
+     * Block until every transaction the user queued before this call has been written.
+     *
+     * @param userId User ID
+     * @throws ServiceUnavailableException if the writes are not visible within the fence timeout
+     */
+    public void awaitFlushed(Long userId) {
+        Fence fence = fences.get(userId);
+        if (fence == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + fenceTimeout.toNanos();
+        synchronized (fence) {
+            long target = fence.enqueued;
+            while (fence.flushed < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new ServiceUnavailableException("Queued transactions are not yet written, retry later");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(fence, remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ServiceUnavailableException("Interrupted while waiting for queued transactions", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Look up what happened to a transaction queued under a client ID.
+     *
+     * @param user Current user
+     * @param clientId Client ID returned when the transaction was queued
+     * @return QueuedTransactionResponse with status QUEUED, WRITTEN or FAILED and, if failed, why
+     * @throws ResourceNotFoundException if the user has no transaction with the client ID
+     */
+    public QueuedTransactionResponse status(User user, String clientId) {
+        Fence fence = fences.get(user.getId());
+        if (fence != null) {
+            synchronized (fence) {
+                if (fence.queued.containsKey(clientId)) {
+                    return QueuedTransactionResponse.builder().clientId(clientId).status("QUEUED").build();
+                }
+                String error = fence.failures.get(clientId);
+                if (error != null) {
+                    return QueuedTransactionResponse.builder().clientId(clientId).status("FAILED").error(error).build();
+                }
+            }
+        }
+        if (transactionRepository.existsByUserAndClientId(user, clientId)) {
+            return QueuedTransactionResponse.builder().clientId(clientId).status("WRITTEN").build();
+        }
+        throw new ResourceNotFoundException("No transaction with client ID " + clientId);
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Whether the user has queued writes or failures to report.
+     */
+    boolean hasFence(Long userId) {
+        return fences.containsKey(userId);
+    }
+
+    /**
+     * Queued transactions that could not be written since startup.
+     */
+    public long failedCount() {
+        return failedCount.get();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        // One save per user: each user's rows live on that user's shard, and a database
+        // transaction writes to a single shard
+        Map<Long, List<Pending>> byUser = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            byUser.computeIfAbsent(pending.transaction.getUser().getId(), id -> new ArrayList<>()).add(pending);
+        }
+        for (List<Pending> userBatch : byUser.values()) {
+            writeUserBatch(userBatch);
+        }
+    }
+
+    private void writeUserBatch(List<Pending> batch) {
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            transactions.add(pending.transaction);
+        }
+        Map<Pending, String> failures = new HashMap<>();
+        try {
+            transactionService.saveAll(transactions);
+        } catch (Exception batchFailure) {
+            // Isolate the bad rows so one failure does not drop the whole batch
+            for (Pending pending : batch) {
+                try {
+                    transactionService.saveAll(List.of(pending.transaction));
+                } catch (Exception ex) {
+                    log.warn("Failed to write queued transaction {} for user {}", pending.transaction.getClientId(),
+                            pending.transaction.getUser().getId(), ex);
+                    failures.put(pending, describe(ex));
+                }
+            }
+        }
+        for (Pending pending : batch) {
+            Fence fence = pending.fence;
+            synchronized (fence) {
+                String clientId = pending.transaction.getClientId();
+                // The same client ID can be queued more than once; it stays QUEUED until the last is written
+                fence.queued.computeIfPresent(clientId, (id, count) -> count > 1 ? count - 1 : null);
+                String error = failures.get(pending);
+                if (error != null) {
+                    // Recorded before the fence moves, so a read after the fence can see it
+                    fence.failures.put(clientId, error);
+                    failedCount.incrementAndGet();
+                }
+                fence.flushed = pending.sequence;
+                fence.notifyAll();
+                if (fence.flushed == fence.enqueued && fence.failures.isEmpty()) {
+                    fence.retired = true;
+                    fences.remove(pending.transaction.getUser().getId(), fence);
+                }
+            }
+        }
+    }
+
+    private static String describe(Exception ex) {
+        if (ex instanceof DataIntegrityViolationException) {
+            return "Conflicts with an existing transaction or a deleted category";
+        }
+        return "Could not be written";
+    }
+
+    private record Pending(Transaction transaction, Fence fence, long sequence) {
+    }
+
+    private static final class Fence {
+        private long enqueued;
+        private long flushed;
+        private boolean retired;
+        // Client ID -> how many times it is queued
+        private final Map<String, Integer> queued = new HashMap<>();
+        private final Map<String, String> failures = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MAX_FAILURES_PER_USER;
+            }
+        };
+    }
+}
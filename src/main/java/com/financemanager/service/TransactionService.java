@@ -1,5 +1,6 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.CreateTransactionRequest;
 import com.financemanager.dto.TransactionResponse;
 import com.financemanager.dto.TransactionsResponse;
@@ -7,16 +8,20 @@ import com.financemanager.dto.UpdateTransactionRequest;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.Transaction;
 import com.financemanager.entity.User;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
 import com.financemanager.exception.ForbiddenException;
 import com.financemanager.exception.ResourceNotFoundException;
 import com.financemanager.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +34,9 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final CategoryService categoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionArchive transactionArchive;
+    private final TransactionArchiveService transactionArchiveService;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE;
 
@@ -41,28 +49,67 @@ public class TransactionService {
      * @throws IllegalArgumentException if date is in the future
      */
     public TransactionResponse createTransaction(CreateTransactionRequest request, User user) {
+        Transaction transaction = prepareTransaction(request, user);
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(user.getId(), TransactionSnapshot.of(savedTransaction)));
+        return toResponse(savedTransaction);
+    }
+
+    /**
+     * Validate a create request and build the (unsaved) transaction for it. Without a category,
+     * the user's categorization rules pick one from the description.
+     *
+     * @param request Create transaction request
+     * @param user Current user
+     * @return Transaction ready to be saved
+     * @throws IllegalArgumentException if date is in the future, or no category is given and none matches
+     * @throws ResourceNotFoundException if the category does not exist
+     */
+    @Transactional(readOnly = true)
+    public Transaction prepareTransaction(CreateTransactionRequest request, User user) {
         LocalDate transactionDate = LocalDate.parse(request.getDate(), DATE_FORMATTER);
 
         if (transactionDate.isAfter(LocalDate.now())) {
             throw new IllegalArgumentException("Transaction date cannot be in the future");
         }
 
-        Category category = categoryService.getCategoryByName(request.getCategory(), user);
+        Category category;
+        if (request.getCategory() != null && !request.getCategory().isBlank()) {
+            category = categoryService.getCategoryByName(request.getCategory(), user);
+        } else {
+            category = categoryService.categorize(request.getDescription(), user);
+            if (category == null) {
+                throw new IllegalArgumentException("Category is required when no categorization rule matches the description");
+            }
+        }
 
-        Transaction transaction = Transaction.builder()
+        return Transaction.builder()
                 .amount(request.getAmount())
                 .date(transactionDate)
                 .description(request.getDescription())
+                .clientId(request.getClientId())
                 .category(category)
                 .user(user)
                 .build();
+    }
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return toResponse(savedTransaction);
+    /**
+     * Save already-validated transactions in a single database transaction.
+     *
+     * @param transactions Transactions built by {@link #prepareTransaction}
+     * @return Saved transactions
+     */
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        for (Transaction transaction : saved) {
+            eventPublisher.publishEvent(TransactionChangedEvent.created(transaction.getUser().getId(), TransactionSnapshot.of(transaction)));
+        }
+        return saved;
     }
 
     /**
-     * Get all transactions for a user.
+     * Get all transactions for a user, including archived ones.
      *
      * @param user Current user
      * @param startDate Optional start date filter
@@ -71,7 +118,6 @@ public class TransactionService {
      * @return TransactionsResponse with list of transactions
      */
     public TransactionsResponse getTransactions(User user, String startDate, String endDate, String categoryName, Long categoryId, String typeName) {
-        List<Transaction> transactions;
         // Parse optional type filter
         com.financemanager.entity.CategoryType typeFilter = null;
         if (typeName != null && !typeName.isBlank()) {
@@ -82,50 +128,47 @@ public class TransactionService {
             }
         }
 
+        LocalDate start = null;
+        LocalDate end = null;
         if (startDate != null && endDate != null) {
-            LocalDate start = LocalDate.parse(startDate, DATE_FORMATTER);
-            LocalDate end = LocalDate.parse(endDate, DATE_FORMATTER);
-
-            if (categoryId != null) {
-                // If categoryId provided, optionally verify type filter matches
-                Category category = categoryService.getCategoryById(categoryId, user);
-                if (typeFilter != null && category.getType() != typeFilter) {
-                    transactions = List.of();
-                } else {
-                    transactions = transactionRepository.findByUserDateRangeAndCategory(user, start, end, categoryId);
-                }
-            } else if (categoryName != null && !categoryName.isBlank()) {
-                Category category = categoryService.getCategoryByName(categoryName, user);
-                if (typeFilter != null && category.getType() != typeFilter) {
-                    transactions = List.of();
-                } else {
-                    transactions = transactionRepository.findByUserDateRangeAndCategory(user, start, end, category.getId());
-                }
+            start = LocalDate.parse(startDate, DATE_FORMATTER);
+            end = LocalDate.parse(endDate, DATE_FORMATTER);
+        }
+
+        // A category filter makes the type filter redundant, or rules out every transaction
+        Category category = null;
+        if (categoryId != null) {
+            category = categoryService.getCategoryById(categoryId, user);
+        } else if (categoryName != null && !categoryName.isBlank()) {
+            category = categoryService.getCategoryByName(categoryName, user);
+        }
+        if (category != null && typeFilter != null && category.getType() != typeFilter) {
+            return TransactionsResponse.builder().transactions(List.of()).build();
+        }
+
+        List<Transaction> transactions;
+        if (start != null) {
+            if (category != null) {
+                transactions = transactionRepository.findByUserDateRangeAndCategory(user, start, end, category.getId());
             } else if (typeFilter != null) {
                 transactions = transactionRepository.findByUserAndDateRangeAndType(user, start, end, typeFilter);
             } else {
                 transactions = transactionRepository.findByUserAndDateRange(user, start, end);
             }
-        } else if (categoryId != null) {
-            Category category = categoryService.getCategoryById(categoryId, user);
-            if (typeFilter != null && category.getType() != typeFilter) {
-                transactions = List.of();
-            } else {
-                transactions = transactionRepository.findByUserAndCategory(user, categoryId);
-            }
-        } else if (categoryName != null && !categoryName.isBlank()) {
-            Category category = categoryService.getCategoryByName(categoryName, user);
-            if (typeFilter != null && category.getType() != typeFilter) {
-                transactions = List.of();
-            } else {
-                transactions = transactionRepository.findByUserAndCategory(user, category.getId());
-            }
+        } else if (category != null) {
+            transactions = transactionRepository.findByUserAndCategory(user, category.getId());
         } else if (typeFilter != null) {
             transactions = transactionRepository.findByUserAndTypeOrderByDateDesc(user, typeFilter);
         } else {
             transactions = transactionRepository.findByUserOrderByDateDesc(user);
         }
 
+        Long categoryMatch = category != null ? category.getId() : null;
+        com.financemanager.entity.CategoryType typeMatch = typeFilter;
+        transactions = transactionArchive.merge(transactions, user, start, end, transaction ->
+                (categoryMatch == null || categoryMatch.equals(transaction.getCategory().getId()))
+                        && (typeMatch == null || transaction.getCategory().getType() == typeMatch));
+
         List<TransactionResponse> responses = transactions.stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
@@ -146,6 +189,7 @@ public class TransactionService {
      */
     public Transaction getTransactionById(Long id, User user) {
         Transaction transaction = transactionRepository.findById(id)
+                .or(() -> Optional.ofNullable(transactionArchive.find(user, id)))
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
         if (!transaction.getUser().getId().equals(user.getId())) {
@@ -166,7 +210,8 @@ public class TransactionService {
      * @throws ForbiddenException if transaction belongs to another user
      */
     public TransactionResponse updateTransaction(Long id, UpdateTransactionRequest request, User user) {
-        Transaction transaction = getTransactionById(id, user);
+        Transaction transaction = getChangeableTransaction(id, user);
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
 
         if (request.getAmount() != null && request.getAmount().compareTo(BigDecimal.ZERO) > 0) {
             transaction.setAmount(request.getAmount());
@@ -182,6 +227,7 @@ public class TransactionService {
         }
 
         Transaction updatedTransaction = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(user.getId(), before, TransactionSnapshot.of(updatedTransaction)));
         return toResponse(updatedTransaction);
     }
 
@@ -194,8 +240,20 @@ public class TransactionService {
      * @throws ForbiddenException if transaction belongs to another user
      */
     public void deleteTransaction(Long id, User user) {
-        Transaction transaction = getTransactionById(id, user);
+        Transaction transaction = getChangeableTransaction(id, user);
         transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(user.getId(), TransactionSnapshot.of(transaction)));
+    }
+
+    // Archived transactions are read-only, so their year moves back into the database first
+    private Transaction getChangeableTransaction(Long id, User user) {
+        if (!transactionRepository.existsById(id)) {
+            Integer year = transactionArchive.yearOf(user.getId(), id);
+            if (year != null) {
+                transactionArchiveService.thaw(user, year);
+            }
+        }
+        return getTransactionById(id, user);
     }
 
     /**
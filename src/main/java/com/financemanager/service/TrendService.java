@@ -0,0 +1,142 @@
+package com.financemanager.service;
+
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.dto.TimeSeriesEntry;
+import com.financemanager.dto.TimeSeriesResponse;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.User;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.store.TimeSeriesStore;
+import com.financemanager.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for daily, weekly and monthly spending/income trend series.
+ *
+ * <p>Series are served from {@link TimeSeriesStore}; the transactions table is only read, on the
+ * primary, the first time a user's series is requested.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TrendService {
+
+    /**
+     * Maximum number of days a series request may span (10 years).
+     */
+    public static final int MAX_RANGE_DAYS = 3660;
+
+    private final TimeSeriesStore timeSeriesStore;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final CategoryService categoryService;
+    private final PrimaryReads primaryReads;
+
+    /**
+     * Supported bucket sizes.
+     */
+    public enum Granularity {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    /**
+     * Get per-category totals bucketed by day, ISO week or month.
+     *
+     * @param user Current user
+     * @param granularity Bucket size
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @param categoryName Optional category filter
+     * @param type Optional type filter
+     * @return TimeSeriesResponse with one value list per category
+     * @throws IllegalArgumentException if the range is inverted or longer than {@link #MAX_RANGE_DAYS}
+     */
+    public TimeSeriesResponse getSeries(User user, Granularity granularity, LocalDate from, LocalDate to,
+                                        String categoryName, CategoryType type) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Long categoryId = null;
+        if (categoryName != null && !categoryName.isBlank()) {
+            Category category = categoryService.getCategoryByName(categoryName, user);
+            categoryId = category.getId();
+        }
+
+        TimeSeriesStore.UserSeries userSeries = timeSeriesStore.ensureLoaded(user.getId(),
+                () -> primaryReads.load(() -> transactionArchive.merge(
+                        transactionRepository.findByUserOrderByDateDesc(user), user, null, null, transaction -> true)));
+
+        LocalDate firstPeriod = periodStart(granularity, from);
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate period = firstPeriod; !period.isAfter(to); period = nextPeriod(granularity, period)) {
+            periods.add(period);
+        }
+
+        List<TimeSeriesEntry> entries = new ArrayList<>();
+        for (TimeSeriesStore.CategorySeries series : userSeries.daily(from, to, categoryId, type)) {
+            long[] buckets = new long[periods.size()];
+            long[] daily = series.daily();
+            LocalDate day = from;
+            for (int d = 0; d < daily.length; d++, day = day.plusDays(1)) {
+                if (daily[d] != 0) {
+                    buckets[bucketIndex(granularity, firstPeriod, day)] += daily[d];
+                }
+            }
+            List<BigDecimal> values = new ArrayList<>(buckets.length);
+            for (long bucket : buckets) {
+                values.add(Money.fromMinorUnits(bucket, Money.MINOR_UNIT_SCALE));
+            }
+            entries.add(TimeSeriesEntry.builder()
+                    .category(series.categoryName())
+                    .type(series.type().toString())
+                    .values(values)
+                    .build());
+        }
+
+        return TimeSeriesResponse.builder()
+                .granularity(granularity.toString())
+                .from(from)
+                .to(to)
+                .periods(periods)
+                .series(entries)
+                .build();
+    }
+
+    private static LocalDate periodStart(Granularity granularity, LocalDate date) {
+        return switch (granularity) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextPeriod(Granularity granularity, LocalDate period) {
+        return switch (granularity) {
+            case DAILY -> period.plusDays(1);
+            case WEEKLY -> period.plusWeeks(1);
+            case MONTHLY -> period.plusMonths(1);
+        };
+    }
+
+    private static int bucketIndex(Granularity granularity, LocalDate firstPeriod, LocalDate day) {
+        return switch (granularity) {
+            case DAILY -> (int) ChronoUnit.DAYS.between(firstPeriod, day);
+            case WEEKLY -> (int) (ChronoUnit.DAYS.between(firstPeriod, day) / 7);
+            case MONTHLY -> (int) ChronoUnit.MONTHS.between(firstPeriod, day);
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.financemanager.sharding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a cross-user repository query that must run on every shard when sharding is enabled.
+ *
+ * <p>The method must return a {@link java.util.List}. Results are merged, de-duplicated and sorted,
+ * and cut to the page size if the method takes a {@link org.springframework.data.domain.Pageable}, so
+ * a query ordered by its (comparable) result pages the same way as on a single database. Without
+ * sharding the annotation has no effect.</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AllShards {
+}
@@ -0,0 +1,139 @@
+package com.financemanager.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Which database the current thread's work goes to.
+ *
+ * <p>{@link #callOn} selects a shard for a block of work. Once a transaction has opened its
+ * connection, the shard it landed on is recorded with the transaction, so later repository calls in
+ * the same transaction can tell whether they still belong there. The record is a
+ * {@link TransactionSynchronization}, which Spring suspends and resumes along with the transaction.</p>
+ */
+public final class ShardContext {
+
+    /**
+     * Target for work that is not tied to a user: users, report jobs and anything outside a
+     * user-scoped repository call.
+     */
+    public static final String DIRECTORY = "directory";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Shard selected for the current block of work, or null if none is.
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run work with a shard selected, restoring the previous selection afterwards.
+     *
+     * @param shard Shard name, or {@link #DIRECTORY}
+     * @param work Work to run
+     * @return The work's result
+     */
+    public static <T> T callOn(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(String shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Shard the current transaction's connection is on, or null outside a transaction or before
+     * its first statement.
+     */
+    public static String transactionShard() {
+        Binding binding = binding();
+        return binding != null ? binding.shard : null;
+    }
+
+    static void bindTransaction(String shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Binding binding = binding();
+        if (binding == null) {
+            TransactionSynchronizationManager.registerSynchronization(new Binding(shard));
+        } else if (binding.shard == null) {
+            binding.shard = shard;
+        }
+    }
+
+    static boolean isEnlisted(long userId) {
+        Binding binding = binding();
+        return binding != null && binding.users.contains(userId);
+    }
+
+    /**
+     * Register a user the current transaction works on, to be released when it completes. Requires
+     * active transaction synchronization.
+     *
+     * @return false if the transaction had already registered the user
+     */
+    static boolean enlistUser(long userId, Runnable release) {
+        Binding binding = binding();
+        if (binding == null) {
+            binding = new Binding(null);
+            TransactionSynchronizationManager.registerSynchronization(binding);
+        }
+        if (!binding.users.add(userId)) {
+            return false;
+        }
+        binding.releases.add(release);
+        return true;
+    }
+
+    private static Binding binding() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Binding binding) {
+                return binding;
+            }
+        }
+        return null;
+    }
+
+    private static final class Binding implements TransactionSynchronization {
+
+        private String shard;
+        private final Set<Long> users = new HashSet<>();
+        private final List<Runnable> releases = new ArrayList<>();
+
+        Binding(String shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            releases.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.financemanager.sharding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current home shard of every user, plus the per-user fence that lets {@link ShardSplitter} move a
+ * user while everyone else keeps working.
+ *
+ * <p>Work on a user {@link #acquire acquires} them for its duration. The splitter
+ * {@link #fence fences} one user at a time: new work for that user waits, and the fence holds until
+ * work already running has finished. Once the user's rows are copied it {@link #unfence unfences}
+ * them with their new shard.</p>
+ */
+public class ShardDirectory {
+
+    private volatile ShardMap map;
+    // Shard being filled by a split in progress
+    private volatile String splitting;
+    // Users already moved by a split that has not been installed yet
+    private final Map<Long, String> moved = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> inFlight = new ConcurrentHashMap<>();
+    private final Set<Long> moving = ConcurrentHashMap.newKeySet();
+    private final Object monitor = new Object();
+    // Users this thread already holds; nested work on them must not wait for a fence
+    private final ThreadLocal<Map<Long, Integer>> held = ThreadLocal.withInitial(HashMap::new);
+
+    public ShardDirectory(ShardMap map) {
+        this.map = map;
+    }
+
+    public ShardMap map() {
+        return map;
+    }
+
+    /**
+     * Every shard that can hold user data, including one a split is still filling.
+     */
+    public List<String> shards() {
+        String target = splitting;
+        if (target == null) {
+            return map.shards();
+        }
+        List<String> shards = new ArrayList<>(map.shards());
+        shards.add(target);
+        return shards;
+    }
+
+    /**
+     * Home shard of a user.
+     *
+     * @param userId User ID
+     * @return Shard name
+     */
+    public String shardFor(long userId) {
+        String shard = moved.get(userId);
+        return shard != null ? shard : map.shardFor(userId);
+    }
+
+    /**
+     * Start work on a user, waiting while they are being moved. Reentrant: a thread that already
+     * holds the user does not wait.
+     *
+     * @param userId User ID
+     */
+    public void acquire(long userId) {
+        if (held.get().merge(userId, 1, Integer::sum) > 1) {
+            return;
+        }
+        try {
+            while (true) {
+                // Count first, then check: a fence set after the check will wait for this count
+                inFlight.merge(userId, 1, Integer::sum);
+                if (!moving.contains(userId)) {
+                    return;
+                }
+                releaseInFlight(userId);
+                synchronized (monitor) {
+                    while (moving.contains(userId)) {
+                        await();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            held.get().remove(userId);
+            throw e;
+        }
+    }
+
+    /**
+     * Finish work started with {@link #acquire}.
+     *
+     * @param userId User ID
+     */
+    public void release(long userId) {
+        if (held.get().merge(userId, -1, Integer::sum) > 0) {
+            return;
+        }
+        held.get().remove(userId);
+        releaseInFlight(userId);
+    }
+
+    private void releaseInFlight(long userId) {
+        inFlight.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+        if (moving.contains(userId)) {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    void fence(long userId) {
+        moving.add(userId);
+        synchronized (monitor) {
+            while (inFlight.containsKey(userId)) {
+                await();
+            }
+        }
+    }
+
+    void unfence(long userId, String shard) {
+        if (shard != null) {
+            moved.put(userId, shard);
+        }
+        moving.remove(userId);
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    String splitting() {
+        return splitting;
+    }
+
+    void beginSplit(String shard) {
+        if (splitting != null) {
+            throw new IllegalStateException("A split to " + splitting + " is already running");
+        }
+        splitting = shard;
+    }
+
+    void install(ShardMap newMap) {
+        map = newMap;
+        moved.clear();
+        splitting = null;
+    }
+
+    private void await() {
+        try {
+            monitor.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard move", e);
+        }
+    }
+}
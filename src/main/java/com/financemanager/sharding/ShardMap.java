@@ -0,0 +1,106 @@
+package com.financemanager.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring from user IDs to shard names.
+ *
+ * <p>Each shard owns {@code virtualNodes} points on a 64-bit ring, placed by hashing
+ * {@code name#i}; a user belongs to the first point at or after the hash of their ID. Adding a shard
+ * only moves users onto the new shard, about {@code 1/(n+1)} of them, which is what makes
+ * {@link ShardSplitter} possible without reshuffling everyone.</p>
+ */
+public final class ShardMap {
+
+    private final List<String> shards;
+    private final int virtualNodes;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ShardMap(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A shard map needs at least one shard and one virtual node");
+        }
+        this.shards = List.copyOf(shards);
+        this.virtualNodes = virtualNodes;
+        for (String shard : this.shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                String previous = ring.put(hash(shard + "#" + i), shard);
+                if (previous != null && !previous.equals(shard)) {
+                    throw new IllegalStateException("Hash collision between shards " + previous + " and " + shard);
+                }
+            }
+        }
+    }
+
+    /**
+     * Shard that owns a user.
+     *
+     * @param userId User ID
+     * @return Shard name
+     */
+    public String shardFor(long userId) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(mix(userId));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * This map with one more shard.
+     *
+     * @param shard New shard name
+     * @return New map; this one is unchanged
+     */
+    public ShardMap withShard(String shard) {
+        if (shards.contains(shard)) {
+            throw new IllegalArgumentException("Shard already in the map: " + shard);
+        }
+        List<String> extended = new ArrayList<>(shards);
+        extended.add(shard);
+        return new ShardMap(extended, virtualNodes);
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    /**
+     * Position of a shard in the map, starting at 1. Stable across splits, since shards are only
+     * ever appended.
+     */
+    public int ordinal(String shard) {
+        int index = shards.indexOf(shard);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return index + 1;
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xff);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    // Sequential IDs would otherwise cluster on the ring; this is the MurmurHash3 finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93fe53ec4cbL;
+        value ^= value >>> 33;
+        return value;
+    }
+}
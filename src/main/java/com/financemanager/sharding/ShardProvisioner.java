@@ -0,0 +1,62 @@
+package com.financemanager.sharding;
+
+import com.financemanager.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.Map;
+
+/**
+ * Prepares a shard database: creates the schema from the entity mappings, moves its ID generators
+ * into the shard's own range and replicates the default categories from the directory.
+ *
+ * <p>Shard {@code n} generates IDs from {@code n << 40}, leaving the directory, shard 0, the range
+ * below. IDs are therefore unique across all shards. Sequence IDs are handed out in blocks shared by
+ * every shard, so a row may carry an ID from another shard's range; it is still unique.</p>
+ */
+@Slf4j
+public class ShardProvisioner {
+
+    static final int ID_RANGE_BITS = 40;
+
+    private final ShardRoutingDataSource routing;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CategoryService categoryService;
+
+    public ShardProvisioner(ShardRoutingDataSource routing, EntityManagerFactory entityManagerFactory,
+                            CategoryService categoryService) {
+        this.routing = routing;
+        this.entityManagerFactory = entityManagerFactory;
+        this.categoryService = categoryService;
+    }
+
+    /**
+     * Provision a registered shard whose database is still empty.
+     *
+     * @param shard Shard name
+     * @param ordinal Shard's position in the {@link ShardMap}
+     */
+    public void provision(String shard, int ordinal) {
+        ShardContext.runOn(shard, () -> entityManagerFactory.unwrap(SessionFactory.class)
+                .getSchemaManager()
+                .exportMappedObjects(true));
+
+        JdbcTemplate jdbc = new JdbcTemplate(routing.target(shard));
+        long start = (long) ordinal << ID_RANGE_BITS;
+        // Only generators still below the shard's range, so provisioning again is harmless
+        for (Map<String, Object> column : jdbc.queryForList("SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = 'PUBLIC' AND IS_IDENTITY = 'YES' AND IDENTITY_BASE < ?", start)) {
+            jdbc.execute("ALTER TABLE " + column.get("TABLE_NAME") + " ALTER COLUMN " + column.get("COLUMN_NAME")
+                    + " RESTART WITH " + start);
+        }
+        for (String sequence : jdbc.queryForList("SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_SCHEMA = 'PUBLIC' AND BASE_VALUE < ?", String.class, start)) {
+            jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + start);
+        }
+
+        ShardContext.runOn(ShardContext.DIRECTORY, categoryService::initializeDefaultCategories);
+        int categories = ShardRows.copyDefaultCategories(routing.target(ShardContext.DIRECTORY), routing.target(shard));
+        log.info("Provisioned shard {} (IDs from {}, {} default categories copied)", shard, start, categories);
+    }
+}
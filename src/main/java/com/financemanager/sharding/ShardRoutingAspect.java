@@ -0,0 +1,243 @@
+package com.financemanager.sharding;
+
+import com.financemanager.entity.Budget;
+import com.financemanager.entity.CategorizationRule;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.RecurringRule;
+import com.financemanager.entity.SavingsGoal;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.ReportJobRepository;
+import com.financemanager.repository.ReportJobResultRepository;
+import com.financemanager.repository.UserRepository;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.function.SingletonSupplier;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Routes every repository call to the shard that owns its user, and every service call that takes
+ * a user to that user's shard.
+ *
+ * <p>The user comes from the arguments: a {@link User}, a {@code Long} bound as {@code userId}, or
+ * an entity (or collection of entities) with an owner. Calls without one stay on whatever the
+ * transaction is already using, or go to the directory. {@link UserRepository} and the report job
+ * repositories always use the directory; a newly saved user is also copied to their home shard,
+ * since every user-owned table references {@code users}.</p>
+ *
+ * <p>A transaction uses a single database. When a read-only transaction reaches a second one, such
+ * as a report job that reads its job from the directory and its transactions from a shard, the call
+ * runs in its own read-only transaction there. A read-write transaction that spans databases fails
+ * instead of committing half of its work.</p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    private final ShardDirectory directory;
+    private final Supplier<ShardRoutingDataSource> routing;
+    private final Supplier<TransactionTemplate> detour;
+
+    // Suppliers: aspects are created before the beans they advise, so the data source and the
+    // transaction manager, which need the repositories' entity manager factory, are looked up later
+    public ShardRoutingAspect(ShardDirectory directory, Supplier<ShardRoutingDataSource> routing,
+                              Supplier<PlatformTransactionManager> transactionManager) {
+        this.directory = directory;
+        this.routing = SingletonSupplier.of(routing);
+        this.detour = SingletonSupplier.of(() -> {
+            TransactionTemplate template = new TransactionTemplate(transactionManager.get());
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            template.setReadOnly(true);
+            return template;
+        });
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object repository = joinPoint.getThis();
+        if (repository instanceof UserRepository || repository instanceof ReportJobRepository
+                || repository instanceof ReportJobResultRepository) {
+            Object result = on(ShardContext.DIRECTORY, joinPoint);
+            if (result instanceof User user && "save".equals(joinPoint.getSignature().getName())) {
+                copyToHomeShard(user);
+            }
+            return result;
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (method.isAnnotationPresent(AllShards.class)) {
+            return onAllShards(joinPoint);
+        }
+        Long userId = userId(method, joinPoint.getArgs());
+        if (userId == null) {
+            return joinPoint.proceed();
+        }
+        return forUser(userId, shard -> on(shard, joinPoint));
+    }
+
+    /**
+     * Selects the user's shard for a whole service call, so repository calls inside it that carry
+     * no user, such as {@code findById}, land there too.
+     */
+    @Around("execution(public * com.financemanager.service..*(..))")
+    public Object routeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Long userId = userId(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs());
+        if (userId == null) {
+            return joinPoint.proceed();
+        }
+        return forUser(userId, shard -> ShardContext.callOn(shard, () -> proceed(joinPoint)));
+    }
+
+    // Holds the user for the call, or for the rest of the transaction if there is one, so a split
+    // cannot move them halfway through
+    private Object forUser(long userId, Function<String, Object> call) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            directory.acquire(userId);
+            try {
+                return call.apply(directory.shardFor(userId));
+            } finally {
+                directory.release(userId);
+            }
+        }
+        if (!ShardContext.isEnlisted(userId)) {
+            directory.acquire(userId);
+            ShardContext.enlistUser(userId, () -> directory.release(userId));
+        }
+        return call.apply(directory.shardFor(userId));
+    }
+
+    private Object on(String shard, ProceedingJoinPoint joinPoint) {
+        String bound = ShardContext.transactionShard();
+        if (bound == null || bound.equals(shard)) {
+            return ShardContext.callOn(shard, () -> proceed(joinPoint));
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalStateException("Transaction on " + bound + " cannot also write to " + shard
+                    + " (" + joinPoint.getSignature().toShortString() + ")");
+        }
+        return detour.get().execute(status -> ShardContext.callOn(shard, () -> proceed(joinPoint)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object onAllShards(ProceedingJoinPoint joinPoint) {
+        if (ShardContext.transactionShard() != null) {
+            throw new IllegalStateException("Cross-shard query inside a transaction: "
+                    + joinPoint.getSignature().toShortString());
+        }
+        Set<Object> merged = new LinkedHashSet<>();
+        for (String shard : directory.shards()) {
+            merged.addAll((List<?>) ShardContext.callOn(shard, () -> proceed(joinPoint)));
+        }
+        List<Object> results = new ArrayList<>(merged);
+        if (!results.isEmpty() && results.get(0) instanceof Comparable<?>) {
+            results.sort(Comparator.comparing(value -> (Comparable<Object>) value));
+        }
+        for (Object arg : joinPoint.getArgs()) {
+            if (arg instanceof Pageable pageable && pageable.isPaged() && results.size() > pageable.getPageSize()) {
+                return new ArrayList<>(results.subList(0, pageable.getPageSize()));
+            }
+        }
+        return results;
+    }
+
+    private void copyToHomeShard(User user) {
+        Runnable copy = () -> {
+            String shard = directory.shardFor(user.getId());
+            ShardRows.copyUser(user.getId(), routing.get().target(ShardContext.DIRECTORY), routing.get().target(shard));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    copy.run();
+                }
+            });
+        } else {
+            copy.run();
+        }
+    }
+
+    static Long userId(Method method, Object[] args) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        Long found = null;
+        for (int i = 0; i < args.length; i++) {
+            Long userId = args[i] instanceof Long id && isUserIdParameter(annotations[i]) ? id : ownerOf(args[i]);
+            if (userId == null) {
+                continue;
+            }
+            if (found != null && !found.equals(userId)) {
+                throw new IllegalArgumentException("Repository call spans users " + found + " and " + userId);
+            }
+            found = userId;
+        }
+        return found;
+    }
+
+    private static boolean isUserIdParameter(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Param param && "userId".equals(param.value())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long ownerOf(Object value) {
+        User user = null;
+        if (value instanceof User u) {
+            user = u;
+        } else if (value instanceof Transaction t) {
+            user = t.getUser();
+        } else if (value instanceof Category c) {
+            user = c.getUser();
+        } else if (value instanceof SavingsGoal g) {
+            user = g.getUser();
+        } else if (value instanceof Budget b) {
+            user = b.getUser();
+        } else if (value instanceof CategorizationRule r) {
+            user = r.getUser();
+        } else if (value instanceof RecurringRule r) {
+            user = r.getUser();
+        } else if (value instanceof Iterable<?> values) {
+            Long found = null;
+            for (Object element : values) {
+                Long owner = ownerOf(element);
+                if (owner != null && found != null && !found.equals(owner)) {
+                    throw new IllegalArgumentException("Batch spans users " + found + " and " + owner);
+                }
+                found = owner != null ? owner : found;
+            }
+            return found;
+        }
+        return user != null ? user.getId() : null;
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.financemanager.sharding;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends each connection to the shard selected in {@link ShardContext}, or to the directory database
+ * when none is.
+ *
+ * <p>Like the read replica routing, the target is chosen at the first statement rather than when
+ * the transaction begins, since the shard is only known once a repository method sees its user. The
+ * chosen shard is then bound to the transaction. Shards can be added while running, for
+ * {@link ShardSplitter}.</p>
+ */
+public class ShardRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final Map<String, DataSource> targets = new ConcurrentHashMap<>();
+
+    public ShardRoutingDataSource(DataSource directory) {
+        targets.put(ShardContext.DIRECTORY, directory);
+        Router router = new Router();
+        router.setTargetDataSources(Map.of());
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+    }
+
+    public void addShard(String name, DataSource shard) {
+        if (targets.putIfAbsent(name, shard) != null) {
+            throw new IllegalArgumentException("Shard already registered: " + name);
+        }
+    }
+
+    /**
+     * The physical database behind a shard name, bypassing routing.
+     *
+     * @param name Shard name, or {@link ShardContext#DIRECTORY}
+     * @return Target data source
+     */
+    public DataSource target(String name) {
+        DataSource target = targets.get(name);
+        if (target == null) {
+            throw new IllegalArgumentException("Unknown shard: " + name);
+        }
+        return target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource target : targets.values()) {
+            if (target instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private class Router extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            String shard = ShardContext.current();
+            return shard != null ? shard : ShardContext.DIRECTORY;
+        }
+
+        @Override
+        protected DataSource determineTargetDataSource() {
+            String shard = (String) determineCurrentLookupKey();
+            ShardContext.bindTransaction(shard);
+            return target(shard);
+        }
+    }
+}
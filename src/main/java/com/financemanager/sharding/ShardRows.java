@@ -0,0 +1,100 @@
+package com.financemanager.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Copies and deletes rows between two physical databases, below Hibernate.
+ *
+ * <p>IDs are kept as they are: every shard allocates from its own range, so a copied row cannot
+ * collide with one the target generated, and the default categories carry the directory's IDs on
+ * every shard. Entities therefore have the same ID wherever they live, which keeps the second-level
+ * cache and the in-memory stores keyed by ID valid when a user moves.</p>
+ */
+public final class ShardRows {
+
+    // Parents before children, so foreign keys hold while copying
+    static final List<String> USER_TABLES = List.of("categories", "transactions", "savings_goals", "budgets",
+            "categorization_rules", "recurring_rules");
+
+    private ShardRows() {
+    }
+
+    /**
+     * Copy a user's account row, if the target does not have it yet.
+     */
+    public static void copyUser(long userId, DataSource from, DataSource to) {
+        JdbcTemplate target = new JdbcTemplate(to);
+        Integer present = target.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId);
+        if (present == 0) {
+            new JdbcTemplate(from).queryForList("SELECT * FROM users WHERE id = ?", userId)
+                    .forEach(row -> insert(target, "users", row));
+        }
+    }
+
+    /**
+     * Copy the default categories the target does not have yet, keeping their IDs.
+     *
+     * @return Number of categories copied
+     */
+    public static int copyDefaultCategories(DataSource from, DataSource to) {
+        JdbcTemplate target = new JdbcTemplate(to);
+        Set<Long> present = new HashSet<>(target.queryForList("SELECT id FROM categories WHERE user_id IS NULL", Long.class));
+        int copied = 0;
+        for (Map<String, Object> row : new JdbcTemplate(from).queryForList("SELECT * FROM categories WHERE user_id IS NULL")) {
+            if (!present.contains(((Number) row.get("ID")).longValue())) {
+                insert(target, "categories", row);
+                copied++;
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Copy all of a user's rows in one transaction on the target.
+     *
+     * @return Number of rows copied, not counting the account row
+     */
+    public static int copyUserData(long userId, DataSource from, DataSource to) {
+        JdbcTemplate source = new JdbcTemplate(from);
+        JdbcTemplate target = new JdbcTemplate(to);
+        Integer copied = new TransactionTemplate(new DataSourceTransactionManager(to)).execute(status -> {
+            copyUser(userId, from, to);
+            int rows = 0;
+            for (String table : USER_TABLES) {
+                for (Map<String, Object> row : source.queryForList("SELECT * FROM " + table + " WHERE user_id = ?", userId)) {
+                    insert(target, table, row);
+                    rows++;
+                }
+            }
+            return rows;
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    /**
+     * Delete all of a user's rows, including the account row, in one transaction.
+     */
+    public static void deleteUserData(long userId, DataSource from) {
+        JdbcTemplate source = new JdbcTemplate(from);
+        new TransactionTemplate(new DataSourceTransactionManager(from)).executeWithoutResult(status -> {
+            for (int i = USER_TABLES.size() - 1; i >= 0; i--) {
+                source.update("DELETE FROM " + USER_TABLES.get(i) + " WHERE user_id = ?", userId);
+            }
+            source.update("DELETE FROM users WHERE id = ?", userId);
+        });
+    }
+
+    private static void insert(JdbcTemplate target, String table, Map<String, Object> row) {
+        String columns = String.join(", ", row.keySet());
+        String placeholders = row.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+        target.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")", row.values().toArray());
+    }
+}
@@ -0,0 +1,86 @@
+package com.financemanager.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Online shard split: adds a shard to the ring and moves the users it now owns, one at a time,
+ * while the application keeps serving everyone else.
+ *
+ * <p>For each moving user the splitter waits for their running work to finish and holds new work
+ * back, copies their rows to the new shard in one transaction, points their routing at it and lets
+ * their requests through again. Only then are the old rows deleted. Each user is unavailable for
+ * the time it takes to copy their own rows.</p>
+ *
+ * <p>If a split fails part-way, calling it again with the same shard resumes it; users already
+ * moved stay where they are. The split lives in memory: add the new shard to the end of
+ * {@code finance.sharding.shards} before the next restart.</p>
+ */
+@Slf4j
+public class ShardSplitter {
+
+    private static final int USER_PAGE_SIZE = 1000;
+
+    private final ShardDirectory directory;
+    private final ShardRoutingDataSource routing;
+    private final ShardProvisioner provisioner;
+
+    public ShardSplitter(ShardDirectory directory, ShardRoutingDataSource routing, ShardProvisioner provisioner) {
+        this.directory = directory;
+        this.routing = routing;
+        this.provisioner = provisioner;
+    }
+
+    /**
+     * Add a shard and move the users that hash to it.
+     *
+     * @param name New shard name
+     * @param database Empty database for the shard (ignored when resuming)
+     * @return Number of users moved
+     */
+    public synchronized int split(String name, DataSource database) {
+        ShardMap next = directory.map().withShard(name);
+        if (!name.equals(directory.splitting())) {
+            routing.addShard(name, database);
+            provisioner.provision(name, next.ordinal(name));
+            directory.beginSplit(name);
+        }
+
+        JdbcTemplate users = new JdbcTemplate(routing.target(ShardContext.DIRECTORY));
+        int moved = 0;
+        long afterId = 0;
+        List<Long> page;
+        do {
+            page = users.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?", Long.class,
+                    afterId, USER_PAGE_SIZE);
+            for (Long userId : page) {
+                String from = directory.shardFor(userId);
+                if (!next.shardFor(userId).equals(name) || from.equals(name)) {
+                    continue;
+                }
+                move(userId, from, name);
+                moved++;
+            }
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1);
+        } while (page.size() == USER_PAGE_SIZE);
+
+        directory.install(next);
+        log.info("Split complete: {} users moved to shard {}", moved, name);
+        return moved;
+    }
+
+    private void move(long userId, String from, String to) {
+        directory.fence(userId);
+        try {
+            int rows = ShardRows.copyUserData(userId, routing.target(from), routing.target(to));
+            directory.unfence(userId, to);
+            log.debug("Moved user {} from {} to {} ({} rows)", userId, from, to, rows);
+        } catch (RuntimeException e) {
+            directory.unfence(userId, null);
+            throw e;
+        }
+        ShardRows.deleteUserData(userId, routing.target(from));
+    }
+}
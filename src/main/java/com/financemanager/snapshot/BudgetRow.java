@@ -0,0 +1,11 @@
+package com.financemanager.snapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code budgets} columns a snapshot carries.
+ */
+public record BudgetRow(Long id, BigDecimal amount, Long categoryId, Long userId, LocalDateTime createdAt,
+                        LocalDateTime updatedAt) {
+}
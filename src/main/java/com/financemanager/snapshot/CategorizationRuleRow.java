@@ -0,0 +1,9 @@
+package com.financemanager.snapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * The {@code categorization_rules} columns a snapshot carries.
+ */
+public record CategorizationRuleRow(Long id, String pattern, Long categoryId, Long userId, LocalDateTime createdAt) {
+}
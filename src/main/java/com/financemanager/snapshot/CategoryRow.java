@@ -0,0 +1,11 @@
+package com.financemanager.snapshot;
+
+import com.financemanager.entity.CategoryType;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code categories} columns a snapshot carries; {@code userId} is null for default categories.
+ */
+public record CategoryRow(Long id, String name, CategoryType type, Boolean isCustom, Long userId,
+                          LocalDateTime createdAt) {
+}
@@ -0,0 +1,12 @@
+package com.financemanager.snapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code savings_goals} columns a snapshot carries.
+ */
+public record GoalRow(Long id, String goalName, BigDecimal targetAmount, LocalDate targetDate, LocalDate startDate,
+                      Long userId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
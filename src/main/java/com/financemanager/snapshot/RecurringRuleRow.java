@@ -0,0 +1,16 @@
+package com.financemanager.snapshot;
+
+import com.financemanager.entity.RecurrenceFrequency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code recurring_rules} columns a snapshot carries; {@code endDate} and {@code nextRunDate}
+ * may be null.
+ */
+public record RecurringRuleRow(Long id, BigDecimal amount, String description, RecurrenceFrequency frequency,
+                               LocalDate startDate, LocalDate endDate, LocalDate nextRunDate, Long occurrences,
+                               Boolean active, Long categoryId, Long userId, LocalDateTime createdAt,
+                               LocalDateTime updatedAt) {
+}
@@ -0,0 +1,66 @@
+package com.financemanager.snapshot;
+
+import com.financemanager.service.SnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * {@code /actuator/snapshot}: lists the snapshots in {@code finance.snapshot.directory} with their
+ * sizes, and {@code POST /actuator/snapshot/{name}} takes a new one.
+ *
+ * <p>A snapshot holds every user's data, password hashes included, so the endpoint is not in the
+ * default web exposure; expose it only on a management port that is not reachable from outside.</p>
+ */
+@Component
+@Endpoint(id = "snapshot")
+public class SnapshotEndpoint {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final SnapshotService snapshotService;
+    private final Path directory;
+
+    public SnapshotEndpoint(SnapshotService snapshotService,
+                            @Value("${finance.snapshot.directory:snapshots}") Path directory) {
+        this.snapshotService = snapshotService;
+        this.directory = directory;
+    }
+
+    @ReadOperation
+    public Map<String, Long> snapshots() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return sizes;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                sizes.put(file.getFileName().toString(), Files.size(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshots in " + directory, e);
+        }
+        return sizes;
+    }
+
+    @WriteOperation
+    public SnapshotSummary create(@Selector String name) {
+        if (!NAME.matcher(name).matches() || name.startsWith(".")) {
+            throw new InvalidEndpointRequestException("Invalid snapshot name: " + name,
+                    "Snapshot names are letters, digits, '.', '_' and '-', not starting with '.'");
+        }
+        return snapshotService.snapshot(directory.resolve(name));
+    }
+}
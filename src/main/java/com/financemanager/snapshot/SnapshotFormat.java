@@ -0,0 +1,267 @@
+package com.financemanager.snapshot;
+
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.RecurrenceFrequency;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Binary layout of a snapshot file.
+ *
+ * <p>A 14-byte header (magic {@code FMSN}, a {@code short} version and the creation time in epoch
+ * milliseconds) is followed by records, each a 4-byte length, a type byte and the row's fields.
+ * Rows come in sections of one type, parents first: users, categories, goals, transactions, budgets,
+ * categorization rules, recurring rules. An end record holding the row count of each type closes the
+ * file, so a truncated snapshot is recognised. Version 1 files lack the last three sections and are
+ * not read, since restoring one would silently drop them.</p>
+ *
+ * <p>Fields use variable-length integers: IDs and string lengths unsigned (plus one where the value
+ * may be null), dates and timestamps zig-zag encoded as epoch days and epoch microseconds (dates
+ * that may be null plus one), and amounts as a scale and length-prefixed two's complement unscaled value. All fixed-width values
+ * are big-endian.</p>
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x464D534E; // "FMSN"
+    static final short VERSION = 2;
+    static final int HEADER_BYTES = 4 + 2 + 8;
+    // Length and type
+    static final int RECORD_HEADER_BYTES = 4 + 1;
+
+    static final byte END = 0;
+    static final byte USER = 1;
+    static final byte CATEGORY = 2;
+    static final byte GOAL = 3;
+    static final byte TRANSACTION = 4;
+    static final byte BUDGET = 5;
+    static final byte CATEGORIZATION_RULE = 6;
+    static final byte RECURRING_RULE = 7;
+    static final int TYPES = 8;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private SnapshotFormat() {
+    }
+
+    static byte typeOf(Record row) {
+        if (row instanceof UserRow) {
+            return USER;
+        }
+        if (row instanceof CategoryRow) {
+            return CATEGORY;
+        }
+        if (row instanceof GoalRow) {
+            return GOAL;
+        }
+        if (row instanceof TransactionRow) {
+            return TRANSACTION;
+        }
+        if (row instanceof BudgetRow) {
+            return BUDGET;
+        }
+        if (row instanceof CategorizationRuleRow) {
+            return CATEGORIZATION_RULE;
+        }
+        if (row instanceof RecurringRuleRow) {
+            return RECURRING_RULE;
+        }
+        throw new IllegalArgumentException("Not a snapshot row: " + row.getClass().getName());
+    }
+
+    static void encode(Record row, ByteBuffer out) {
+        if (row instanceof UserRow user) {
+            putVarLong(out, user.id());
+            putString(out, user.username());
+            putString(out, user.password());
+            putString(out, user.fullName());
+            putString(out, user.phoneNumber());
+            putTimestamp(out, user.createdAt());
+        } else if (row instanceof CategoryRow category) {
+            putVarLong(out, category.id());
+            putString(out, category.name());
+            putString(out, category.type().name());
+            out.put((byte) (Boolean.TRUE.equals(category.isCustom()) ? 1 : 0));
+            putNullableId(out, category.userId());
+            putTimestamp(out, category.createdAt());
+        } else if (row instanceof GoalRow goal) {
+            putVarLong(out, goal.id());
+            putString(out, goal.goalName());
+            putDecimal(out, goal.targetAmount());
+            putDate(out, goal.targetDate());
+            putDate(out, goal.startDate());
+            putVarLong(out, goal.userId());
+            putTimestamp(out, goal.createdAt());
+            putTimestamp(out, goal.updatedAt());
+        } else if (row instanceof TransactionRow transaction) {
+            putVarLong(out, transaction.id());
+            putDecimal(out, transaction.amount());
+            putDate(out, transaction.date());
+            putString(out, transaction.description());
+            putString(out, transaction.clientId());
+            putVarLong(out, transaction.categoryId());
+            putVarLong(out, transaction.userId());
+            putTimestamp(out, transaction.createdAt());
+            putTimestamp(out, transaction.updatedAt());
+        } else if (row instanceof BudgetRow budget) {
+            putVarLong(out, budget.id());
+            putDecimal(out, budget.amount());
+            putVarLong(out, budget.categoryId());
+            putVarLong(out, budget.userId());
+            putTimestamp(out, budget.createdAt());
+            putTimestamp(out, budget.updatedAt());
+        } else if (row instanceof CategorizationRuleRow rule) {
+            putVarLong(out, rule.id());
+            putString(out, rule.pattern());
+            putVarLong(out, rule.categoryId());
+            putVarLong(out, rule.userId());
+            putTimestamp(out, rule.createdAt());
+        } else if (row instanceof RecurringRuleRow rule) {
+            putVarLong(out, rule.id());
+            putDecimal(out, rule.amount());
+            putString(out, rule.description());
+            putString(out, rule.frequency().name());
+            putDate(out, rule.startDate());
+            putNullableDate(out, rule.endDate());
+            putNullableDate(out, rule.nextRunDate());
+            putVarLong(out, rule.occurrences());
+            out.put((byte) (Boolean.TRUE.equals(rule.active()) ? 1 : 0));
+            putVarLong(out, rule.categoryId());
+            putVarLong(out, rule.userId());
+            putTimestamp(out, rule.createdAt());
+            putTimestamp(out, rule.updatedAt());
+        } else {
+            throw new IllegalArgumentException("Not a snapshot row: " + row.getClass().getName());
+        }
+    }
+
+    static Record decode(byte type, ByteBuffer in) {
+        switch (type) {
+            case USER:
+                return new UserRow(getVarLong(in), getString(in), getString(in), getString(in), getString(in),
+                        getTimestamp(in));
+            case CATEGORY:
+                return new CategoryRow(getVarLong(in), getString(in), CategoryType.valueOf(getString(in)),
+                        in.get() != 0, getNullableId(in), getTimestamp(in));
+            case GOAL:
+                return new GoalRow(getVarLong(in), getString(in), getDecimal(in), getDate(in), getDate(in),
+                        getVarLong(in), getTimestamp(in), getTimestamp(in));
+            case TRANSACTION:
+                return new TransactionRow(getVarLong(in), getDecimal(in), getDate(in), getString(in), getString(in),
+                        getVarLong(in), getVarLong(in), getTimestamp(in), getTimestamp(in));
+            case BUDGET:
+                return new BudgetRow(getVarLong(in), getDecimal(in), getVarLong(in), getVarLong(in), getTimestamp(in),
+                        getTimestamp(in));
+            case CATEGORIZATION_RULE:
+                return new CategorizationRuleRow(getVarLong(in), getString(in), getVarLong(in), getVarLong(in),
+                        getTimestamp(in));
+            case RECURRING_RULE:
+                return new RecurringRuleRow(getVarLong(in), getDecimal(in), getString(in),
+                        RecurrenceFrequency.valueOf(getString(in)), getDate(in), getNullableDate(in),
+                        getNullableDate(in), getVarLong(in), in.get() != 0, getVarLong(in), getVarLong(in),
+                        getTimestamp(in), getTimestamp(in));
+            default:
+                throw new IllegalArgumentException("Unknown snapshot record type " + type);
+        }
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+
+    private static void putNullableId(ByteBuffer out, Long id) {
+        putVarLong(out, id == null ? 0 : id + 1);
+    }
+
+    private static Long getNullableId(ByteBuffer in) {
+        long value = getVarLong(in);
+        return value == 0 ? null : value - 1;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            putVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(out, bytes.length + 1L);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = (int) getVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putDecimal(ByteBuffer out, BigDecimal value) {
+        putVarLong(out, zigZag(value.scale()));
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        putVarLong(out, unscaled.length);
+        out.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer in) {
+        int scale = (int) unZigZag(getVarLong(in));
+        byte[] unscaled = new byte[(int) getVarLong(in)];
+        in.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void putDate(ByteBuffer out, LocalDate date) {
+        putVarLong(out, zigZag(date.toEpochDay()));
+    }
+
+    private static LocalDate getDate(ByteBuffer in) {
+        return LocalDate.ofEpochDay(unZigZag(getVarLong(in)));
+    }
+
+    private static void putNullableDate(ByteBuffer out, LocalDate date) {
+        putVarLong(out, date == null ? 0 : zigZag(date.toEpochDay()) + 1);
+    }
+
+    private static LocalDate getNullableDate(ByteBuffer in) {
+        long value = getVarLong(in);
+        return value == 0 ? null : LocalDate.ofEpochDay(unZigZag(value - 1));
+    }
+
+    private static void putTimestamp(ByteBuffer out, LocalDateTime time) {
+        putVarLong(out, zigZag(ChronoUnit.MICROS.between(EPOCH, time)));
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer in) {
+        return EPOCH.plus(unZigZag(getVarLong(in)), ChronoUnit.MICROS);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,134 @@
+package com.financemanager.snapshot;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Reads a snapshot file row by row through read-only memory-mapped windows.
+ */
+public final class SnapshotReader implements AutoCloseable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long size;
+    private final long createdAt;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private final long[] counts = new long[SnapshotFormat.TYPES];
+    private boolean ended;
+
+    private SnapshotReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        if (size < SnapshotFormat.HEADER_BYTES) {
+            channel.close();
+            throw new IOException("Not a snapshot: " + file);
+        }
+        map(0);
+        int magic = window.getInt();
+        short version = window.getShort();
+        if (magic != SnapshotFormat.MAGIC) {
+            channel.close();
+            throw new IOException("Not a snapshot: " + file);
+        }
+        if (version != SnapshotFormat.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported snapshot version " + version + ": " + file);
+        }
+        this.createdAt = window.getLong();
+    }
+
+    public static SnapshotReader open(Path file) throws IOException {
+        return new SnapshotReader(file);
+    }
+
+    /**
+     * When the snapshot was started, in epoch milliseconds.
+     */
+    public long createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Read the next row.
+     *
+     * @return Next row, or null after the last one
+     * @throws IOException if the file is truncated or corrupt
+     */
+    public Record next() throws IOException {
+        if (ended) {
+            return null;
+        }
+        ensure(SnapshotFormat.RECORD_HEADER_BYTES);
+        int length = window.getInt();
+        byte type = window.get();
+        if (length < 0 || type < 0 || type >= SnapshotFormat.TYPES) {
+            throw new IOException("Corrupt snapshot record at " + (windowStart + window.position() - SnapshotFormat.RECORD_HEADER_BYTES));
+        }
+        ensure(length);
+        ByteBuffer payload = window.slice(window.position(), length);
+        window.position(window.position() + length);
+        try {
+            if (type == SnapshotFormat.END) {
+                ended = true;
+                for (byte t = 0; t < SnapshotFormat.TYPES; t++) {
+                    long expected = SnapshotFormat.getVarLong(payload);
+                    if (expected != counts[t]) {
+                        throw new IOException("Snapshot holds " + counts[t] + " rows of type " + t + ", expected " + expected);
+                    }
+                }
+                return null;
+            }
+            Record row = SnapshotFormat.decode(type, payload);
+            counts[type]++;
+            return row;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt snapshot record of type " + type, e);
+        }
+    }
+
+    /**
+     * Rows read so far of a type.
+     */
+    long count(byte type) {
+        return counts[type];
+    }
+
+    /**
+     * Rows read so far of each type, with the given size and duration.
+     */
+    public SnapshotSummary summary(long bytes, Duration elapsed) {
+        return new SnapshotSummary(file.toString(), counts[SnapshotFormat.USER], counts[SnapshotFormat.CATEGORY],
+                counts[SnapshotFormat.GOAL], counts[SnapshotFormat.TRANSACTION], counts[SnapshotFormat.BUDGET],
+                counts[SnapshotFormat.CATEGORIZATION_RULE], counts[SnapshotFormat.RECURRING_RULE], bytes, elapsed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (window.remaining() >= bytes) {
+            return;
+        }
+        long position = windowStart + window.position();
+        if (size - position < bytes) {
+            throw new IOException("Snapshot is truncated at " + position);
+        }
+        map(position);
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SnapshotWriter.WINDOW_BYTES, size - position));
+    }
+}
@@ -0,0 +1,21 @@
+package com.financemanager.snapshot;
+
+import java.time.Duration;
+
+/**
+ * What a snapshot or restore covered.
+ *
+ * @param file Snapshot file
+ * @param users Users written or restored
+ * @param categories Categories, default and custom
+ * @param goals Savings goals
+ * @param transactions Transactions, not counting archived years
+ * @param budgets Budgets
+ * @param categorizationRules Categorization rules
+ * @param recurringRules Recurring rules
+ * @param bytes Size of the snapshot file
+ * @param elapsed How long it took
+ */
+public record SnapshotSummary(String file, long users, long categories, long goals, long transactions, long budgets,
+                              long categorizationRules, long recurringRules, long bytes, Duration elapsed) {
+}
@@ -0,0 +1,147 @@
+package com.financemanager.snapshot;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Streams rows into a snapshot file through memory-mapped windows of its channel.
+ *
+ * <p>Rows are written to a temporary file next to the target, which {@link #finish()} trims to size,
+ * forces to disk and moves into place; closing without finishing deletes it. Rows must be written
+ * in section order (see {@link SnapshotFormat}).</p>
+ */
+public final class SnapshotWriter implements AutoCloseable {
+
+    static final int WINDOW_BYTES = 64 << 20;
+
+    private final Path file;
+    private final Path temp;
+    private final FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private ByteBuffer scratch = ByteBuffer.allocate(64 << 10);
+    private final long[] counts = new long[SnapshotFormat.TYPES];
+    private byte section = SnapshotFormat.USER;
+    private boolean finished;
+
+    private SnapshotWriter(Path file) throws IOException {
+        this.file = file;
+        this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0, WINDOW_BYTES);
+        window.putInt(SnapshotFormat.MAGIC);
+        window.putShort(SnapshotFormat.VERSION);
+        window.putLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Start a snapshot.
+     *
+     * @param file Where the finished snapshot goes; replaced if it exists
+     * @return Writer positioned after the header
+     */
+    public static SnapshotWriter create(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new SnapshotWriter(file);
+    }
+
+    /**
+     * Append a row.
+     *
+     * @param row A {@link UserRow}, {@link CategoryRow}, {@link GoalRow}, {@link TransactionRow},
+     *            {@link BudgetRow}, {@link CategorizationRuleRow} or {@link RecurringRuleRow}
+     * @throws IllegalStateException if the row's section is already closed
+     */
+    public void write(Record row) throws IOException {
+        byte type = SnapshotFormat.typeOf(row);
+        if (type < section) {
+            throw new IllegalStateException("Rows of type " + type + " after section " + section + " started");
+        }
+        section = type;
+        while (true) {
+            scratch.clear();
+            try {
+                SnapshotFormat.encode(row, scratch);
+                break;
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+        scratch.flip();
+        append(type, scratch);
+        counts[type]++;
+    }
+
+    /**
+     * Rows written so far of a type.
+     */
+    long count(byte type) {
+        return counts[type];
+    }
+
+    /**
+     * Rows written so far of each type, with the given size and duration.
+     */
+    public SnapshotSummary summary(long bytes, Duration elapsed) {
+        return new SnapshotSummary(file.toString(), counts[SnapshotFormat.USER], counts[SnapshotFormat.CATEGORY],
+                counts[SnapshotFormat.GOAL], counts[SnapshotFormat.TRANSACTION], counts[SnapshotFormat.BUDGET],
+                counts[SnapshotFormat.CATEGORIZATION_RULE], counts[SnapshotFormat.RECURRING_RULE], bytes, elapsed);
+    }
+
+    /**
+     * Write the end record and move the snapshot into place.
+     *
+     * @return Size of the snapshot in bytes
+     */
+    public long finish() throws IOException {
+        ByteBuffer end = ByteBuffer.allocate(SnapshotFormat.TYPES * 10);
+        for (long count : counts) {
+            SnapshotFormat.putVarLong(end, count);
+        }
+        end.flip();
+        append(SnapshotFormat.END, end);
+
+        long size = windowStart + window.position();
+        window.force();
+        window = null;
+        channel.truncate(size);
+        channel.force(true);
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            window = null;
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void append(byte type, ByteBuffer payload) throws IOException {
+        int length = SnapshotFormat.RECORD_HEADER_BYTES + payload.remaining();
+        if (window.remaining() < length) {
+            window.force();
+            windowStart += window.position();
+            window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, Math.max(WINDOW_BYTES, length));
+        }
+        window.putInt(payload.remaining());
+        window.put(type);
+        window.put(payload);
+    }
+}
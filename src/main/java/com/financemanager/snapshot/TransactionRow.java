@@ -0,0 +1,12 @@
+package com.financemanager.snapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The {@code transactions} columns a snapshot carries.
+ */
+public record TransactionRow(Long id, BigDecimal amount, LocalDate date, String description, String clientId,
+                             Long categoryId, Long userId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
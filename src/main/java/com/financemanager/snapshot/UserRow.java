@@ -0,0 +1,10 @@
+package com.financemanager.snapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * The {@code users} columns a snapshot carries.
+ */
+public record UserRow(Long id, String username, String password, String fullName, String phoneNumber,
+                      LocalDateTime createdAt) {
+}
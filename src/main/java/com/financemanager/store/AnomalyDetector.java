@@ -0,0 +1,596 @@
+package com.financemanager.store;
+
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import com.financemanager.util.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Streaming per-(user, category) amount statistics and the anomalies flagged from them.
+ *
+ * <p>Each category keeps a count, mean and sum of squared deviations (Welford), so applying a
+ * write updates three primitives and allocates nothing unless the transaction is flagged. A new
+ * transaction is flagged when its amount is more than {@code finance.anomalies.threshold} standard
+ * deviations from its category's mean, once the category has {@code min-samples} transactions.
+ * Changes are applied by transaction ID against a {@link RowLedger}, so only amounts known to be in
+ * the statistics are ever removed from them.</p>
+ *
+ * <p>A user's statistics are loaded from their transactions on their first write, on a background
+ * thread; writes that arrive meanwhile are applied, in order, once the load is in. Resident
+ * statistics share a budget of {@code finance.anomalies.max-bytes}; the least recently used are
+ * evicted to stay under it and reloaded on the user's next write. Flagged anomalies are kept apart
+ * from the statistics, at most {@code max-per-user} per user, and survive eviction.</p>
+ *
+ * <p>If {@code finance.anomalies.snapshot-dir} is set, flagged anomalies and the ledger of every
+ * user with resident statistics are written there periodically and on shutdown, and read back on
+ * startup. A restored user's next load replays, through scoring, the transactions missing from their
+ * ledger; for users snapshotted or kept without one, those created between the snapshot and the
+ * restart. Transaction IDs are never compared, since pooled and per-shard IDs are not allocated in
+ * commit order. Only enable snapshots with a persistent database.</p>
+ */
+@Slf4j
+@Component
+public class AnomalyDetector {
+
+    private static final int SNAPSHOT_MAGIC = 0x46414e31;
+    private static final int SNAPSHOT_VERSION = 3;
+
+    // Floor on the deviation relative to the mean, so near-constant categories don't flag small changes
+    private static final double MIN_RELATIVE_DEVIATION = 0.1;
+
+    // Map entry and the three running values, roughly
+    static final int BYTES_PER_CATEGORY = 96;
+
+    private final double threshold;
+    private final int minSamples;
+    private final int maxPerUser;
+    private final long maxBytes;
+    private final Path snapshotFile;
+    private final Executor loads;
+    // Access-ordered: iteration starts at the least recently used user. Guarded by itself.
+    private final LinkedHashMap<Long, UserStats> users = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+    // Oldest first; each deque is only touched inside the map's per-key compute functions
+    private final ConcurrentHashMap<Long, ArrayDeque<Anomaly>> flagged = new ConcurrentHashMap<>();
+    // Creation times of transactions the restored snapshot may have missed: [replayFrom, replayUntil)
+    private volatile LocalDateTime replayFrom;
+    private volatile LocalDateTime replayUntil;
+
+    @Autowired
+    public AnomalyDetector(@Value("${finance.anomalies.threshold:3.0}") double threshold,
+                           @Value("${finance.anomalies.min-samples:5}") int minSamples,
+                           @Value("${finance.anomalies.max-per-user:100}") int maxPerUser,
+                           @Value("${finance.anomalies.max-bytes:33554432}") long maxBytes,
+                           @Value("${finance.anomalies.load-threads:2}") int loadThreads,
+                           @Value("${finance.anomalies.snapshot-dir:}") String snapshotDir) {
+        this(threshold, minSamples, maxPerUser, maxBytes, snapshotDir, loadExecutor(loadThreads));
+    }
+
+    AnomalyDetector(double threshold, int minSamples, int maxPerUser, long maxBytes, String snapshotDir,
+                    Executor loads) {
+        this.threshold = threshold;
+        this.minSamples = Math.max(2, minSamples);
+        this.maxPerUser = Math.max(1, maxPerUser);
+        this.maxBytes = maxBytes;
+        this.snapshotFile = snapshotDir == null || snapshotDir.isBlank() ? null : Path.of(snapshotDir, "anomalies.bin");
+        this.loads = loads;
+    }
+
+    private static ExecutorService loadExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "anomaly-load-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Apply a committed transaction change, scoring it if it created a transaction.
+     *
+     * <p>If the user's statistics are not resident, the change is queued behind a load on a
+     * background thread and applied once the load is in.</p>
+     *
+     * @param event Transaction change
+     * @param loader Loads all of the user's transactions when their statistics are not resident
+     * @return The anomaly recorded for a new transaction, or null if there is none or it is not yet known
+     */
+    public Anomaly apply(TransactionChangedEvent event, Supplier<List<Row>> loader) {
+        Long userId = event.getUserId();
+        UserStats stats;
+        synchronized (users) {
+            stats = users.get(userId);
+            if (stats == null) {
+                stats = new UserStats();
+                users.put(userId, stats);
+            }
+        }
+        Anomaly anomaly;
+        long bytes;
+        synchronized (stats) {
+            if (!stats.loaded) {
+                stats.pending.addLast(event);
+                if (!stats.loading) {
+                    stats.loading = true;
+                    UserStats loading = stats;
+                    loads.execute(() -> load(userId, loading, loader));
+                }
+                return null;
+            }
+            anomaly = applyLoaded(userId, stats, event);
+            bytes = stats.bytes();
+        }
+        account(userId, stats, bytes);
+        return anomaly;
+    }
+
+    /**
+     * Recently flagged anomalies for a user, newest first.
+     *
+     * @param userId User ID
+     * @return Anomalies, at most {@code finance.anomalies.max-per-user}
+     */
+    public List<Anomaly> anomalies(Long userId) {
+        List<Anomaly> result = new ArrayList<>();
+        flagged.computeIfPresent(userId, (id, recent) -> {
+            result.addAll(recent);
+            return recent;
+        });
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Look up the anomaly flagged for a transaction.
+     *
+     * @param userId User ID
+     * @param transactionId Transaction ID
+     * @return The anomaly, or null if the transaction was not flagged
+     */
+    public Anomaly find(Long userId, Long transactionId) {
+        if (transactionId == null) {
+            return null;
+        }
+        for (Anomaly anomaly : anomalies(userId)) {
+            if (transactionId.equals(anomaly.transactionId())) {
+                return anomaly;
+            }
+        }
+        return null;
+    }
+
+    public int residentUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    public long residentBytes() {
+        synchronized (users) {
+            return residentBytes;
+        }
+    }
+
+    @PostConstruct
+    public void readSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported anomaly snapshot format");
+            }
+            LocalDateTime takenAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC);
+            int flaggedUsers = in.readInt();
+            for (int u = 0; u < flaggedUsers; u++) {
+                long userId = in.readLong();
+                ArrayDeque<Anomaly> recent = readAnomalies(in);
+                if (!recent.isEmpty()) {
+                    flagged.put(userId, recent);
+                }
+            }
+            int ledgers = in.readInt();
+            for (int u = 0; u < ledgers; u++) {
+                long userId = in.readLong();
+                UserStats stats = new UserStats();
+                stats.seen = RowLedger.read(in);
+                synchronized (users) {
+                    users.put(userId, stats);
+                }
+                account(userId, stats, stats.bytes());
+            }
+            replayFrom = takenAt;
+            replayUntil = LocalDateTime.now();
+            log.info("Restored flagged anomalies for {} users and ledgers for {}", flaggedUsers, ledgers);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable anomaly snapshot {}", snapshotFile, ex);
+            flagged.clear();
+            synchronized (users) {
+                users.clear();
+                residentBytes = 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${finance.anomalies.snapshot-interval:PT5M}",
+            initialDelayString = "${finance.anomalies.snapshot-interval:PT5M}")
+    public void writeSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        // Taken before anything is copied, so a transaction the snapshot misses was created after it
+        long takenAt = LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Map<Long, UserStats> resident;
+            synchronized (users) {
+                resident = new LinkedHashMap<>(users);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(takenAt);
+                List<Long> flaggedUsers = new ArrayList<>(flagged.keySet());
+                out.writeInt(flaggedUsers.size());
+                for (Long userId : flaggedUsers) {
+                    out.writeLong(userId);
+                    writeAnomalies(out, anomalies(userId));
+                }
+                // Only what is known to be applied; users without a ledger replay by creation time
+                ByteArrayOutputStream ledgers = new ByteArrayOutputStream();
+                DataOutputStream ledgerOut = new DataOutputStream(ledgers);
+                int ledgerCount = 0;
+                for (Map.Entry<Long, UserStats> entry : resident.entrySet()) {
+                    UserStats stats = entry.getValue();
+                    synchronized (stats) {
+                        RowLedger applied = stats.loaded ? stats.ledger : stats.seen;
+                        if (applied != null) {
+                            ledgerOut.writeLong(entry.getKey());
+                            applied.write(ledgerOut);
+                            ledgerCount++;
+                        }
+                    }
+                }
+                ledgerOut.flush();
+                out.writeInt(ledgerCount);
+                ledgers.writeTo(out);
+            }
+            // Readers only ever see a complete snapshot
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Failed to write anomaly snapshot {}", snapshotFile, ex);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (loads instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        writeSnapshot();
+    }
+
+    // Runs on a load thread: reads the user's rows, then applies the changes queued meanwhile
+    private void load(Long userId, UserStats stats, Supplier<List<Row>> loader) {
+        List<Row> rows;
+        try {
+            rows = loader.get();
+        } catch (RuntimeException ex) {
+            int dropped;
+            synchronized (stats) {
+                dropped = stats.pending.size();
+                stats.pending.clear();
+                stats.loading = false;
+            }
+            // The next write loads again; the rows of the dropped changes are counted then, not scored
+            log.warn("Failed to load anomaly statistics for user {}, dropped {} changes", userId, dropped, ex);
+            return;
+        }
+        long bytes;
+        synchronized (stats) {
+            loadRows(userId, stats, rows);
+            stats.loaded = true;
+            stats.loading = false;
+            for (TransactionChangedEvent event; (event = stats.pending.pollFirst()) != null; ) {
+                applyLoaded(userId, stats, event);
+            }
+            bytes = stats.bytes();
+        }
+        account(userId, stats, bytes);
+    }
+
+    private Anomaly applyLoaded(Long userId, UserStats stats, TransactionChangedEvent event) {
+        TransactionSnapshot before = event.getBefore();
+        TransactionSnapshot after = event.getAfter();
+        Long id = after != null ? after.getId() : before.getId();
+        if (before != null) {
+            // An edited or deleted transaction's flag no longer describes it
+            forget(userId, before.getId());
+        }
+
+        // Take back whatever the transaction contributed, so a create the load already saw is
+        // scored against the others only
+        RowLedger.Row counted = id == null ? null : stats.ledger.remove(id);
+        if (counted != null) {
+            stats.category(counted.categoryId()).remove(counted.amount());
+        }
+        if (after == null) {
+            return null;
+        }
+        CategoryStats category = stats.category(after.getCategoryId());
+        long amount = Money.toMinorUnits(after.getAmount());
+        Anomaly anomaly = before == null ? score(category, after, amount) : null;
+        stats.add(id, after.getCategoryId(), amount);
+        if (anomaly != null) {
+            record(userId, anomaly);
+        }
+        return anomaly;
+    }
+
+    // Counts a user's rows, replaying those a restored snapshot missed through scoring in creation order
+    private void loadRows(Long userId, UserStats stats, List<Row> rows) {
+        // Queued creates are scored when they are applied
+        Set<Long> queued = new HashSet<>();
+        for (TransactionChangedEvent event : stats.pending) {
+            if (event.getBefore() == null && event.getAfter() != null && event.getAfter().getId() != null) {
+                queued.add(event.getAfter().getId());
+            }
+        }
+        LocalDateTime from = replayFrom;
+        LocalDateTime until = replayUntil;
+        List<Row> replay = new ArrayList<>();
+        for (Row row : rows) {
+            boolean missed;
+            if (stats.seen != null) {
+                RowLedger.Row seen = stats.seen.remove(row.id());
+                missed = seen == null;
+                if (seen != null && (seen.categoryId() != row.categoryId() || seen.amount() != row.amount())) {
+                    // Changed since the snapshot
+                    forget(userId, row.id());
+                }
+            } else {
+                missed = from != null && row.createdAt() != null
+                        && !row.createdAt().isBefore(from) && row.createdAt().isBefore(until);
+            }
+            if (missed && !queued.contains(row.id())) {
+                replay.add(row);
+            } else {
+                stats.add(row.id(), row.categoryId(), row.amount());
+            }
+        }
+        if (stats.seen != null) {
+            // Deleted since the snapshot
+            stats.seen.forEach((id, row) -> forget(userId, id));
+            stats.seen = null;
+        }
+        replay.sort(Comparator.comparing(Row::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingLong(Row::id));
+        for (Row row : replay) {
+            // Scored the same way every time, so replaying a row twice leaves one flag
+            forget(userId, row.id());
+            CategoryStats category = stats.category(row.categoryId());
+            Anomaly anomaly = score(category, row.id(), row.categoryId(), row.categoryName(), row.date(), row.amount());
+            stats.add(row.id(), row.categoryId(), row.amount());
+            if (anomaly != null) {
+                record(userId, anomaly);
+            }
+        }
+    }
+
+    private void record(Long userId, Anomaly anomaly) {
+        flagged.compute(userId, (id, recent) -> {
+            if (recent == null) {
+                recent = new ArrayDeque<>();
+            }
+            if (recent.size() >= maxPerUser) {
+                recent.pollFirst();
+            }
+            recent.addLast(anomaly);
+            return recent;
+        });
+    }
+
+    private void forget(Long userId, Long transactionId) {
+        flagged.computeIfPresent(userId, (id, recent) -> {
+            recent.removeIf(anomaly -> anomaly.transactionId().equals(transactionId));
+            return recent.isEmpty() ? null : recent;
+        });
+    }
+
+    // Charges the user's current size to the budget, evicting least recently used users to fit
+    private void account(Long userId, UserStats stats, long bytes) {
+        synchronized (users) {
+            if (users.get(userId) != stats) {
+                // Evicted meanwhile; the caller may still read it
+                return;
+            }
+            residentBytes += bytes - stats.accounted;
+            stats.accounted = bytes;
+            if (bytes > maxBytes) {
+                users.remove(userId);
+                residentBytes -= bytes;
+            }
+            Iterator<Map.Entry<Long, UserStats>> eldest = users.entrySet().iterator();
+            while (residentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Long, UserStats> entry = eldest.next();
+                // Users still loading hold nothing yet; evicting them would only load them twice
+                if (!entry.getKey().equals(userId) && entry.getValue().accounted > 0) {
+                    residentBytes -= entry.getValue().accounted;
+                    eldest.remove();
+                }
+            }
+        }
+    }
+
+    private Anomaly score(CategoryStats category, TransactionSnapshot transaction, long amount) {
+        return score(category, transaction.getId(), transaction.getCategoryId(), transaction.getCategoryName(),
+                transaction.getDate(), amount);
+    }
+
+    private Anomaly score(CategoryStats category, Long transactionId, Long categoryId, String categoryName,
+                          LocalDate date, long amount) {
+        if (category.count < minSamples) {
+            return null;
+        }
+        double deviation = Math.max(Math.sqrt(category.m2 / (category.count - 1)),
+                Math.abs(category.mean) * MIN_RELATIVE_DEVIATION);
+        if (deviation == 0) {
+            return null;
+        }
+        double score = (amount - category.mean) / deviation;
+        if (Math.abs(score) < threshold) {
+            return null;
+        }
+        return new Anomaly(transactionId, categoryId, categoryName, date, amount, Math.round(category.mean),
+                Math.round(deviation), score, System.currentTimeMillis());
+    }
+
+    private static void writeAnomalies(DataOutputStream out, List<Anomaly> newestFirst) throws IOException {
+        out.writeInt(newestFirst.size());
+        for (int a = newestFirst.size() - 1; a >= 0; a--) {
+            Anomaly anomaly = newestFirst.get(a);
+            out.writeLong(anomaly.transactionId());
+            out.writeLong(anomaly.categoryId());
+            out.writeUTF(anomaly.categoryName());
+            out.writeLong(anomaly.date().toEpochDay());
+            out.writeLong(anomaly.amount());
+            out.writeLong(anomaly.mean());
+            out.writeLong(anomaly.deviation());
+            out.writeDouble(anomaly.score());
+            out.writeLong(anomaly.detectedAt());
+        }
+    }
+
+    private static ArrayDeque<Anomaly> readAnomalies(DataInputStream in) throws IOException {
+        ArrayDeque<Anomaly> recent = new ArrayDeque<>();
+        int anomalyCount = in.readInt();
+        for (int a = 0; a < anomalyCount; a++) {
+            recent.addLast(new Anomaly(in.readLong(), in.readLong(), in.readUTF(),
+                    LocalDate.ofEpochDay(in.readLong()), in.readLong(), in.readLong(), in.readLong(),
+                    in.readDouble(), in.readLong()));
+        }
+        return recent;
+    }
+
+    /**
+     * One of a user's transactions as loaded from the database.
+     *
+     * @param id Transaction ID
+     * @param categoryId Category ID
+     * @param categoryName Category name
+     * @param date Transaction date
+     * @param amount Amount in minor units
+     * @param createdAt When the transaction was created
+     */
+    public record Row(long id, long categoryId, String categoryName, LocalDate date, long amount,
+                      LocalDateTime createdAt) {
+    }
+
+    /**
+     * A transaction whose amount was unusual for its category when it was created.
+     *
+     * @param transactionId Transaction ID
+     * @param categoryId Category ID
+     * @param categoryName Category name
+     * @param date Transaction date
+     * @param amount Amount in minor units
+     * @param mean Category mean before the transaction, in minor units
+     * @param deviation Category standard deviation before the transaction, in minor units
+     * @param score Number of standard deviations from the mean
+     * @param detectedAt Epoch milliseconds when the transaction was flagged
+     */
+    public record Anomaly(Long transactionId, Long categoryId, String categoryName, LocalDate date,
+                          long amount, long mean, long deviation, double score, long detectedAt) {
+    }
+
+    private static final class UserStats {
+        private final Map<Long, CategoryStats> categories = new HashMap<>();
+        // Category and amount of every transaction in the statistics, epoch day unused
+        private final RowLedger ledger = new RowLedger();
+        // Changes that arrived while the statistics were loading, oldest first
+        private final ArrayDeque<TransactionChangedEvent> pending = new ArrayDeque<>();
+        private boolean loaded;
+        private boolean loading;
+        // Ledger restored from a snapshot: what had been applied when it was taken. Consumed by the next load
+        private RowLedger seen;
+        // Bytes charged to the budget; guarded by the users map
+        private long accounted;
+
+        private long bytes() {
+            long bytes = seen != null ? seen.bytes() : 0;
+            if (loaded) {
+                bytes += ledger.bytes() + (long) categories.size() * BYTES_PER_CATEGORY;
+            }
+            return bytes;
+        }
+
+        private CategoryStats category(Long categoryId) {
+            CategoryStats stats = categories.get(categoryId);
+            if (stats == null) {
+                stats = new CategoryStats();
+                categories.put(categoryId, stats);
+            }
+            return stats;
+        }
+
+        private void add(Long id, Long categoryId, long amount) {
+            category(categoryId).add(amount);
+            if (id != null) {
+                ledger.put(id, new RowLedger.Row(categoryId, 0, amount));
+            }
+        }
+    }
+
+    /**
+     * Welford running mean and sum of squared deviations.
+     */
+    private static final class CategoryStats {
+        private long count;
+        private double mean;
+        private double m2;
+
+        private void add(long value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        private void remove(long value) {
+            if (count <= 1) {
+                count = 0;
+                mean = 0;
+                m2 = 0;
+                return;
+            }
+            double delta = value - mean;
+            mean -= delta / (count - 1);
+            m2 = Math.max(0, m2 - delta * (value - mean));
+            count--;
+        }
+    }
+}
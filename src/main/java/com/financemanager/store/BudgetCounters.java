@@ -0,0 +1,160 @@
+package com.financemanager.store;
+
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import com.financemanager.util.Money;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Running per-(user, category, month) transaction totals in minor units.
+ *
+ * <p>A user's month is loaded from the database the first time it is checked and is then kept
+ * current from {@link TransactionChangedEvent}s, so a budget check is a map lookup. Events are
+ * applied by transaction ID against a {@link RowLedger} of the month's rows, so a change that the
+ * load already reflects nets out however IDs were allocated. Updates for a user are serialized on
+ * one of {@value #STRIPES} lock stripes chosen by user ID.</p>
+ */
+@Component
+public class BudgetCounters {
+
+    private static final int STRIPES = 64;
+
+    private final Object[] stripes = new Object[STRIPES];
+    private final ConcurrentHashMap<MonthKey, MonthTotals> months = new ConcurrentHashMap<>();
+
+    public BudgetCounters() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Get a category's total for a month, loading the user's month on first use.
+     *
+     * @param userId User ID
+     * @param categoryId Category ID
+     * @param month Month
+     * @param loader Loads the user's rows for the month from the database
+     * @return Total in minor units
+     */
+    public long total(Long userId, Long categoryId, YearMonth month, Supplier<List<Row>> loader) {
+        MonthKey key = new MonthKey(userId, month);
+        synchronized (stripe(userId)) {
+            MonthTotals totals = months.get(key);
+            if (totals == null) {
+                // Loading under the stripe lock makes events for this user wait for the load
+                totals = new MonthTotals(loader.get());
+                months.put(key, totals);
+            }
+            return totals.byCategory.getOrDefault(categoryId, 0L);
+        }
+    }
+
+    /**
+     * Apply a committed transaction change to any loaded months it touches.
+     *
+     * @param event Transaction change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void apply(TransactionChangedEvent event) {
+        TransactionSnapshot before = event.getBefore();
+        TransactionSnapshot after = event.getAfter();
+        Long id = after != null ? after.getId() : before.getId();
+        synchronized (stripe(event.getUserId())) {
+            if (before != null) {
+                MonthTotals totals = months.get(new MonthKey(event.getUserId(), YearMonth.from(before.getDate())));
+                if (totals != null) {
+                    totals.takeBack(id);
+                }
+            }
+            if (after != null) {
+                MonthTotals totals = months.get(new MonthKey(event.getUserId(), YearMonth.from(after.getDate())));
+                if (totals != null) {
+                    // Nets out if the month was loaded after this change committed
+                    totals.takeBack(id);
+                    totals.add(id, after.getCategoryId(), Money.toMinorUnits(after.getAmount()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace every loaded month with fresh totals and drop months before {@code oldestKept}.
+     *
+     * @param loader Loads a user's month from the database
+     * @param oldestKept Earliest month to keep loaded
+     * @return Number of (user, month) entries whose totals had drifted
+     */
+    public int reconcile(BiFunction<Long, YearMonth, List<Row>> loader, YearMonth oldestKept) {
+        int drifted = 0;
+        for (MonthKey key : months.keySet()) {
+            synchronized (stripe(key.userId())) {
+                if (key.month().isBefore(oldestKept)) {
+                    months.remove(key);
+                    continue;
+                }
+                MonthTotals fresh = new MonthTotals(loader.apply(key.userId(), key.month()));
+                MonthTotals current = months.put(key, fresh);
+                if (current != null && !current.byCategory.equals(fresh.byCategory)) {
+                    drifted++;
+                }
+            }
+        }
+        return drifted;
+    }
+
+    public int residentMonths() {
+        return months.size();
+    }
+
+    private Object stripe(Long userId) {
+        return stripes[Long.hashCode(userId) & (STRIPES - 1)];
+    }
+
+    /**
+     * One transaction of a user's month as loaded from the database.
+     *
+     * @param id Transaction ID
+     * @param categoryId Category ID
+     * @param amount Amount in minor units
+     */
+    public record Row(long id, long categoryId, long amount) {
+    }
+
+    private record MonthKey(Long userId, YearMonth month) {
+    }
+
+    private static final class MonthTotals {
+        private final Map<Long, Long> byCategory = new HashMap<>();
+        // Dates are not needed within a month, so ledger rows carry epoch day 0
+        private final RowLedger ledger = new RowLedger();
+
+        private MonthTotals(List<Row> rows) {
+            for (Row row : rows) {
+                add(row.id(), row.categoryId(), row.amount());
+            }
+        }
+
+        private void add(Long id, long categoryId, long amount) {
+            byCategory.merge(categoryId, amount, (a, b) -> a + b == 0 ? null : a + b);
+            if (id != null) {
+                ledger.put(id, new RowLedger.Row(categoryId, 0, amount));
+            }
+        }
+
+        private void takeBack(Long id) {
+            RowLedger.Row counted = id == null ? null : ledger.remove(id);
+            if (counted != null) {
+                byCategory.merge(counted.categoryId(), -counted.amount(), (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+    }
+}
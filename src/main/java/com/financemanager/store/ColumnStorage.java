@@ -0,0 +1,55 @@
+package com.financemanager.store;
+
+/**
+ * Fixed-capacity row storage behind {@link TransactionColumnStore.UserColumns}: five parallel
+ * columns (ID, epoch day, amount in minor units, category index, type) addressed by row.
+ *
+ * <p>Callers synchronize access. Totals are computed here rather than through the per-row
+ * accessors so that each implementation can keep its loops tight.</p>
+ */
+abstract class ColumnStorage {
+
+    abstract int capacity();
+
+    abstract long id(int row);
+
+    abstract int epochDay(int row);
+
+    abstract long amount(int row);
+
+    abstract short category(int row);
+
+    abstract byte type(int row);
+
+    abstract void set(int row, long id, int epochDay, long amount, short category, byte type);
+
+    /**
+     * Move {@code length} rows starting at {@code from} so they start at {@code to}; ranges may overlap.
+     */
+    abstract void move(int from, int to, int length);
+
+    /**
+     * Copy the first {@code rows} rows into {@code target}, which has the same implementation.
+     */
+    abstract void copyTo(ColumnStorage target, int rows);
+
+    /**
+     * Add each row's amount in {@code [start, end)} to {@code sums[category]}.
+     */
+    abstract void sumByCategory(int start, int end, long[] sums);
+
+    /**
+     * Income minus expenses over {@code [start, end)}; the caller has ruled out overflow.
+     */
+    abstract long net(int start, int end);
+
+    /**
+     * Memory held, in bytes.
+     */
+    abstract long bytes();
+
+    /**
+     * Give the memory back; the storage must not be used afterwards.
+     */
+    abstract void release();
+}
@@ -0,0 +1,106 @@
+package com.financemanager.store;
+
+/**
+ * Columns as primitive arrays on the Java heap.
+ */
+final class HeapColumnStorage extends ColumnStorage {
+
+    private final long[] ids;
+    private final int[] epochDays;
+    private final long[] amounts;
+    private final short[] categories;
+    private final byte[] types;
+
+    HeapColumnStorage(int capacity) {
+        ids = new long[capacity];
+        epochDays = new int[capacity];
+        amounts = new long[capacity];
+        categories = new short[capacity];
+        types = new byte[capacity];
+    }
+
+    @Override
+    int capacity() {
+        return ids.length;
+    }
+
+    @Override
+    long id(int row) {
+        return ids[row];
+    }
+
+    @Override
+    int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    @Override
+    long amount(int row) {
+        return amounts[row];
+    }
+
+    @Override
+    short category(int row) {
+        return categories[row];
+    }
+
+    @Override
+    byte type(int row) {
+        return types[row];
+    }
+
+    @Override
+    void set(int row, long id, int epochDay, long amount, short category, byte type) {
+        ids[row] = id;
+        epochDays[row] = epochDay;
+        amounts[row] = amount;
+        categories[row] = category;
+        types[row] = type;
+    }
+
+    @Override
+    void move(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(epochDays, from, epochDays, to, length);
+        System.arraycopy(amounts, from, amounts, to, length);
+        System.arraycopy(categories, from, categories, to, length);
+        System.arraycopy(types, from, types, to, length);
+    }
+
+    @Override
+    void copyTo(ColumnStorage target, int rows) {
+        HeapColumnStorage heap = (HeapColumnStorage) target;
+        System.arraycopy(ids, 0, heap.ids, 0, rows);
+        System.arraycopy(epochDays, 0, heap.epochDays, 0, rows);
+        System.arraycopy(amounts, 0, heap.amounts, 0, rows);
+        System.arraycopy(categories, 0, heap.categories, 0, rows);
+        System.arraycopy(types, 0, heap.types, 0, rows);
+    }
+
+    @Override
+    void sumByCategory(int start, int end, long[] sums) {
+        for (int i = start; i < end; i++) {
+            sums[categories[i]] += amounts[i];
+        }
+    }
+
+    @Override
+    long net(int start, int end) {
+        long net = 0;
+        // No branches: +amount for income, -amount for expenses
+        for (int i = start; i < end; i++) {
+            net += amounts[i] * (1 - 2 * types[i]);
+        }
+        return net;
+    }
+
+    @Override
+    long bytes() {
+        return (long) ids.length * TransactionColumnStore.BYTES_PER_ROW;
+    }
+
+    @Override
+    void release() {
+        // Left to the garbage collector
+    }
+}
@@ -0,0 +1,200 @@
+package com.financemanager.store;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-bucketed dedup store for idempotency keys.
+ *
+ * <p>Keys are written to the bucket for the current time slice and looked up in the live buckets,
+ * each a {@link ConcurrentHashMap}, so there is no global lock. When time moves into a new slice
+ * the oldest bucket is replaced wholesale, which expires its keys without scanning. Each bucket
+ * holds at most {@code maxEntries / bucketCount} keys.</p>
+ */
+public class IdempotencyStore {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int maxPerBucket;
+    private final LongSupplier clock;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public IdempotencyStore(Duration ttl, int bucketCount, int maxEntries, LongSupplier clock) {
+        if (bucketCount < 1 || ttl.toMillis() < bucketCount) {
+            throw new IllegalArgumentException("TTL must cover at least one millisecond per bucket");
+        }
+        this.bucketMillis = ttl.toMillis() / bucketCount;
+        this.bucketCount = bucketCount;
+        this.maxPerBucket = Math.max(1, maxEntries / bucketCount);
+        this.clock = clock;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /**
+     * Look up a key in the live buckets.
+     *
+     * @param key Scoped idempotency key
+     * @return The stored entry, or null if the key is unknown or expired
+     */
+    public Entry get(String key) {
+        return find(key, epoch(), 0);
+    }
+
+    /**
+     * Store a new entry unless the key is already present.
+     *
+     * @param key Scoped idempotency key
+     * @param entry Entry to store
+     * @return The existing entry, {@code entry} itself if the store is full, or null if it was stored
+     */
+    public Entry putIfAbsent(String key, Entry entry) {
+        long epoch = epoch();
+        Entry existing = find(key, epoch, 0);
+        if (existing != null) {
+            return existing;
+        }
+        Bucket bucket = current(epoch);
+        if (bucket.size.get() >= maxPerBucket) {
+            return entry;
+        }
+        existing = bucket.entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing;
+        }
+        bucket.size.incrementAndGet();
+        // Another request may have stored the key in the previous slice between our lookup and insert
+        existing = find(key, epoch, 1);
+        if (existing != null) {
+            remove(key, entry);
+            return existing;
+        }
+        return null;
+    }
+
+    /**
+     * Remove an entry so the key can be reused, e.g. after the original request failed.
+     *
+     * @param key Scoped idempotency key
+     * @param entry Entry previously stored under the key
+     */
+    public void remove(String key, Entry entry) {
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.entries.remove(key, entry)) {
+                bucket.size.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Number of keys in live buckets.
+     */
+    public int size() {
+        long epoch = epoch();
+        int size = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && epoch - bucket.epoch < bucketCount) {
+                size += bucket.size.get();
+            }
+        }
+        return size;
+    }
+
+    private Entry find(String key, long epoch, int skip) {
+        for (int age = skip; age < bucketCount; age++) {
+            Bucket bucket = buckets.get(index(epoch - age));
+            if (bucket != null && bucket.epoch == epoch - age) {
+                Entry entry = bucket.entries.get(key);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Bucket current(long epoch) {
+        int index = index(epoch);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private long epoch() {
+        return clock.getAsLong() / bucketMillis;
+    }
+
+    private int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) bucketCount);
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    /**
+     * A reserved key and, once the original request finished, its response.
+     */
+    public static final class Entry {
+        private final String fingerprint;
+        private volatile boolean complete;
+        private int status;
+        private String contentType;
+        private String location;
+        private byte[] body;
+
+        public Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public void complete(int status, String contentType, String location, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.location = location;
+            this.body = body;
+            this.complete = true;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.financemanager.store;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Columns in a single chunk of direct memory from a {@link SlabAllocator}, so a resident user adds
+ * nothing to the Java heap but a few small objects.
+ *
+ * <p>The chunk is laid out column by column for a capacity of {@code c} rows: IDs and amounts
+ * ({@code 8c} bytes each), then epoch days ({@code 4c}), category indexes ({@code 2c}) and types
+ * ({@code c}), which keeps every value aligned to its size.</p>
+ */
+final class OffHeapColumnStorage extends ColumnStorage {
+
+    private static final ByteBuffer NONE = ByteBuffer.allocateDirect(0);
+
+    private final SlabAllocator allocator;
+    private final SlabAllocator.Chunk chunk;
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int amounts;
+    private final int epochDays;
+    private final int categories;
+    private final int types;
+
+    private OffHeapColumnStorage(SlabAllocator allocator, SlabAllocator.Chunk chunk) {
+        this.allocator = allocator;
+        this.chunk = chunk;
+        this.buffer = chunk != null ? chunk.buffer() : NONE;
+        this.capacity = chunk != null ? chunk.bytes() / TransactionColumnStore.BYTES_PER_ROW : 0;
+        this.amounts = 8 * capacity;
+        this.epochDays = 16 * capacity;
+        this.categories = 20 * capacity;
+        this.types = 22 * capacity;
+    }
+
+    /**
+     * Storage for at least {@code capacity} rows; more if the chunk has room.
+     *
+     * @return Storage, or null if the allocator has no room
+     */
+    static OffHeapColumnStorage allocate(SlabAllocator allocator, int capacity) {
+        if (capacity == 0) {
+            return new OffHeapColumnStorage(allocator, null);
+        }
+        long bytes = (long) capacity * TransactionColumnStore.BYTES_PER_ROW;
+        SlabAllocator.Chunk chunk = bytes <= Integer.MAX_VALUE ? allocator.allocate((int) bytes) : null;
+        return chunk != null ? new OffHeapColumnStorage(allocator, chunk) : null;
+    }
+
+    @Override
+    int capacity() {
+        return capacity;
+    }
+
+    @Override
+    long id(int row) {
+        return buffer.getLong(row << 3);
+    }
+
+    @Override
+    int epochDay(int row) {
+        return buffer.getInt(epochDays + (row << 2));
+    }
+
+    @Override
+    long amount(int row) {
+        return buffer.getLong(amounts + (row << 3));
+    }
+
+    @Override
+    short category(int row) {
+        return buffer.getShort(categories + (row << 1));
+    }
+
+    @Override
+    byte type(int row) {
+        return buffer.get(types + row);
+    }
+
+    @Override
+    void set(int row, long id, int epochDay, long amount, short category, byte type) {
+        buffer.putLong(row << 3, id);
+        buffer.putInt(epochDays + (row << 2), epochDay);
+        buffer.putLong(amounts + (row << 3), amount);
+        buffer.putShort(categories + (row << 1), category);
+        buffer.put(types + row, type);
+    }
+
+    @Override
+    void move(int from, int to, int length) {
+        // Absolute bulk put with the buffer as its own source copies as if through a temporary
+        buffer.put(to << 3, buffer, from << 3, length << 3);
+        buffer.put(epochDays + (to << 2), buffer, epochDays + (from << 2), length << 2);
+        buffer.put(amounts + (to << 3), buffer, amounts + (from << 3), length << 3);
+        buffer.put(categories + (to << 1), buffer, categories + (from << 1), length << 1);
+        buffer.put(types + to, buffer, types + from, length);
+    }
+
+    @Override
+    void copyTo(ColumnStorage target, int rows) {
+        OffHeapColumnStorage offHeap = (OffHeapColumnStorage) target;
+        offHeap.buffer.put(0, buffer, 0, rows << 3);
+        offHeap.buffer.put(offHeap.epochDays, buffer, epochDays, rows << 2);
+        offHeap.buffer.put(offHeap.amounts, buffer, amounts, rows << 3);
+        offHeap.buffer.put(offHeap.categories, buffer, categories, rows << 1);
+        offHeap.buffer.put(offHeap.types, buffer, types, rows);
+    }
+
+    @Override
+    void sumByCategory(int start, int end, long[] sums) {
+        for (int i = start; i < end; i++) {
+            sums[buffer.getShort(categories + (i << 1))] += buffer.getLong(amounts + (i << 3));
+        }
+    }
+
+    @Override
+    long net(int start, int end) {
+        long net = 0;
+        for (int i = start; i < end; i++) {
+            net += buffer.getLong(amounts + (i << 3)) * (1 - 2 * buffer.get(types + i));
+        }
+        return net;
+    }
+
+    @Override
+    long bytes() {
+        return chunk != null ? chunk.bytes() : 0;
+    }
+
+    @Override
+    void release() {
+        if (chunk != null) {
+            allocator.free(chunk);
+        }
+    }
+}
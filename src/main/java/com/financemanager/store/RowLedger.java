@@ -0,0 +1,189 @@
+package com.financemanager.store;
+
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import com.financemanager.util.Money;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * What each of a user's transactions currently contributes to a store's running totals, by
+ * transaction ID.
+ *
+ * <p>Stores apply a {@link TransactionChangedEvent} by ID: whatever the transaction contributed so
+ * far is taken back and its new values are added. A change that the initial load already reflects
+ * then nets out, whichever order IDs were allocated or changes committed in, and a row the load
+ * never saw is never taken back.</p>
+ *
+ * <p>Open addressing over primitive arrays, about {@value #BYTES_PER_ROW} bytes a row at the
+ * lowest load factor. Not thread-safe; stores guard it with the lock of whatever owns it.</p>
+ */
+final class RowLedger {
+
+    // Twice id, category, amount and epoch day, for a table at most half full
+    static final int BYTES_PER_ROW = 2 * (8 + 8 + 8 + 4);
+
+    private static final long EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] ids = new long[MIN_CAPACITY];
+    private long[] categoryIds = new long[MIN_CAPACITY];
+    private long[] amounts = new long[MIN_CAPACITY];
+    private int[] epochDays = new int[MIN_CAPACITY];
+    private int size;
+
+    /**
+     * A transaction's counted values.
+     *
+     * @param categoryId Category ID
+     * @param epochDay Date as epoch day
+     * @param amount Amount in minor units
+     */
+    record Row(long categoryId, int epochDay, long amount) {
+
+        static Row of(TransactionSnapshot snapshot) {
+            return new Row(snapshot.getCategoryId(), (int) snapshot.getDate().toEpochDay(),
+                    Money.toMinorUnits(snapshot.getAmount()));
+        }
+    }
+
+    /**
+     * Callback for {@link #forEach}.
+     */
+    interface RowConsumer {
+        void accept(long id, Row row);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytes() {
+        return (long) ids.length * (BYTES_PER_ROW / 2);
+    }
+
+    /**
+     * Record what a transaction contributes, replacing anything recorded for it.
+     *
+     * @param id Transaction ID, positive
+     * @param row Counted values
+     */
+    void put(long id, Row row) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Transaction ID must be positive: " + id);
+        }
+        if (2 * (size + 1) > ids.length) {
+            resize(ids.length * 2);
+        }
+        int slot = slot(id);
+        if (ids[slot] == EMPTY) {
+            size++;
+        }
+        ids[slot] = id;
+        categoryIds[slot] = row.categoryId();
+        amounts[slot] = row.amount();
+        epochDays[slot] = row.epochDay();
+    }
+
+    /**
+     * Forget a transaction.
+     *
+     * @param id Transaction ID
+     * @return What it contributed, or null if it was not recorded
+     */
+    Row remove(long id) {
+        if (id <= 0) {
+            return null;
+        }
+        int slot = slot(id);
+        if (ids[slot] == EMPTY) {
+            return null;
+        }
+        Row removed = new Row(categoryIds[slot], epochDays[slot], amounts[slot]);
+        size--;
+        // Shift later entries of the probe run back so lookups never stop at the hole
+        int mask = ids.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; ids[next] != EMPTY; next = (next + 1) & mask) {
+            int home = home(ids[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                move(next, hole);
+                hole = next;
+            }
+        }
+        ids[hole] = EMPTY;
+        return removed;
+    }
+
+    void forEach(RowConsumer consumer) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != EMPTY) {
+                consumer.accept(ids[i], new Row(categoryIds[i], epochDays[i], amounts[i]));
+            }
+        }
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != EMPTY) {
+                out.writeLong(ids[i]);
+                out.writeLong(categoryIds[i]);
+                out.writeInt(epochDays[i]);
+                out.writeLong(amounts[i]);
+            }
+        }
+    }
+
+    static RowLedger read(DataInputStream in) throws IOException {
+        RowLedger ledger = new RowLedger();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long id = in.readLong();
+            ledger.put(id, new Row(in.readLong(), in.readInt(), in.readLong()));
+        }
+        return ledger;
+    }
+
+    private int slot(long id) {
+        int mask = ids.length - 1;
+        int slot = home(id);
+        while (ids[slot] != EMPTY && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int home(long id) {
+        // Fibonacci hashing spreads sequential IDs over the table
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(ids.length)));
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        categoryIds[to] = categoryIds[from];
+        amounts[to] = amounts[from];
+        epochDays[to] = epochDays[from];
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        long[] oldCategoryIds = categoryIds;
+        long[] oldAmounts = amounts;
+        int[] oldEpochDays = epochDays;
+        ids = new long[capacity];
+        categoryIds = new long[capacity];
+        amounts = new long[capacity];
+        epochDays = new int[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != EMPTY) {
+                int slot = slot(oldIds[i]);
+                ids[slot] = oldIds[i];
+                categoryIds[slot] = oldCategoryIds[i];
+                amounts[slot] = oldAmounts[i];
+                epochDays[slot] = oldEpochDays[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.financemanager.store;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hands out chunks of direct (off-heap) memory from a fixed budget.
+ *
+ * <p>Memory is reserved in slabs of {@code slabBytes} with {@link ByteBuffer#allocateDirect}, up to
+ * {@code budgetBytes} in total, and never returned to the operating system. Chunk sizes are powers
+ * of two from {@link #MIN_CHUNK_BYTES} up to a whole slab; a slab in use serves a single size, and
+ * goes back to the pool of empty slabs once all of its chunks are freed. A request larger than a
+ * slab, or one that would go over the budget, gets null.</p>
+ *
+ * <p>All methods are thread-safe. Chunks are not zeroed.</p>
+ */
+public class SlabAllocator {
+
+    public static final int MIN_CHUNK_BYTES = 4096;
+
+    private final int slabBytes;
+    private final int maxSlabs;
+    private final List<Slab> slabs = new ArrayList<>();
+    private final Deque<Slab> empty = new ArrayDeque<>();
+    // Per size class, slabs of that size with at least one free chunk
+    private final List<Set<Slab>> partial = new ArrayList<>();
+    private long usedBytes;
+
+    /**
+     * @param budgetBytes Most memory to reserve in total
+     * @param slabBytes Slab size, a power of two no smaller than {@link #MIN_CHUNK_BYTES}; lowered to fit the budget
+     */
+    public SlabAllocator(long budgetBytes, int slabBytes) {
+        if (Integer.bitCount(slabBytes) != 1 || slabBytes < MIN_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Slab size must be a power of two of at least " + MIN_CHUNK_BYTES);
+        }
+        if (budgetBytes < MIN_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Budget must be at least " + MIN_CHUNK_BYTES + " bytes");
+        }
+        this.slabBytes = (int) Math.min(slabBytes, Long.highestOneBit(budgetBytes));
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, budgetBytes / this.slabBytes);
+        for (int size = MIN_CHUNK_BYTES; size > 0 && size <= this.slabBytes; size <<= 1) {
+            partial.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Allocate a chunk.
+     *
+     * @param bytes Bytes needed
+     * @return Chunk of at least {@code bytes} bytes, or null if there is no room
+     */
+    public synchronized Chunk allocate(int bytes) {
+        if (bytes > slabBytes) {
+            return null;
+        }
+        int sizeClass = sizeClass(bytes);
+        Set<Slab> candidates = partial.get(sizeClass);
+        Slab slab;
+        if (!candidates.isEmpty()) {
+            slab = candidates.iterator().next();
+        } else {
+            slab = empty.poll();
+            if (slab == null) {
+                if (slabs.size() >= maxSlabs) {
+                    return null;
+                }
+                slab = new Slab(ByteBuffer.allocateDirect(slabBytes));
+                slabs.add(slab);
+            }
+            slab.assign(MIN_CHUNK_BYTES << sizeClass);
+            candidates.add(slab);
+        }
+        int offset = slab.take();
+        if (slab.isFull()) {
+            candidates.remove(slab);
+        }
+        usedBytes += slab.chunkBytes;
+        return new Chunk(slab, offset);
+    }
+
+    /**
+     * Return a chunk. Its buffer must not be used afterwards.
+     *
+     * @param chunk Chunk from this allocator
+     */
+    public synchronized void free(Chunk chunk) {
+        Slab slab = chunk.slab;
+        if (chunk.generation != slab.generation) {
+            throw new IllegalStateException("Chunk at " + chunk.offset + " freed after its slab was reused");
+        }
+        Set<Slab> candidates = partial.get(sizeClass(slab.chunkBytes));
+        boolean wasFull = slab.isFull();
+        slab.give(chunk.offset);
+        usedBytes -= slab.chunkBytes;
+        if (slab.isEmpty()) {
+            candidates.remove(slab);
+            empty.push(slab);
+        } else if (wasFull) {
+            candidates.add(slab);
+        }
+    }
+
+    /**
+     * Bytes reserved from the operating system.
+     */
+    public synchronized long reservedBytes() {
+        return (long) slabs.size() * slabBytes;
+    }
+
+    /**
+     * Bytes in chunks currently handed out.
+     */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public int slabBytes() {
+        return slabBytes;
+    }
+
+    private static int sizeClass(int bytes) {
+        int size = Math.max(bytes, MIN_CHUNK_BYTES);
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - Integer.numberOfTrailingZeros(MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * A power-of-two region of a slab.
+     */
+    public static final class Chunk {
+        private final Slab slab;
+        private final int offset;
+        private final int generation;
+        private final int bytes;
+        private final ByteBuffer buffer;
+
+        private Chunk(Slab slab, int offset) {
+            this.slab = slab;
+            this.offset = offset;
+            this.generation = slab.generation;
+            this.bytes = slab.chunkBytes;
+            this.buffer = slab.buffer.slice(offset, bytes).order(ByteOrder.nativeOrder());
+        }
+
+        /**
+         * The chunk's memory, in native byte order; absolute get and put methods are safe to share.
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        public int bytes() {
+            return bytes;
+        }
+    }
+
+    private static final class Slab {
+        private final ByteBuffer buffer;
+        private int chunkBytes;
+        private int chunks;
+        // Bumped each time the slab is assigned a size, so stale chunks are recognised
+        private int generation;
+        // Set bits are free chunks
+        private final BitSet free = new BitSet();
+        private int freeCount;
+
+        Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void assign(int chunkBytes) {
+            this.chunkBytes = chunkBytes;
+            this.generation++;
+            this.chunks = buffer.capacity() / chunkBytes;
+            free.clear();
+            free.set(0, chunks);
+            freeCount = chunks;
+        }
+
+        int take() {
+            int index = free.nextSetBit(0);
+            free.clear(index);
+            freeCount--;
+            return index * chunkBytes;
+        }
+
+        void give(int offset) {
+            int index = offset / chunkBytes;
+            if (free.get(index)) {
+                throw new IllegalStateException("Chunk at " + offset + " freed twice");
+            }
+            free.set(index);
+            freeCount++;
+        }
+
+        boolean isFull() {
+            return freeCount == 0;
+        }
+
+        boolean isEmpty() {
+            return freeCount == chunks;
+        }
+    }
+}
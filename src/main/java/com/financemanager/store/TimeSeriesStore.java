@@ -0,0 +1,360 @@
+package com.financemanager.store;
+
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import com.financemanager.util.Money;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * In-memory per-user daily totals, one {@code long[366]} of minor units per category per year.
+ *
+ * <p>A user's series is built from the database on first use and then kept current from
+ * {@link TransactionChangedEvent}s, applied by transaction ID against a {@link RowLedger} so an
+ * event that the initial load already reflects changes nothing. Resident users share a budget of
+ * {@code finance.timeseries.max-bytes}; the least recently used are evicted to stay under it, and a
+ * user too large for it on their own is served from a fresh load each time.</p>
+ *
+ * <p>If {@code finance.timeseries.snapshot-dir} is set, resident series are written to disk on
+ * shutdown and consumed on the next first use, which avoids the initial scan. Only enable snapshots
+ * with a persistent database.</p>
+ */
+@Slf4j
+@Component
+public class TimeSeriesStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x46545331;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int DAYS_PER_YEAR = 366;
+
+    // A year of daily totals plus its map entry
+    static final int BYTES_PER_YEAR = DAYS_PER_YEAR * 8 + 64;
+    // Map entry, name and the year map itself, roughly
+    static final int BYTES_PER_CATEGORY = 128;
+
+    private final long maxBytes;
+    private final Path snapshotDir;
+    // Access-ordered: iteration starts at the least recently used user. Guarded by itself.
+    private final LinkedHashMap<Long, UserSeries> users = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+
+    public TimeSeriesStore(@Value("${finance.timeseries.max-bytes:67108864}") long maxBytes,
+                           @Value("${finance.timeseries.snapshot-dir:}") String snapshotDir) {
+        this.maxBytes = maxBytes;
+        this.snapshotDir = snapshotDir == null || snapshotDir.isBlank() ? null : Path.of(snapshotDir);
+    }
+
+    /**
+     * Return the user's series, loading it from a snapshot or the given loader on first use.
+     *
+     * @param userId User ID
+     * @param loader Supplies all of the user's transactions when no snapshot exists
+     * @return Series for the user; only kept resident if it fits the budget
+     */
+    public UserSeries ensureLoaded(Long userId, Supplier<List<Transaction>> loader) {
+        UserSeries series;
+        synchronized (users) {
+            series = users.get(userId);
+            if (series == null) {
+                series = new UserSeries();
+                users.put(userId, series);
+            }
+        }
+        long bytes;
+        synchronized (series) {
+            if (!series.loaded) {
+                if (!readSnapshot(userId, series)) {
+                    for (Transaction transaction : loader.get()) {
+                        series.load(TransactionSnapshot.of(transaction));
+                    }
+                }
+                series.loaded = true;
+            }
+            bytes = series.bytes();
+        }
+        account(userId, series, bytes);
+        return series;
+    }
+
+    /**
+     * Apply a committed transaction change to the user's series if it is resident.
+     *
+     * @param event Transaction change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void apply(TransactionChangedEvent event) {
+        UserSeries series;
+        synchronized (users) {
+            series = users.get(event.getUserId());
+        }
+        if (series == null) {
+            return;
+        }
+        long bytes;
+        synchronized (series) {
+            if (!series.loaded) {
+                return;
+            }
+            series.apply(event);
+            bytes = series.bytes();
+        }
+        account(event.getUserId(), series, bytes);
+    }
+
+    public void evict(Long userId) {
+        synchronized (users) {
+            UserSeries series = users.remove(userId);
+            if (series != null) {
+                residentBytes -= series.accounted;
+            }
+        }
+    }
+
+    public int residentUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    public long residentBytes() {
+        synchronized (users) {
+            return residentBytes;
+        }
+    }
+
+    // Charges the user's current size to the budget, evicting least recently used users to fit
+    private void account(Long userId, UserSeries series, long bytes) {
+        synchronized (users) {
+            if (users.get(userId) != series) {
+                // Evicted meanwhile; the caller may still read it
+                return;
+            }
+            residentBytes += bytes - series.accounted;
+            series.accounted = bytes;
+            if (bytes > maxBytes) {
+                users.remove(userId);
+                residentBytes -= bytes;
+            }
+            Iterator<Map.Entry<Long, UserSeries>> eldest = users.entrySet().iterator();
+            while (residentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Long, UserSeries> entry = eldest.next();
+                if (!entry.getKey().equals(userId)) {
+                    residentBytes -= entry.getValue().accounted;
+                    eldest.remove();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void writeSnapshots() {
+        if (snapshotDir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(snapshotDir);
+        } catch (IOException ex) {
+            log.warn("Cannot create time-series snapshot directory {}", snapshotDir, ex);
+            return;
+        }
+        Map<Long, UserSeries> resident;
+        synchronized (users) {
+            resident = new LinkedHashMap<>(users);
+        }
+        resident.forEach((userId, series) -> {
+            synchronized (series) {
+                if (!series.loaded) {
+                    return;
+                }
+                Path file = snapshotFile(userId);
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    series.write(out);
+                } catch (IOException ex) {
+                    log.warn("Failed to write time-series snapshot {}", file, ex);
+                }
+            }
+        });
+    }
+
+    private boolean readSnapshot(Long userId, UserSeries series) {
+        if (snapshotDir == null) {
+            return false;
+        }
+        Path file = snapshotFile(userId);
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            series.read(in);
+            return true;
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable time-series snapshot {}", file, ex);
+            series.categories.clear();
+            series.ledger = new RowLedger();
+            return false;
+        } finally {
+            // Snapshots are only trusted once; later state comes from events
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Failed to delete time-series snapshot {}", file, ex);
+            }
+        }
+    }
+
+    private Path snapshotFile(Long userId) {
+        return snapshotDir.resolve("timeseries-" + userId + ".bin");
+    }
+
+    /**
+     * Daily totals for a single category over a date range, in minor units.
+     */
+    public record CategorySeries(Long categoryId, String categoryName, CategoryType type, long[] daily) {
+    }
+
+    /**
+     * All series for one user. Access is synchronized on the instance.
+     */
+    public static final class UserSeries {
+        private final Map<Long, CategoryData> categories = new LinkedHashMap<>();
+        private RowLedger ledger = new RowLedger();
+        private boolean loaded;
+        // Bytes charged to the store's budget; guarded by the store's map
+        private long accounted;
+
+        /**
+         * Copy out daily totals for an inclusive date range.
+         *
+         * @param from First day
+         * @param to Last day
+         * @param categoryId Optional category filter
+         * @param type Optional type filter
+         * @return One entry per matching category that has any data
+         */
+        public synchronized List<CategorySeries> daily(LocalDate from, LocalDate to, Long categoryId, CategoryType type) {
+            int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+            List<CategorySeries> result = new ArrayList<>();
+            for (Map.Entry<Long, CategoryData> entry : categories.entrySet()) {
+                CategoryData data = entry.getValue();
+                if ((categoryId != null && !categoryId.equals(entry.getKey())) || (type != null && data.type != type)) {
+                    continue;
+                }
+                long[] out = new long[days];
+                int offset = 0;
+                for (int year = from.getYear(); year <= to.getYear(); year++) {
+                    LocalDate yearStart = year == from.getYear() ? from : LocalDate.of(year, 1, 1);
+                    LocalDate yearEnd = year == to.getYear() ? to : LocalDate.of(year, 12, 31);
+                    int length = yearEnd.getDayOfYear() - yearStart.getDayOfYear() + 1;
+                    long[] yearDays = data.years.get(year);
+                    if (yearDays != null) {
+                        System.arraycopy(yearDays, yearStart.getDayOfYear() - 1, out, offset, length);
+                    }
+                    offset += length;
+                }
+                result.add(new CategorySeries(entry.getKey(), data.name, data.type, out));
+            }
+            return result;
+        }
+
+        private void load(TransactionSnapshot snapshot) {
+            add(snapshot);
+            if (snapshot.getId() != null) {
+                ledger.put(snapshot.getId(), RowLedger.Row.of(snapshot));
+            }
+        }
+
+        // Takes back whatever the transaction contributed so far, then adds its new values
+        private void apply(TransactionChangedEvent event) {
+            TransactionSnapshot after = event.getAfter();
+            Long id = after != null ? after.getId() : event.getBefore().getId();
+            RowLedger.Row counted = id == null ? null : ledger.remove(id);
+            if (counted != null) {
+                LocalDate date = LocalDate.ofEpochDay(counted.epochDay());
+                categories.get(counted.categoryId()).years.get(date.getYear())[date.getDayOfYear() - 1] -= counted.amount();
+            }
+            if (after != null) {
+                load(after);
+            }
+        }
+
+        private void add(TransactionSnapshot snapshot) {
+            CategoryData data = categories.computeIfAbsent(snapshot.getCategoryId(),
+                    id -> new CategoryData(snapshot.getCategoryName(), snapshot.getType()));
+            long[] days = data.years.computeIfAbsent(snapshot.getDate().getYear(), y -> new long[DAYS_PER_YEAR]);
+            days[snapshot.getDate().getDayOfYear() - 1] += Money.toMinorUnits(snapshot.getAmount());
+        }
+
+        private long bytes() {
+            long bytes = ledger.bytes();
+            for (CategoryData data : categories.values()) {
+                bytes += BYTES_PER_CATEGORY + (long) data.years.size() * BYTES_PER_YEAR;
+            }
+            return bytes;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(categories.size());
+            for (Map.Entry<Long, CategoryData> entry : categories.entrySet()) {
+                CategoryData data = entry.getValue();
+                out.writeLong(entry.getKey());
+                out.writeUTF(data.name);
+                out.writeByte(data.type.ordinal());
+                out.writeInt(data.years.size());
+                for (Map.Entry<Integer, long[]> year : data.years.entrySet()) {
+                    out.writeInt(year.getKey());
+                    for (long value : year.getValue()) {
+                        out.writeLong(value);
+                    }
+                }
+            }
+            ledger.write(out);
+        }
+
+        private void read(DataInputStream in) throws IOException {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported time-series snapshot format");
+            }
+            int categoryCount = in.readInt();
+            for (int c = 0; c < categoryCount; c++) {
+                long categoryId = in.readLong();
+                CategoryData data = new CategoryData(in.readUTF(), CategoryType.values()[in.readByte()]);
+                int yearCount = in.readInt();
+                for (int y = 0; y < yearCount; y++) {
+                    int year = in.readInt();
+                    long[] days = new long[DAYS_PER_YEAR];
+                    for (int d = 0; d < DAYS_PER_YEAR; d++) {
+                        days[d] = in.readLong();
+                    }
+                    data.years.put(year, days);
+                }
+                categories.put(categoryId, data);
+            }
+            ledger = RowLedger.read(in);
+        }
+    }
+
+    private static final class CategoryData {
+        private final String name;
+        private final CategoryType type;
+        private final Map<Integer, long[]> years = new TreeMap<>();
+
+        private CategoryData(String name, CategoryType type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package com.financemanager.store;
+
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import com.financemanager.util.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Columnar in-memory copy of active users' transactions, for report aggregation.
+ *
+ * <p>Each user's rows are held as parallel primitive columns sorted by date: {@code int} epoch days,
+ * {@code long} amounts in minor units, {@code short} indexes into a per-user category dictionary,
+ * {@code byte} category types and {@code long} IDs. A date range is a contiguous run found by binary
+ * search, and totals over it are plain loops with no per-row objects.</p>
+ *
+ * <p>A user is loaded on first use and then kept current from {@link TransactionChangedEvent}s,
+ * applied by transaction ID so an event that the initial load already reflects changes nothing.
+ * Resident users share a budget of {@code finance.reports.column-store.max-bytes}; the least
+ * recently used are evicted to stay under it, and users too large for it on their own are not
+ * held at all. A budget of 0 disables the store.</p>
+ *
+ * <p>With {@code finance.reports.column-store.off-heap} the columns live in direct memory from a
+ * {@link SlabAllocator} reserved up to the same budget, instead of in heap arrays. Either way,
+ * {@link #ensureLoaded} returns the columns pinned: an evicted user's memory is only given back once
+ * every caller holding them has closed them.</p>
+ */
+@Slf4j
+@Component
+public class TransactionColumnStore {
+
+    static final byte INCOME = 0;
+    static final byte EXPENSE = 1;
+
+    // id, epoch day, amount, category index, type
+    static final int BYTES_PER_ROW = 8 + 4 + 8 + 2 + 1;
+    // Dictionary entry, map node and strings, roughly
+    static final int BYTES_PER_CATEGORY = 128;
+
+    private final long maxBytes;
+    private final IntFunction<ColumnStorage> storage;
+    private final SlabAllocator allocator;
+    // Access-ordered: iteration starts at the least recently used user. Guarded by itself.
+    private final LinkedHashMap<Long, UserColumns> users = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Long> oversized = ConcurrentHashMap.newKeySet();
+    private long residentBytes;
+
+    public TransactionColumnStore(long maxBytes) {
+        this(maxBytes, false, 0);
+    }
+
+    @Autowired
+    public TransactionColumnStore(@Value("${finance.reports.column-store.max-bytes:67108864}") long maxBytes,
+                                  @Value("${finance.reports.column-store.off-heap:false}") boolean offHeap,
+                                  @Value("${finance.reports.column-store.slab-bytes:16777216}") int slabBytes) {
+        this.maxBytes = maxBytes;
+        if (offHeap && maxBytes > 0) {
+            SlabAllocator slabs = new SlabAllocator(maxBytes, slabBytes);
+            this.allocator = slabs;
+            this.storage = capacity -> OffHeapColumnStorage.allocate(slabs, capacity);
+        } else {
+            this.allocator = null;
+            this.storage = HeapColumnStorage::new;
+        }
+    }
+
+    /**
+     * Return the user's columns, loading them with the given loader on first use.
+     *
+     * <p>The columns stay valid until closed, even if the user is evicted in the meantime; close
+     * them when done, preferably with try-with-resources.</p>
+     *
+     * @param userId User ID
+     * @param loader Supplies all of the user's transactions
+     * @return Pinned columns for the user, or null if the store is disabled or the user does not fit
+     */
+    public UserColumns ensureLoaded(Long userId, Supplier<List<Transaction>> loader) {
+        if (maxBytes <= 0 || oversized.contains(userId)) {
+            return null;
+        }
+        UserColumns columns;
+        synchronized (users) {
+            // Whatever is in the map still holds the store's pin, so pinning here cannot fail
+            columns = users.get(userId);
+            if (columns == null) {
+                columns = new UserColumns(storage);
+                users.put(userId, columns);
+            }
+            columns.pin();
+        }
+        long bytes;
+        synchronized (columns) {
+            if (!columns.loaded) {
+                try {
+                    List<Transaction> transactions = loader.get();
+                    while (!columns.load(transactions)) {
+                        if (!evictLeastRecentlyUsed(userId)) {
+                            log.debug("No column memory left for user {}", userId);
+                            evict(userId);
+                            columns.close();
+                            return null;
+                        }
+                    }
+                } catch (IllegalStateException | ArithmeticException ex) {
+                    log.debug("Not caching columns for user {}: {}", userId, ex.getMessage());
+                    oversized.add(userId);
+                    evict(userId);
+                    columns.close();
+                    return null;
+                }
+                columns.loaded = true;
+            }
+            bytes = columns.bytes();
+        }
+        if (!account(userId, columns, bytes)) {
+            columns.close();
+            return null;
+        }
+        return columns;
+    }
+
+    /**
+     * Apply a committed transaction change to the user's columns if they are resident.
+     *
+     * @param event Transaction change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void apply(TransactionChangedEvent event) {
+        UserColumns columns;
+        synchronized (users) {
+            columns = users.get(event.getUserId());
+            if (columns == null) {
+                return;
+            }
+            columns.pin();
+        }
+        try (columns) {
+            long bytes;
+            synchronized (columns) {
+                if (!columns.loaded) {
+                    return;
+                }
+                try {
+                    TransactionSnapshot before = event.getBefore();
+                    TransactionSnapshot after = event.getAfter();
+                    if (before != null) {
+                        columns.remove(before.getId(), before.getDate());
+                    }
+                    if (after != null) {
+                        columns.remove(after.getId(), after.getDate());
+                        if (!columns.insert(after)) {
+                            // Out of memory to grow into; reloaded on the next report
+                            evict(event.getUserId());
+                            return;
+                        }
+                    }
+                } catch (IllegalStateException | ArithmeticException ex) {
+                    evict(event.getUserId());
+                    return;
+                }
+                bytes = columns.bytes();
+            }
+            account(event.getUserId(), columns, bytes);
+        }
+    }
+
+    public void evict(Long userId) {
+        UserColumns columns;
+        synchronized (users) {
+            columns = users.remove(userId);
+            if (columns == null) {
+                return;
+            }
+            residentBytes -= columns.accounted;
+        }
+        columns.close();
+    }
+
+    public int residentUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    public long residentBytes() {
+        synchronized (users) {
+            return residentBytes;
+        }
+    }
+
+    /**
+     * Direct memory reserved for columns; 0 unless the store is off-heap.
+     */
+    public long offHeapReservedBytes() {
+        return allocator != null ? allocator.reservedBytes() : 0;
+    }
+
+    // Charges the user's current size to the budget, evicting least recently used users to fit
+    private boolean account(Long userId, UserColumns columns, long bytes) {
+        List<UserColumns> evicted = new ArrayList<>();
+        boolean fits = true;
+        synchronized (users) {
+            if (users.get(userId) != columns) {
+                // Evicted while loading; still fine to use while pinned
+                return true;
+            }
+            residentBytes += bytes - columns.accounted;
+            columns.accounted = bytes;
+            if (bytes > maxBytes) {
+                users.remove(userId);
+                residentBytes -= bytes;
+                oversized.add(userId);
+                evicted.add(columns);
+                fits = false;
+            }
+            Iterator<Map.Entry<Long, UserColumns>> eldest = users.entrySet().iterator();
+            while (residentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Long, UserColumns> entry = eldest.next();
+                if (!entry.getKey().equals(userId)) {
+                    residentBytes -= entry.getValue().accounted;
+                    evicted.add(entry.getValue());
+                    eldest.remove();
+                }
+            }
+        }
+        // Outside the map's lock, since dropping the last pin frees memory
+        evicted.forEach(UserColumns::close);
+        return fits;
+    }
+
+    // Evicts the least recently used user other than the given one, if there is any
+    private boolean evictLeastRecentlyUsed(Long userId) {
+        UserColumns victim = null;
+        synchronized (users) {
+            Iterator<Map.Entry<Long, UserColumns>> eldest = users.entrySet().iterator();
+            while (victim == null && eldest.hasNext()) {
+                Map.Entry<Long, UserColumns> entry = eldest.next();
+                if (!entry.getKey().equals(userId)) {
+                    victim = entry.getValue();
+                    residentBytes -= victim.accounted;
+                    eldest.remove();
+                }
+            }
+        }
+        if (victim == null) {
+            return false;
+        }
+        victim.close();
+        return true;
+    }
+
+    /**
+     * Per-category totals over a date range, in minor units.
+     *
+     * @param names Category name per dictionary index
+     * @param types Category type per dictionary index
+     * @param sums Total per dictionary index
+     * @param order Dictionary indexes with at least one row, in order of first appearance from the newest row
+     * @param net Income minus expenses
+     * @param rows Number of rows in the range
+     */
+    public record Totals(String[] names, CategoryType[] types, long[] sums, int[] order,
+                         long net, int rows) {
+    }
+
+    /**
+     * All columns for one user. Access is synchronized on the instance.
+     *
+     * <p>Reference counted: the store holds one pin while the user is resident and every caller of
+     * {@link #ensureLoaded} another, and the storage is released when the last is closed.</p>
+     */
+    public static final class UserColumns implements AutoCloseable {
+        private final IntFunction<ColumnStorage> allocate;
+        private final AtomicInteger pins = new AtomicInteger(1);
+        private ColumnStorage storage;
+        private int size;
+        // Largest absolute amount ever held, to know when a plain sum cannot overflow
+        private long maxAbsAmount;
+
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final List<String> categoryNames = new ArrayList<>();
+        private final List<CategoryType> categoryTypes = new ArrayList<>();
+        private final Map<Long, Short> categoryIndex = new HashMap<>();
+
+        private boolean loaded;
+        private long accounted;
+
+        UserColumns(IntFunction<ColumnStorage> allocate) {
+            this.allocate = allocate;
+            this.storage = allocate.apply(0);
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Number of rows in an inclusive date range.
+         */
+        public synchronized int count(LocalDate from, LocalDate to) {
+            return firstOnOrAfter((int) to.toEpochDay() + 1) - firstOnOrAfter((int) from.toEpochDay());
+        }
+
+        /**
+         * Totals for an inclusive date range.
+         *
+         * @param from First day
+         * @param to Last day
+         * @return Per-category totals and net amount
+         */
+        public synchronized Totals totals(LocalDate from, LocalDate to) {
+            if (storage == null) {
+                throw new IllegalStateException("Columns used after close");
+            }
+            int start = firstOnOrAfter((int) from.toEpochDay());
+            int end = firstOnOrAfter((int) to.toEpochDay() + 1);
+            int categoryCount = categoryIds.size();
+            long[] sums = new long[categoryCount];
+            long net = 0;
+
+            if (maxAbsAmount <= Long.MAX_VALUE / Math.max(1, end - start)) {
+                // Separate passes so the net is a branch-free reduction
+                storage.sumByCategory(start, end, sums);
+                net = storage.net(start, end);
+            } else {
+                for (int i = start; i < end; i++) {
+                    int category = storage.category(i);
+                    long amount = storage.amount(i);
+                    sums[category] = Math.addExact(sums[category], amount);
+                    net = storage.type(i) == INCOME ? Math.addExact(net, amount) : Math.subtractExact(net, amount);
+                }
+            }
+
+            // Newest first, like the database queries the reports otherwise run
+            int[] order = new int[categoryCount];
+            int present = 0;
+            boolean[] seen = new boolean[categoryCount];
+            for (int i = end - 1; i >= start && present < categoryCount; i--) {
+                int category = storage.category(i);
+                if (!seen[category]) {
+                    seen[category] = true;
+                    order[present++] = category;
+                }
+            }
+
+            String[] names = categoryNames.toArray(new String[0]);
+            CategoryType[] categoryTypeArray = categoryTypes.toArray(new CategoryType[0]);
+            return new Totals(names, categoryTypeArray, sums, Arrays.copyOf(order, present), net, end - start);
+        }
+
+        /**
+         * Drop this pin; the storage is released once no pins are left.
+         */
+        @Override
+        public void close() {
+            int left = pins.decrementAndGet();
+            if (left == 0) {
+                synchronized (this) {
+                    storage.release();
+                    storage = null;
+                }
+            } else if (left < 0) {
+                throw new IllegalStateException("Columns closed more often than pinned");
+            }
+        }
+
+        private void pin() {
+            pins.incrementAndGet();
+        }
+
+        // False if there was no memory for the rows
+        private boolean load(List<Transaction> transactions) {
+            // Start over in case an earlier load failed part-way
+            size = 0;
+            maxAbsAmount = 0;
+            categoryIds.clear();
+            categoryNames.clear();
+            categoryTypes.clear();
+            categoryIndex.clear();
+            List<TransactionSnapshot> rows = new ArrayList<>(transactions.size());
+            // Oldest first; ties keep the loader's order when read back newest first
+            for (int i = transactions.size() - 1; i >= 0; i--) {
+                rows.add(TransactionSnapshot.of(transactions.get(i)));
+            }
+            rows.sort((a, b) -> a.getDate().compareTo(b.getDate()));
+            if (!grow(rows.size())) {
+                return false;
+            }
+            for (TransactionSnapshot row : rows) {
+                set(size++, row);
+            }
+            return true;
+        }
+
+        // False if there was no memory to grow into
+        private boolean insert(TransactionSnapshot row) {
+            if (!grow(size + 1)) {
+                return false;
+            }
+            int position = firstOnOrAfter((int) row.getDate().toEpochDay() + 1);
+            storage.move(position, position + 1, size - position);
+            set(position, row);
+            size++;
+            return true;
+        }
+
+        private void remove(Long id, LocalDate date) {
+            if (id == null) {
+                return;
+            }
+            int row = -1;
+            // Look on the given day first, then anywhere in case the row has since moved
+            for (int i = firstOnOrAfter((int) date.toEpochDay()); i < size && storage.epochDay(i) == date.toEpochDay(); i++) {
+                if (storage.id(i) == id) {
+                    row = i;
+                    break;
+                }
+            }
+            for (int i = 0; row < 0 && i < size; i++) {
+                if (storage.id(i) == id) {
+                    row = i;
+                }
+            }
+            if (row < 0) {
+                return;
+            }
+            storage.move(row + 1, row, size - row - 1);
+            size--;
+        }
+
+        private void set(int row, TransactionSnapshot snapshot) {
+            long amount = Money.toMinorUnits(snapshot.getAmount());
+            storage.set(row,
+                    snapshot.getId() == null ? 0 : snapshot.getId(),
+                    (int) snapshot.getDate().toEpochDay(),
+                    amount,
+                    index(snapshot),
+                    snapshot.getType() == CategoryType.INCOME ? INCOME : EXPENSE);
+            maxAbsAmount = Math.max(maxAbsAmount, Math.abs(amount));
+        }
+
+        private short index(TransactionSnapshot snapshot) {
+            Short index = categoryIndex.get(snapshot.getCategoryId());
+            if (index != null) {
+                return index;
+            }
+            if (categoryIds.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("More than " + Short.MAX_VALUE + " categories");
+            }
+            short next = (short) categoryIds.size();
+            categoryIds.add(snapshot.getCategoryId());
+            categoryNames.add(snapshot.getCategoryName());
+            categoryTypes.add(snapshot.getType());
+            categoryIndex.put(snapshot.getCategoryId(), next);
+            return next;
+        }
+
+        private boolean grow(int capacity) {
+            int current = storage.capacity();
+            if (capacity <= current) {
+                return true;
+            }
+            ColumnStorage grown = allocate.apply((int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(capacity, current + (current >> 1) + 16L)));
+            if (grown == null && capacity < current + (current >> 1) + 16L) {
+                grown = allocate.apply(capacity);
+            }
+            if (grown == null) {
+                return false;
+            }
+            storage.copyTo(grown, size);
+            storage.release();
+            storage = grown;
+            return true;
+        }
+
+        private int firstOnOrAfter(int epochDay) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (storage.epochDay(mid) < epochDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private long bytes() {
+            return storage.bytes() + (long) categoryIds.size() * BYTES_PER_CATEGORY;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.financemanager.util;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-category running totals in minor units, keyed in first-seen order.
+ *
+ * <p>Allocates one {@link MoneyTotal} per category rather than one {@link BigDecimal} per add.</p>
+ */
+public final class CategoryTotals {
+
+    private final Map<String, MoneyTotal> totals = new LinkedHashMap<>();
+
+    public void add(String categoryName, BigDecimal amount) {
+        MoneyTotal total = totals.get(categoryName);
+        if (total == null) {
+            totals.put(categoryName, new MoneyTotal(amount));
+        } else {
+            total.add(amount);
+        }
+    }
+
+    /**
+     * Merge another set of totals into this one, appending categories not seen yet.
+     *
+     * @param other Totals to merge
+     */
+    public void addAll(CategoryTotals other) {
+        other.totals.forEach((name, total) -> {
+            MoneyTotal existing = totals.get(name);
+            if (existing == null) {
+                totals.put(name, total.copy());
+            } else {
+                existing.add(total);
+            }
+        });
+    }
+
+    /**
+     * Convert the totals to the map shape used by report DTOs.
+     *
+     * @return Category name to total amount, in first-seen order
+     */
+    public Map<String, BigDecimal> toMap() {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        totals.forEach((name, total) -> result.put(name, total.toBigDecimal()));
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.financemanager.util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Case-insensitive multi-keyword matcher (Aho-Corasick).
+ *
+ * <p>{@link #match(String)} scans the text once, so its cost depends on the text length and not
+ * on the number of keywords. Keywords are added to and removed from the trie in place; the
+ * failure links are recomputed from the trie on the next match after a change.</p>
+ *
+ * @param <V> Value associated with each keyword
+ */
+public final class KeywordMatcher<V> {
+
+    private final Node<V> root = new Node<>(0);
+    private int size;
+    private boolean linksStale;
+
+    /**
+     * Add a keyword, replacing the value of an existing identical keyword.
+     *
+     * @param keyword Non-empty keyword
+     * @param value Value returned when the keyword matches
+     */
+    public synchronized void add(String keyword, V value) {
+        if (keyword == null || keyword.isEmpty()) {
+            throw new IllegalArgumentException("Keyword must not be empty");
+        }
+        Node<V> node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = Character.toLowerCase(keyword.charAt(i));
+            Node<V> parent = node;
+            node = node.next.computeIfAbsent(c, k -> new Node<>(parent.depth + 1));
+        }
+        if (node.value == null) {
+            size++;
+        }
+        node.value = value;
+        linksStale = true;
+    }
+
+    /**
+     * Remove a keyword.
+     *
+     * @param keyword Keyword to remove
+     * @return true if the keyword was present
+     */
+    public synchronized boolean remove(String keyword) {
+        Node<V> node = root;
+        for (int i = 0; i < keyword.length() && node != null; i++) {
+            node = node.next.get(Character.toLowerCase(keyword.charAt(i)));
+        }
+        if (node == null || node == root || node.value == null) {
+            return false;
+        }
+        node.value = null;
+        size--;
+        linksStale = true;
+        return true;
+    }
+
+    /**
+     * Find the longest keyword contained in the text; ties go to the leftmost occurrence.
+     *
+     * @param text Text to scan
+     * @return Value of the matching keyword, or null if none matches
+     */
+    public synchronized V match(String text) {
+        if (text == null || size == 0) {
+            return null;
+        }
+        if (linksStale) {
+            buildLinks();
+        }
+        Node<V> node = root;
+        Node<V> best = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            while (node != root && !node.next.containsKey(c)) {
+                node = node.fail;
+            }
+            node = node.next.getOrDefault(c, root);
+            // The longest keyword ending here is the node itself or its nearest keyword suffix
+            Node<V> hit = node.value != null ? node : node.output;
+            if (hit != null && (best == null || hit.depth > best.depth)) {
+                best = hit;
+            }
+        }
+        return best == null ? null : best.value;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void buildLinks() {
+        ArrayDeque<Node<V>> queue = new ArrayDeque<>();
+        root.fail = root;
+        for (Node<V> child : root.next.values()) {
+            child.fail = root;
+            child.output = null;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node<V> node = queue.poll();
+            for (Map.Entry<Character, Node<V>> entry : node.next.entrySet()) {
+                char c = entry.getKey();
+                Node<V> child = entry.getValue();
+                Node<V> fail = node.fail;
+                while (fail != root && !fail.next.containsKey(c)) {
+                    fail = fail.fail;
+                }
+                child.fail = fail.next.getOrDefault(c, root);
+                child.output = child.fail.value != null ? child.fail : child.fail.output;
+                queue.add(child);
+            }
+        }
+        linksStale = false;
+    }
+
+    private static final class Node<V> {
+        private final Map<Character, Node<V>> next = new HashMap<>();
+        private final int depth;
+        private Node<V> fail;
+        private Node<V> output;
+        private V value;
+
+        private Node(int depth) {
+            this.depth = depth;
+        }
+    }
+}
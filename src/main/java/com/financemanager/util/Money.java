@@ -0,0 +1,41 @@
+package com.financemanager.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between {@link BigDecimal} amounts and {@code long} minor units (cents).
+ */
+public final class Money {
+
+    /**
+     * Number of decimal places carried by a minor unit.
+     */
+    public static final int MINOR_UNIT_SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Convert an amount to minor units.
+     *
+     * @param amount Amount with at most two significant decimal places
+     * @return Amount in minor units
+     * @throws ArithmeticException if the amount has sub-cent digits or does not fit in a long
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(MINOR_UNIT_SCALE).longValueExact();
+    }
+
+    /**
+     * Convert minor units back to an amount with the requested scale.
+     *
+     * @param minorUnits Amount in minor units
+     * @param scale Scale of the returned amount
+     * @return Amount as BigDecimal
+     * @throws ArithmeticException if the amount cannot be represented at the requested scale
+     */
+    public static BigDecimal fromMinorUnits(long minorUnits, int scale) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE).setScale(scale, RoundingMode.UNNECESSARY);
+    }
+}
@@ -0,0 +1,65 @@
+package com.financemanager.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable running total kept in {@code long} minor units.
+ *
+ * <p>The total also tracks the largest scale it has seen so that {@link #toBigDecimal()}
+ * returns exactly what chained {@link BigDecimal#add} calls would have produced.</p>
+ */
+public final class MoneyTotal {
+
+    private long minorUnits;
+    private int scale;
+
+    /**
+     * Create a zero total, equivalent to {@link BigDecimal#ZERO}.
+     */
+    public MoneyTotal() {
+        this.minorUnits = 0L;
+        this.scale = 0;
+    }
+
+    /**
+     * Create a total seeded with a first amount.
+     *
+     * @param amount Initial amount
+     */
+    public MoneyTotal(BigDecimal amount) {
+        this.minorUnits = Money.toMinorUnits(amount);
+        this.scale = amount.scale();
+    }
+
+    private MoneyTotal(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    public MoneyTotal copy() {
+        return new MoneyTotal(minorUnits, scale);
+    }
+
+    public void add(BigDecimal amount) {
+        minorUnits = Math.addExact(minorUnits, Money.toMinorUnits(amount));
+        scale = Math.max(scale, amount.scale());
+    }
+
+    public void subtract(BigDecimal amount) {
+        minorUnits = Math.subtractExact(minorUnits, Money.toMinorUnits(amount));
+        scale = Math.max(scale, amount.scale());
+    }
+
+    public void add(MoneyTotal other) {
+        minorUnits = Math.addExact(minorUnits, other.minorUnits);
+        scale = Math.max(scale, other.scale);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return Money.fromMinorUnits(minorUnits, scale);
+    }
+}
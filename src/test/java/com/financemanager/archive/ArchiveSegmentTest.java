@@ -0,0 +1,120 @@
+package com.financemanager.archive;
+
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveSegmentTest {
+
+    private final User user = User.builder().id(7L).build();
+    private final Category food = Category.builder().id(3L).name("Food").type(CategoryType.EXPENSE).build();
+
+    @TempDir
+    Path directory;
+
+    private Transaction transaction(long id, LocalDate date, String amount, String description) {
+        LocalDateTime created = date.atTime(9, 30, 15, 123_456_000);
+        return Transaction.builder()
+                .id(id).amount(new BigDecimal(amount)).date(date).description(description)
+                .clientId(id % 2 == 0 ? "client-" + id : null)
+                .category(food).user(user)
+                .createdAt(created).updatedAt(created.plusDays(id % 3))
+                .build();
+    }
+
+    @Test
+    void writeThenRead_returnsTheSameRowsSortedByDate() throws IOException {
+        List<Transaction> rows = List.of(
+                transaction(12, LocalDate.of(2022, 12, 31), "99.99", "Dinner – café"),
+                transaction(10, LocalDate.of(2022, 1, 1), "0.01", null),
+                transaction(11, LocalDate.of(2022, 6, 15), "-5.50", ""));
+        Path file = directory.resolve("2022.seg");
+
+        ArchiveSegment.of(7, 2022, rows).writeTo(file);
+        ArchiveSegment read = ArchiveSegment.read(file);
+
+        assertEquals(7, read.userId());
+        assertEquals(2022, read.year());
+        assertEquals(3, read.size());
+        assertEquals(List.of(10L, 11L, 12L), List.of(read.id(0), read.id(1), read.id(2)));
+        for (int row = 0; row < read.size(); row++) {
+            long id = read.id(row);
+            assertEquals(rows.stream().filter(t -> t.getId() == id).findFirst().orElseThrow(),
+                    read.toTransaction(row, user, food));
+        }
+    }
+
+    @Test
+    void with_replacesRowsWithTheSameIdAndKeepsDateOrder() {
+        ArchiveSegment segment = ArchiveSegment.of(7, 2022, List.of(
+                transaction(1, LocalDate.of(2022, 3, 1), "10.00", "a"),
+                transaction(2, LocalDate.of(2022, 5, 1), "20.00", "b")));
+
+        ArchiveSegment merged = segment.with(List.of(
+                transaction(2, LocalDate.of(2022, 2, 1), "25.00", "b moved"),
+                transaction(3, LocalDate.of(2022, 4, 1), "30.00", "c")));
+
+        assertEquals(3, merged.size());
+        assertEquals(List.of(2L, 1L, 3L), List.of(merged.id(0), merged.id(1), merged.id(2)));
+        assertEquals(new BigDecimal("25.00"), merged.amount(0));
+        assertEquals(1, merged.firstOnOrAfter(LocalDate.of(2022, 2, 2)));
+        assertEquals(3, merged.firstOnOrAfter(LocalDate.of(2023, 1, 1)));
+        assertEquals(0, merged.firstOnOrAfter(LocalDate.of(2021, 12, 31)));
+    }
+
+    @Test
+    void idIndex_findsRowsAndAnswersFromTheHeader() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.of(7, 2022, List.of(
+                transaction(40, LocalDate.of(2022, 3, 1), "10.00", "a"),
+                transaction(5, LocalDate.of(2022, 9, 1), "20.00", "backdated later"),
+                transaction(41, LocalDate.of(2022, 1, 1), "30.00", "c")))
+                .with(List.of(transaction(20, LocalDate.of(2022, 2, 1), "40.00", "d")));
+        Path file = directory.resolve("2022.seg");
+        segment.writeTo(file);
+        ArchiveSegment read = ArchiveSegment.read(file);
+
+        for (long id : new long[] {5, 20, 40, 41}) {
+            assertEquals(id, read.id(read.rowOf(id)));
+            assertTrue(ArchiveSegment.holdsId(file, id));
+        }
+        for (long id : new long[] {4, 21, 42}) {
+            assertEquals(-1, read.rowOf(id));
+            assertFalse(ArchiveSegment.holdsId(file, id));
+        }
+    }
+
+    @Test
+    void writeTo_compressesTypicalRows() throws IOException {
+        List<Transaction> rows = new ArrayList<>();
+        LocalDate day = LocalDate.of(2021, 1, 1);
+        for (int i = 0; i < 5000; i++) {
+            rows.add(transaction(1000 + i, day.plusDays(i * 365L / 5000), (10 + i % 90) + ".00", "Groceries"));
+        }
+        Path file = directory.resolve("2021.seg");
+
+        ArchiveSegment.of(7, 2021, rows).writeTo(file);
+
+        assertTrue(Files.size(file) < 5000 * 8, "bytes per row: " + Files.size(file) / 5000.0);
+        assertEquals(5000, ArchiveSegment.read(file).size());
+    }
+
+    @Test
+    void of_rejectsRowsOfAnotherYear() {
+        assertThrows(IllegalArgumentException.class, () -> ArchiveSegment.of(7, 2022,
+                List.of(transaction(1, LocalDate.of(2023, 1, 1), "1.00", null))));
+    }
+}
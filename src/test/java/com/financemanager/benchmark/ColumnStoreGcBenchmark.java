@@ -0,0 +1,113 @@
+package com.financemanager.benchmark;
+
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.store.TransactionColumnStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GC cost of holding report columns on the heap versus off-heap in TransactionColumnStore.
+ *
+ * <p>{@code fullGc} times a {@code System.gc()} with every user resident, which has to walk and
+ * compact whatever the store keeps on the heap. {@code reportUnderChurn} runs a monthly total next
+ * to request-sized garbage; compare {@code gc.count} and {@code gc.time} from the GC profiler.</p>
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.financemanager.benchmark.ColumnStoreGcBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:MaxDirectMemorySize=512m"})
+@State(Scope.Benchmark)
+public class ColumnStoreGcBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    @Param({"heap", "off-heap"})
+    private String storage;
+
+    @Param({"200"})
+    private int users;
+
+    @Param({"20000"})
+    private int rowsPerUser;
+
+    private TransactionColumnStore store;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        store = new TransactionColumnStore(512L << 20, storage.equals("off-heap"), 16 << 20);
+        Category salary = Category.builder().id(1L).name("Salary").type(CategoryType.INCOME).build();
+        Category food = Category.builder().id(2L).name("Food").type(CategoryType.EXPENSE).build();
+        Category rent = Category.builder().id(3L).name("Rent").type(CategoryType.EXPENSE).build();
+        Category[] categories = {salary, food, rent};
+        Random data = new Random(7);
+        long id = 1;
+        for (long userId = 1; userId <= users; userId++) {
+            User user = User.builder().id(userId).username("u" + userId).build();
+            List<Transaction> rows = new ArrayList<>(rowsPerUser);
+            for (int i = 0; i < rowsPerUser; i++) {
+                rows.add(Transaction.builder()
+                        .id(id++)
+                        .amount(BigDecimal.valueOf(1 + data.nextInt(500_000), 2))
+                        .date(FIRST_DAY.plusDays(rowsPerUser - 1 - i))
+                        .category(categories[data.nextInt(categories.length)])
+                        .user(user)
+                        .build());
+            }
+            store.ensureLoaded(userId, () -> rows).close();
+        }
+        if (store.residentUsers() != users) {
+            throw new IllegalStateException("Only " + store.residentUsers() + " of " + users + " users are resident");
+        }
+        random = new Random(11);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fullGc() {
+        System.gc();
+    }
+
+    @Benchmark
+    public Object reportUnderChurn() {
+        long userId = 1 + random.nextInt(users);
+        LocalDate month = FIRST_DAY.plusMonths(random.nextInt(rowsPerUser / 31));
+        // Roughly what a request allocates besides the report itself
+        byte[][] garbage = new byte[16][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[1024];
+        }
+        try (TransactionColumnStore.UserColumns columns = store.ensureLoaded(userId, List::of)) {
+            return new Object[]{columns.totals(month, month.plusMonths(1).minusDays(1)), garbage};
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ColumnStoreGcBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,127 @@
+package com.financemanager.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.financemanager.logging.SampledDebugTurboFilter;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-path logging throughput under the old and new logging setups, four threads logging at once.
+ *
+ * <p>Each operation stands in for one request: twelve DEBUG statements, which is roughly what the
+ * security and web loggers wrote per request at DEBUG, and one INFO statement. Modes:</p>
+ * <ul>
+ *   <li>{@code sync-debug}: the old setup, DEBUG enabled and written synchronously to a file.</li>
+ *   <li>{@code async-debug}: DEBUG enabled, written through the bounded async appender. Events
+ *       are dropped when the queue fills, so this shows what request threads see, not how much
+ *       reaches the file.</li>
+ *   <li>{@code async-info}: the new default. INFO level with the sampling turbo filter installed
+ *       and the request not sampled.</li>
+ *   <li>{@code async-info-json}: as {@code async-info} with the prod profile's JSON encoder.</li>
+ * </ul>
+ *
+ * <p>Run like {@link MetricsOverheadBenchmark}, with
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) com.financemanager.benchmark.LoggingThroughputBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingThroughputBenchmark {
+
+    @Param({"sync-debug", "async-debug", "async-info", "async-info-json"})
+    private String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        if (mode.endsWith("json")) {
+            LogstashEncoder encoder = new LogstashEncoder();
+            encoder.setContext(context);
+            encoder.start();
+            fileAppender.setEncoder(encoder);
+        } else {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+            encoder.start();
+            fileAppender.setEncoder(encoder);
+        }
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (mode.startsWith("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(fileAppender);
+            async.start();
+            appender = async;
+        }
+
+        SampledDebugTurboFilter turboFilter = new SampledDebugTurboFilter();
+        turboFilter.addLoggerPrefix("com.financemanager");
+        turboFilter.setContext(context);
+        turboFilter.start();
+        context.addTurboFilter(turboFilter);
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(mode.endsWith("debug") ? ch.qos.logback.classic.Level.DEBUG : ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        logger = context.getLogger("com.financemanager.service.TransactionService");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void request() {
+        long userId = Thread.currentThread().getId();
+        for (int i = 0; i < 12; i++) {
+            logger.debug("Filter step {} of 12 for user {} on {}", i, userId, "/api/transactions");
+        }
+        logger.info("Created transaction for user {}", userId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoggingThroughputBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
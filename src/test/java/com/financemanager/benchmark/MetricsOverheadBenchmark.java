@@ -0,0 +1,77 @@
+package com.financemanager.benchmark;
+
+import com.financemanager.util.KeywordMatcher;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of recording a Micrometer timer around a small unit of work, with and without
+ * the percentile histogram that application.yml enables for HTTP requests and repository calls.
+ *
+ * <p>JMH forks need the test classpath on the command line, so run with
+ * {@code mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt} and then
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) com.financemanager.benchmark.MetricsOverheadBenchmark}.
+ * The difference between {@code baseline} and the timed variants is the per-call instrumentation
+ * overhead.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private KeywordMatcher<Long> matcher;
+    private Timer plainTimer;
+    private Timer histogramTimer;
+
+    @Setup
+    public void setup() {
+        matcher = new KeywordMatcher<>();
+        String[] keywords = {"uber", "lyft", "netflix", "spotify", "rent", "grocery", "pharmacy", "fuel"};
+        for (int i = 0; i < keywords.length; i++) {
+            matcher.add(keywords[i], (long) i);
+        }
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        plainTimer = Timer.builder("benchmark.plain").register(registry);
+        histogramTimer = Timer.builder("benchmark.histogram")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    @Benchmark
+    public Long baseline() {
+        return matcher.match("Card payment UBER *TRIP 4471");
+    }
+
+    @Benchmark
+    public Long timer() {
+        return plainTimer.record(() -> matcher.match("Card payment UBER *TRIP 4471"));
+    }
+
+    @Benchmark
+    public Long timerWithHistogram() {
+        return histogramTimer.record(() -> matcher.match("Card payment UBER *TRIP 4471"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MetricsOverheadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.financemanager.benchmark;
+
+import com.financemanager.util.CategoryTotals;
+import com.financemanager.util.MoneyTotal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares BigDecimal-per-add aggregation with minor-unit aggregation as used in ReportService.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.financemanager.benchmark.MoneyAggregationBenchmark}; the GC profiler
+ * reports {@code gc.alloc.rate.norm} (bytes allocated per operation).</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyAggregationBenchmark {
+
+    private static final String[] CATEGORIES = {"Salary", "Food", "Rent", "Transportation", "Entertainment", "Healthcare", "Utilities"};
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private BigDecimal[] amounts;
+    private String[] categories;
+    private boolean[] income;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        amounts = new BigDecimal[rows];
+        categories = new String[rows];
+        income = new boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            int category = random.nextInt(CATEGORIES.length);
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(500_000), 2);
+            categories[i] = CATEGORIES[category];
+            income[i] = category == 0;
+        }
+    }
+
+    @Benchmark
+    public Object bigDecimalMerge() {
+        Map<String, BigDecimal> totalIncome = new LinkedHashMap<>();
+        Map<String, BigDecimal> totalExpenses = new LinkedHashMap<>();
+        BigDecimal netSavings = BigDecimal.ZERO;
+        for (int i = 0; i < rows; i++) {
+            if (income[i]) {
+                totalIncome.merge(categories[i], amounts[i], BigDecimal::add);
+                netSavings = netSavings.add(amounts[i]);
+            } else {
+                totalExpenses.merge(categories[i], amounts[i], BigDecimal::add);
+                netSavings = netSavings.subtract(amounts[i]);
+            }
+        }
+        return new Object[]{totalIncome, totalExpenses, netSavings};
+    }
+
+    @Benchmark
+    public Object minorUnitTotals() {
+        CategoryTotals totalIncome = new CategoryTotals();
+        CategoryTotals totalExpenses = new CategoryTotals();
+        MoneyTotal netSavings = new MoneyTotal();
+        for (int i = 0; i < rows; i++) {
+            if (income[i]) {
+                totalIncome.add(categories[i], amounts[i]);
+                netSavings.add(amounts[i]);
+            } else {
+                totalExpenses.add(categories[i], amounts[i]);
+                netSavings.subtract(amounts[i]);
+            }
+        }
+        return new Object[]{totalIncome.toMap(), totalExpenses.toMap(), netSavings.toBigDecimal()};
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MoneyAggregationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
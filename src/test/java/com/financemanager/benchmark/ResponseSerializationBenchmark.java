@@ -0,0 +1,113 @@
+package com.financemanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.financemanager.dto.TransactionResponse;
+import com.financemanager.dto.TransactionsResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a {@link TransactionsResponse} as JSON, CBOR and Smile, with mappers
+ * configured like the HTTP message converters (see BinaryContentConfig).
+ *
+ * <p>{@code main} prints the encoded size of each format before running. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.financemanager.benchmark.ResponseSerializationBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private static final String[] CATEGORIES = {"Salary", "Food", "Rent", "Transportation", "Entertainment", "Healthcare", "Utilities"};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ObjectMapper mapper;
+    private TransactionsResponse response;
+    private byte[] encoded;
+
+    static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException(format);
+        };
+        // Boot's defaults that matter for these DTOs
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static TransactionsResponse response(int rows) {
+        Random random = new Random(7);
+        List<TransactionResponse> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int category = random.nextInt(CATEGORIES.length);
+            transactions.add(TransactionResponse.builder()
+                    .id(1_000_000L + i)
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(500_000), 2))
+                    .date(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366)))
+                    .category(CATEGORIES[category])
+                    .description(random.nextInt(4) == 0 ? null : "Card payment " + random.nextInt(10_000))
+                    .type(category == 0 ? "INCOME" : "EXPENSE")
+                    .build());
+        }
+        return TransactionsResponse.builder().transactions(transactions).build();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = mapper(format);
+        response = response(rows);
+        encoded = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TransactionsResponse decode() throws IOException {
+        return mapper.readValue(encoded, TransactionsResponse.class);
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        TransactionsResponse response = response(10_000);
+        for (String format : new String[]{"json", "cbor", "smile"}) {
+            System.out.printf("%-5s %,d bytes%n", format, mapper(format).writeValueAsBytes(response).length);
+        }
+        Options options = new OptionsBuilder()
+                .include(ResponseSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
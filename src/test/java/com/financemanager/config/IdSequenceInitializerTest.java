@@ -0,0 +1,45 @@
+package com.financemanager.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdSequenceInitializerTest {
+
+    @Autowired private JdbcTemplate jdbc;
+
+    @AfterEach
+    void dropLegacyTable() {
+        jdbc.execute("DROP TABLE IF EXISTS legacy_rows");
+        jdbc.execute("DROP SEQUENCE IF EXISTS LEGACY_ROWS_SEQ");
+    }
+
+    @Test
+    void advancePastMaxId_movesFreshSequencePastIdentityIds() {
+        // A table filled under IDENTITY, then given a sequence starting at 1 by ddl-auto: update
+        jdbc.execute("CREATE TABLE legacy_rows (id BIGINT PRIMARY KEY)");
+        jdbc.update("INSERT INTO legacy_rows (id) VALUES (1), (2), (120)");
+        jdbc.execute("CREATE SEQUENCE LEGACY_ROWS_SEQ START WITH 1 INCREMENT BY 50");
+
+        assertTrue(IdSequenceInitializer.advancePastMaxId(jdbc, "legacy_rows", "LEGACY_ROWS_SEQ"));
+
+        // The pooled optimizer hands out the block ending at the next value
+        long next = jdbc.queryForObject("SELECT NEXT VALUE FOR LEGACY_ROWS_SEQ", Long.class);
+        assertTrue(next - 50 + 1 > 120, "first pooled ID " + (next - 49) + " should be past 120");
+        assertFalse(IdSequenceInitializer.advancePastMaxId(jdbc, "legacy_rows", "LEGACY_ROWS_SEQ"));
+    }
+
+    @Test
+    void advancePastMaxId_leavesEmptyTableAlone() {
+        jdbc.execute("CREATE TABLE legacy_rows (id BIGINT PRIMARY KEY)");
+        jdbc.execute("CREATE SEQUENCE LEGACY_ROWS_SEQ START WITH 1 INCREMENT BY 50");
+
+        assertFalse(IdSequenceInitializer.advancePastMaxId(jdbc, "legacy_rows", "LEGACY_ROWS_SEQ"));
+        assertEquals(1L, jdbc.queryForObject("SELECT NEXT VALUE FOR LEGACY_ROWS_SEQ", Long.class));
+    }
+}
@@ -0,0 +1,30 @@
+package com.financemanager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database: a second context on the shared one would recreate its schema under the other tests
+@SpringBootTest(properties = {
+        "spring.main.lazy-initialization=true",
+        "spring.datasource.url=jdbc:h2:mem:lazydb"
+})
+class LazyInitializationConfigTest {
+
+    @Autowired private ConfigurableApplicationContext context;
+
+    @Test
+    void lazyInitialization_keepsBackgroundBeansEager() {
+        var beanFactory = context.getBeanFactory();
+
+        for (String name : new String[] {"budgetService", "recurringRuleScheduler", "reportJobDispatcher",
+                "transactionIngestionService", "anomalyDetector", "timeSeriesStore",
+                "idSequenceInitializer"}) {
+            assertTrue(beanFactory.containsSingleton(name), name + " should be created at startup");
+        }
+        assertFalse(beanFactory.containsSingleton("forecastService"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.financemanager.config;
+
+import com.financemanager.dto.TransactionResponse;
+import com.financemanager.entity.SavingsGoal;
+import com.financemanager.entity.Transaction;
+import com.financemanager.logging.SampledDebugTurboFilter;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeConfigTest() {
+        new NativeConfig.FinanceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersEntitiesDtosAndTheirBuilders() {
+        for (Class<?> type : new Class<?>[] {Transaction.class, SavingsGoal.SavingsGoalBuilder.class,
+                TransactionResponse.class, TransactionResponse.TransactionResponseBuilder.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+        }
+    }
+
+    @Test
+    void registersLogbackClassesJdbcProxiesAndResources() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SampledDebugTurboFilter.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("jfr/finance.jfc").test(hints));
+    }
+}
@@ -0,0 +1,81 @@
+package com.financemanager.controller;
+
+import com.financemanager.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the actuator health and Prometheus endpoints.
+ */
+// Own database: a second context on the shared one would recreate its schema under the other tests.
+// The management port matches the server port so MockMvc can reach the endpoints; requests choose
+// which port they arrive on with localPort.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricsdb",
+        "management.server.port=" + ActuatorEndpointsTest.MANAGEMENT_PORT
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ActuatorEndpointsTest {
+
+    static final int MANAGEMENT_PORT = 8080;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void health_isPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void prometheus_exposesRequestRepositoryPoolAndCacheMeters() throws Exception {
+        transactionRepository.findByUserAndDateRange(null, LocalDate.now(), LocalDate.now());
+        mockMvc.perform(get("/api/transactions")).andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus").with(onPort(MANAGEMENT_PORT)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString(
+                        "spring_data_repository_invocations_seconds_bucket{application=\"finance-manager\",exception=\"None\",method=\"findByUserAndDateRange\",repository=\"TransactionRepository\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("finance_cache_size{application=\"finance-manager\",cache=\"budget-counters\"")));
+    }
+
+    @Test
+    void prometheus_requiresAuthenticationOffTheManagementPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(onPort(443)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void otherActuatorEndpoints_requireAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/env").with(onPort(MANAGEMENT_PORT)))
+                .andExpect(status().isForbidden());
+    }
+
+    private static RequestPostProcessor onPort(int port) {
+        return request -> {
+            request.setLocalPort(port);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.financemanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financemanager.dto.BudgetResponse;
+import com.financemanager.dto.BudgetStatusResponse;
+import com.financemanager.dto.BudgetStatusesResponse;
+import com.financemanager.dto.CreateBudgetRequest;
+import com.financemanager.entity.User;
+import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.BudgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BudgetController.class)
+@Import(ServiceMocks.class)
+@AutoConfigureMockMvc(addFilters = false)
+class BudgetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        user = User.builder()
+                .id(1L)
+                .username("test@example.com")
+                .password("password")
+                .fullName("Test User")
+                .phoneNumber("+10000000000")
+                .build();
+        given(authenticationService.getCurrentUser()).willReturn(user);
+    }
+
+    @Test
+    void saveBudget_returnsOk() throws Exception {
+        CreateBudgetRequest req = CreateBudgetRequest.builder().category("Food").amount(new BigDecimal("300.00")).build();
+        given(budgetService.saveBudget(any(CreateBudgetRequest.class), eq(user)))
+                .willReturn(BudgetResponse.builder().id(3L).category("Food").amount(new BigDecimal("300.00")).build());
+
+        mockMvc.perform(post("/api/budgets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.category").value("Food"));
+    }
+
+    @Test
+    void getStatuses_forMonth_returnsList() throws Exception {
+        given(budgetService.getStatuses(user, YearMonth.of(2024, 2))).willReturn(BudgetStatusesResponse.builder()
+                .month("2024-02")
+                .statuses(List.of(BudgetStatusResponse.builder().category("Food").overBudget(false).build()))
+                .build());
+
+        mockMvc.perform(get("/api/budgets/status").param("month", "2024-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.month").value("2024-02"))
+                .andExpect(jsonPath("$.statuses[0].category").value("Food"));
+    }
+
+    @Test
+    void getStatuses_invalidMonth_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/budgets/status").param("month", "2024-13"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteBudget_returnsOk() throws Exception {
+        mockMvc.perform(delete("/api/budgets/4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Budget deleted successfully"));
+    }
+}
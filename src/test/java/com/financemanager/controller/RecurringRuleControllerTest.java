@@ -0,0 +1,115 @@
+package com.financemanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financemanager.dto.CreateRecurringRuleRequest;
+import com.financemanager.dto.RecurringRuleResponse;
+import com.financemanager.dto.RecurringRulesResponse;
+import com.financemanager.entity.User;
+import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.RecurringRuleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RecurringRuleController.class)
+@Import(ServiceMocks.class)
+@AutoConfigureMockMvc(addFilters = false)
+class RecurringRuleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecurringRuleService recurringRuleService;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        user = User.builder()
+                .id(1L)
+                .username("test@example.com")
+                .password("password")
+                .fullName("Test User")
+                .phoneNumber("+10000000000")
+                .build();
+        given(authenticationService.getCurrentUser()).willReturn(user);
+    }
+
+    @Test
+    void createRule_returnsCreated() throws Exception {
+        CreateRecurringRuleRequest req = CreateRecurringRuleRequest.builder()
+                .amount(new BigDecimal("1200.00"))
+                .category("Rent")
+                .frequency("MONTHLY")
+                .startDate("2024-01-01")
+                .build();
+        RecurringRuleResponse resp = RecurringRuleResponse.builder()
+                .id(5L).amount(new BigDecimal("1200.00")).category("Rent").frequency("MONTHLY")
+                .nextRunDate(LocalDate.of(2024, 1, 1)).active(true).build();
+        given(recurringRuleService.createRule(any(CreateRecurringRuleRequest.class), eq(user))).willReturn(resp);
+
+        mockMvc.perform(post("/api/recurring-rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.frequency").value("MONTHLY"));
+    }
+
+    @Test
+    void createRule_invalidFrequency_returnsBadRequest() throws Exception {
+        CreateRecurringRuleRequest req = CreateRecurringRuleRequest.builder()
+                .amount(new BigDecimal("10.00"))
+                .category("Rent")
+                .frequency("HOURLY")
+                .startDate("2024-01-01")
+                .build();
+
+        mockMvc.perform(post("/api/recurring-rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getRules_returnsList() throws Exception {
+        given(recurringRuleService.getRules(user)).willReturn(RecurringRulesResponse.builder()
+                .rules(List.of(RecurringRuleResponse.builder().id(1L).build(), RecurringRuleResponse.builder().id(2L).build()))
+                .build());
+
+        mockMvc.perform(get("/api/recurring-rules"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rules.length()").value(2));
+    }
+
+    @Test
+    void deleteRule_returnsOk() throws Exception {
+        mockMvc.perform(delete("/api/recurring-rules/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Recurring rule deleted successfully"));
+        verify(recurringRuleService).deleteRule(3L, user);
+    }
+}
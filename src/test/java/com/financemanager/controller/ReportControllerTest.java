@@ -1,19 +1,26 @@
 package com.financemanager.controller;
 
+import com.financemanager.dto.ForecastMonthResponse;
+import com.financemanager.dto.ForecastResponse;
 import com.financemanager.dto.MonthlyReportResponse;
+import com.financemanager.dto.RangeReportResponse;
 import com.financemanager.dto.YearlyReportResponse;
 import com.financemanager.entity.User;
 import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.ForecastService;
 import com.financemanager.service.ReportService;
+import com.financemanager.service.TrendService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.BDDMockito.given;
@@ -22,18 +29,25 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ReportController.class)
+@Import(ServiceMocks.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ReportControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
+    @Autowired
     private ReportService reportService;
 
-    @MockBean
+    @Autowired
     private AuthenticationService authenticationService;
 
+    @Autowired
+    private TrendService trendService;
+
+    @Autowired
+    private ForecastService forecastService;
+
     private User user;
 
     @BeforeEach
@@ -85,4 +99,64 @@ class ReportControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.year").value(2024));
     }
+
+    @Test
+    void getRangeReport_returnsOk() throws Exception {
+        MonthlyReportResponse jan = MonthlyReportResponse.builder().year(2024).month(1)
+                .totalIncome(Map.of()).totalExpenses(Map.of()).netSavings(BigDecimal.ZERO).build();
+        MonthlyReportResponse feb = MonthlyReportResponse.builder().year(2024).month(2)
+                .totalIncome(Map.of()).totalExpenses(Map.of()).netSavings(BigDecimal.ZERO).build();
+        RangeReportResponse resp = RangeReportResponse.builder()
+                .from("2024-01").to("2024-02")
+                .months(List.of(jan, feb))
+                .totalIncome(Map.of()).totalExpenses(Map.of()).netSavings(BigDecimal.ZERO)
+                .build();
+        given(reportService.getRangeReport(YearMonth.of(2024, 1), YearMonth.of(2024, 2), user)).willReturn(resp);
+
+        mockMvc.perform(get("/api/reports/range").param("from", "2024-01").param("to", "2024-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.months.length()").value(2))
+                .andExpect(jsonPath("$.months[1].month").value(2));
+    }
+
+    @Test
+    void getRangeReport_badFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reports/range").param("from", "2024-1").param("to", "2024-02"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSeries_invalidGranularity_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reports/series")
+                        .param("granularity", "hourly")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getForecast_returnsOk() throws Exception {
+        ForecastMonthResponse month = ForecastMonthResponse.builder().month("2024-07")
+                .income(Map.of("Salary", new BigDecimal("3000.00")))
+                .expenses(Map.of("Food", new BigDecimal("400.00")))
+                .totalIncome(new BigDecimal("3000.00")).totalExpenses(new BigDecimal("400.00"))
+                .netSavings(new BigDecimal("2600.00")).cumulativeNetSavings(new BigDecimal("2600.00"))
+                .build();
+        ForecastResponse resp = ForecastResponse.builder()
+                .months(1).historyFrom("2022-06").historyTo("2024-05")
+                .projections(List.of(month)).goals(List.of())
+                .build();
+        given(forecastService.getForecast(1, user)).willReturn(resp);
+
+        mockMvc.perform(get("/api/reports/forecast").param("months", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projections.length()").value(1))
+                .andExpect(jsonPath("$.projections[0].netSavings").value(2600.00));
+    }
+
+    @Test
+    void getForecast_tooManyMonths_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reports/forecast").param("months", "25"))
+                .andExpect(status().isBadRequest());
+    }
 }
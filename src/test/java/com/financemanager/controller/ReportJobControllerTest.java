@@ -0,0 +1,81 @@
+package com.financemanager.controller;
+
+import com.financemanager.dto.ReportJobResponse;
+import com.financemanager.entity.ReportJobResult;
+import com.financemanager.entity.User;
+import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.ReportJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportJobController.class)
+@Import(ServiceMocks.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ReportJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        user = User.builder().id(1L).username("test@example.com").password("p").fullName("t").phoneNumber("+1").build();
+        given(authenticationService.getCurrentUser()).willReturn(user);
+    }
+
+    @Test
+    void createJob_returnsAccepted() throws Exception {
+        given(reportJobService.createJob(any(), eq(user)))
+                .willReturn(ReportJobResponse.builder().id(7L).type("TRANSACTIONS_CSV").status("QUEUED").progress(0).build());
+
+        mockMvc.perform(post("/api/reports/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"TRANSACTIONS_CSV\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/reports/jobs/7"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void createJob_invalidType_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/reports/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"PDF\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getResult_returnsAttachment() throws Exception {
+        given(reportJobService.getResult(7L, user)).willReturn(ReportJobResult.builder()
+                .jobId(7L).contentType("text/csv").fileName("transactions.csv")
+                .content("id\n".getBytes(StandardCharsets.UTF_8)).build());
+
+        mockMvc.perform(get("/api/reports/jobs/7/result"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id\n"));
+    }
+}
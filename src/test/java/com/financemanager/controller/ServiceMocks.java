@@ -0,0 +1,92 @@
+package com.financemanager.controller;
+
+import com.financemanager.service.AnomalyService;
+import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.BudgetService;
+import com.financemanager.service.CategoryService;
+import com.financemanager.service.ForecastService;
+import com.financemanager.service.RecurringRuleService;
+import com.financemanager.service.ReportJobService;
+import com.financemanager.service.ReportService;
+import com.financemanager.service.SavingsGoalService;
+import com.financemanager.service.TransactionIngestionService;
+import com.financemanager.service.TransactionService;
+import com.financemanager.service.TrendService;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockReset;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Mocked services for the {@code @WebMvcTest} controller slices.
+ *
+ * <p>Stands in for {@code @MockBean}, which Spring AOT cannot process. The mocks are plain beans
+ * and are reset after each test like {@code @MockBean} ones.</p>
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class ServiceMocks {
+
+    static <T> T mock(Class<T> type) {
+        return Mockito.mock(type, MockReset.withSettings(MockReset.AFTER));
+    }
+
+    @Bean
+    AuthenticationService authenticationService() {
+        return mock(AuthenticationService.class);
+    }
+
+    @Bean
+    BudgetService budgetService() {
+        return mock(BudgetService.class);
+    }
+
+    @Bean
+    CategoryService categoryService() {
+        return mock(CategoryService.class);
+    }
+
+    @Bean
+    RecurringRuleService recurringRuleService() {
+        return mock(RecurringRuleService.class);
+    }
+
+    @Bean
+    ReportService reportService() {
+        return mock(ReportService.class);
+    }
+
+    @Bean
+    TrendService trendService() {
+        return mock(TrendService.class);
+    }
+
+    @Bean
+    ForecastService forecastService() {
+        return mock(ForecastService.class);
+    }
+
+    @Bean
+    ReportJobService reportJobService() {
+        return mock(ReportJobService.class);
+    }
+
+    @Bean
+    SavingsGoalService savingsGoalService() {
+        return mock(SavingsGoalService.class);
+    }
+
+    @Bean
+    TransactionService transactionService() {
+        return mock(TransactionService.class);
+    }
+
+    @Bean
+    TransactionIngestionService transactionIngestionService() {
+        return mock(TransactionIngestionService.class);
+    }
+
+    @Bean
+    AnomalyService anomalyService() {
+        return mock(AnomalyService.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.financemanager.controller;
+
+import com.financemanager.dto.CreateGoalRequest;
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.entity.User;
+import com.financemanager.repository.UserRepository;
+import com.financemanager.service.SavingsGoalService;
+import com.financemanager.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.financemanager.filter.StatementBudget.atMost;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets for read endpoints. Each budget includes the lookup of the current user
+ * and must hold however many rows the user has.
+ */
+// Own database: a second context on the shared one would recreate its schema under the other tests
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statementdb")
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private SavingsGoalService savingsGoalService;
+    @Autowired private TransactionService transactionService;
+
+    private User newUser(String name) {
+        return userRepository.save(User.builder()
+                .username(name + "@example.com").password("p").fullName("Budget").phoneNumber("+1234567890").build());
+    }
+
+    private void addGoals(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            savingsGoalService.createGoal(CreateGoalRequest.builder()
+                    .goalName("Goal " + i)
+                    .targetAmount(new BigDecimal("1000.00"))
+                    .targetDate(LocalDate.now().plusMonths(i + 1).toString())
+                    .build(), user);
+        }
+    }
+
+    private void addTransactions(User user, int count) {
+        String[] categories = {"Salary", "Food", "Rent", "Transportation", "Entertainment"};
+        for (int i = 0; i < count; i++) {
+            transactionService.createTransaction(CreateTransactionRequest.builder()
+                    .amount(new BigDecimal("10.00"))
+                    .date(LocalDate.now().minusDays(i % 20).toString())
+                    .category(categories[i % categories.length])
+                    .build(), user);
+        }
+    }
+
+    @Test
+    void getGoals_isTwoStatementsRegardlessOfGoalCount() throws Exception {
+        User few = newUser("stmt-goals-1");
+        addGoals(few, 1);
+        addTransactions(few, 5);
+        User many = newUser("stmt-goals-10");
+        addGoals(many, 10);
+        addTransactions(many, 5);
+
+        mockMvc.perform(get("/api/goals").with(user(few.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goals.length()").value(1))
+                .andExpect(atMost(2));
+        mockMvc.perform(get("/api/goals").with(user(many.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goals.length()").value(10))
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void getTransactions_isBoundedRegardlessOfTransactionCount() throws Exception {
+        User user = newUser("stmt-transactions");
+        addTransactions(user, 40);
+
+        mockMvc.perform(get("/api/transactions").with(user(user.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions.length()").value(40))
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void getCategories_isBounded() throws Exception {
+        User user = newUser("stmt-categories");
+
+        mockMvc.perform(get("/api/categories").with(user(user.getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+}
@@ -1,19 +1,30 @@
 package com.financemanager.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.financemanager.config.BinaryContentConfig;
+import com.financemanager.dto.AnomaliesResponse;
+import com.financemanager.dto.AnomalyResponse;
+import com.financemanager.dto.BudgetStatusResponse;
 import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.dto.QueuedTransactionResponse;
 import com.financemanager.dto.TransactionResponse;
 import com.financemanager.dto.TransactionsResponse;
 import com.financemanager.dto.UpdateTransactionRequest;
 import com.financemanager.entity.User;
+import com.financemanager.service.AnomalyService;
 import com.financemanager.service.AuthenticationService;
+import com.financemanager.service.BudgetService;
+import com.financemanager.service.TransactionIngestionService;
 import com.financemanager.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -21,12 +32,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransactionController.class)
+@Import({ServiceMocks.class, BinaryContentConfig.class})
 @AutoConfigureMockMvc(addFilters = false)
 class TransactionControllerTest {
 
@@ -36,12 +49,21 @@ class TransactionControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @MockBean
+    @Autowired
     private TransactionService transactionService;
 
-    @MockBean
+    @Autowired
     private AuthenticationService authenticationService;
 
+    @Autowired
+    private TransactionIngestionService ingestionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private AnomalyService anomalyService;
+
     private User user;
 
     @BeforeEach
@@ -81,7 +103,83 @@ class TransactionControllerTest {
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(100L))
-                .andExpect(jsonPath("$.category").value("Food"));
+                .andExpect(jsonPath("$.category").value("Food"))
+                .andExpect(jsonPath("$.budgetStatus").doesNotExist());
+    }
+
+    @Test
+    void createTransaction_withBudget_includesBudgetStatus() throws Exception {
+        CreateTransactionRequest req = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("60.00"))
+                .date(LocalDate.now().toString())
+                .category("Food")
+                .build();
+        TransactionResponse resp = TransactionResponse.builder()
+                .id(101L).amount(new BigDecimal("60.00")).date(LocalDate.now()).category("Food").type("EXPENSE").build();
+        given(transactionService.createTransaction(any(CreateTransactionRequest.class), eq(user))).willReturn(resp);
+        given(budgetService.getStatus(user, "Food", LocalDate.now())).willReturn(BudgetStatusResponse.builder()
+                .category("Food").limit(new BigDecimal("50.00")).spent(new BigDecimal("60.00")).overBudget(true).build());
+
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.budgetStatus.overBudget").value(true))
+                .andExpect(jsonPath("$.budgetStatus.spent").value(60.00));
+    }
+
+    @Test
+    void createTransaction_unusualAmount_includesAnomaly() throws Exception {
+        CreateTransactionRequest req = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("900.00"))
+                .date(LocalDate.now().toString())
+                .category("Food")
+                .build();
+        TransactionResponse resp = TransactionResponse.builder()
+                .id(102L).amount(new BigDecimal("900.00")).date(LocalDate.now()).category("Food").type("EXPENSE").build();
+        given(transactionService.createTransaction(any(CreateTransactionRequest.class), eq(user))).willReturn(resp);
+        given(anomalyService.getAnomaly(user, 102L)).willReturn(AnomalyResponse.builder()
+                .transactionId(102L).category("Food").typicalAmount(new BigDecimal("40.00")).score(12.5).build());
+
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.anomaly.typicalAmount").value(40.00))
+                .andExpect(jsonPath("$.anomaly.score").value(12.5));
+    }
+
+    @Test
+    void createTransaction_preferRespondAsync_returnsAccepted() throws Exception {
+        CreateTransactionRequest req = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("12.00"))
+                .date(LocalDate.now().toString())
+                .category("Food")
+                .clientId("bank-sync-1")
+                .build();
+        given(ingestionService.isEnabled()).willReturn(true);
+        given(ingestionService.enqueue(any(CreateTransactionRequest.class), eq(user)))
+                .willReturn(QueuedTransactionResponse.builder().clientId("bank-sync-1").status("QUEUED").build());
+
+        mockMvc.perform(post("/api/transactions")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.clientId").value("bank-sync-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void getQueuedTransaction_reportsFailure() throws Exception {
+        given(ingestionService.status(user, "bank-sync-2")).willReturn(QueuedTransactionResponse.builder()
+                .clientId("bank-sync-2").status("FAILED").error("Could not be written").build());
+
+        mockMvc.perform(get("/api/transactions/queued/bank-sync-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.error").value("Could not be written"));
     }
 
     @Test
@@ -115,6 +213,61 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactions.length()").value(2));
     }
 
+    @Test
+    void getTransactions_negotiatesBinaryEncodings_andDefaultsToJson() throws Exception {
+        TransactionResponse t1 = TransactionResponse.builder().id(1L).amount(new BigDecimal("12.50"))
+                .date(LocalDate.of(2024, 1, 5)).category("Food").type("EXPENSE").build();
+        given(transactionService.getTransactions(eq(user), any(), any(), any(), any(), any()))
+                .willReturn(TransactionsResponse.builder().transactions(List.of(t1)).build());
+
+        mockMvc.perform(get("/api/transactions").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        byte[] cbor = mockMvc.perform(get("/api/transactions").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/transactions").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Dates are written as in JSON, and amounts keep their scale
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+        JsonNode tree = cborMapper.readTree(cbor);
+        assertEquals("2024-01-05", tree.at("/transactions/0/date").asText());
+        assertEquals(t1, cborMapper.readValue(cbor, TransactionsResponse.class).getTransactions().get(0));
+        assertEquals(t1, smileMapper.readValue(smile, TransactionsResponse.class).getTransactions().get(0));
+    }
+
+    @Test
+    void createTransaction_acceptsCborRequestBody() throws Exception {
+        CreateTransactionRequest req = CreateTransactionRequest.builder()
+                .amount(new BigDecimal("9.99")).date("2024-02-01").category("Food").build();
+        given(transactionService.createTransaction(any(CreateTransactionRequest.class), eq(user)))
+                .willReturn(TransactionResponse.builder().id(5L).amount(new BigDecimal("9.99")).build());
+
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(new ObjectMapper(new CBORFactory()).writeValueAsBytes(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5L));
+    }
+
+    @Test
+    void getAnomalies_returnsList() throws Exception {
+        given(anomalyService.getAnomalies(user)).willReturn(AnomaliesResponse.builder()
+                .anomalies(List.of(AnomalyResponse.builder().transactionId(7L).category("Travel").build()))
+                .build());
+
+        mockMvc.perform(get("/api/transactions/anomalies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.anomalies[0].transactionId").value(7))
+                .andExpect(jsonPath("$.anomalies[0].category").value("Travel"));
+    }
+
     @Test
     void updateTransaction_returnsOk() throws Exception {
         UpdateTransactionRequest req = UpdateTransactionRequest.builder()
@@ -0,0 +1,101 @@
+package com.financemanager.datasource;
+
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.entity.User;
+import com.financemanager.repository.UserRepository;
+import com.financemanager.service.ReportService;
+import com.financemanager.service.SnapshotService;
+import com.financemanager.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between two local H2 databases. Scheduling is off in tests, so the replica only changes
+ * when a test calls {@link H2SnapshotReplicator#replicate()}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingprimary",
+        "finance.datasource.replica.enabled=true",
+        "finance.datasource.replica.url=jdbc:h2:mem:routingreplica",
+        "finance.datasource.replica.read-your-writes=1m",
+        "finance.datasource.replica.local-replication-interval=1h",
+        // Reports probe the routing, so they must run their queries rather than read cached columns
+        "finance.reports.column-store.max-bytes=0"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired private H2SnapshotReplicator replicator;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TransactionService transactionService;
+    @Autowired private ReportService reportService;
+    @Autowired private SnapshotService snapshotService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private User newUser(String name) {
+        User user = userRepository.save(User.builder()
+                .username(name + "@example.com").password("p").fullName("Routing").phoneNumber("+1234567890").build());
+        replicator.replicate();
+        return user;
+    }
+
+    private void spend(User user, String amount) {
+        transactionService.createTransaction(CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount))
+                .date(LocalDate.now().toString())
+                .category("Food")
+                .build(), user);
+    }
+
+    private BigDecimal netSavings(User user) {
+        LocalDate today = LocalDate.now();
+        return reportService.getMonthlyReport(today.getYear(), today.getMonthValue(), user).getNetSavings();
+    }
+
+    @Test
+    void readOnlyTransactions_readTheReplica() {
+        User user = newUser("routing-replica");
+
+        spend(user, "25.00");
+        assertEquals(0, netSavings(user).signum(), "replica has not caught up yet");
+
+        replicator.replicate();
+        assertEquals(0, new BigDecimal("-25.00").compareTo(netSavings(user)));
+    }
+
+    @Test
+    void readYourWrites_keepsTheWritersReadsOnThePrimary() {
+        User user = newUser("routing-writer");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+
+        spend(user, "40.00");
+
+        assertEquals(0, new BigDecimal("-40.00").compareTo(netSavings(user)));
+    }
+
+    @Test
+    void snapshot_readsThePrimary(@TempDir Path dir) {
+        User user = newUser("routing-snapshot");
+        long before = snapshotService.snapshot(dir.resolve("before.snap")).transactions();
+
+        spend(user, "10.00");
+
+        assertEquals(before + 1, snapshotService.snapshot(dir.resolve("after.snap")).transactions());
+    }
+}
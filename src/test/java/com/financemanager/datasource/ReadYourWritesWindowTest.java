@@ -0,0 +1,53 @@
+package com.financemanager.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesWindowTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void isOpen_untilTheWindowHasPassedSinceTheLastWrite() {
+        ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ofSeconds(5), 100, now::get);
+
+        assertFalse(window.isOpen("alice"));
+        window.recordWrite("alice");
+        assertTrue(window.isOpen("alice"));
+        assertFalse(window.isOpen("bob"));
+        assertFalse(window.isOpen(null));
+
+        now.addAndGet(4_999);
+        assertTrue(window.isOpen("alice"));
+        now.addAndGet(1);
+        assertFalse(window.isOpen("alice"));
+        assertEquals(0, window.size());
+    }
+
+    @Test
+    void recordWrite_sweepsExpiredUsersOnceOverTheLimit() {
+        ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ofSeconds(1), 2, now::get);
+        window.recordWrite("a");
+        window.recordWrite("b");
+        now.addAndGet(1_000);
+
+        window.recordWrite("c");
+
+        assertEquals(1, window.size());
+        assertTrue(window.isOpen("c"));
+    }
+
+    @Test
+    void zeroWindow_neverKeepsReadsOnThePrimary() {
+        ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ZERO, 100, now::get);
+        window.recordWrite("alice");
+
+        assertFalse(window.isOpen("alice"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadYourWritesWindow(Duration.ofSeconds(-1), 100, now::get));
+    }
+}
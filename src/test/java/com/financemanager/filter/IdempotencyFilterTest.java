@@ -0,0 +1,147 @@
+package com.financemanager.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(new ObjectMapper().findAndRegisterModules(),
+            Duration.ofHours(1), 4, 1000, 64);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private MockHttpServletRequest request(String user, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions");
+        request.setUserPrincipal(() -> user);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            String body = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(201);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"id\":" + calls.incrementAndGet() + ",\"echo\":" + body + "}");
+        });
+        return response;
+    }
+
+    @Test
+    void repeatWithSameKey_replaysFirstResponse() throws Exception {
+        MockHttpServletResponse first = perform(request("alice", "k1", "{\"a\":1}"));
+        MockHttpServletResponse second = perform(request("alice", "k1", "{\"a\":1}"));
+
+        assertEquals(1, calls.get());
+        assertEquals(201, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("{\"id\":1,\"echo\":{\"a\":1}}", second.getContentAsString());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void sameKey_differentUsers_areIndependent() throws Exception {
+        perform(request("alice", "k1", "{}"));
+        perform(request("bob", "k1", "{}"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void sameKey_differentBody_isRejected() throws Exception {
+        perform(request("alice", "k1", "{\"a\":1}"));
+        MockHttpServletResponse response = perform(request("alice", "k1", "{\"a\":2}"));
+        assertEquals(422, response.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void withoutKey_everyRequestIsProcessed() throws Exception {
+        perform(request("alice", null, "{}"));
+        perform(request("alice", null, "{}"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void serverError_isNotStored() throws Exception {
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        filter.doFilter(request("alice", "k1", "{}"), failed,
+                (req, res) -> ((HttpServletResponse) res).setStatus(503));
+        assertEquals(503, failed.getStatus());
+
+        MockHttpServletResponse retried = perform(request("alice", "k1", "{}"));
+        assertEquals(201, retried.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void oversizedBody_returnsPayloadTooLarge() throws Exception {
+        String body = "{\"a\":\"" + "x".repeat(64) + "\"}";
+        MockHttpServletResponse response = perform(request("alice", "k1", body));
+        assertEquals(413, response.getStatus());
+
+        // Without a declared length the body is still cut off at the limit
+        MockHttpServletResponse undeclared = new MockHttpServletResponse();
+        filter.doFilter(new HttpServletRequestWrapper(request("alice", "k2", body)) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        }, undeclared, (req, res) -> calls.incrementAndGet());
+        assertEquals(413, undeclared.getStatus());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void cachedBody_supportsReadListener() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        StringBuilder read = new StringBuilder();
+        filter.doFilter(request("alice", "k1", "{\"a\":1}"), response, (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    read.append('|');
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            ((HttpServletResponse) res).setStatus(201);
+        });
+        assertEquals("{\"a\":1}|", read.toString());
+    }
+
+    @Test
+    void overlongKey_returnsBadRequest() throws Exception {
+        MockHttpServletResponse response = perform(request("alice", "x".repeat(256), "{}"));
+        assertEquals(400, response.getStatus());
+        assertEquals(0, calls.get());
+    }
+}
@@ -0,0 +1,25 @@
+package com.financemanager.filter;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers for the number of SQL statements a request issued, as counted by
+ * {@link StatementCountFilter}. Needs a full application context with filters enabled.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static ResultMatcher atMost(long max) {
+        return result -> {
+            Long count = (Long) result.getRequest().getAttribute(StatementCountFilter.COUNT_ATTRIBUTE);
+            assertNotNull(count, "StatementCountFilter did not run");
+            assertTrue(count <= max, () -> result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                    + " issued " + count + " SQL statements, budget is " + max);
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.financemanager.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingSummaryTest {
+
+    @TempDir
+    Path dir;
+
+    private final HttpRequestEventFilter filter = new HttpRequestEventFilter();
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** One request whose handler calls a service that calls another service and runs two statements. */
+    private void request(String user) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/goals");
+        if (user != null) {
+            request.setUserPrincipal(() -> user);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/goals");
+            ServiceMethodEvent outer = new ServiceMethodEvent();
+            outer.begin();
+            ServiceMethodEvent inner = new ServiceMethodEvent();
+            inner.begin();
+            for (int i = 0; i < 2; i++) {
+                JdbcStatementEvent statement = new JdbcStatementEvent();
+                statement.begin();
+                sleep(2);
+                statement.finish("select 1", 1, true);
+            }
+            inner.commit();
+            sleep(2);
+            outer.commit();
+            sleep(2);
+        });
+    }
+
+    private Path record(ThrowingRunnable body) throws Exception {
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of(HttpRequestEvent.NAME, ServiceMethodEvent.NAME,
+                    AggregationEvent.NAME, JdbcStatementEvent.NAME)) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            body.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return file;
+    }
+
+    interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @Test
+    void requestEvent_carriesEndpointStatusAndHashedUser() throws Exception {
+        Path file = record(() -> {
+            request("alice@example.com");
+            request(null);
+        });
+
+        List<RecordedEvent> requests = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(HttpRequestEvent.NAME))
+                .toList();
+        assertEquals(2, requests.size());
+        assertEquals("/api/goals", requests.get(0).getString("endpoint"));
+        assertEquals(200, requests.get(0).getInt("status"));
+        assertEquals(HttpRequestEventFilter.userHash("alice@example.com"), requests.get(0).getString("userHash"));
+        assertEquals(16, requests.get(0).getString("userHash").length());
+        assertEquals("", requests.get(1).getString("userHash"));
+    }
+
+    @Test
+    void summarize_attributesPhasesToTheRequestOnTheSameThread() throws Exception {
+        Path file = record(() -> {
+            request("alice@example.com");
+            request("bob@example.com");
+            // Aggregation on another thread is not part of either request
+            Thread worker = new Thread(() -> {
+                AggregationEvent event = AggregationEvent.start("range", 10);
+                sleep(5);
+                event.finish(1);
+            });
+            worker.start();
+            worker.join();
+        });
+
+        List<RecordingSummary.EndpointSummary> summaries = RecordingSummary.summarize(file);
+
+        assertEquals(1, summaries.size());
+        RecordingSummary.EndpointSummary goals = summaries.get(0);
+        assertEquals("GET /api/goals", goals.endpoint());
+        assertEquals(2, goals.count());
+        assertEquals(2.0, goals.statements());
+        assertEquals(0.0, goals.aggregationMillis());
+        assertTrue(goals.sqlMillis() >= 4.0, "sql " + goals.sqlMillis());
+        // Outer service call only: two statements plus its own sleep, not double-counted with the inner call
+        assertTrue(goals.serviceMillis() >= goals.sqlMillis() + 2.0, "service " + goals.serviceMillis());
+        assertTrue(goals.maxMillis() >= goals.serviceMillis() + 2.0);
+
+        String table = RecordingSummary.format(summaries);
+        assertTrue(table.startsWith("endpoint"));
+        assertTrue(table.contains("GET /api/goals"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.financemanager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.financemanager.filter.DebugLogSamplingFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledDebugTurboFilterTest {
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        SampledDebugTurboFilter filter = new SampledDebugTurboFilter();
+        filter.addLoggerPrefix("com.financemanager");
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SampledDebugTurboFilter.setSampled(false);
+        context.stop();
+    }
+
+    @Test
+    void debug_isEnabledOnlyForSampledThreadsAndMatchingLoggers() {
+        Logger app = context.getLogger("com.financemanager.service.TransactionService");
+        Logger other = context.getLogger("org.hibernate.SQL");
+
+        assertFalse(app.isDebugEnabled());
+
+        SampledDebugTurboFilter.setSampled(true);
+        assertTrue(app.isDebugEnabled());
+        assertFalse(app.isTraceEnabled());
+        assertFalse(other.isDebugEnabled());
+
+        SampledDebugTurboFilter.setSampled(false);
+        assertFalse(app.isDebugEnabled());
+    }
+
+    @Test
+    void samplingFilter_marksTheRequestThreadAndClearsItAfterwards() throws Exception {
+        AtomicBoolean sampledInside = new AtomicBoolean();
+
+        new DebugLogSamplingFilter(1.0).doFilter(new MockHttpServletRequest("GET", "/api/goals"),
+                new MockHttpServletResponse(), (req, res) -> sampledInside.set(SampledDebugTurboFilter.isSampled()));
+        assertTrue(sampledInside.get());
+        assertFalse(SampledDebugTurboFilter.isSampled());
+
+        new DebugLogSamplingFilter(0).doFilter(new MockHttpServletRequest("GET", "/api/goals"),
+                new MockHttpServletResponse(), (req, res) -> sampledInside.set(SampledDebugTurboFilter.isSampled()));
+        assertFalse(sampledInside.get());
+    }
+
+    @Test
+    void samplingFilter_rejectsRatesOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> new DebugLogSamplingFilter(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new DebugLogSamplingFilter(-0.1));
+    }
+}
@@ -1,6 +1,9 @@
 package com.financemanager.repository;
 
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.SavingsGoal;
+import com.financemanager.entity.Transaction;
 import com.financemanager.entity.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +20,8 @@ class SavingsGoalRepositoryTest {
 
     @Autowired private SavingsGoalRepository savingsGoalRepository;
     @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private TransactionRepository transactionRepository;
 
     @Test
     void findByUserOrderByTargetDateAsc_ordersByTargetDate() {
@@ -46,4 +51,43 @@ class SavingsGoalRepositoryTest {
         assertEquals(2, list.size());
         assertTrue(list.get(0).getTargetDate().isBefore(list.get(1).getTargetDate()));
     }
+
+    @Test
+    void findWithProgressByUser_sumsTransactionsSinceEachGoalStart() {
+        User user = userRepository.save(User.builder()
+                .username("p@e.com")
+                .password("p")
+                .fullName("P")
+                .phoneNumber("+1")
+                .build());
+        Category salary = categoryRepository.save(Category.builder()
+                .name("Salary").type(CategoryType.INCOME).isCustom(false).build());
+        Category food = categoryRepository.save(Category.builder()
+                .name("Food").type(CategoryType.EXPENSE).isCustom(false).build());
+        transactionRepository.save(Transaction.builder()
+                .amount(new BigDecimal("500")).date(LocalDate.now().minusDays(10)).category(salary).user(user).build());
+        transactionRepository.save(Transaction.builder()
+                .amount(new BigDecimal("40")).date(LocalDate.now().minusDays(2)).category(food).user(user).build());
+
+        savingsGoalRepository.save(SavingsGoal.builder()
+                .goalName("Old").targetAmount(new BigDecimal("1000"))
+                .targetDate(LocalDate.now().plusMonths(1)).startDate(LocalDate.now().minusDays(30))
+                .user(user).build());
+        savingsGoalRepository.save(SavingsGoal.builder()
+                .goalName("Recent").targetAmount(new BigDecimal("1000"))
+                .targetDate(LocalDate.now().plusMonths(2)).startDate(LocalDate.now().minusDays(5))
+                .user(user).build());
+        savingsGoalRepository.save(SavingsGoal.builder()
+                .goalName("New").targetAmount(new BigDecimal("1000"))
+                .targetDate(LocalDate.now().plusMonths(3)).startDate(LocalDate.now())
+                .user(user).build());
+
+        List<Object[]> rows = savingsGoalRepository.findWithProgressByUser(user, LocalDate.now());
+
+        assertEquals(3, rows.size());
+        assertEquals("Old", ((SavingsGoal) rows.get(0)[0]).getGoalName());
+        assertEquals(0, new BigDecimal("460").compareTo((BigDecimal) rows.get(0)[1]));
+        assertEquals(0, new BigDecimal("-40").compareTo((BigDecimal) rows.get(1)[1]));
+        assertNull(rows.get(2)[1]);
+    }
 }
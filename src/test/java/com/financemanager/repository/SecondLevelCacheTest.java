@@ -0,0 +1,98 @@
+package com.financemanager.repository;
+
+import com.financemanager.dto.CategoryResponse;
+import com.financemanager.dto.CreateCategoryRequest;
+import com.financemanager.entity.User;
+import com.financemanager.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Second-level and query cache for categories and users: repeated reads are served without SQL,
+ * and category writes are visible on the next read.
+ */
+// Own database: a second context on the shared one would recreate its schema under the other tests
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cachedb",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired private CategoryService categoryService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private User newUser(String name) {
+        return userRepository.save(User.builder()
+                .username(name + "@example.com").password("p").fullName("Cache").phoneNumber("+1234567890").build());
+    }
+
+    private List<String> categoryNames(User user) {
+        return categoryService.getAllCategories(user).getCategories().stream()
+                .map(CategoryResponse::getName)
+                .toList();
+    }
+
+    @Test
+    void findByUserOrUserIsNull_isServedFromTheQueryCacheOnRepeatedReads() {
+        User user = newUser("cache-read");
+        List<String> first = categoryNames(user);
+
+        statistics.clear();
+        List<String> second = categoryNames(user);
+
+        assertEquals(first, second);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createCustomCategory_isVisibleOnTheNextRead() {
+        User user = newUser("cache-create");
+        assertFalse(categoryNames(user).contains("Pets"));
+
+        categoryService.createCustomCategory(CreateCategoryRequest.builder().name("Pets").type("EXPENSE").build(), user);
+
+        assertTrue(categoryNames(user).contains("Pets"));
+    }
+
+    @Test
+    void deleteCustomCategory_isGoneOnTheNextRead() {
+        User user = newUser("cache-delete");
+        categoryService.createCustomCategory(CreateCategoryRequest.builder().name("Hobbies").type("EXPENSE").build(), user);
+        assertTrue(categoryNames(user).contains("Hobbies"));
+
+        categoryService.deleteCustomCategory("Hobbies", user);
+
+        assertFalse(categoryNames(user).contains("Hobbies"));
+    }
+
+    @Test
+    void findByUsername_isServedFromTheCacheOnRepeatedReads() {
+        User user = newUser("cache-user");
+        userRepository.findByUsername(user.getUsername());
+
+        statistics.clear();
+        User cached = userRepository.findByUsername(user.getUsername()).orElseThrow();
+
+        assertEquals(user.getId(), cached.getId());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -122,4 +122,13 @@ class TransactionRepositoryTest {
         long count = transactionRepository.countByUserAndCategoryId(user, expense.getId());
         assertEquals(2L, count);
     }
+
+    @Test
+    void sumNetAmount_subtractsExpensesFromIncome() {
+        assertEquals(0, new BigDecimal("850").compareTo(
+                transactionRepository.sumNetAmount(user, LocalDate.now().minusDays(3), LocalDate.now())));
+        assertEquals(0, new BigDecimal("-50").compareTo(
+                transactionRepository.sumNetAmount(user, LocalDate.now().minusDays(1), LocalDate.now())));
+        assertNull(transactionRepository.sumNetAmount(user, LocalDate.now(), LocalDate.now()));
+    }
 }
@@ -0,0 +1,58 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.AnomalyResponse;
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.entity.User;
+import com.financemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for anomaly detection on transaction writes.
+ */
+@SpringBootTest
+class AnomalyServiceTest {
+
+    @Autowired private AnomalyService anomalyService;
+    @Autowired private TransactionService transactionService;
+    @Autowired private UserRepository userRepository;
+
+    private Long spend(User user, String amount) {
+        return transactionService.createTransaction(CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount)).date(LocalDate.now().toString()).category("Food").build(), user).getId();
+    }
+
+    // The user's statistics load on a background thread, so the flag can trail the write
+    private AnomalyResponse awaitAnomaly(User user, Long transactionId) throws InterruptedException {
+        AnomalyResponse anomaly = anomalyService.getAnomaly(user, transactionId);
+        for (int i = 0; i < 100 && anomaly == null; i++) {
+            Thread.sleep(50);
+            anomaly = anomalyService.getAnomaly(user, transactionId);
+        }
+        return anomaly;
+    }
+
+    @Test
+    void createTransaction_unusualAmount_isFlagged() throws InterruptedException {
+        User user = userRepository.save(User.builder()
+                .username("anomaly1@example.com").password("p").fullName("Anomaly").phoneNumber("+1234567890").build());
+        for (String amount : new String[]{"12.00", "15.50", "9.75", "14.00", "11.25"}) {
+            assertNull(anomalyService.getAnomaly(user, spend(user, amount)));
+        }
+
+        Long unusual = spend(user, "480.00");
+
+        var anomaly = awaitAnomaly(user, unusual);
+        assertNotNull(anomaly);
+        assertEquals("Food", anomaly.getCategory());
+        assertEquals(new BigDecimal("480.00"), anomaly.getAmount());
+        assertEquals(new BigDecimal("12.50"), anomaly.getTypicalAmount());
+        assertEquals(1, anomalyService.getAnomalies(user).getAnomalies().size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.CreateBudgetRequest;
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.dto.UpdateTransactionRequest;
+import com.financemanager.entity.User;
+import com.financemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for budgets and their running counters.
+ */
+@SpringBootTest
+class BudgetServiceTest {
+
+    @Autowired private BudgetService budgetService;
+    @Autowired private TransactionService transactionService;
+    @Autowired private UserRepository userRepository;
+
+    private User newUser(String name) {
+        return userRepository.save(User.builder()
+                .username(name + "@example.com").password("p").fullName("Budget").phoneNumber("+1234567890").build());
+    }
+
+    private Long spend(User user, String amount, LocalDate date) {
+        return transactionService.createTransaction(CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount)).date(date.toString()).category("Food").build(), user).getId();
+    }
+
+    @Test
+    void status_tracksCreatesUpdatesAndDeletes() {
+        User user = newUser("budget1");
+        LocalDate today = LocalDate.now();
+        spend(user, "20.00", today);
+        budgetService.saveBudget(CreateBudgetRequest.builder().category("Food").amount(new BigDecimal("100.00")).build(), user);
+
+        assertEquals(new BigDecimal("20.00"), budgetService.getStatus(user, "Food", today).getSpent());
+
+        Long second = spend(user, "70.50", today);
+        var status = budgetService.getStatus(user, "Food", today);
+        assertEquals(new BigDecimal("90.50"), status.getSpent());
+        assertEquals(new BigDecimal("9.50"), status.getRemaining());
+        assertFalse(status.getOverBudget());
+
+        transactionService.updateTransaction(second, UpdateTransactionRequest.builder().amount(new BigDecimal("85.00")).build(), user);
+        assertTrue(budgetService.getStatus(user, "Food", today).getOverBudget());
+
+        transactionService.deleteTransaction(second, user);
+        assertEquals(new BigDecimal("20.00"), budgetService.getStatus(user, "Food", today).getSpent());
+    }
+
+    @Test
+    void reconcile_keepsCountersInLineWithDatabase() {
+        User user = newUser("budget2");
+        LocalDate today = LocalDate.now();
+        budgetService.saveBudget(CreateBudgetRequest.builder().category("Food").amount(new BigDecimal("10.00")).build(), user);
+        spend(user, "4.00", today);
+        budgetService.getStatuses(user, YearMonth.from(today));
+
+        budgetService.reconcileCounters();
+
+        var statuses = budgetService.getStatuses(user, YearMonth.from(today));
+        assertEquals(1, statuses.getStatuses().size());
+        assertEquals(new BigDecimal("4.00"), statuses.getStatuses().get(0).getSpent());
+    }
+
+    @Test
+    void saveBudget_incomeCategory_throws() {
+        User user = newUser("budget3");
+        assertThrows(IllegalArgumentException.class, () -> budgetService.saveBudget(
+                CreateBudgetRequest.builder().category("Salary").amount(BigDecimal.TEN).build(), user));
+    }
+
+    @Test
+    void saveBudget_replacesExistingAmount() {
+        User user = newUser("budget4");
+        budgetService.saveBudget(CreateBudgetRequest.builder().category("Rent").amount(new BigDecimal("900.00")).build(), user);
+        budgetService.saveBudget(CreateBudgetRequest.builder().category("Rent").amount(new BigDecimal("950.00")).build(), user);
+
+        var budgets = budgetService.getBudgets(user).getBudgets();
+        assertEquals(1, budgets.size());
+        assertEquals(0, new BigDecimal("950.00").compareTo(budgets.get(0).getAmount()));
+    }
+}
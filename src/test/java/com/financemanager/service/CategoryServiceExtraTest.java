@@ -1,10 +1,13 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.User;
 import com.financemanager.exception.ForbiddenException;
 import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.BudgetRepository;
+import com.financemanager.repository.CategorizationRuleRepository;
 import com.financemanager.repository.CategoryRepository;
 import com.financemanager.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
@@ -27,6 +31,13 @@ class CategoryServiceExtraTest {
     private CategoryRepository categoryRepository;
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private CategorizationRuleRepository categorizationRuleRepository;
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -1,18 +1,24 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
+import com.financemanager.repository.BudgetRepository;
+import com.financemanager.repository.CategorizationRuleRepository;
 import com.financemanager.repository.CategoryRepository;
 import com.financemanager.repository.TransactionRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,22 +26,34 @@ class CategoryServiceInitializerTest {
 
     @Mock private CategoryRepository categoryRepository;
     @Mock private TransactionRepository transactionRepository;
+    @Mock private CategorizationRuleRepository categorizationRuleRepository;
+    @Mock private BudgetRepository budgetRepository;
+    @Spy private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
     @InjectMocks private CategoryService categoryService;
 
     @Test
-    void initializeDefaultCategories_insertsMissingOnes_onlyOnce() {
-        when(categoryRepository.findByNameIgnoreCaseAndUserIsNull("Salary")).thenReturn(Optional.empty());
-        when(categoryRepository.findByNameIgnoreCaseAndUserIsNull("Food")).thenReturn(Optional.empty());
-        when(categoryRepository.findByNameIgnoreCaseAndUserIsNull("Rent")).thenReturn(Optional.of(Category.builder().name("Rent").type(CategoryType.EXPENSE).isCustom(false).user(null).build()));
-        when(categoryRepository.findByNameIgnoreCaseAndUserIsNull("Transportation")).thenReturn(Optional.empty());
-        when(categoryRepository.findByNameIgnoreCaseAndUserIsNull("Entertainment")).thenReturn(Optional.empty());
-        when(categoryRepository.findByNameIgnoreCaseAndUserIsNull("Healthcare")).thenReturn(Optional.empty());
-        when(categoryRepository.findByNameIgnoreCaseAndUserIsNull("Utilities")).thenReturn(Optional.empty());
+    void initializeDefaultCategories_insertsMissingOnes_inOneBatch() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(
+                Category.builder().name("rent").type(CategoryType.EXPENSE).isCustom(false).user(null).build()));
 
         categoryService.initializeDefaultCategories();
 
-        // Rent already exists so should not be saved; others should be saved
-        verify(categoryRepository, atLeast(1)).save(any(Category.class));
-        verify(categoryRepository, never()).save(argThat(c -> c.getName().equalsIgnoreCase("Rent")));
+        verify(categoryRepository, never()).findByNameIgnoreCaseAndUserIsNull(anyString());
+        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository).saveAll(argThat((List<Category> saved) -> saved.size() == 6
+                && saved.stream().noneMatch(c -> c.getName().equalsIgnoreCase("Rent"))
+                && saved.stream().allMatch(c -> !c.getIsCustom() && c.getUser() == null)));
+    }
+
+    @Test
+    void initializeDefaultCategories_whenAllPresent_onlyReads() {
+        when(categoryRepository.findByUserIsNull()).thenReturn(Stream.of("Salary", "Food", "Rent", "Transportation",
+                        "Entertainment", "Healthcare", "Utilities")
+                .map(name -> Category.builder().name(name).type(CategoryType.EXPENSE).isCustom(false).build())
+                .toList());
+
+        categoryService.initializeDefaultCategories();
+
+        verify(categoryRepository, never()).saveAll(any());
     }
 }
@@ -1,12 +1,17 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.dto.CreateCategorizationRuleRequest;
 import com.financemanager.dto.CreateCategoryRequest;
+import com.financemanager.entity.CategorizationRule;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.User;
 import com.financemanager.exception.DuplicateResourceException;
 import com.financemanager.exception.ForbiddenException;
 import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.BudgetRepository;
+import com.financemanager.repository.CategorizationRuleRepository;
 import com.financemanager.repository.CategoryRepository;
 import com.financemanager.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +19,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +41,15 @@ class CategoryServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private CategorizationRuleRepository categorizationRuleRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -114,4 +130,40 @@ class CategoryServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> categoryService.deleteCustomCategory("NonExistent", user));
     }
+
+    @Test
+    void testCategorizeUsesLongestMatchingRule() {
+        Category food = Category.builder().id(2L).name("Food").type(CategoryType.EXPENSE).isCustom(false).build();
+        when(categorizationRuleRepository.findByUserOrderByIdAsc(user)).thenReturn(List.of(
+                CategorizationRule.builder().id(1L).pattern("uber").category(customCategory).user(user).build(),
+                CategorizationRule.builder().id(2L).pattern("uber eats").category(food).user(user).build()));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(food));
+
+        assertEquals(food, categoryService.categorize("UBER EATS order 1234", user));
+        assertNull(categoryService.categorize("Coffee", user));
+        verify(categorizationRuleRepository, times(1)).findByUserOrderByIdAsc(user);
+    }
+
+    @Test
+    void testCreateRuleUpdatesCachedMatcher() {
+        when(categorizationRuleRepository.findByUserOrderByIdAsc(user)).thenReturn(List.of());
+        assertNull(categoryService.categorize("Netflix subscription", user));
+
+        when(categoryRepository.findByNameAndUser("CustomCategory", user)).thenReturn(Optional.of(customCategory));
+        when(categorizationRuleRepository.save(any(CategorizationRule.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(customCategory));
+
+        categoryService.createRule(CreateCategorizationRuleRequest.builder()
+                .pattern(" netflix ").category("CustomCategory").build(), user);
+
+        assertEquals(customCategory, categoryService.categorize("Netflix subscription", user));
+        verify(categorizationRuleRepository, times(1)).findByUserOrderByIdAsc(user);
+    }
+
+    @Test
+    void testCreateRuleDuplicate() {
+        when(categorizationRuleRepository.existsByUserAndPatternIgnoreCase(user, "netflix")).thenReturn(true);
+        assertThrows(DuplicateResourceException.class, () -> categoryService.createRule(
+                CreateCategorizationRuleRequest.builder().pattern("netflix").category("CustomCategory").build(), user));
+    }
 }
@@ -0,0 +1,182 @@
+package com.financemanager.service;
+
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.dto.ForecastMonthResponse;
+import com.financemanager.dto.ForecastResponse;
+import com.financemanager.dto.GoalForecastResponse;
+import com.financemanager.dto.GoalResponse;
+import com.financemanager.dto.GoalsResponse;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ForecastService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ForecastServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private SavingsGoalService savingsGoalService;
+
+    private ForecastService forecastService;
+    private User user;
+    private YearMonth current;
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        forecastService = new ForecastService(transactionRepository, transactionArchive, savingsGoalService);
+        user = User.builder().id(1L).username("test@example.com").build();
+        current = YearMonth.now();
+        lenient().when(transactionRepository.sumByCategoryAndMonth(eq(user), any(), any())).thenReturn(rows);
+        lenient().when(savingsGoalService.getAllGoals(user)).thenReturn(GoalsResponse.builder().goals(List.of()).build());
+    }
+
+    @Test
+    void getForecast_projectsTrailingAverage() {
+        for (int back = 1; back <= 3; back++) {
+            row(1L, "Salary", CategoryType.INCOME, current.minusMonths(back), "3000.00");
+            row(2L, "Food", CategoryType.EXPENSE, current.minusMonths(back), String.valueOf(300 * back));
+        }
+
+        ForecastResponse response = forecastService.getForecast(2, user);
+
+        assertEquals(current.minusMonths(24).toString(), response.getHistoryFrom());
+        assertEquals(2, response.getProjections().size());
+        ForecastMonthResponse first = response.getProjections().get(0);
+        assertEquals(current.plusMonths(1).toString(), first.getMonth());
+        assertEquals(new BigDecimal("3000.00"), first.getIncome().get("Salary"));
+        assertEquals(new BigDecimal("600.00"), first.getExpenses().get("Food"));
+        assertEquals(new BigDecimal("2400.00"), first.getNetSavings());
+        assertEquals(new BigDecimal("4800.00"), response.getProjections().get(1).getCumulativeNetSavings());
+    }
+
+    @Test
+    void getForecast_appliesSeasonalityWithAYearOfHistory() {
+        for (int back = 1; back <= 24; back++) {
+            YearMonth month = current.minusMonths(back);
+            row(3L, "Gifts", CategoryType.EXPENSE, month, month.getMonthValue() == 12 ? "400.00" : "100.00");
+        }
+
+        ForecastResponse response = forecastService.getForecast(12, user);
+
+        BigDecimal december = null;
+        BigDecimal other = null;
+        for (ForecastMonthResponse month : response.getProjections()) {
+            if (month.getMonth().endsWith("-12")) {
+                december = month.getTotalExpenses();
+            } else {
+                other = month.getTotalExpenses();
+            }
+        }
+        assertNotNull(december);
+        assertTrue(december.compareTo(other) > 0);
+    }
+
+    @Test
+    void getForecast_seasonalSeries_appliesTargetFactorOnce() {
+        // Steady seasonal pattern: whichever months are trailing, each projected month should
+        // repeat its calendar month's history exactly
+        for (int back = 1; back <= 24; back++) {
+            YearMonth month = current.minusMonths(back);
+            row(3L, "Gifts", CategoryType.EXPENSE, month, month.getMonthValue() == 12 ? "400.00" : "100.00");
+        }
+
+        ForecastResponse response = forecastService.getForecast(12, user);
+
+        for (ForecastMonthResponse month : response.getProjections()) {
+            BigDecimal expected = new BigDecimal(month.getMonth().endsWith("-12") ? "400.00" : "100.00");
+            assertEquals(expected, month.getTotalExpenses(), month.getMonth());
+        }
+    }
+
+    @Test
+    void getForecast_addsArchivedMonths() {
+        Category food = Category.builder().id(2L).name("Food").type(CategoryType.EXPENSE).build();
+        Category bonus = Category.builder().id(4L).name("Bonus").type(CategoryType.INCOME).build();
+        row(2L, "Food", CategoryType.EXPENSE, current.minusMonths(1), "300.00");
+        row(2L, "Food", CategoryType.EXPENSE, current.minusMonths(2), "600.00");
+        when(transactionArchive.archivedOnly(eq(user), any(), any(), any())).thenReturn(List.of(
+                archived(10L, food, current.minusMonths(3), "500.00"),
+                archived(11L, food, current.minusMonths(3), "400.00"),
+                archived(12L, bonus, current.minusMonths(3), "300.00")));
+
+        ForecastMonthResponse first = forecastService.getForecast(1, user).getProjections().get(0);
+
+        assertEquals(new BigDecimal("600.00"), first.getExpenses().get("Food"));
+        assertEquals(new BigDecimal("100.00"), first.getIncome().get("Bonus"));
+    }
+
+    @Test
+    void getForecast_projectsGoalProgress() {
+        for (int back = 1; back <= 3; back++) {
+            row(1L, "Salary", CategoryType.INCOME, current.minusMonths(back), "2400.00");
+        }
+        GoalResponse goal = GoalResponse.builder().id(5L).goalName("Car")
+                .targetAmount(new BigDecimal("10000.00")).currentProgress(new BigDecimal("1000.00"))
+                .targetDate(current.plusMonths(2).atEndOfMonth())
+                .build();
+        when(savingsGoalService.getAllGoals(user)).thenReturn(GoalsResponse.builder().goals(List.of(goal)).build());
+
+        List<GoalForecastResponse> goals = forecastService.getForecast(1, user).getGoals();
+
+        assertEquals(1, goals.size());
+        assertEquals(new BigDecimal("5800.00"), goals.get(0).getProjectedProgress());
+        assertEquals(new BigDecimal("4500.00"), goals.get(0).getRequiredMonthlySavings());
+        assertFalse(goals.get(0).getOnTrack());
+    }
+
+    @Test
+    void getForecast_manyCategories_sumsAll() {
+        for (long id = 1; id <= ForecastService.PARALLEL_THRESHOLD + 8; id++) {
+            for (int back = 1; back <= 3; back++) {
+                row(id, "Category " + id, CategoryType.EXPENSE, current.minusMonths(back), "100.00");
+            }
+        }
+
+        ForecastMonthResponse month = forecastService.getForecast(1, user).getProjections().get(0);
+
+        assertEquals(ForecastService.PARALLEL_THRESHOLD + 8, month.getExpenses().size());
+        assertEquals(new BigDecimal((ForecastService.PARALLEL_THRESHOLD + 8) * 100 + ".00"), month.getTotalExpenses());
+    }
+
+    @Test
+    void getForecast_invalidMonths_throws() {
+        assertThrows(IllegalArgumentException.class, () -> forecastService.getForecast(0, user));
+        assertThrows(IllegalArgumentException.class,
+                () -> forecastService.getForecast(ForecastService.MAX_FORECAST_MONTHS + 1, user));
+    }
+
+    private Transaction archived(long id, Category category, YearMonth month, String amount) {
+        return Transaction.builder().id(id).category(category).user(user)
+                .date(month.atDay(15)).amount(new BigDecimal(amount)).build();
+    }
+
+    private void row(Long categoryId, String name, CategoryType type, YearMonth month, String amount) {
+        rows.add(new Object[]{categoryId, name, type, month.getYear(), month.getMonthValue(), new BigDecimal(amount)});
+    }
+}
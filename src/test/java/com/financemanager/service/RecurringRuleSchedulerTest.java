@@ -0,0 +1,111 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.CreateRecurringRuleRequest;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.RecurringRuleRepository;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for recurring rule materialization.
+ */
+@SpringBootTest
+class RecurringRuleSchedulerTest {
+
+    @Autowired private RecurringRuleScheduler scheduler;
+    @Autowired private RecurringRuleService recurringRuleService;
+    @Autowired private RecurringRuleRepository recurringRuleRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private UserRepository userRepository;
+
+    private User newUser(String name) {
+        return userRepository.save(User.builder()
+                .username(name + "@example.com").password("p").fullName("Recurring").phoneNumber("+1234567890").build());
+    }
+
+    @Test
+    void runDue_catchesUpMissedMonthsOnce() {
+        User user = newUser("rent");
+        var rule = recurringRuleService.createRule(CreateRecurringRuleRequest.builder()
+                .amount(new BigDecimal("1200.00")).category("Rent").description("Rent").frequency("MONTHLY")
+                .startDate("2023-01-31").build(), user);
+
+        scheduler.runDue(LocalDate.of(2023, 4, 30));
+
+        List<LocalDate> dates = transactionRepository.findByUserOrderByDateDesc(user).stream()
+                .map(Transaction::getDate).sorted().toList();
+        assertEquals(List.of(LocalDate.of(2023, 1, 31), LocalDate.of(2023, 2, 28),
+                LocalDate.of(2023, 3, 31), LocalDate.of(2023, 4, 30)), dates);
+        assertEquals(LocalDate.of(2023, 5, 31), recurringRuleRepository.findById(rule.getId()).orElseThrow().getNextRunDate());
+
+        scheduler.runDue(LocalDate.of(2023, 4, 30));
+        assertEquals(4, transactionRepository.findByUserOrderByDateDesc(user).size());
+    }
+
+    @Test
+    void runDue_stopsAtEndDateAndDeactivates() {
+        User user = newUser("salary");
+        var rule = recurringRuleService.createRule(CreateRecurringRuleRequest.builder()
+                .amount(new BigDecimal("50.00")).category("Salary").frequency("WEEKLY")
+                .startDate("2023-01-02").endDate("2023-01-20").build(), user);
+
+        scheduler.runDue(LocalDate.of(2023, 3, 1));
+
+        assertEquals(3, transactionRepository.findByUserOrderByDateDesc(user).size());
+        assertFalse(recurringRuleRepository.findById(rule.getId()).orElseThrow().getActive());
+    }
+
+    @Test
+    void materializeDue_capsOccurrencesPerCall() {
+        User user = newUser("daily");
+        recurringRuleService.createRule(CreateRecurringRuleRequest.builder()
+                .amount(new BigDecimal("1.00")).category("Food").frequency("DAILY")
+                .startDate("2023-01-01").build(), user);
+
+        recurringRuleService.materializeDue(user.getId(), LocalDate.of(2023, 1, 31), 10, 7);
+        assertEquals(7, transactionRepository.findByUserOrderByDateDesc(user).size());
+
+        scheduler.runDue(LocalDate.of(2023, 1, 31));
+        assertEquals(31, transactionRepository.findByUserOrderByDateDesc(user).size());
+    }
+
+    @Test
+    void materializeDue_lostCheckpoint_skipsOccurrencesAlreadyWritten() {
+        User user = newUser("rewound");
+        var created = recurringRuleService.createRule(CreateRecurringRuleRequest.builder()
+                .amount(new BigDecimal("9.99")).category("Entertainment").frequency("MONTHLY")
+                .startDate("2023-01-15").build(), user);
+        recurringRuleService.materializeDue(user.getId(), LocalDate.of(2023, 2, 28), 10, 12);
+
+        // Rewind the checkpoint, as a restore from an older snapshot would
+        var rule = recurringRuleRepository.findById(created.getId()).orElseThrow();
+        rule.setNextRunDate(rule.getStartDate());
+        rule.setOccurrences(0L);
+        recurringRuleRepository.save(rule);
+
+        recurringRuleService.materializeDue(user.getId(), LocalDate.of(2023, 3, 31), 10, 12);
+
+        List<LocalDate> dates = transactionRepository.findByUserOrderByDateDesc(user).stream()
+                .map(Transaction::getDate).sorted().toList();
+        assertEquals(List.of(LocalDate.of(2023, 1, 15), LocalDate.of(2023, 2, 15), LocalDate.of(2023, 3, 15)), dates);
+        assertEquals(LocalDate.of(2023, 4, 15), recurringRuleRepository.findById(created.getId()).orElseThrow().getNextRunDate());
+    }
+
+    @Test
+    void createRule_endBeforeStart_throws() {
+        User user = newUser("invalid");
+        assertThrows(IllegalArgumentException.class, () -> recurringRuleService.createRule(CreateRecurringRuleRequest.builder()
+                .amount(BigDecimal.ONE).category("Food").frequency("DAILY")
+                .startDate("2023-02-01").endDate("2023-01-01").build(), user));
+    }
+}
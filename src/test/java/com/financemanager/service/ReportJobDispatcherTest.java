@@ -0,0 +1,78 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.CreateReportJobRequest;
+import com.financemanager.entity.*;
+import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.CategoryRepository;
+import com.financemanager.repository.ReportJobRepository;
+import com.financemanager.repository.ReportJobResultRepository;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for report job queueing and execution.
+ */
+@SpringBootTest
+class ReportJobDispatcherTest {
+
+    @Autowired private ReportJobService reportJobService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private ReportJobRepository reportJobRepository;
+    @Autowired private ReportJobResultRepository reportJobResultRepository;
+
+    @Test
+    void queuedCsvJob_runsToCompletion() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("jobs@example.com").password("p").fullName("Jobs").phoneNumber("+1234567890").build());
+        Category food = categoryRepository.findByNameIgnoreCaseAndUserIsNull("Food").orElseThrow();
+        transactionRepository.save(Transaction.builder()
+                .amount(new BigDecimal("12.34")).date(LocalDate.of(2023, 5, 1)).description("Lunch, with \"tip\"")
+                .category(food).user(user).build());
+
+        var queued = reportJobService.createJob(CreateReportJobRequest.builder()
+                .type("TRANSACTIONS_CSV").fromYear(2022).toYear(2023).build(), user);
+        assertEquals("QUEUED", queued.getStatus());
+
+        var job = queued;
+        for (int i = 0; i < 100 && !"COMPLETED".equals(job.getStatus()) && !"FAILED".equals(job.getStatus()); i++) {
+            Thread.sleep(50);
+            job = reportJobService.getJob(queued.getId(), user);
+        }
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(100, job.getProgress());
+        assertNotNull(job.getExpiresAt());
+        String csv = new String(reportJobService.getResult(job.getId(), user).getContent(), StandardCharsets.UTF_8);
+        assertTrue(csv.contains("2023-05-01,EXPENSE,Food,12.34,\"Lunch, with \"\"tip\"\"\""), csv);
+
+        // Past its TTL the result is gone at once, and the next cleanup removes the job
+        ReportJob stored = reportJobRepository.findById(job.getId()).orElseThrow();
+        stored.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        reportJobRepository.save(stored);
+        Long jobId = job.getId();
+        assertThrows(ResourceNotFoundException.class, () -> reportJobService.getResult(jobId, user));
+        assertTrue(reportJobService.deleteExpired() >= 1);
+        assertFalse(reportJobRepository.existsById(jobId));
+        assertFalse(reportJobResultRepository.existsById(jobId));
+    }
+
+    @Test
+    void createJob_invalidRange_throws() {
+        User user = userRepository.save(User.builder()
+                .username("jobs2@example.com").password("p").fullName("Jobs").phoneNumber("+1234567890").build());
+        assertThrows(IllegalArgumentException.class, () -> reportJobService.createJob(CreateReportJobRequest.builder()
+                .type("CATEGORY_BREAKDOWN").fromYear(2024).toYear(2020).build(), user));
+    }
+}
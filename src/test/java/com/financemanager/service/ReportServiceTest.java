@@ -1,25 +1,35 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.Transaction;
 import com.financemanager.entity.User;
 import com.financemanager.repository.TransactionRepository;
+import com.financemanager.store.TransactionColumnStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 /**
@@ -31,6 +41,12 @@ class ReportServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
+    @Spy
+    private TransactionColumnStore transactionColumnStore = new TransactionColumnStore(0);
+
     @InjectMocks
     private ReportService reportService;
 
@@ -105,4 +121,122 @@ class ReportServiceTest {
         assertNotNull(response.getTotalExpenses());
         assertEquals(BigDecimal.valueOf(4500), response.getNetSavings());
     }
+
+    @Test
+    void testMonthlyReportMatchesBigDecimalAggregationExactly() {
+        Category rent = Category.builder().id(3L).name("Rent").type(CategoryType.EXPENSE).build();
+        Category bonus = Category.builder().id(4L).name("Bonus").type(CategoryType.INCOME).build();
+        List<Category> categories = List.of(rent, bonus, transactions.get(0).getCategory(), transactions.get(1).getCategory());
+
+        Random random = new Random(42);
+        List<Transaction> generated = new ArrayList<>(transactions);
+        for (int i = 0; i < 500; i++) {
+            int scale = random.nextInt(3);
+            generated.add(Transaction.builder()
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(1_000_000), scale))
+                    .date(LocalDate.of(2024, 1, 1 + random.nextInt(31)))
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .user(user)
+                    .build());
+        }
+        when(transactionRepository.findByUserAndDateRange(eq(user), any(), any()))
+                .thenReturn(generated);
+
+        Map<String, BigDecimal> expectedIncome = new LinkedHashMap<>();
+        Map<String, BigDecimal> expectedExpenses = new LinkedHashMap<>();
+        BigDecimal expectedNet = BigDecimal.ZERO;
+        for (Transaction t : generated) {
+            if (t.getCategory().getType() == CategoryType.INCOME) {
+                expectedIncome.merge(t.getCategory().getName(), t.getAmount(), BigDecimal::add);
+                expectedNet = expectedNet.add(t.getAmount());
+            } else {
+                expectedExpenses.merge(t.getCategory().getName(), t.getAmount(), BigDecimal::add);
+                expectedNet = expectedNet.subtract(t.getAmount());
+            }
+        }
+
+        var response = reportService.getMonthlyReport(2024, 1, user);
+
+        assertEquals(expectedIncome, response.getTotalIncome());
+        assertEquals(List.copyOf(expectedIncome.keySet()), List.copyOf(response.getTotalIncome().keySet()));
+        assertEquals(expectedExpenses, response.getTotalExpenses());
+        assertEquals(expectedNet, response.getNetSavings());
+    }
+
+    @Test
+    void testRangeReportMatchesMonthlyReports() {
+        Category income = transactions.get(0).getCategory();
+        Category expense = transactions.get(1).getCategory();
+        List<Transaction> all = new ArrayList<>();
+        for (int month = 3; month >= 1; month--) {
+            all.add(Transaction.builder().amount(new BigDecimal("100.25")).date(LocalDate.of(2024, month, 20))
+                    .category(expense).user(user).build());
+            all.add(Transaction.builder().amount(BigDecimal.valueOf(1000L * month)).date(LocalDate.of(2024, month, 5))
+                    .category(income).user(user).build());
+        }
+        when(transactionRepository.findByUserAndDateRange(user, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30)))
+                .thenReturn(all);
+        for (int month = 1; month <= 3; month++) {
+            final int m = month;
+            when(transactionRepository.findByUserAndDateRange(user, LocalDate.of(2024, m, 1), YearMonth.of(2024, m).atEndOfMonth()))
+                    .thenReturn(all.stream().filter(t -> t.getDate().getMonthValue() == m).toList());
+        }
+
+        var range = reportService.getRangeReport(YearMonth.of(2024, 1), YearMonth.of(2024, 4), user);
+
+        assertEquals(4, range.getMonths().size());
+        for (int month = 1; month <= 3; month++) {
+            assertEquals(reportService.getMonthlyReport(2024, month, user), range.getMonths().get(month - 1));
+        }
+        assertTrue(range.getMonths().get(3).getTotalIncome().isEmpty());
+        assertEquals(BigDecimal.valueOf(6000), range.getTotalIncome().get("Salary"));
+        assertEquals(new BigDecimal("300.75"), range.getTotalExpenses().get("Food"));
+        assertEquals(new BigDecimal("5699.25"), range.getNetSavings());
+    }
+
+    @Test
+    void testColumnStoreReportsMatchDatabaseReports() {
+        Category rent = Category.builder().id(3L).name("Rent").type(CategoryType.EXPENSE).build();
+        List<Category> categories = List.of(rent, transactions.get(0).getCategory(), transactions.get(1).getCategory());
+
+        Random random = new Random(7);
+        List<Transaction> all = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            all.add(Transaction.builder()
+                    .id((long) i + 1)
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2))
+                    .date(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(120)))
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .user(user)
+                    .build());
+        }
+        all.sort(Comparator.comparing(Transaction::getDate).reversed());
+        when(transactionRepository.findByUserAndDateRange(eq(user), any(), any())).thenAnswer(invocation -> {
+            LocalDate start = invocation.getArgument(1);
+            LocalDate end = invocation.getArgument(2);
+            return all.stream().filter(t -> !t.getDate().isBefore(start) && !t.getDate().isAfter(end)).toList();
+        });
+        when(transactionRepository.findByUserOrderByDateDesc(user)).thenReturn(all);
+
+        ReportService columnar = new ReportService(transactionRepository, transactionArchive,
+                new TransactionColumnStore(1 << 20), new PrimaryReads(mock(PlatformTransactionManager.class)));
+
+        for (int month = 1; month <= 5; month++) {
+            var expected = reportService.getMonthlyReport(2024, month, user);
+            var actual = columnar.getMonthlyReport(2024, month, user);
+            assertEquals(expected, actual);
+            assertEquals(List.copyOf(expected.getTotalExpenses().keySet()), List.copyOf(actual.getTotalExpenses().keySet()));
+        }
+        assertEquals(reportService.getYearlyReport(2024, user), columnar.getYearlyReport(2024, user));
+        assertEquals(reportService.getRangeReport(YearMonth.of(2023, 11), YearMonth.of(2024, 6), user),
+                columnar.getRangeReport(YearMonth.of(2023, 11), YearMonth.of(2024, 6), user));
+    }
+
+    @Test
+    void testRangeReportRejectsTooLongRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.getRangeReport(YearMonth.of(2010, 1), YearMonth.of(2020, 1), user));
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.getRangeReport(YearMonth.of(2024, 2), YearMonth.of(2024, 1), user));
+    }
 }
@@ -1,5 +1,6 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.UpdateGoalRequest;
 import com.financemanager.entity.SavingsGoal;
 import com.financemanager.entity.User;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -27,6 +29,9 @@ class SavingsGoalServiceEdgeTest {
     private SavingsGoalRepository savingsGoalRepository;
     @Mock
     private TransactionRepository transactionRepository;
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
     @InjectMocks
     private SavingsGoalService savingsGoalService;
 
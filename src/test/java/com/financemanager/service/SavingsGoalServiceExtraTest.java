@@ -1,10 +1,8 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.UpdateGoalRequest;
-import com.financemanager.entity.Category;
-import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.SavingsGoal;
-import com.financemanager.entity.Transaction;
 import com.financemanager.entity.User;
 import com.financemanager.repository.SavingsGoalRepository;
 import com.financemanager.repository.TransactionRepository;
@@ -13,11 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +30,9 @@ class SavingsGoalServiceExtraTest {
     private SavingsGoalRepository savingsGoalRepository;
     @Mock
     private TransactionRepository transactionRepository;
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
     @InjectMocks
     private SavingsGoalService savingsGoalService;
 
@@ -68,13 +69,8 @@ class SavingsGoalServiceExtraTest {
     @Test
     void toResponse_capsProgressAt100_andNonNegativeRemaining() {
         when(savingsGoalRepository.findById(1L)).thenReturn(Optional.of(goal));
-        Category income = Category.builder().id(1L).name("Salary").type(CategoryType.INCOME).build();
-        Category expense = Category.builder().id(2L).name("Food").type(CategoryType.EXPENSE).build();
-        List<Transaction> txs = List.of(
-                Transaction.builder().amount(new BigDecimal("1500")).category(income).date(LocalDate.now()).user(user).build(),
-                Transaction.builder().amount(new BigDecimal("100")).category(expense).date(LocalDate.now()).user(user).build()
-        );
-        when(transactionRepository.findByUserAndDateRange(eq(user), any(), any())).thenReturn(txs);
+        // 1500 income less 100 expenses
+        when(transactionRepository.sumNetAmount(eq(user), any(), any())).thenReturn(new BigDecimal("1400"));
 
         var resp = savingsGoalService.getGoal(1L, user);
         assertEquals(100.0, resp.getProgressPercentage());
@@ -1,5 +1,6 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.CreateGoalRequest;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
@@ -15,11 +16,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +39,9 @@ class SavingsGoalServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
     @InjectMocks
     private SavingsGoalService savingsGoalService;
 
@@ -71,7 +75,7 @@ class SavingsGoalServiceTest {
     @Test
     void testCreateGoalSuccess() {
         when(savingsGoalRepository.save(any(SavingsGoal.class))).thenReturn(goal);
-        when(transactionRepository.findByUserAndDateRange(any(), any(), any())).thenReturn(new ArrayList<>());
+        when(transactionRepository.sumNetAmount(any(), any(), any())).thenReturn(null);
 
         var response = savingsGoalService.createGoal(createRequest, user);
 
@@ -0,0 +1,187 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.CreateBudgetRequest;
+import com.financemanager.dto.CreateCategorizationRuleRequest;
+import com.financemanager.dto.CreateCategoryRequest;
+import com.financemanager.dto.CreateGoalRequest;
+import com.financemanager.dto.CreateRecurringRuleRequest;
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.dto.TransactionResponse;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.User;
+import com.financemanager.repository.UserRepository;
+import com.financemanager.snapshot.CategoryRow;
+import com.financemanager.snapshot.SnapshotReader;
+import com.financemanager.snapshot.SnapshotSummary;
+import com.financemanager.snapshot.SnapshotWriter;
+import com.financemanager.snapshot.TransactionRow;
+import com.financemanager.snapshot.UserRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshotting the database and restoring it into an emptied one.
+ */
+@SpringBootTest(properties = {
+        // Own database: the test empties every table it restores into
+        "spring.datasource.url=jdbc:h2:mem:snapshotdb",
+        "finance.snapshot.batch-size=7",
+        "finance.snapshot.restore-threads=3"
+})
+class SnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired private SnapshotService snapshotService;
+    @Autowired private TransactionService transactionService;
+    @Autowired private SavingsGoalService savingsGoalService;
+    @Autowired private CategoryService categoryService;
+    @Autowired private BudgetService budgetService;
+    @Autowired private RecurringRuleService recurringRuleService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .username(name + "@example.com")
+                .password("p").fullName(name).phoneNumber("+1234567890").build());
+    }
+
+    private TransactionResponse spend(User user, int day, String category, String amount) {
+        return transactionService.createTransaction(CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount))
+                .date(LocalDate.of(2024, 1, 1).plusDays(day).toString())
+                .category(category)
+                .description(day % 3 == 0 ? null : "row " + day)
+                .build(), user);
+    }
+
+    private static List<Record> readAll(Path file) throws IOException {
+        List<Record> rows = new ArrayList<>();
+        try (SnapshotReader reader = SnapshotReader.open(file)) {
+            for (Record row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private void emptyDatabase() {
+        for (String table : List.of("recurring_rules", "categorization_rules", "budgets", "transactions",
+                "savings_goals", "categories", "users")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void restoreIntoAnEmptyDatabase_reproducesTheSnapshotAndKeepsIdsMovingForward() throws IOException {
+        User ana = user("ana");
+        User bo = user("bo");
+        categoryService.createCustomCategory(CreateCategoryRequest.builder()
+                .name("Coffee").type("EXPENSE").build(), bo);
+        for (int day = 0; day < 40; day++) {
+            spend(day % 2 == 0 ? ana : bo, day, day % 5 == 0 ? "Salary" : "Food", day + ".25");
+        }
+        spend(bo, 41, "Coffee", "3.10");
+        savingsGoalService.createGoal(CreateGoalRequest.builder()
+                .goalName("Trip").targetAmount(new BigDecimal("1500.00"))
+                .targetDate(LocalDate.now().plusYears(1).toString()).build(), ana);
+        budgetService.saveBudget(CreateBudgetRequest.builder().category("Coffee").amount(new BigDecimal("40.00")).build(), bo);
+        categoryService.createRule(CreateCategorizationRuleRequest.builder().pattern("espresso").category("Coffee").build(), bo);
+        recurringRuleService.createRule(CreateRecurringRuleRequest.builder()
+                .amount(new BigDecimal("900.00")).category("Rent").description("flat").frequency("MONTHLY")
+                .startDate(LocalDate.now().plusDays(10).toString()).build(), ana);
+
+        Path file = directory.resolve("before.snap");
+        SnapshotSummary written = snapshotService.snapshot(file);
+        assertEquals(2, written.users());
+        assertEquals(41, written.transactions());
+        assertEquals(1, written.goals());
+        assertEquals(1, written.budgets());
+        assertEquals(1, written.categorizationRules());
+        assertEquals(1, written.recurringRules());
+
+        emptyDatabase();
+        SnapshotSummary restored = snapshotService.restore(file);
+
+        assertEquals(written.users(), restored.users());
+        assertEquals(written.categories(), restored.categories());
+        assertEquals(written.goals(), restored.goals());
+        assertEquals(written.transactions(), restored.transactions());
+        assertEquals(written.budgets(), restored.budgets());
+        assertEquals(written.categorizationRules(), restored.categorizationRules());
+        assertEquals(written.recurringRules(), restored.recurringRules());
+        Path after = directory.resolve("after.snap");
+        snapshotService.snapshot(after);
+        assertEquals(readAll(file), readAll(after));
+
+        // Services see the restored rows, and new rows get IDs past them
+        User restoredBo = userRepository.findByUsername("bo@example.com").orElseThrow();
+        assertEquals(21, transactionService.getTransactions(restoredBo, null, null, null, null, null)
+                .getTransactions().size());
+        long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        assertTrue(spend(restoredBo, 50, "Coffee", "2.00").getId() > maxId);
+        assertTrue(user("cy").getId() > restoredBo.getId());
+        long maxRuleId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM recurring_rules", Long.class);
+        assertTrue(recurringRuleService.createRule(CreateRecurringRuleRequest.builder()
+                .amount(BigDecimal.ONE).category("Food").frequency("WEEKLY")
+                .startDate(LocalDate.now().plusDays(1).toString()).build(), restoredBo).getId() > maxRuleId);
+    }
+
+    @Test
+    void failedRestore_leavesTheDatabaseEmptyForARetry() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        Path file = directory.resolve("eve.snap");
+        try (SnapshotWriter writer = SnapshotWriter.create(file)) {
+            writer.write(new UserRow(1L, "eve@example.com", "p", "Eve", "+1234567890", now));
+            writer.write(new CategoryRow(1L, "Food", CategoryType.EXPENSE, false, null, now));
+            for (long id = 1; id <= 20; id++) {
+                writer.write(new TransactionRow(id, BigDecimal.ONE, LocalDate.of(2024, 1, 1), null, null, 1L, 1L, now, now));
+            }
+            writer.finish();
+        }
+        Path truncated = directory.resolve("eve-truncated.snap");
+        Files.copy(file, truncated);
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        emptyDatabase();
+        // Users, categories and most transactions are committed before the truncation is found
+        assertThrows(UncheckedIOException.class, () -> snapshotService.restore(truncated));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class));
+        assertEquals(20, snapshotService.restore(file).transactions());
+
+        emptyDatabase();
+        categoryService.initializeDefaultCategories();
+    }
+
+    @Test
+    void restoreIntoADatabaseWithUsers_isRefused() {
+        user("dee");
+        Path file = directory.resolve("dee.snap");
+        snapshotService.snapshot(file);
+
+        assertThrows(IllegalStateException.class, () -> snapshotService.restore(file));
+    }
+}
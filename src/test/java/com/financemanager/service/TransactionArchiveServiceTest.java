@@ -0,0 +1,184 @@
+package com.financemanager.service;
+
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.dto.CreateBudgetRequest;
+import com.financemanager.dto.CreateCategoryRequest;
+import com.financemanager.dto.CreateGoalRequest;
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.dto.GoalResponse;
+import com.financemanager.dto.TransactionResponse;
+import com.financemanager.dto.UpdateTransactionRequest;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archiving old years to segment files and reading them back through the services.
+ */
+@SpringBootTest(properties = {
+        // Own database: a second context on the shared one would recreate its schema under the other tests
+        "spring.datasource.url=jdbc:h2:mem:archivedb",
+        "finance.archive.enabled=true"
+})
+class TransactionArchiveServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) {
+        // Deferred: test AOT processing builds the context before @TempDir is set
+        registry.add("finance.archive.directory", () -> archiveDirectory.toString());
+    }
+
+    @Autowired private TransactionArchiveScheduler scheduler;
+    @Autowired private TransactionArchive transactionArchive;
+    @Autowired private TransactionService transactionService;
+    @Autowired private ReportService reportService;
+    @Autowired private CategoryService categoryService;
+    @Autowired private SavingsGoalService savingsGoalService;
+    @Autowired private BudgetService budgetService;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("archive" + USERS.incrementAndGet() + "@example.com")
+                .password("p").fullName("Archive").phoneNumber("+1234567890").build());
+    }
+
+    private TransactionResponse spend(LocalDate date, String category, String amount) {
+        return transactionService.createTransaction(CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount))
+                .date(date.toString())
+                .category(category)
+                .description("spent on " + date)
+                .build(), user);
+    }
+
+    private List<Long> ids(String startDate, String endDate, String category, String type) {
+        return transactionService.getTransactions(user, startDate, endDate, category, null, type).getTransactions().stream()
+                .map(TransactionResponse::getId)
+                .toList();
+    }
+
+    private int hotRows() {
+        return transactionRepository.findByUserOrderByDateDesc(user).size();
+    }
+
+    @Test
+    void archivedYears_areStillReturnedByQueriesAndReports() {
+        TransactionResponse old = spend(LocalDate.of(2021, 3, 10), "Food", "12.50");
+        TransactionResponse older = spend(LocalDate.of(2020, 11, 2), "Rent", "800.00");
+        TransactionResponse recent = spend(LocalDate.now(), "Food", "4.00");
+
+        assertTrue(scheduler.archive(LocalDate.now()) >= 2);
+
+        assertEquals(1, hotRows());
+        assertEquals(List.of(2020, 2021), List.copyOf(transactionArchive.years(user.getId())));
+        assertEquals(List.of(recent.getId(), old.getId(), older.getId()), ids(null, null, null, null));
+        assertEquals(List.of(old.getId()), ids("2021-01-01", "2021-12-31", null, null));
+        assertEquals(List.of(recent.getId(), old.getId()), ids(null, null, "Food", null));
+        assertEquals(List.of(), ids(null, null, null, "INCOME"));
+        assertEquals(List.of(old.getId(), older.getId()), ids("2020-01-01", "2021-06-30", null, "EXPENSE"));
+        assertEquals(old, transactionService.getTransactions(user, "2021-03-10", "2021-03-10", null, null, null)
+                .getTransactions().get(0));
+
+        assertEquals(0, new BigDecimal("-12.50").compareTo(reportService.getMonthlyReport(2021, 3, user).getNetSavings()));
+        assertEquals(0, new BigDecimal("-812.50").compareTo(reportService.getRangeReport(YearMonth.of(2020, 1),
+                YearMonth.of(2021, 12), user).getNetSavings()));
+    }
+
+    @Test
+    void backdatedTransactions_joinTheArchivedYearOnTheNextRun() {
+        TransactionResponse first = spend(LocalDate.of(2021, 5, 1), "Food", "1.00");
+        scheduler.archive(LocalDate.now());
+        TransactionResponse late = spend(LocalDate.of(2021, 2, 1), "Food", "2.00");
+
+        assertEquals(List.of(first.getId(), late.getId()), ids(null, null, null, null));
+        scheduler.archive(LocalDate.now());
+
+        assertEquals(0, hotRows());
+        assertEquals(2, transactionArchive.segment(user.getId(), 2021).size());
+        assertEquals(List.of(first.getId(), late.getId()), ids(null, null, null, null));
+    }
+
+    @Test
+    void changingAnArchivedTransaction_movesItsYearBackIntoTheDatabase() {
+        TransactionResponse kept = spend(LocalDate.of(2021, 1, 5), "Food", "3.00");
+        TransactionResponse changed = spend(LocalDate.of(2021, 7, 5), "Food", "5.00");
+        TransactionResponse deleted = spend(LocalDate.of(2021, 9, 5), "Food", "7.00");
+        scheduler.archive(LocalDate.now());
+
+        TransactionResponse updated = transactionService.updateTransaction(changed.getId(),
+                new UpdateTransactionRequest(new BigDecimal("6.00"), null, null), user);
+        transactionService.deleteTransaction(deleted.getId(), user);
+
+        assertEquals(0, new BigDecimal("6.00").compareTo(updated.getAmount()));
+        assertTrue(transactionArchive.years(user.getId()).isEmpty());
+        assertEquals(2, hotRows());
+        assertEquals(List.of(changed.getId(), kept.getId()), ids(null, null, null, null));
+        assertEquals(kept.getId(), transactionService.getTransactionById(kept.getId(), user).getId());
+    }
+
+    @Test
+    void goalProgress_countsArchivedYearsOnceInEveryView() {
+        spend(LocalDate.of(2021, 3, 10), "Food", "12.50");
+        scheduler.archive(LocalDate.now());
+        // A row being moved into the archive is briefly in both tiers
+        TransactionResponse moving = spend(LocalDate.of(2021, 4, 1), "Food", "7.50");
+        Transaction hot = transactionRepository.findById(moving.getId()).orElseThrow();
+        transactionArchive.write(transactionArchive.segment(user.getId(), 2021).with(List.of(hot)));
+        GoalResponse created = savingsGoalService.createGoal(CreateGoalRequest.builder()
+                .goalName("Trip").targetAmount(new BigDecimal("100.00"))
+                .startDate("2021-01-01").targetDate(LocalDate.now().plusYears(1).toString()).build(), user);
+
+        assertEquals(0, new BigDecimal("-20.00").compareTo(created.getCurrentProgress()));
+        assertEquals(0, new BigDecimal("-20.00").compareTo(savingsGoalService.getGoal(created.getId(), user).getCurrentProgress()));
+        assertEquals(0, new BigDecimal("-20.00").compareTo(savingsGoalService.getAllGoals(user).getGoals().get(0).getCurrentProgress()));
+    }
+
+    @Test
+    void budgetStatus_countsArchivedMonths() {
+        spend(LocalDate.of(2021, 3, 10), "Food", "12.50");
+        spend(LocalDate.of(2021, 3, 20), "Food", "30.00");
+        scheduler.archive(LocalDate.now());
+        budgetService.saveBudget(CreateBudgetRequest.builder().category("Food").amount(new BigDecimal("40.00")).build(), user);
+
+        var status = budgetService.getStatus(user, "Food", LocalDate.of(2021, 3, 1));
+
+        assertEquals(0, new BigDecimal("42.50").compareTo(status.getSpent()));
+        assertTrue(status.getOverBudget());
+    }
+
+    @Test
+    void deletingACategory_countsArchivedTransactions() {
+        categoryService.createCustomCategory(new CreateCategoryRequest("Hobbies", "EXPENSE"), user);
+        spend(LocalDate.of(2019, 4, 1), "Hobbies", "30.00");
+        scheduler.archive(LocalDate.now());
+
+        assertThrows(IllegalArgumentException.class, () -> categoryService.deleteCustomCategory("Hobbies", user));
+    }
+}
@@ -0,0 +1,114 @@
+package com.financemanager.service;
+
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.entity.User;
+import com.financemanager.exception.ResourceNotFoundException;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for write-behind transaction ingestion.
+ */
+@SpringBootTest(properties = {
+        "finance.ingestion.write-behind.enabled=true",
+        // Own database: a second context on the shared one would recreate its schema and sequences
+        "spring.datasource.url=jdbc:h2:mem:ingestiondb"
+})
+class TransactionIngestionServiceTest {
+
+    @Autowired private TransactionIngestionService ingestionService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    @Test
+    void queuedTransactions_areVisibleAfterFence() {
+        User user = userRepository.save(User.builder()
+                .username("ingest@example.com").password("p").fullName("Ingest").phoneNumber("+1234567890").build());
+
+        Set<String> clientIds = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            var queued = ingestionService.enqueue(CreateTransactionRequest.builder()
+                    .amount(new BigDecimal("1.25")).date(LocalDate.now().toString()).category("Food")
+                    .clientId(i == 0 ? "sync-0" : null).build(), user);
+            assertEquals("QUEUED", queued.getStatus());
+            assertNotNull(queued.getClientId());
+            clientIds.add(queued.getClientId());
+        }
+        assertTrue(clientIds.contains("sync-0"));
+        assertEquals(25, clientIds.size());
+
+        ingestionService.awaitFlushed(user.getId());
+
+        var saved = transactionRepository.findByUserOrderByDateDesc(user);
+        assertEquals(25, saved.size());
+        assertTrue(saved.stream().allMatch(t -> clientIds.contains(t.getClientId())));
+        // Nothing left in flight and nothing failed, so the user's fence is gone
+        assertFalse(ingestionService.hasFence(user.getId()));
+        assertEquals("WRITTEN", ingestionService.status(user, "sync-0").getStatus());
+    }
+
+    @Test
+    void rowThatFailsToWrite_isReportedByClientId() {
+        User user = userRepository.save(User.builder()
+                .username("ingest3@example.com").password("p").fullName("Ingest").phoneNumber("+1234567890").build());
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .amount(BigDecimal.TEN).date(LocalDate.now().toString()).category("Food").clientId("dup-1").build();
+
+        ingestionService.enqueue(request, user);
+        ingestionService.awaitFlushed(user.getId());
+        assertEquals("WRITTEN", ingestionService.status(user, "dup-1").getStatus());
+
+        long failedBefore = ingestionService.failedCount();
+        ingestionService.enqueue(request, user);
+        ingestionService.awaitFlushed(user.getId());
+
+        var status = ingestionService.status(user, "dup-1");
+        assertEquals("FAILED", status.getStatus());
+        assertNotNull(status.getError());
+        assertEquals(failedBefore + 1, ingestionService.failedCount());
+        // The fence is kept while it has a failure to report
+        assertTrue(ingestionService.hasFence(user.getId()));
+        assertEquals(1, transactionRepository.findByUserOrderByDateDesc(user).size());
+        assertThrows(ResourceNotFoundException.class, () -> ingestionService.status(user, "never-queued"));
+    }
+
+    @Test
+    void batchSpanningUsers_writesEachUsersRows() {
+        User first = userRepository.save(User.builder()
+                .username("ingest4@example.com").password("p").fullName("Ingest").phoneNumber("+1234567890").build());
+        User second = userRepository.save(User.builder()
+                .username("ingest5@example.com").password("p").fullName("Ingest").phoneNumber("+1234567890").build());
+
+        for (int i = 0; i < 10; i++) {
+            User user = i % 2 == 0 ? first : second;
+            ingestionService.enqueue(CreateTransactionRequest.builder()
+                    .amount(BigDecimal.ONE).date(LocalDate.now().toString()).category("Food").build(), user);
+        }
+        long failedBefore = ingestionService.failedCount();
+        ingestionService.awaitFlushed(first.getId());
+        ingestionService.awaitFlushed(second.getId());
+
+        assertEquals(5, transactionRepository.findByUserOrderByDateDesc(first).size());
+        assertEquals(5, transactionRepository.findByUserOrderByDateDesc(second).size());
+        assertEquals(failedBefore, ingestionService.failedCount());
+    }
+
+    @Test
+    void enqueue_invalidCategory_rejectedBeforeQueueing() {
+        User user = userRepository.save(User.builder()
+                .username("ingest2@example.com").password("p").fullName("Ingest").phoneNumber("+1234567890").build());
+        assertThrows(RuntimeException.class, () -> ingestionService.enqueue(CreateTransactionRequest.builder()
+                .amount(BigDecimal.ONE).date(LocalDate.now().toString()).category("NoSuchCategory").build(), user));
+        assertEquals(0, ingestionService.queuedCount());
+    }
+}
@@ -1,5 +1,6 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.UpdateTransactionRequest;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
@@ -11,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -28,6 +31,11 @@ class TransactionServiceExtraTest {
     private TransactionRepository transactionRepository;
     @Mock
     private CategoryService categoryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
     @InjectMocks
     private TransactionService transactionService;
 
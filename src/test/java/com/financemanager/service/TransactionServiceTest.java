@@ -1,10 +1,12 @@
 package com.financemanager.service;
 
+import com.financemanager.archive.TransactionArchive;
 import com.financemanager.dto.CreateTransactionRequest;
 import com.financemanager.entity.Category;
 import com.financemanager.entity.CategoryType;
 import com.financemanager.entity.Transaction;
 import com.financemanager.entity.User;
+import com.financemanager.event.TransactionChangedEvent;
 import com.financemanager.exception.ForbiddenException;
 import com.financemanager.exception.ResourceNotFoundException;
 import com.financemanager.repository.TransactionRepository;
@@ -13,7 +15,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -35,6 +39,12 @@ class TransactionServiceTest {
     @Mock
     private CategoryService categoryService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TransactionArchive transactionArchive = new TransactionArchive("target/empty-archive", null);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -87,6 +97,26 @@ class TransactionServiceTest {
         assertEquals(1L, response.getId());
         assertEquals(BigDecimal.valueOf(5000), response.getAmount());
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(eventPublisher).publishEvent(any(TransactionChangedEvent.class));
+    }
+
+    @Test
+    void testCreateTransactionWithoutCategoryUsesRules() {
+        createRequest.setCategory(null);
+        when(categoryService.categorize("January Salary", user)).thenReturn(category);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+
+        var response = transactionService.createTransaction(createRequest, user);
+
+        assertEquals("Salary", response.getCategory());
+        verify(categoryService, never()).getCategoryByName(any(), any());
+    }
+
+    @Test
+    void testCreateTransactionWithoutCategoryNoRuleMatch() {
+        createRequest.setCategory(" ");
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransaction(createRequest, user));
     }
 
     @Test
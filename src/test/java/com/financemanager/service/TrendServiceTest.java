@@ -0,0 +1,79 @@
+package com.financemanager.service;
+
+import com.financemanager.archive.TransactionArchive;
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.repository.TransactionRepository;
+import com.financemanager.store.TimeSeriesStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TrendService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TrendServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    private TrendService trendService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        trendService = new TrendService(new TimeSeriesStore(1 << 20, ""), transactionRepository,
+                new TransactionArchive("target/empty-archive", null), categoryService,
+                new PrimaryReads(mock(PlatformTransactionManager.class)));
+        user = User.builder().id(1L).username("test@example.com").build();
+
+        Category food = Category.builder().id(2L).name("Food").type(CategoryType.EXPENSE).build();
+        Category salary = Category.builder().id(1L).name("Salary").type(CategoryType.INCOME).build();
+        lenient().when(transactionRepository.findByUserOrderByDateDesc(user)).thenReturn(List.of(
+                Transaction.builder().id(3L).amount(new BigDecimal("20.00")).date(LocalDate.of(2024, 1, 9)).category(food).user(user).build(),
+                Transaction.builder().id(2L).amount(new BigDecimal("5.50")).date(LocalDate.of(2024, 1, 2)).category(food).user(user).build(),
+                Transaction.builder().id(1L).amount(new BigDecimal("3000")).date(LocalDate.of(2024, 1, 1)).category(salary).user(user).build()));
+    }
+
+    @Test
+    void weeklySeries_bucketsByIsoWeek() {
+        var response = trendService.getSeries(user, TrendService.Granularity.WEEKLY,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14), null, CategoryType.EXPENSE);
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8)), response.getPeriods());
+        assertEquals(1, response.getSeries().size());
+        assertEquals("Food", response.getSeries().get(0).getCategory());
+        assertEquals(List.of(new BigDecimal("5.50"), new BigDecimal("20.00")), response.getSeries().get(0).getValues());
+    }
+
+    @Test
+    void repeatedRequests_scanTransactionsOnce() {
+        trendService.getSeries(user, TrendService.Granularity.DAILY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3), null, null);
+        var monthly = trendService.getSeries(user, TrendService.Granularity.MONTHLY, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 31), null, CategoryType.INCOME);
+
+        assertEquals(List.of(new BigDecimal("0.00"), new BigDecimal("3000.00")), monthly.getSeries().get(0).getValues());
+        verify(transactionRepository, times(1)).findByUserOrderByDateDesc(user);
+    }
+
+    @Test
+    void tooLongRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> trendService.getSeries(user, TrendService.Granularity.DAILY,
+                LocalDate.of(2000, 1, 1), LocalDate.of(2024, 1, 1), null, null));
+    }
+}
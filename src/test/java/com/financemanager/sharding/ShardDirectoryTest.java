@@ -0,0 +1,57 @@
+package com.financemanager.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardDirectoryTest {
+
+    private final ShardDirectory directory = new ShardDirectory(new ShardMap(List.of("shard1", "shard2"), 16));
+
+    @Test
+    void fence_waitsForRunningWorkAndHoldsBackNewWork() throws Exception {
+        directory.acquire(7);
+        CompletableFuture<Void> fenced = CompletableFuture.runAsync(() -> directory.fence(7));
+        Thread.sleep(100);
+        assertFalse(fenced.isDone(), "fence must wait for the running work");
+
+        directory.release(7);
+        fenced.get(5, TimeUnit.SECONDS);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            directory.acquire(7);
+            try {
+                return directory.shardFor(7);
+            } finally {
+                directory.release(7);
+            }
+        });
+        started.await();
+        Thread.sleep(100);
+        assertFalse(waiting.isDone(), "new work must wait for the move");
+
+        directory.unfence(7, "shard3");
+        assertEquals("shard3", waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void acquire_isReentrantSoNestedWorkDoesNotDeadlockWithAFence() throws Exception {
+        directory.acquire(9);
+        CompletableFuture<Void> fenced = CompletableFuture.runAsync(() -> directory.fence(9));
+        Thread.sleep(100);
+
+        directory.acquire(9);
+        directory.release(9);
+        assertFalse(fenced.isDone());
+        directory.release(9);
+        fenced.get(5, TimeUnit.SECONDS);
+        directory.unfence(9, null);
+    }
+}
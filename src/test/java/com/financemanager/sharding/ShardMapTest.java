@@ -0,0 +1,52 @@
+package com.financemanager.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardMapTest {
+
+    private static final int USERS = 20_000;
+
+    @Test
+    void shardFor_spreadsSequentialIdsEvenly() {
+        ShardMap map = new ShardMap(List.of("shard1", "shard2", "shard3", "shard4"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= USERS; id++) {
+            counts.merge(map.shardFor(id), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - USERS / 4) < USERS / 4 * 0.2, counts.toString()));
+        assertEquals(map.shardFor(42), new ShardMap(List.of("shard1", "shard2", "shard3", "shard4"), 128).shardFor(42));
+    }
+
+    @Test
+    void withShard_onlyMovesUsersOntoTheNewShard() {
+        ShardMap before = new ShardMap(List.of("shard1", "shard2", "shard3"), 128);
+        ShardMap after = before.withShard("shard4");
+
+        int moved = 0;
+        for (long id = 1; id <= USERS; id++) {
+            String from = before.shardFor(id);
+            String to = after.shardFor(id);
+            if (!from.equals(to)) {
+                assertEquals("shard4", to);
+                moved++;
+            }
+        }
+        assertTrue(Math.abs(moved - USERS / 4) < USERS / 4 * 0.2, "moved " + moved);
+        assertEquals(4, after.ordinal("shard4"));
+        assertEquals(List.of("shard1", "shard2", "shard3"), before.shards());
+    }
+
+    @Test
+    void rejectsEmptyAndDuplicateShards() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(List.of(), 128));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(List.of("shard1"), 128).withShard("shard1"));
+    }
+}
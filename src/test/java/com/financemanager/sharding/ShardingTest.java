@@ -0,0 +1,145 @@
+package com.financemanager.sharding;
+
+import com.financemanager.dto.CreateTransactionRequest;
+import com.financemanager.dto.TransactionsResponse;
+import com.financemanager.entity.User;
+import com.financemanager.repository.UserRepository;
+import com.financemanager.service.TransactionService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sharding across local H2 databases: a directory and two shards, split into three by one test.
+ * Assertions look up each user's home shard, so they hold before and after the split.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharddirectory",
+        "finance.sharding.enabled=true",
+        "finance.sharding.shards=jdbc:h2:mem:shard1,jdbc:h2:mem:shard2"
+})
+class ShardingTest {
+
+    @Autowired private ShardDirectory directory;
+    @Autowired private ShardSplitter splitter;
+    @Autowired private DataSource dataSource;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TransactionService transactionService;
+
+    private JdbcTemplate jdbc(String shard) throws SQLException {
+        return new JdbcTemplate(dataSource.unwrap(ShardRoutingDataSource.class).target(shard));
+    }
+
+    private int transactionsOf(User user, String shard) throws SQLException {
+        return jdbc(shard).queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private User newUser(String name) {
+        return userRepository.save(User.builder()
+                .username(name + "@example.com").password("p").fullName("Sharded").phoneNumber("+1234567890").build());
+    }
+
+    private void spend(User user, String amount) {
+        transactionService.createTransaction(CreateTransactionRequest.builder()
+                .amount(new BigDecimal(amount))
+                .date(LocalDate.now().toString())
+                .category("Food")
+                .build(), user);
+    }
+
+    // Enough users that each of the first two shards owns some
+    private List<User> usersOnEveryShard(String prefix) {
+        List<User> users = new ArrayList<>();
+        Set<String> shards = new HashSet<>();
+        for (int i = 0; i < 50 && shards.size() < 2 || users.size() < 8; i++) {
+            User user = newUser(prefix + i);
+            spend(user, "10.00");
+            users.add(user);
+            shards.add(directory.shardFor(user.getId()));
+        }
+        assertEquals(Set.of("shard1", "shard2"), shards);
+        return users;
+    }
+
+    @Test
+    void userData_livesOnlyOnTheHomeShard() throws SQLException {
+        for (User user : usersOnEveryShard("home")) {
+            String home = directory.shardFor(user.getId());
+            for (String shard : directory.shards()) {
+                assertEquals(shard.equals(home) ? 1 : 0, transactionsOf(user, shard), user.getId() + " on " + shard);
+            }
+            assertEquals(1, jdbc(home).queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, user.getId()));
+            assertEquals(1, transactionService.getTransactions(user, null, null, null, null, null).getTransactions().size());
+        }
+        assertEquals(0, jdbc(ShardContext.DIRECTORY).queryForObject("SELECT COUNT(*) FROM transactions", Integer.class));
+    }
+
+    @Test
+    void shards_shareDefaultCategoriesAndKeepSeparateIdRanges() throws SQLException {
+        String defaults = "SELECT id FROM categories WHERE user_id IS NULL ORDER BY id";
+        List<Long> directoryDefaults = jdbc(ShardContext.DIRECTORY).queryForList(defaults, Long.class);
+        assertFalse(directoryDefaults.isEmpty());
+
+        usersOnEveryShard("range");
+        Set<Long> ids = new HashSet<>();
+        int rows = 0;
+        for (String shard : directory.shards()) {
+            assertEquals(directoryDefaults, jdbc(shard).queryForList(defaults, Long.class));
+            Long next = jdbc(shard).queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                    + "WHERE SEQUENCE_NAME = 'TRANSACTIONS_SEQ'", Long.class);
+            assertTrue(next >= (long) directory.map().ordinal(shard) << ShardProvisioner.ID_RANGE_BITS, shard + " at " + next);
+
+            List<Long> shardIds = jdbc(shard).queryForList("SELECT id FROM transactions", Long.class);
+            ids.addAll(shardIds);
+            rows += shardIds.size();
+        }
+        assertEquals(rows, ids.size(), "transaction IDs are unique across shards");
+    }
+
+    @Test
+    void split_movesUsersToTheNewShardWithoutLosingData() throws SQLException {
+        List<User> users = new ArrayList<>(usersOnEveryShard("split"));
+        ShardMap next = directory.map().withShard("shard3");
+        while (users.stream().noneMatch(user -> next.shardFor(user.getId()).equals("shard3"))) {
+            User user = newUser("split" + users.size());
+            spend(user, "10.00");
+            users.add(user);
+        }
+        List<String> before = users.stream().map(user -> directory.shardFor(user.getId())).toList();
+
+        HikariDataSource shard3 = new HikariDataSource();
+        shard3.setJdbcUrl("jdbc:h2:mem:shard3;DB_CLOSE_DELAY=-1");
+        shard3.setUsername("sa");
+        shard3.setPassword("");
+        assertTrue(splitter.split("shard3", shard3) > 0);
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            String home = directory.shardFor(user.getId());
+            if (home.equals("shard3")) {
+                assertEquals(0, transactionsOf(user, before.get(i)), "old rows of " + user.getId());
+            } else {
+                assertEquals(before.get(i), home, "only users of the new shard move");
+            }
+            assertEquals(1, transactionsOf(user, home));
+
+            spend(user, "5.00");
+            assertEquals(2, transactionsOf(user, home));
+            TransactionsResponse response = transactionService.getTransactions(user, null, null, null, null, null);
+            assertEquals(2, response.getTransactions().size());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.financemanager.snapshot;
+
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFileTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    private List<Record> rows() {
+        List<Record> rows = new ArrayList<>();
+        rows.add(new UserRow(1L, "ana@example.com", "$2a$10$hash", "Ana Núñez", "+1234567890", CREATED));
+        rows.add(new UserRow(300L, "bo@example.com", "$2a$10$hash", "Bo", null, CREATED.minusYears(60)));
+        rows.add(new CategoryRow(1L, "Salary", CategoryType.INCOME, false, null, CREATED));
+        rows.add(new CategoryRow(2L, "Coffee", CategoryType.EXPENSE, true, 300L, CREATED));
+        rows.add(new GoalRow(5L, "Trip", new BigDecimal("2500.00"), LocalDate.of(2025, 1, 1),
+                LocalDate.of(1969, 12, 31), 1L, CREATED, CREATED.plusDays(1)));
+        rows.add(new TransactionRow(1L, new BigDecimal("0.01"), LocalDate.of(2024, 1, 1), null, null, 1L, 1L,
+                CREATED, CREATED));
+        rows.add(new TransactionRow(51L, new BigDecimal("-123456789012345.67"), LocalDate.of(2024, 3, 1),
+                "café – ".repeat(70), "client-51", 2L, 300L, CREATED, CREATED.plusSeconds(1)));
+        rows.add(new BudgetRow(3L, new BigDecimal("40.00"), 2L, 300L, CREATED, CREATED));
+        rows.add(new CategorizationRuleRow(4L, "espresso", 2L, 300L, CREATED));
+        rows.add(new RecurringRuleRow(51L, new BigDecimal("900.00"), null, RecurrenceFrequency.MONTHLY,
+                LocalDate.of(2024, 1, 31), null, LocalDate.of(2024, 2, 29), 1L, true, 2L, 300L, CREATED, CREATED));
+        rows.add(new RecurringRuleRow(52L, new BigDecimal("5.00"), "paper", RecurrenceFrequency.WEEKLY,
+                LocalDate.of(1969, 12, 1), LocalDate.of(1969, 12, 31), null, 5L, false, 2L, 1L, CREATED, CREATED));
+        return rows;
+    }
+
+    private Path write(String name, List<Record> rows) throws IOException {
+        Path file = directory.resolve(name);
+        try (SnapshotWriter writer = SnapshotWriter.create(file)) {
+            for (Record row : rows) {
+                writer.write(row);
+            }
+            writer.finish();
+        }
+        return file;
+    }
+
+    private List<Record> readAll(Path file) throws IOException {
+        List<Record> read = new ArrayList<>();
+        try (SnapshotReader reader = SnapshotReader.open(file)) {
+            for (Record row = reader.next(); row != null; row = reader.next()) {
+                read.add(row);
+            }
+            assertNull(reader.next());
+        }
+        return read;
+    }
+
+    @Test
+    void writeThenRead_returnsTheSameRows() throws IOException {
+        Path file = write("all.snap", rows());
+
+        assertEquals(rows(), readAll(file));
+        assertFalse(Files.exists(directory.resolve("all.snap.tmp")));
+        try (SnapshotReader reader = SnapshotReader.open(file)) {
+            while (reader.next() != null) {
+                // Drain
+            }
+            SnapshotSummary summary = reader.summary(Files.size(file), Duration.ZERO);
+            assertEquals(2, summary.users());
+            assertEquals(2, summary.categories());
+            assertEquals(1, summary.goals());
+            assertEquals(2, summary.transactions());
+            assertEquals(1, summary.budgets());
+            assertEquals(1, summary.categorizationRules());
+            assertEquals(2, summary.recurringRules());
+        }
+    }
+
+    @Test
+    void rowsSpanningSeveralWindows_areReadBack() throws IOException {
+        List<Record> rows = new ArrayList<>();
+        rows.add(new UserRow(1L, "u@example.com", "p", "U", null, CREATED));
+        rows.add(new CategoryRow(1L, "Food", CategoryType.EXPENSE, false, null, CREATED));
+        String description = "x".repeat(500);
+        long transactions = SnapshotWriter.WINDOW_BYTES / 400 + 1000;
+        for (long id = 1; id <= transactions; id++) {
+            rows.add(new TransactionRow(id, BigDecimal.valueOf(id, 2), LocalDate.of(2024, 1, 1).plusDays(id % 366),
+                    description, null, 1L, 1L, CREATED, CREATED));
+        }
+
+        Path file = write("large.snap", rows);
+
+        assertTrue(Files.size(file) > SnapshotWriter.WINDOW_BYTES);
+        assertEquals(rows, readAll(file));
+    }
+
+    @Test
+    void closingWithoutFinishing_leavesNoFile() throws IOException {
+        Path file = directory.resolve("abandoned.snap");
+        try (SnapshotWriter writer = SnapshotWriter.create(file)) {
+            writer.write(rows().get(0));
+        }
+
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(directory.resolve("abandoned.snap.tmp")));
+    }
+
+    @Test
+    void rowsOutOfSectionOrder_areRejected() throws IOException {
+        try (SnapshotWriter writer = SnapshotWriter.create(directory.resolve("order.snap"))) {
+            writer.write(rows().get(2));
+            assertThrows(IllegalStateException.class, () -> writer.write(rows().get(0)));
+        }
+    }
+
+    @Test
+    void truncatedSnapshot_isRejected() throws IOException {
+        Path file = write("truncated.snap", rows());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        IOException error = assertThrows(IOException.class, () -> readAll(file));
+        assertTrue(error.getMessage().contains("truncated"), error.getMessage());
+    }
+
+    @Test
+    void snapshotMissingRows_isRejected() throws IOException {
+        // A whole record cut from the middle still parses; the end record's counts catch it
+        List<Record> rows = rows();
+        Path file = write("complete.snap", rows);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int first = SnapshotFormat.HEADER_BYTES;
+        int firstLength = SnapshotFormat.RECORD_HEADER_BYTES + buffer.getInt(first);
+        byte[] cut = new byte[bytes.length - firstLength];
+        System.arraycopy(bytes, 0, cut, 0, first);
+        System.arraycopy(bytes, first + firstLength, cut, first, bytes.length - first - firstLength);
+        Path damaged = Files.write(directory.resolve("damaged.snap"), cut);
+
+        IOException error = assertThrows(IOException.class, () -> readAll(damaged));
+        assertTrue(error.getMessage().contains("expected"), error.getMessage());
+    }
+
+    @Test
+    void otherVersionsAndFiles_areRejected() throws IOException {
+        Path file = write("version.snap", rows());
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putShort(4, (short) (SnapshotFormat.VERSION + 1));
+        Path future = Files.write(directory.resolve("future.snap"), bytes);
+        Path text = Files.writeString(directory.resolve("notes.txt"), "not a snapshot at all");
+
+        IOException version = assertThrows(IOException.class, () -> SnapshotReader.open(future));
+        assertTrue(version.getMessage().contains("version"), version.getMessage());
+        assertThrows(IOException.class, () -> SnapshotReader.open(text));
+    }
+}
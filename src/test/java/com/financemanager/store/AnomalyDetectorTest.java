@@ -0,0 +1,202 @@
+package com.financemanager.store;
+
+import com.financemanager.entity.CategoryType;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnomalyDetectorTest {
+
+    private static final List<AnomalyDetector.Row> EMPTY = List.of();
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    // Loads run inline, so each apply has finished loading when it returns
+    private final AnomalyDetector detector = new AnomalyDetector(3.0, 5, 2, Long.MAX_VALUE, "", Runnable::run);
+
+    private static TransactionSnapshot snapshot(long id, String amount) {
+        return new TransactionSnapshot(id, 7L, "Food", CategoryType.EXPENSE, LocalDate.of(2024, 3, 1), new BigDecimal(amount), null);
+    }
+
+    private static AnomalyDetector.Row row(long id, long amountMinor) {
+        return new AnomalyDetector.Row(id, 7L, "Food", LocalDate.of(2024, 3, 1), amountMinor, CREATED);
+    }
+
+    private AnomalyDetector.Anomaly create(AnomalyDetector target, long id, String amount) {
+        return target.apply(TransactionChangedEvent.created(1L, snapshot(id, amount)), () -> EMPTY);
+    }
+
+    @Test
+    void apply_flagsOutlierAfterMinSamples() {
+        assertNull(create(detector, 1, "40.00"));
+        assertNull(create(detector, 2, "900.00"));
+        for (long id = 3; id <= 6; id++) {
+            assertNull(create(detector, id, id % 2 == 0 ? "38.00" : "42.00"));
+        }
+
+        AnomalyDetector.Anomaly anomaly = create(detector, 7, "5000.00");
+
+        assertNotNull(anomaly);
+        assertEquals(7L, anomaly.transactionId());
+        assertEquals(500000L, anomaly.amount());
+        assertTrue(anomaly.score() >= 3.0);
+        assertSame(anomaly, detector.find(1L, 7L));
+        assertNull(create(detector, 8, "41.00"));
+    }
+
+    @Test
+    void apply_loadsOnceAndScoresCountedCreateAgainstTheRest() {
+        AtomicInteger loads = new AtomicInteger();
+        // Nine transactions of 50.00 plus the 900.00 one being created, which already committed
+        List<AnomalyDetector.Row> loaded = new ArrayList<>();
+        for (long id = 1; id <= 9; id++) {
+            loaded.add(row(id, 5000));
+        }
+        loaded.add(row(20, 90000));
+
+        detector.apply(TransactionChangedEvent.created(1L, snapshot(20, "900.00")),
+                () -> { loads.incrementAndGet(); return loaded; });
+        create(detector, 21, "50.00");
+
+        AnomalyDetector.Anomaly anomaly = detector.find(1L, 20L);
+        assertNotNull(anomaly);
+        assertEquals(5000L, anomaly.mean());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void apply_byId_onlyRemovesAmountsInTheStatistics() {
+        // The load saw the update of 4 to 10.00 and not the lower-ID create of 2
+        List<AnomalyDetector.Row> loaded = List.of(row(1, 1000), row(3, 1000), row(4, 1000), row(5, 1000), row(6, 1000));
+        detector.apply(TransactionChangedEvent.updated(1L, snapshot(4, "9000.00"), snapshot(4, "10.00")), () -> loaded);
+        create(detector, 2, "10.00");
+        // Neither was ever counted, so neither may be taken out of the statistics
+        detector.apply(TransactionChangedEvent.deleted(1L, snapshot(90, "9000.00")), () -> fail("reloaded"));
+        detector.apply(TransactionChangedEvent.updated(1L, snapshot(91, "9000.00"), snapshot(91, "10.00")),
+                () -> fail("reloaded"));
+
+        AnomalyDetector.Anomaly anomaly = create(detector, 7, "100.00");
+
+        assertNotNull(anomaly);
+        assertEquals(1000L, anomaly.mean());
+    }
+
+    @Test
+    void apply_deleteRemovesStatisticsAndFlag() {
+        for (long id = 1; id <= 5; id++) {
+            create(detector, id, "10.00");
+        }
+        assertNotNull(create(detector, 6, "100.00"));
+
+        detector.apply(TransactionChangedEvent.deleted(1L, snapshot(6, "100.00")), () -> fail("reloaded"));
+
+        assertNull(detector.find(1L, 6L));
+        assertTrue(detector.anomalies(1L).isEmpty());
+        assertNotNull(create(detector, 7, "100.00"));
+    }
+
+    @Test
+    void anomalies_keepsNewestWithinLimit() {
+        for (long id = 1; id <= 5; id++) {
+            create(detector, id, "10.00");
+        }
+        create(detector, 6, "1000.00");
+        create(detector, 7, "2000.00");
+        create(detector, 8, "5000.00");
+
+        var anomalies = detector.anomalies(1L);
+        assertEquals(2, anomalies.size());
+        assertEquals(8L, anomalies.get(0).transactionId());
+        assertEquals(7L, anomalies.get(1).transactionId());
+    }
+
+    @Test
+    void apply_evictsLeastRecentlyUsedStatisticsAndKeepsTheirFlags() {
+        // Room for about one user's statistics
+        AnomalyDetector small = new AnomalyDetector(3.0, 5, 10, 1000, "", Runnable::run);
+        for (long id = 1; id <= 5; id++) {
+            create(small, id, "10.00");
+        }
+        assertNotNull(create(small, 6, "100.00"));
+
+        small.apply(TransactionChangedEvent.created(2L, snapshot(50, "10.00")), () -> EMPTY);
+
+        assertEquals(1, small.residentUsers());
+        assertTrue(small.residentBytes() <= 1000);
+        assertNotNull(small.find(1L, 6L));
+        // User 1's next write reloads them
+        AtomicInteger loads = new AtomicInteger();
+        small.apply(TransactionChangedEvent.created(1L, snapshot(7, "10.00")),
+                () -> { loads.incrementAndGet(); return List.of(row(1, 1000), row(7, 1000)); });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void apply_queuesChangesBehindABackgroundLoad() {
+        List<Runnable> queuedLoads = new ArrayList<>();
+        AnomalyDetector background = new AnomalyDetector(3.0, 5, 10, Long.MAX_VALUE, "", queuedLoads::add);
+        List<AnomalyDetector.Row> database = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            database.add(row(id, 1000));
+        }
+
+        assertNull(background.apply(TransactionChangedEvent.created(1L, snapshot(6, "100.00")), () -> database));
+        assertNull(background.apply(TransactionChangedEvent.created(1L, snapshot(7, "10.00")), () -> fail("loaded twice")));
+        assertEquals(1, queuedLoads.size());
+        assertNull(background.find(1L, 6L));
+
+        queuedLoads.get(0).run();
+
+        assertNotNull(background.find(1L, 6L));
+        assertNull(background.find(1L, 7L));
+    }
+
+    @Test
+    void snapshot_restoresAnomaliesAndReplaysCommitsMissingFromTheLedger(@TempDir Path dir) {
+        AnomalyDetector first = new AnomalyDetector(3.0, 5, 10, Long.MAX_VALUE, dir.toString(), Runnable::run);
+        for (long id = 10; id <= 14; id++) {
+            create(first, id, "10.00");
+        }
+        create(first, 15, "100.00");
+        first.writeSnapshot();
+        // Committed after the last snapshot, then the process died. Its ID is below the others, as
+        // a pooled or per-shard ID can be
+        create(first, 3, "5000.00");
+
+        AnomalyDetector restored = new AnomalyDetector(3.0, 5, 10, Long.MAX_VALUE, dir.toString(), Runnable::run);
+        restored.readSnapshot();
+
+        assertEquals(1, restored.residentUsers());
+        assertEquals(first.anomalies(1L).subList(1, 2), restored.anomalies(1L));
+
+        // The next write reloads the statistics from the database and scores what was missed
+        List<AnomalyDetector.Row> database = new ArrayList<>();
+        for (long id = 10; id <= 14; id++) {
+            database.add(row(id, 1000));
+        }
+        database.add(row(15, 10000));
+        database.add(row(3, 500000));
+        database.add(row(16, 1000));
+        AtomicInteger loads = new AtomicInteger();
+        restored.apply(TransactionChangedEvent.created(1L, snapshot(16, "10.00")),
+                () -> { loads.incrementAndGet(); return database; });
+
+        assertEquals(1, loads.get());
+        assertNotNull(restored.find(1L, 15L));
+        assertNull(restored.find(1L, 16L));
+        AnomalyDetector.Anomaly replayed = restored.find(1L, 3L);
+        assertNotNull(replayed);
+        assertEquals("Food", replayed.categoryName());
+    }
+}
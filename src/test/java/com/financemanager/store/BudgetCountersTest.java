@@ -0,0 +1,86 @@
+package com.financemanager.store;
+
+import com.financemanager.entity.CategoryType;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetCountersTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+    private final BudgetCounters counters = new BudgetCounters();
+
+    private static TransactionSnapshot snapshot(long id, String amount, LocalDate date) {
+        return new TransactionSnapshot(id, 7L, "Food", CategoryType.EXPENSE, date, new BigDecimal(amount), null);
+    }
+
+    @Test
+    void total_loadsOnceThenFollowsEvents() {
+        AtomicInteger loads = new AtomicInteger();
+        var loaded = List.of(new BudgetCounters.Row(4, 7, 1000));
+
+        assertEquals(1000L, counters.total(1L, 7L, MARCH, () -> { loads.incrementAndGet(); return loaded; }));
+
+        // Already part of the load, must not be double counted
+        counters.apply(TransactionChangedEvent.created(1L, snapshot(4, "10.00", LocalDate.of(2024, 3, 2))));
+        counters.apply(TransactionChangedEvent.created(1L, snapshot(6, "2.50", LocalDate.of(2024, 3, 3))));
+        counters.apply(TransactionChangedEvent.updated(1L, snapshot(6, "2.50", LocalDate.of(2024, 3, 3)),
+                snapshot(6, "3.00", LocalDate.of(2024, 3, 3))));
+
+        assertEquals(1300L, counters.total(1L, 7L, MARCH, () -> { loads.incrementAndGet(); return loaded; }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void apply_byId_handlesOutOfOrderIdsAndChangesTheLoadReflects() {
+        // The load saw the update of 60 but not the lower-ID create of 40
+        counters.total(1L, 7L, MARCH, () -> List.of(new BudgetCounters.Row(60, 7, 300)));
+
+        counters.apply(TransactionChangedEvent.updated(1L, snapshot(60, "1.00", LocalDate.of(2024, 3, 5)),
+                snapshot(60, "3.00", LocalDate.of(2024, 3, 5))));
+        counters.apply(TransactionChangedEvent.created(1L, snapshot(40, "2.00", LocalDate.of(2024, 3, 6))));
+        // Deleting a row the load never saw takes nothing back
+        counters.apply(TransactionChangedEvent.deleted(1L, snapshot(99, "5.00", LocalDate.of(2024, 3, 7))));
+
+        assertEquals(500L, counters.total(1L, 7L, MARCH, () -> fail("reloaded")));
+    }
+
+    @Test
+    void apply_movesAmountBetweenMonths() {
+        counters.total(1L, 7L, MARCH, () -> List.of(new BudgetCounters.Row(3, 7, 500)));
+        counters.total(1L, 7L, MARCH.plusMonths(1), List::of);
+
+        counters.apply(TransactionChangedEvent.updated(1L, snapshot(3, "5.00", LocalDate.of(2024, 3, 31)),
+                snapshot(3, "5.00", LocalDate.of(2024, 4, 1))));
+
+        assertEquals(0L, counters.total(1L, 7L, MARCH, () -> fail("reloaded")));
+        assertEquals(500L, counters.total(1L, 7L, MARCH.plusMonths(1), () -> fail("reloaded")));
+    }
+
+    @Test
+    void apply_ignoresMonthsNotLoaded() {
+        counters.apply(TransactionChangedEvent.created(1L, snapshot(11, "1.00", LocalDate.of(2024, 3, 1))));
+        assertEquals(0, counters.residentMonths());
+    }
+
+    @Test
+    void reconcile_replacesDriftedTotalsAndDropsOldMonths() {
+        counters.total(1L, 7L, MARCH, () -> List.of(new BudgetCounters.Row(1, 7, 500)));
+        counters.total(1L, 7L, MARCH.minusMonths(3), List::of);
+
+        int drifted = counters.reconcile((userId, month) -> List.of(new BudgetCounters.Row(1, 7, 700)), MARCH);
+
+        assertEquals(1, drifted);
+        assertEquals(1, counters.residentMonths());
+        assertEquals(700L, counters.total(1L, 7L, MARCH, () -> fail("reloaded")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.financemanager.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(4), 4, 100, now::get);
+
+    @Test
+    void putIfAbsent_returnsExistingEntryForRepeat() {
+        IdempotencyStore.Entry first = new IdempotencyStore.Entry("a");
+        assertNull(store.putIfAbsent("k", first));
+        assertSame(first, store.putIfAbsent("k", new IdempotencyStore.Entry("a")));
+        assertSame(first, store.get("k"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void keysSurviveUntilTheirBucketIsReplaced() {
+        IdempotencyStore.Entry entry = new IdempotencyStore.Entry("a");
+        store.putIfAbsent("k", entry);
+
+        now.addAndGet(Duration.ofMinutes(3).toMillis());
+        assertSame(entry, store.get("k"));
+
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertNull(store.get("k"));
+        assertNull(store.putIfAbsent("k", new IdempotencyStore.Entry("b")));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void putIfAbsent_whenBucketFull_returnsGivenEntry() {
+        for (int i = 0; i < 25; i++) {
+            assertNull(store.putIfAbsent("k" + i, new IdempotencyStore.Entry("a")));
+        }
+        IdempotencyStore.Entry overflow = new IdempotencyStore.Entry("a");
+        assertSame(overflow, store.putIfAbsent("overflow", overflow));
+        assertNull(store.get("overflow"));
+    }
+
+    @Test
+    void remove_allowsKeyToBeReused() {
+        IdempotencyStore.Entry entry = new IdempotencyStore.Entry("a");
+        store.putIfAbsent("k", entry);
+        store.remove("k", entry);
+        assertNull(store.get("k"));
+        assertEquals(0, store.size());
+    }
+}
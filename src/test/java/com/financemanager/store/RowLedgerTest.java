@@ -0,0 +1,62 @@
+package com.financemanager.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowLedgerTest {
+
+    @Test
+    void putAndRemove_matchAHashMapUnderRandomChurn() {
+        RowLedger ledger = new RowLedger();
+        Map<Long, RowLedger.Row> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                RowLedger.Row row = new RowLedger.Row(random.nextInt(10), random.nextInt(20_000), random.nextLong());
+                ledger.put(id, row);
+                expected.put(id, row);
+            } else {
+                assertEquals(expected.remove(id), ledger.remove(id));
+            }
+            assertEquals(expected.size(), ledger.size());
+        }
+        Map<Long, RowLedger.Row> actual = new HashMap<>();
+        ledger.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void remove_returnsNullForUnknownIds() {
+        RowLedger ledger = new RowLedger();
+        ledger.put(5L, new RowLedger.Row(1, 2, 3));
+        assertNull(ledger.remove(6L));
+        assertNull(ledger.remove(0L));
+        assertEquals(1, ledger.size());
+    }
+
+    @Test
+    void writeAndRead_roundTrip() throws IOException {
+        RowLedger ledger = new RowLedger();
+        for (long id = 1; id <= 100; id++) {
+            ledger.put(id * 50, new RowLedger.Row(id % 3, (int) id, -id));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ledger.write(new DataOutputStream(bytes));
+
+        RowLedger read = RowLedger.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(100, read.size());
+        assertEquals(new RowLedger.Row(1, 7, -7), read.remove(350L));
+    }
+}
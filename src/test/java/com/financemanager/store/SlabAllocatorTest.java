@@ -0,0 +1,53 @@
+package com.financemanager.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlabAllocatorTest {
+
+    @Test
+    void allocate_roundsUpToPowersOfTwoWithinTheBudget() {
+        SlabAllocator allocator = new SlabAllocator(32_768, 16_384);
+
+        SlabAllocator.Chunk small = allocator.allocate(100);
+        SlabAllocator.Chunk medium = allocator.allocate(5000);
+        assertEquals(SlabAllocator.MIN_CHUNK_BYTES, small.bytes());
+        assertEquals(8192, medium.bytes());
+        assertEquals(32_768, allocator.reservedBytes());
+        assertEquals(4096 + 8192, allocator.usedBytes());
+
+        // Both slabs are taken by other sizes
+        assertNull(allocator.allocate(16_384));
+        assertNull(allocator.allocate(16_385));
+
+        small.buffer().putLong(0, 42L);
+        medium.buffer().putLong(0, 7L);
+        assertEquals(42L, small.buffer().getLong(0));
+    }
+
+    @Test
+    void free_returnsEmptySlabsForOtherSizes() {
+        SlabAllocator allocator = new SlabAllocator(16_384, 16_384);
+        SlabAllocator.Chunk first = allocator.allocate(4096);
+        SlabAllocator.Chunk second = allocator.allocate(4096);
+        assertNull(allocator.allocate(16_384));
+
+        allocator.free(first);
+        assertNull(allocator.allocate(16_384));
+        allocator.free(second);
+
+        SlabAllocator.Chunk whole = allocator.allocate(16_384);
+        assertNotNull(whole);
+        assertEquals(16_384, allocator.usedBytes());
+        assertThrows(IllegalStateException.class, () -> allocator.free(first));
+    }
+
+    @Test
+    void slabSizeIsLoweredToFitASmallBudget() {
+        SlabAllocator allocator = new SlabAllocator(10_000, 1 << 20);
+        assertEquals(8192, allocator.slabBytes());
+        assertNotNull(allocator.allocate(8192));
+        assertNull(allocator.allocate(1));
+    }
+}
@@ -0,0 +1,126 @@
+package com.financemanager.store;
+
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesStoreTest {
+
+    private static final long MAX_BYTES = 1 << 20;
+
+    private final User user = User.builder().id(1L).username("u").build();
+    private final Category food = Category.builder().id(2L).name("Food").type(CategoryType.EXPENSE).build();
+
+    private Transaction tx(long id, String amount, LocalDate date) {
+        return Transaction.builder().id(id).amount(new BigDecimal(amount)).date(date).category(food).user(user).build();
+    }
+
+    @Test
+    void ensureLoaded_thenEvents_keepDailyTotalsCurrent() {
+        TimeSeriesStore store = new TimeSeriesStore(MAX_BYTES, "");
+        LocalDate day = LocalDate.of(2024, 12, 31);
+        var series = store.ensureLoaded(1L, () -> List.of(tx(1L, "10.50", day)));
+
+        Transaction created = tx(2L, "4.50", day);
+        store.apply(TransactionChangedEvent.created(1L, TransactionSnapshot.of(created)));
+        // Already covered by the initial scan, must not be double counted
+        store.apply(TransactionChangedEvent.created(1L, TransactionSnapshot.of(tx(1L, "10.50", day))));
+
+        Transaction updated = tx(2L, "1.00", day.minusDays(1));
+        store.apply(TransactionChangedEvent.updated(1L, TransactionSnapshot.of(created), TransactionSnapshot.of(updated)));
+
+        var result = series.daily(day.minusDays(1), day.plusDays(1), null, CategoryType.EXPENSE);
+        assertEquals(1, result.size());
+        assertArrayEquals(new long[]{100L, 1050L, 0L}, result.get(0).daily());
+        assertTrue(series.daily(day, day, null, CategoryType.INCOME).isEmpty());
+    }
+
+    @Test
+    void apply_ignoresUsersThatAreNotResident() {
+        TimeSeriesStore store = new TimeSeriesStore(MAX_BYTES, "");
+        store.apply(TransactionChangedEvent.created(5L, TransactionSnapshot.of(tx(9L, "1", LocalDate.now()))));
+        assertEquals(0, store.residentUsers());
+    }
+
+    @Test
+    void snapshot_roundTripsAndIsConsumedOnce(@TempDir Path dir) {
+        LocalDate day = LocalDate.of(2023, 3, 1);
+        TimeSeriesStore first = new TimeSeriesStore(MAX_BYTES, dir.toString());
+        first.ensureLoaded(1L, () -> List.of(tx(1L, "7.25", day)));
+        first.writeSnapshots();
+        assertTrue(Files.exists(dir.resolve("timeseries-1.bin")));
+
+        TimeSeriesStore second = new TimeSeriesStore(MAX_BYTES, dir.toString());
+        var series = second.ensureLoaded(1L, () -> {
+            throw new AssertionError("snapshot should have been used");
+        });
+
+        assertArrayEquals(new long[]{725L}, series.daily(day, day, 2L, null).get(0).daily());
+        assertFalse(Files.exists(dir.resolve("timeseries-1.bin")));
+
+        // The restored series still knows what each transaction contributed
+        second.apply(TransactionChangedEvent.deleted(1L, TransactionSnapshot.of(tx(1L, "7.25", day))));
+        assertArrayEquals(new long[]{0L}, series.daily(day, day, 2L, null).get(0).daily());
+    }
+
+    @Test
+    void apply_byId_handlesChangesTheLoadAlreadyReflects() {
+        TimeSeriesStore store = new TimeSeriesStore(MAX_BYTES, "");
+        LocalDate day = LocalDate.of(2024, 6, 1);
+        // The scan already saw the update of 60 and not the lower-ID create of 40
+        var series = store.ensureLoaded(1L, () -> List.of(tx(60L, "3.00", day)));
+
+        store.apply(TransactionChangedEvent.updated(1L,
+                TransactionSnapshot.of(tx(60L, "1.00", day)), TransactionSnapshot.of(tx(60L, "3.00", day))));
+        store.apply(TransactionChangedEvent.created(1L, TransactionSnapshot.of(tx(40L, "2.00", day))));
+        // Deleting a row the scan never saw takes nothing back
+        store.apply(TransactionChangedEvent.deleted(1L, TransactionSnapshot.of(tx(99L, "5.00", day))));
+
+        assertArrayEquals(new long[]{500L}, series.daily(day, day, null, null).get(0).daily());
+    }
+
+    @Test
+    void ensureLoaded_evictsLeastRecentlyUsedBeyondBudget() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        TimeSeriesStore probe = new TimeSeriesStore(MAX_BYTES, "");
+        probe.ensureLoaded(1L, () -> List.of(tx(1L, "1", day)));
+        long perUser = probe.residentBytes();
+
+        TimeSeriesStore store = new TimeSeriesStore(2 * perUser, "");
+        store.ensureLoaded(1L, () -> List.of(tx(1L, "1", day)));
+        store.ensureLoaded(2L, () -> List.of(tx(2L, "1", day)));
+        store.ensureLoaded(1L, () -> List.of());
+        store.ensureLoaded(3L, () -> List.of(tx(3L, "1", day)));
+
+        assertEquals(2, store.residentUsers());
+        assertEquals(2 * perUser, store.residentBytes());
+        // User 2 was least recently used, so its next request loads again
+        var reloaded = store.ensureLoaded(2L, () -> List.of(tx(2L, "9", day)));
+        assertArrayEquals(new long[]{900L}, reloaded.daily(day, day, null, null).get(0).daily());
+    }
+
+    @Test
+    void ensureLoaded_servesUserLargerThanBudgetWithoutKeepingThem() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        TimeSeriesStore store = new TimeSeriesStore(1, "");
+
+        var series = store.ensureLoaded(1L, () -> List.of(tx(1L, "2.50", day)));
+
+        assertArrayEquals(new long[]{250L}, series.daily(day, day, null, null).get(0).daily());
+        assertEquals(0, store.residentUsers());
+        assertEquals(0, store.residentBytes());
+    }
+}
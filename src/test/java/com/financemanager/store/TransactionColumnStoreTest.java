@@ -0,0 +1,224 @@
+package com.financemanager.store;
+
+import com.financemanager.entity.Category;
+import com.financemanager.entity.CategoryType;
+import com.financemanager.entity.Transaction;
+import com.financemanager.entity.User;
+import com.financemanager.event.TransactionChangedEvent;
+import com.financemanager.event.TransactionSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionColumnStoreTest {
+
+    private final User user = User.builder().id(1L).username("u").build();
+    private final Category food = Category.builder().id(2L).name("Food").type(CategoryType.EXPENSE).build();
+    private final Category salary = Category.builder().id(3L).name("Salary").type(CategoryType.INCOME).build();
+
+    private Transaction tx(long id, String amount, LocalDate date, Category category) {
+        return Transaction.builder().id(id).amount(new BigDecimal(amount)).date(date).category(category).user(user).build();
+    }
+
+    private static long sumOf(TransactionColumnStore.Totals totals, String name) {
+        for (int category : totals.order()) {
+            if (totals.names()[category].equals(name)) {
+                return totals.sums()[category];
+            }
+        }
+        return 0;
+    }
+
+    @Test
+    void ensureLoaded_thenEvents_keepTotalsCurrent() {
+        keepsTotalsCurrent(new TransactionColumnStore(1 << 20));
+    }
+
+    @Test
+    void ensureLoaded_thenEvents_keepTotalsCurrentOffHeap() {
+        keepsTotalsCurrent(new TransactionColumnStore(1 << 20, true, 1 << 16));
+    }
+
+    private void keepsTotalsCurrent(TransactionColumnStore store) {
+        LocalDate day = LocalDate.of(2024, 3, 15);
+        var columns = store.ensureLoaded(1L, () -> List.of(
+                tx(2L, "10.50", day, food), tx(1L, "1000.00", day.minusDays(10), salary)));
+
+        Transaction created = tx(3L, "4.50", day.plusDays(1), food);
+        store.apply(TransactionChangedEvent.created(1L, TransactionSnapshot.of(created)));
+        // Already covered by the initial load, must not be double counted
+        store.apply(TransactionChangedEvent.created(1L, TransactionSnapshot.of(tx(2L, "10.50", day, food))));
+
+        var totals = columns.totals(day.withDayOfMonth(1), day.withDayOfMonth(31));
+        assertEquals(3, totals.rows());
+        assertEquals(1500L, sumOf(totals, "Food"));
+        assertEquals(100_000L, sumOf(totals, "Salary"));
+        assertEquals(100_000L - 1500L, totals.net());
+        // Newest row first
+        assertEquals("Food", totals.names()[totals.order()[0]]);
+
+        // Moves the row out of March
+        Transaction moved = tx(3L, "1.00", LocalDate.of(2024, 4, 2), food);
+        store.apply(TransactionChangedEvent.updated(1L, TransactionSnapshot.of(created), TransactionSnapshot.of(moved)));
+        store.apply(TransactionChangedEvent.deleted(1L, TransactionSnapshot.of(tx(1L, "1000.00", day.minusDays(10), salary))));
+
+        totals = columns.totals(day.withDayOfMonth(1), day.withDayOfMonth(31));
+        assertEquals(1, totals.rows());
+        assertEquals(-1050L, totals.net());
+        assertEquals(1, totals.order().length);
+        assertEquals(-100L, columns.totals(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30)).net());
+        assertEquals(0, columns.totals(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)).rows());
+    }
+
+    @Test
+    void totals_fallBackToExactArithmeticForHugeAmounts() {
+        TransactionColumnStore store = new TransactionColumnStore(1 << 20);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        String huge = BigDecimal.valueOf(Long.MAX_VALUE / 4, 2).toPlainString();
+        var columns = store.ensureLoaded(1L, () -> List.of(
+                tx(1L, huge, day, salary), tx(2L, huge, day, food), tx(3L, "0.01", day, food)));
+
+        var totals = columns.totals(day, day);
+        assertEquals(-1L, totals.net());
+        assertEquals(Long.MAX_VALUE / 4 + 1, sumOf(totals, "Food"));
+    }
+
+    @Test
+    void leastRecentlyUsedUsersAreEvictedToStayWithinBudget() {
+        long perUser = 100 * TransactionColumnStore.BYTES_PER_ROW + 1024;
+        TransactionColumnStore store = new TransactionColumnStore(2 * perUser);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(tx(i + 1, "1.00", day.plusDays(i), food));
+        }
+
+        assertNotNull(store.ensureLoaded(1L, () -> rows));
+        assertNotNull(store.ensureLoaded(2L, () -> rows));
+        // Touch user 1 so user 2 is the least recently used
+        store.ensureLoaded(1L, () -> {
+            throw new AssertionError("already resident");
+        });
+        assertNotNull(store.ensureLoaded(3L, () -> rows));
+
+        assertEquals(2, store.residentUsers());
+        assertTrue(store.residentBytes() <= 2 * perUser);
+        boolean[] reloaded = new boolean[1];
+        store.ensureLoaded(2L, () -> {
+            reloaded[0] = true;
+            return rows;
+        });
+        assertTrue(reloaded[0]);
+    }
+
+    @Test
+    void usersLargerThanTheBudgetAreNotCached() {
+        TransactionColumnStore store = new TransactionColumnStore(TransactionColumnStore.BYTES_PER_ROW);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        assertNull(store.ensureLoaded(1L, () -> List.of(tx(1L, "1.00", day, food), tx(2L, "2.00", day, food))));
+        assertNull(store.ensureLoaded(1L, () -> {
+            throw new AssertionError("should not be loaded again");
+        }));
+        assertEquals(0, store.residentUsers());
+        assertEquals(0, store.residentBytes());
+
+        assertNull(new TransactionColumnStore(0).ensureLoaded(1L, List::of));
+    }
+
+    @Test
+    void offHeapColumnsMatchHeapColumnsThroughGrowthAndMoves() {
+        TransactionColumnStore heap = new TransactionColumnStore(1 << 20);
+        TransactionColumnStore offHeap = new TransactionColumnStore(1 << 20, true, 1 << 16);
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        Category[] categories = {food, salary, Category.builder().id(4L).name("Rent").type(CategoryType.EXPENSE).build()};
+        Random random = new Random(11);
+
+        List<Transaction> initial = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            initial.add(tx(i + 1, BigDecimal.valueOf(random.nextInt(100_000), 2).toPlainString(),
+                    first.plusDays(random.nextInt(365)), categories[random.nextInt(3)]));
+        }
+        initial.sort(Comparator.comparing(Transaction::getDate).reversed());
+        var heapColumns = heap.ensureLoaded(1L, () -> initial);
+        var offHeapColumns = offHeap.ensureLoaded(1L, () -> initial);
+
+        Map<Long, Transaction> live = new HashMap<>();
+        initial.forEach(t -> live.put(t.getId(), t));
+        // Enough creates to outgrow the first chunk, mixed with moves and deletes
+        for (int i = 0; i < 1000; i++) {
+            long id = 1 + random.nextInt(600);
+            Transaction next = tx(id, BigDecimal.valueOf(random.nextInt(100_000), 2).toPlainString(),
+                    first.plusDays(random.nextInt(365)), categories[random.nextInt(3)]);
+            Transaction previous = live.get(id);
+            TransactionChangedEvent event;
+            if (previous == null) {
+                event = TransactionChangedEvent.created(1L, TransactionSnapshot.of(next));
+                live.put(id, next);
+            } else if (random.nextInt(4) == 0) {
+                event = TransactionChangedEvent.deleted(1L, TransactionSnapshot.of(previous));
+                live.remove(id);
+            } else {
+                event = TransactionChangedEvent.updated(1L, TransactionSnapshot.of(previous), TransactionSnapshot.of(next));
+                live.put(id, next);
+            }
+            heap.apply(event);
+            offHeap.apply(event);
+        }
+
+        assertEquals(live.size(), offHeapColumns.size());
+        assertTrue(offHeap.offHeapReservedBytes() > 0);
+        for (int month = 1; month <= 12; month++) {
+            LocalDate from = LocalDate.of(2024, month, 1);
+            LocalDate to = from.withDayOfMonth(from.lengthOfMonth());
+            var expected = heapColumns.totals(from, to);
+            var actual = offHeapColumns.totals(from, to);
+            assertEquals(expected.net(), actual.net());
+            assertEquals(expected.rows(), actual.rows());
+            assertArrayEquals(expected.order(), actual.order());
+            for (int category : expected.order()) {
+                assertEquals(expected.sums()[category], actual.sums()[category]);
+            }
+            long net = live.values().stream()
+                    .filter(t -> !t.getDate().isBefore(from) && !t.getDate().isAfter(to))
+                    .mapToLong(t -> (t.getCategory() == salary ? 1 : -1) * t.getAmount().movePointRight(2).longValueExact())
+                    .sum();
+            assertEquals(net, actual.net());
+        }
+    }
+
+    @Test
+    void evictedColumnsStayUsableUntilClosed() {
+        // Room for one 8 KiB slab: a small user takes a 4 KiB chunk of it, a larger one needs all of it
+        TransactionColumnStore store = new TransactionColumnStore(12_288, true, 8192);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        List<Transaction> small = new ArrayList<>();
+        List<Transaction> large = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            (i < 100 ? small : large).add(tx(i + 1, "1.00", day, food));
+            large.add(tx(1000 + i, "1.00", day, food));
+        }
+
+        var pinned = store.ensureLoaded(1L, () -> small);
+        assertNotNull(pinned);
+        // User 1 is evicted to make room, but its chunk stays in use until closed
+        assertNull(store.ensureLoaded(2L, () -> large));
+        assertEquals(0, store.residentUsers());
+        assertEquals(-10_000L, pinned.totals(day, day).net());
+
+        pinned.close();
+        try (var loaded = store.ensureLoaded(2L, () -> large)) {
+            assertNotNull(loaded);
+            assertEquals(300, loaded.size());
+        }
+        assertThrows(IllegalStateException.class, pinned::close);
+    }
+}
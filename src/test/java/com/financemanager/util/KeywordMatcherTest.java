@@ -0,0 +1,60 @@
+package com.financemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordMatcherTest {
+
+    @Test
+    void match_prefersLongestKeyword() {
+        KeywordMatcher<String> matcher = new KeywordMatcher<>();
+        matcher.add("he", "short");
+        matcher.add("she", "medium");
+        matcher.add("hers", "long");
+
+        assertEquals("long", matcher.match("ushers"));
+        assertEquals("medium", matcher.match("ushe"));
+        assertNull(matcher.match("xyz"));
+    }
+
+    @Test
+    void match_findsKeywordsReachedThroughFailureLinks() {
+        KeywordMatcher<String> matcher = new KeywordMatcher<>();
+        matcher.add("abcd", "abcd");
+        matcher.add("bc", "bc");
+
+        assertEquals("bc", matcher.match("xabce"));
+        assertEquals("abcd", matcher.match("zabcd"));
+    }
+
+    @Test
+    void match_isCaseInsensitiveAndLeftmostOnTies() {
+        KeywordMatcher<Integer> matcher = new KeywordMatcher<>();
+        matcher.add("Rent", 1);
+        matcher.add("fuel", 2);
+
+        assertEquals(1, matcher.match("RENT and FUEL"));
+        assertEquals(2, matcher.match("fuel and rent"));
+    }
+
+    @Test
+    void addAndRemove_updateMatcherInPlace() {
+        KeywordMatcher<String> matcher = new KeywordMatcher<>();
+        matcher.add("uber", "transport");
+        assertEquals("transport", matcher.match("Uber trip"));
+
+        matcher.add("uber eats", "food");
+        assertEquals("food", matcher.match("Uber Eats"));
+        assertEquals(2, matcher.size());
+
+        assertTrue(matcher.remove("uber eats"));
+        assertEquals("transport", matcher.match("Uber Eats"));
+        assertFalse(matcher.remove("uber eats"));
+        assertFalse(matcher.remove("ub"));
+
+        matcher.add("uber", "taxi");
+        assertEquals("taxi", matcher.match("uber"));
+        assertEquals(1, matcher.size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.financemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void toMinorUnits_andBack_roundTrips() {
+        assertEquals(10050L, Money.toMinorUnits(new BigDecimal("100.50")));
+        assertEquals(500000L, Money.toMinorUnits(BigDecimal.valueOf(5000)));
+        assertEquals(new BigDecimal("100.50"), Money.fromMinorUnits(10050L, 2));
+        assertEquals(BigDecimal.valueOf(5000), Money.fromMinorUnits(500000L, 0));
+    }
+
+    @Test
+    void toMinorUnits_rejectsSubCentAmounts() {
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("0.001")));
+    }
+
+    @Test
+    void moneyTotal_matchesBigDecimalArithmetic_includingScale() {
+        List<BigDecimal> amounts = List.of(
+                BigDecimal.valueOf(5000), new BigDecimal("12.5"), new BigDecimal("0.99"), new BigDecimal("1.500"));
+
+        BigDecimal expected = BigDecimal.ZERO;
+        MoneyTotal total = new MoneyTotal();
+        for (int i = 0; i < amounts.size(); i++) {
+            if (i % 2 == 0) {
+                expected = expected.add(amounts.get(i));
+                total.add(amounts.get(i));
+            } else {
+                expected = expected.subtract(amounts.get(i));
+                total.subtract(amounts.get(i));
+            }
+        }
+
+        assertEquals(expected, total.toBigDecimal());
+    }
+
+    @Test
+    void moneyTotal_overflow_throws() {
+        MoneyTotal total = new MoneyTotal(Money.fromMinorUnits(Long.MAX_VALUE, 2));
+        assertThrows(ArithmeticException.class, () -> total.add(new BigDecimal("0.01")));
+    }
+
+    @Test
+    void categoryTotals_keepFirstSeenOrder() {
+        CategoryTotals totals = new CategoryTotals();
+        totals.add("Rent", new BigDecimal("1000.00"));
+        totals.add("Food", new BigDecimal("20"));
+        totals.add("Rent", new BigDecimal("0.50"));
+
+        Map<String, BigDecimal> map = totals.toMap();
+        assertEquals(List.of("Rent", "Food"), List.copyOf(map.keySet()));
+        assertEquals(new BigDecimal("1000.50"), map.get("Rent"));
+        assertEquals(new BigDecimal("20"), map.get("Food"));
+    }
+}